@@ -0,0 +1,14 @@
+package com.realestate.common.cache;
+
+/**
+ * Codec des valeurs stockées dans les caches Redis
+ *
+ * decode() retourne null pour un contenu illisible (ancien format, type modifié) :
+ * l'entrée est alors traitée comme un miss et réécrite au prochain put.
+ */
+public interface CacheValueCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+}
@@ -0,0 +1,119 @@
+package com.realestate.common.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fabrique des codecs de valeurs de cache Redis
+ *
+ * - format "smile" (défaut) : les caches déclarés avec leur type (forType / forListOf) sont
+ *   encodés en Smile + LZ4 ; typed() n'accepte que ce type, aucun nom de classe n'est stocké
+ * - format "json" : sérialisation JSON historique pour tous les caches
+ * - json() : JSON historique, pour les caches sans type déclaré
+ */
+public class CacheValueCodecs {
+
+    public static final String FORMAT_SMILE = "smile";
+    public static final String FORMAT_JSON = "json";
+
+    private final boolean binary;
+    private final int compressionThreshold;
+    private final ObjectMapper smileMapper = createSmileMapper();
+    private final JsonCacheValueCodec jsonCodec = new JsonCacheValueCodec(createLegacyJsonSerializer());
+
+    /**
+     * @param format "smile" ou "json"
+     * @param compressionThreshold taille (octets) à partir de laquelle compresser en LZ4, 0 pour désactiver
+     */
+    public CacheValueCodecs(String format, int compressionThreshold) {
+        String normalized = format != null ? format.trim().toLowerCase(Locale.ROOT) : FORMAT_SMILE;
+        if (!FORMAT_SMILE.equals(normalized) && !FORMAT_JSON.equals(normalized)) {
+            throw new IllegalArgumentException("Unknown cache codec format: " + format);
+        }
+        this.binary = FORMAT_SMILE.equals(normalized);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public RedisSerializationContext.SerializationPair<Object> forType(Class<?> type) {
+        return forType(smileMapper.getTypeFactory().constructType(type));
+    }
+
+    public RedisSerializationContext.SerializationPair<Object> forListOf(Class<?> elementType) {
+        return forType(smileMapper.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+
+    public RedisSerializationContext.SerializationPair<Object> forType(JavaType type) {
+        if (!binary) {
+            return json();
+        }
+        return RedisSerializationContext.SerializationPair.fromSerializer(
+                new CodecRedisSerializer(new SmileCacheValueCodec(smileMapper, type, compressionThreshold)));
+    }
+
+    public RedisSerializationContext.SerializationPair<Object> json() {
+        return RedisSerializationContext.SerializationPair.fromSerializer(new CodecRedisSerializer(jsonCodec));
+    }
+
+    /**
+     * ObjectMapper Smile sans typage polymorphe ; les champs inconnus sont ignorés
+     * pour tolérer un déploiement progressif (DTO avec un champ en plus ou en moins)
+     */
+    public static ObjectMapper createSmileMapper() {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
+    }
+
+    /**
+     * Serializer JSON historique des CacheConfig (types Java 8 date/time, typage NON_FINAL)
+     */
+    public static GenericJackson2JsonRedisSerializer createLegacyJsonSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.activateDefaultTyping(
+                mapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    /**
+     * Adaptateur CacheValueCodec → RedisSerializer
+     */
+    static class CodecRedisSerializer implements RedisSerializer<Object> {
+
+        private final CacheValueCodec codec;
+
+        CodecRedisSerializer(CacheValueCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public byte[] serialize(Object value) {
+            if (value == null) {
+                return new byte[0];
+            }
+            return codec.encode(value);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            if (bytes == null || bytes.length == 0) {
+                return null;
+            }
+            return codec.decode(bytes);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.common.cache;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Codec JSON historique (typage polymorphe, noms de classes dans le contenu)
+ *
+ * Conservé pour les caches sans type déclaré et comme format de repli (cache.codec.format=json).
+ */
+public class JsonCacheValueCodec implements CacheValueCodec {
+
+    private final GenericJackson2JsonRedisSerializer serializer;
+
+    public JsonCacheValueCodec(GenericJackson2JsonRedisSerializer serializer) {
+        this.serializer = serializer;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return serializer.serialize(value);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try {
+            return serializer.deserialize(bytes);
+        } catch (SerializationException e) {
+            // Entrée écrite dans un autre format (ex. Smile avant un retour arrière)
+            return null;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.realestate.common.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec binaire typé : Smile (JSON binaire) pour un type déclaré, sans informations de classe
+ * dans le contenu, avec compression LZ4 au-delà d'un seuil
+ *
+ * Format : [MAGIC][flags] puis, si FLAG_LZ4, [taille décompressée sur 4 octets][bloc LZ4],
+ * sinon le document Smile.
+ */
+public class SmileCacheValueCodec implements CacheValueCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmileCacheValueCodec.class);
+
+    static final byte MAGIC = (byte) 0xCA;
+    static final byte FLAG_LZ4 = 0x01;
+    private static final int HEADER_SIZE = 2;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final JavaType type;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4.fastDecompressor();
+
+    /**
+     * @param compressionThreshold taille (octets) à partir de laquelle compresser, 0 pour désactiver
+     */
+    public SmileCacheValueCodec(ObjectMapper smileMapper, JavaType type, int compressionThreshold) {
+        this.type = type;
+        this.writer = smileMapper.writerFor(type);
+        this.reader = smileMapper.readerFor(type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        byte[] payload;
+        try {
+            payload = writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type + " as Smile", e);
+        }
+
+        if (compressionThreshold > 0 && payload.length >= compressionThreshold) {
+            byte[] compressed = compressor.compress(payload);
+            // Contenu peu compressible : on garde la version brute
+            if (compressed.length + Integer.BYTES < payload.length) {
+                return ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressed.length)
+                        .put(MAGIC)
+                        .put(FLAG_LZ4)
+                        .putInt(payload.length)
+                        .put(compressed)
+                        .array();
+            }
+        }
+
+        byte[] encoded = new byte[HEADER_SIZE + payload.length];
+        encoded[0] = MAGIC;
+        encoded[1] = 0;
+        System.arraycopy(payload, 0, encoded, HEADER_SIZE, payload.length);
+        return encoded;
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        if (bytes == null || bytes.length < HEADER_SIZE || bytes[0] != MAGIC) {
+            return null;
+        }
+        try {
+            if ((bytes[1] & FLAG_LZ4) != 0) {
+                int length = ByteBuffer.wrap(bytes, HEADER_SIZE, Integer.BYTES).getInt();
+                byte[] payload = decompressor.decompress(bytes, HEADER_SIZE + Integer.BYTES, length);
+                return reader.readValue(payload);
+            }
+            return reader.readValue(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unreadable cache entry for {}, treated as a miss: {}", type, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -13,9 +13,12 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +32,8 @@ public class IdentityServiceClient {
     private static final Logger logger = LoggerFactory.getLogger(IdentityServiceClient.class);
     private static final String CIRCUIT_BREAKER_NAME = "identityService";
     private static final String RETRY_NAME = "identityService";
+    // Taille max d'un lot (les endpoints /batch acceptent jusqu'à 500 IDs)
+    private static final int BATCH_SIZE = 200;
 
     private final WebClient webClient;
     private final String baseUrl;
@@ -163,6 +168,79 @@ public class IdentityServiceClient {
                 });
     }
 
+    /**
+     * Get several users by ID in one round trip per batch of BATCH_SIZE IDs.
+     * Unknown IDs are omitted; returns an empty list on error.
+     */
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getUsersByIdsFallback")
+    @Retry(name = RETRY_NAME)
+    public Mono<List<UserInfoDTO>> getUsersByIds(Collection<Long> userIds, String authToken) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return Flux.fromIterable(partition(userIds))
+                .concatMap(batch -> webClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/api/identity/users/batch")
+                                .queryParam("ids", batch)
+                                .build())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .retrieve()
+                        .bodyToFlux(UserInfoDTO.class))
+                .collectList()
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(ex -> {
+                    logger.error("Error fetching users {}: {}", userIds, ex.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    /**
+     * Get several organizations by ID in one round trip per batch of BATCH_SIZE IDs.
+     * Unknown IDs are omitted; returns an empty list on error.
+     */
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "getOrganizationsByIdsFallback")
+    @Retry(name = RETRY_NAME)
+    public Mono<List<OrganizationInfoDTO>> getOrganizationsByIds(Collection<Long> organizationIds, String authToken) {
+        if (organizationIds == null || organizationIds.isEmpty()) {
+            return Mono.just(new ArrayList<>());
+        }
+        return Flux.fromIterable(partition(organizationIds))
+                .concatMap(batch -> webClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/api/identity/organizations/batch")
+                                .queryParam("ids", batch)
+                                .build())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + authToken)
+                        .retrieve()
+                        .bodyToFlux(OrganizationInfoDTO.class))
+                .collectList()
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(ex -> {
+                    logger.error("Error fetching organizations {}: {}", organizationIds, ex.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    private static List<List<Long>> partition(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().collect(java.util.stream.Collectors.toList());
+        List<List<Long>> batches = new ArrayList<>();
+        for (int i = 0; i < distinctIds.size(); i += BATCH_SIZE) {
+            batches.add(distinctIds.subList(i, Math.min(i + BATCH_SIZE, distinctIds.size())));
+        }
+        return batches;
+    }
+
+    private Mono<List<UserInfoDTO>> getUsersByIdsFallback(Collection<Long> userIds, String authToken, Exception ex) {
+        logger.error("Circuit breaker opened for getUsersByIds. Users: {}", userIds, ex);
+        return Mono.just(new ArrayList<>());
+    }
+
+    private Mono<List<OrganizationInfoDTO>> getOrganizationsByIdsFallback(Collection<Long> organizationIds, String authToken, Exception ex) {
+        logger.error("Circuit breaker opened for getOrganizationsByIds. Organizations: {}", organizationIds, ex);
+        return Mono.just(new ArrayList<>());
+    }
+
     private Mono<Boolean> checkPermissionFallback(Long userId, String permission, String resourceType, Long resourceId, String authToken, Exception ex) {
         logger.error("Circuit breaker opened for checkPermission. User: {}, Permission: {}", userId, permission, ex);
         return Mono.just(false); // Fail closed - deny access
@@ -0,0 +1,158 @@
+package com.realestate.common.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.common.client.dto.PermissionContextDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission context of the caller, cached per token
+ *
+ * Resolves PermissionContextDTO through the shared IdentityServiceClient (pooled WebClient,
+ * circuit breaker) and keeps it in memory under the SHA-256 hash of the token (the token itself
+ * is never stored) until the JWT expires, capped by security.permission-context.cache-ttl-seconds
+ * so that role or organization changes are picked up quickly.
+ * Empty results (invalid token, identity-service unavailable) and tokens without a readable
+ * "exp" claim are not cached.
+ */
+@Component
+public class PermissionContextResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionContextResolver.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final IdentityServiceClient identityServiceClient;
+    private final long maxTtlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Map<String, CachedContext> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PermissionContextResolver(
+            IdentityServiceClient identityServiceClient,
+            @Value("${security.permission-context.cache-ttl-seconds:60}") long maxTtlSeconds,
+            @Value("${security.permission-context.cache-max-entries:10000}") int maxEntries) {
+        this(identityServiceClient, maxTtlSeconds, maxEntries, Clock.systemUTC());
+    }
+
+    PermissionContextResolver(IdentityServiceClient identityServiceClient, long maxTtlSeconds, int maxEntries, Clock clock) {
+        this.identityServiceClient = identityServiceClient;
+        this.maxTtlMillis = maxTtlSeconds * 1000;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Permission context for the Authorization header value ("Bearer <token>"), empty without a bearer token
+     */
+    public Optional<PermissionContextDTO> resolve(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return Optional.empty();
+        }
+        return getPermissionContext(authorization.substring(BEARER_PREFIX.length()));
+    }
+
+    /**
+     * Permission context for a raw JWT (blocking, served from the cache while valid)
+     */
+    public Optional<PermissionContextDTO> getPermissionContext(String token) {
+        if (token == null || token.isEmpty() || maxTtlMillis <= 0) {
+            return fetch(token);
+        }
+        String key = hash(token);
+        long now = clock.millis();
+        CachedContext cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return Optional.of(cached.context);
+            }
+            cache.remove(key, cached);
+        }
+
+        Optional<PermissionContextDTO> context = fetch(token);
+        long expiresAt = Math.min(now + maxTtlMillis, tokenExpiry(token, now));
+        if (context.isPresent() && expiresAt > now) {
+            evictIfFull(now);
+            cache.put(key, new CachedContext(context.get(), expiresAt));
+        }
+        return context;
+    }
+
+    /**
+     * Drops the cached context of a token (logout, permission change of the current user)
+     */
+    public void evict(String token) {
+        if (token != null) {
+            cache.remove(hash(token));
+        }
+    }
+
+    private Optional<PermissionContextDTO> fetch(String token) {
+        Optional<PermissionContextDTO> context = identityServiceClient.getPermissionContext(token).block();
+        return context != null ? context : Optional.empty();
+    }
+
+    /**
+     * Expired entries are purged first; if the cache is still full it is cleared (bounded memory)
+     */
+    private void evictIfFull(long now) {
+        if (cache.size() < maxEntries) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.expiresAt <= now);
+        if (cache.size() >= maxEntries) {
+            logger.debug("Permission context cache full ({} entries), clearing", cache.size());
+            cache.clear();
+        }
+    }
+
+    /**
+     * "exp" claim of the JWT in epoch milliseconds, fallback if the token cannot be decoded
+     * (the signature is checked by identity-service, not here)
+     */
+    static long tokenExpiry(String token, long fallback) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return fallback;
+        }
+        try {
+            JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? exp.asLong() * 1000 : fallback;
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class CachedContext {
+        private final PermissionContextDTO context;
+        private final long expiresAt;
+
+        private CachedContext(PermissionContextDTO context, long expiresAt) {
+            this.context = context;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -61,7 +61,8 @@ public class CorsConfig {
             "Content-Type",
             "X-Total-Count",
             "X-Page-Number",
-            "X-Page-Size"
+            "X-Page-Size",
+            "X-Next-Cursor"
         ));
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
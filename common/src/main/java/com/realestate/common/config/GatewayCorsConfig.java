@@ -61,7 +61,8 @@ public class GatewayCorsConfig {
             "Content-Type",
             "X-Total-Count",
             "X-Page-Number",
-            "X-Page-Size"
+            "X-Page-Size",
+            "X-Next-Cursor"
         ));
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -35,6 +35,12 @@ public class PropertyDocument {
     @Field(type = FieldType.Keyword)
     private String status; // DRAFT, PUBLISHED, SOLD, RENTED, ARCHIVED
 
+    @Field(type = FieldType.Keyword)
+    private String transactionType; // RENT, SALE
+
+    @Field(type = FieldType.Keyword)
+    private String slug;
+
     @Field(type = FieldType.Double)
     private BigDecimal price;
 
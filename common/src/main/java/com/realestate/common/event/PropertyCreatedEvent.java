@@ -14,6 +14,11 @@ public class PropertyCreatedEvent extends BaseEvent {
     private BigDecimal price;
     private String city;
     private String country;
+    private String slug;
+    // Listing attributes used by saved-search matching
+    private String status;
+    private String transactionType;
+    private BigDecimal surface;
     
     public PropertyCreatedEvent() {
         super();
@@ -88,5 +93,36 @@ public class PropertyCreatedEvent extends BaseEvent {
     public void setCountry(String country) {
         this.country = country;
     }
+    
+    public String getSlug() {
+        return slug;
+    }
+    
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getTransactionType() {
+        return transactionType;
+    }
+    
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+    
+    public BigDecimal getSurface() {
+        return surface;
+    }
+    
+    public void setSurface(BigDecimal surface) {
+        this.surface = surface;
+    }
 }
-
@@ -15,6 +15,16 @@ public class PropertyUpdatedEvent extends BaseEvent {
     private String status;
     private String city;
     private String country;
+    private String slug;
+    // Listing attributes used by saved-search matching
+    private String transactionType;
+    private BigDecimal surface;
+    // Values before the update (lets consumers evict caches of the previous listings)
+    private String previousPropertyType;
+    private String previousCity;
+    private String previousSlug;
+    // Price before the update (null when unchanged or unknown), used by price-alert evaluation
+    private BigDecimal previousPrice;
     
     public PropertyUpdatedEvent() {
         super();
@@ -99,5 +109,60 @@ public class PropertyUpdatedEvent extends BaseEvent {
     public void setCountry(String country) {
         this.country = country;
     }
+    
+    public String getSlug() {
+        return slug;
+    }
+    
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+    
+    public String getPreviousPropertyType() {
+        return previousPropertyType;
+    }
+    
+    public void setPreviousPropertyType(String previousPropertyType) {
+        this.previousPropertyType = previousPropertyType;
+    }
+    
+    public String getPreviousCity() {
+        return previousCity;
+    }
+    
+    public void setPreviousCity(String previousCity) {
+        this.previousCity = previousCity;
+    }
+    
+    public String getPreviousSlug() {
+        return previousSlug;
+    }
+    
+    public void setPreviousSlug(String previousSlug) {
+        this.previousSlug = previousSlug;
+    }
+    
+    public BigDecimal getPreviousPrice() {
+        return previousPrice;
+    }
+    
+    public void setPreviousPrice(BigDecimal previousPrice) {
+        this.previousPrice = previousPrice;
+    }
+    
+    public String getTransactionType() {
+        return transactionType;
+    }
+    
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+    
+    public BigDecimal getSurface() {
+        return surface;
+    }
+    
+    public void setSurface(BigDecimal surface) {
+        this.surface = surface;
+    }
 }
-
@@ -0,0 +1,133 @@
+package com.realestate.common.client;
+
+import com.realestate.common.client.dto.OrganizationInfoDTO;
+import com.realestate.common.client.dto.UserInfoDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch lookups against a local HTTP server standing in for identity-service
+ */
+class IdentityServiceClientTest {
+
+    private HttpServer server;
+    private IdentityServiceClient client;
+    private final List<List<Long>> requestedIds = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile List<Long> unknownIds = List.of();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/identity/users", exchange -> respond(exchange, id ->
+                "{\"id\":" + id + ",\"email\":\"user" + id + "@example.com\"}"));
+        server.createContext("/api/identity/organizations", exchange -> respond(exchange, id ->
+                "{\"id\":" + id + ",\"name\":\"Org " + id + "\"}"));
+        server.start();
+        client = new IdentityServiceClient("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private interface JsonItem {
+        String of(long id);
+    }
+
+    /**
+     * /batch?ids=1&ids=2 : known IDs only; /{id} : one item or 404
+     */
+    private void respond(HttpExchange exchange, JsonItem item) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        if (status != 200) {
+            body = "{\"error\":\"unavailable\"}";
+        } else if (path.endsWith("/batch")) {
+            List<Long> ids = Arrays.stream(exchange.getRequestURI().getQuery().split("&"))
+                    .map(param -> Long.valueOf(param.substring("ids=".length())))
+                    .collect(Collectors.toList());
+            requestedIds.add(ids);
+            body = ids.stream().filter(id -> !unknownIds.contains(id)).map(item::of)
+                    .collect(Collectors.joining(",", "[", "]"));
+        } else {
+            long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+            if (unknownIds.contains(id)) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            body = item.of(id);
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    void testGetUsersByIds_DeduplicatesIds() {
+        List<UserInfoDTO> users = client.getUsersByIds(List.of(3L, 1L, 3L, 2L, 1L), "token").block();
+
+        assertEquals(List.of(List.of(3L, 1L, 2L)), requestedIds);
+        assertEquals(List.of(3L, 1L, 2L), users.stream().map(UserInfoDTO::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetOrganizationsByIds_SplitsLargeRequestsIntoBatches() {
+        List<Long> ids = LongStream.rangeClosed(1, 450).boxed().collect(Collectors.toList());
+
+        List<OrganizationInfoDTO> organizations = client.getOrganizationsByIds(ids, "token").block();
+
+        assertEquals(List.of(200, 200, 50), requestedIds.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(450, organizations.size());
+    }
+
+    @Test
+    void testGetOrganizationsByIds_UnknownIdsAreOmitted() {
+        unknownIds = List.of(2L);
+
+        List<OrganizationInfoDTO> organizations = client.getOrganizationsByIds(List.of(1L, 2L, 3L), "token").block();
+
+        assertEquals(List.of("Org 1", "Org 3"),
+                organizations.stream().map(OrganizationInfoDTO::getName).collect(Collectors.toList()));
+        // Same outcome as the single-item lookup, which maps a 404 to an empty Optional
+        assertEquals(Optional.empty(), client.getOrganizationById(2L, "token").block());
+    }
+
+    @Test
+    void testBatchLookups_ServerErrorReturnsEmptyLikeSingleLookups() {
+        status = 503;
+
+        assertEquals(new ArrayList<>(), client.getUsersByIds(List.of(1L, 2L), "token").block());
+        assertEquals(new ArrayList<>(), client.getOrganizationsByIds(List.of(1L), "token").block());
+        assertEquals(Optional.empty(), client.getUserById(1L, "token").block());
+    }
+
+    @Test
+    void testBatchLookups_EmptyInputMakesNoRequest() {
+        assertTrue(client.getUsersByIds(List.of(), "token").block().isEmpty());
+        assertTrue(client.getOrganizationsByIds(null, "token").block().isEmpty());
+        assertTrue(requestedIds.isEmpty());
+    }
+}
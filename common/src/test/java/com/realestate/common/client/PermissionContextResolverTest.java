@@ -0,0 +1,151 @@
+package com.realestate.common.client;
+
+import com.realestate.common.client.dto.PermissionContextDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PermissionContextResolverTest {
+
+    private static final long NOW = 1_800_000_000_000L;
+
+    private IdentityServiceClient identityServiceClient;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        identityServiceClient = mock(IdentityServiceClient.class);
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+        when(identityServiceClient.getPermissionContext(anyString()))
+                .thenAnswer(invocation -> Mono.just(Optional.of(context(invocation.getArgument(0)))));
+    }
+
+    private PermissionContextResolver resolver(int maxEntries) {
+        return new PermissionContextResolver(identityServiceClient, 60, maxEntries, clock);
+    }
+
+    /**
+     * Unsigned JWT with the given "exp" (seconds) and subject
+     */
+    private static String jwt(String subject, long expSeconds) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"" + subject + "\",\"exp\":" + expSeconds + "}")
+                .getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".signature";
+    }
+
+    private static long expInSeconds(long millisFromNow) {
+        return (NOW + millisFromNow) / 1000;
+    }
+
+    private static PermissionContextDTO context(String token) {
+        PermissionContextDTO context = new PermissionContextDTO();
+        context.setUserId((long) token.hashCode());
+        return context;
+    }
+
+    @Test
+    void testGetPermissionContext_CachedUntilTtl() {
+        PermissionContextResolver resolver = resolver(100);
+        String token = jwt("alice", expInSeconds(3_600_000));
+
+        resolver.resolve("Bearer " + token);
+        resolver.resolve("Bearer " + token);
+        verify(identityServiceClient, times(1)).getPermissionContext(token);
+
+        // 60 s cap even though the JWT is valid for an hour
+        when(clock.millis()).thenReturn(NOW + 60_000);
+        resolver.resolve("Bearer " + token);
+        verify(identityServiceClient, times(2)).getPermissionContext(token);
+    }
+
+    @Test
+    void testGetPermissionContext_TokenPastExpIsNeverServedFromCache() {
+        PermissionContextResolver resolver = resolver(100);
+        String expired = jwt("alice", expInSeconds(-10_000));
+
+        resolver.getPermissionContext(expired);
+        resolver.getPermissionContext(expired);
+        verify(identityServiceClient, times(2)).getPermissionContext(expired);
+
+        // Cached entry capped by exp (10 s) rather than by the 60 s TTL
+        String expiringSoon = jwt("bob", expInSeconds(10_000));
+        resolver.getPermissionContext(expiringSoon);
+        when(clock.millis()).thenReturn(NOW + 10_000);
+        resolver.getPermissionContext(expiringSoon);
+        verify(identityServiceClient, times(2)).getPermissionContext(expiringSoon);
+    }
+
+    @Test
+    void testGetPermissionContext_DifferentTokensNeverShareAnEntry() {
+        PermissionContextResolver resolver = resolver(100);
+        String alice = jwt("alice", expInSeconds(3_600_000));
+        String bob = jwt("bob", expInSeconds(3_600_000));
+
+        Optional<PermissionContextDTO> aliceContext = resolver.getPermissionContext(alice);
+        Optional<PermissionContextDTO> bobContext = resolver.getPermissionContext(bob);
+
+        assertEquals((long) alice.hashCode(), aliceContext.orElseThrow().getUserId());
+        assertEquals((long) bob.hashCode(), bobContext.orElseThrow().getUserId());
+        assertEquals((long) alice.hashCode(), resolver.getPermissionContext(alice).orElseThrow().getUserId());
+        verify(identityServiceClient, times(1)).getPermissionContext(alice);
+        verify(identityServiceClient, times(1)).getPermissionContext(bob);
+        assertNotEquals(PermissionContextResolver.hash(alice), PermissionContextResolver.hash(bob));
+    }
+
+    @Test
+    void testGetPermissionContext_FullCacheIsClearedInsteadOfGrowing() {
+        PermissionContextResolver resolver = resolver(2);
+        String first = jwt("first", expInSeconds(3_600_000));
+        String second = jwt("second", expInSeconds(3_600_000));
+        String third = jwt("third", expInSeconds(3_600_000));
+
+        resolver.getPermissionContext(first);
+        resolver.getPermissionContext(second);
+        resolver.getPermissionContext(third);
+
+        // Cleared when the third entry was added: only the third one is still cached
+        resolver.getPermissionContext(third);
+        verify(identityServiceClient, times(1)).getPermissionContext(third);
+        resolver.getPermissionContext(first);
+        resolver.getPermissionContext(second);
+        verify(identityServiceClient, times(2)).getPermissionContext(first);
+        verify(identityServiceClient, times(2)).getPermissionContext(second);
+    }
+
+    @Test
+    void testGetPermissionContext_MalformedTokenResolvedLiveEveryTime() {
+        PermissionContextResolver resolver = resolver(100);
+        String malformed = "header.%%%not-base64%%%.signature";
+
+        assertTrue(resolver.getPermissionContext(malformed).isPresent());
+        assertTrue(resolver.getPermissionContext(malformed).isPresent());
+        assertTrue(resolver.getPermissionContext("opaque-token").isPresent());
+
+        verify(identityServiceClient, times(2)).getPermissionContext(malformed);
+        verify(identityServiceClient, times(1)).getPermissionContext("opaque-token");
+        assertEquals(42L, PermissionContextResolver.tokenExpiry(malformed, 42L));
+    }
+
+    @Test
+    void testGetPermissionContext_EmptyResultIsNotCached() {
+        PermissionContextResolver resolver = resolver(100);
+        String token = jwt("alice", expInSeconds(3_600_000));
+        when(identityServiceClient.getPermissionContext(token)).thenReturn(Mono.just(Optional.empty()));
+
+        assertTrue(resolver.getPermissionContext(token).isEmpty());
+        assertTrue(resolver.getPermissionContext(token).isEmpty());
+        verify(identityServiceClient, times(2)).getPermissionContext(token);
+    }
+}
@@ -0,0 +1,128 @@
+-- Benchmark : page de listing publique (20 annonces, tri par date de création) lue en entités
+-- complètes (SELECT de toutes les colonnes, comme findAll(spec, pageable)) ou en projection carte
+-- (colonnes de PropertyCardDTO, view=card) sur une table générée de 1M annonces.
+--
+-- Usage : psql -d realestate_db -f scripts/benchmark-property-card-projection.sql
+-- EXPLAIN (SERIALIZE) nécessite PostgreSQL 17 : sans lui, EXPLAIN ANALYZE ne lit pas les valeurs
+-- TOAST des colonnes retournées et sous-estime le coût du SELECT complet.
+-- Utilise une table dédiée bench_property_cards (supprimée à la fin), la table properties n'est pas modifiée.
+
+\timing on
+
+DROP TABLE IF EXISTS bench_property_cards;
+
+-- Colonnes d'affichage de la carte + colonnes texte / JSON de la fiche détaillée
+CREATE TABLE bench_property_cards (
+    id BIGSERIAL PRIMARY KEY,
+    reference VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    slug VARCHAR(255),
+    type VARCHAR(255) NOT NULL,
+    transaction_type VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    price NUMERIC(15, 2) NOT NULL,
+    currency VARCHAR(3),
+    surface NUMERIC(10, 2),
+    bedrooms INTEGER,
+    city VARCHAR(255),
+    og_image VARCHAR(255),
+    latitude NUMERIC(10, 7),
+    longitude NUMERIC(10, 7),
+    description VARCHAR(2000),
+    meta_title VARCHAR(255),
+    meta_description VARCHAR(255),
+    meta_keywords VARCHAR(255),
+    appliances_included TEXT,
+    parking_features TEXT,
+    accessibility_features TEXT,
+    exterior_features TEXT,
+    hoa_amenities TEXT,
+    hoa_services TEXT,
+    features TEXT,
+    address VARCHAR(255),
+    postal_code VARCHAR(255),
+    country VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- 1M annonces (80 % publiées), descriptions de 1 à 2 Ko et caractéristiques JSON de quelques centaines d'octets
+SELECT setseed(0.42);
+INSERT INTO bench_property_cards (
+    reference, title, slug, type, transaction_type, status, price, currency, surface, bedrooms, city,
+    og_image, latitude, longitude, description, meta_title, meta_description, meta_keywords,
+    appliances_included, parking_features, accessibility_features, exterior_features, hoa_amenities,
+    hoa_services, features, address, postal_code, country, created_at)
+SELECT
+    'PROP-' || i,
+    'Appartement ' || (1 + i % 5) || ' pièces ' || i,
+    'appartement-' || (1 + i % 5) || '-pieces-' || i,
+    (ARRAY['APARTMENT', 'HOUSE', 'LAND', 'COMMERCIAL'])[1 + (i % 4)],
+    (ARRAY['SALE', 'RENT'])[1 + (i % 2)],
+    (ARRAY['PUBLISHED', 'PUBLISHED', 'AVAILABLE', 'PUBLISHED', 'DRAFT'])[1 + (i % 5)],
+    round((80000 + random() * 900000)::numeric, 2),
+    'EUR',
+    round((20 + random() * 180)::numeric, 2),
+    i % 6,
+    (ARRAY['Paris', 'Lyon', 'Marseille', 'Bordeaux', 'Toulouse'])[1 + (i % 5)],
+    'https://cdn.example.com/properties/' || i || '/main.jpg',
+    round((42.3 + random() * 8.8)::numeric, 7),
+    round((-4.8 + random() * 13.0)::numeric, 7),
+    left(repeat(md5(random()::text) || ' ', 64), 1000 + (i % 1000)),
+    'Appartement ' || i || ' à vendre',
+    left(repeat(md5(random()::text), 6), 160),
+    'appartement,vente,lumineux,balcon',
+    '["Dishwasher","Oven","Washer","Dryer","Refrigerator","Microwave"]',
+    '["Garage","Underground","Street"]',
+    '["Wheelchair Access","Elevator"]',
+    '["Balcony","Courtyard","Garden"]',
+    '["Laundry","Elevator(s)","Pool","Gym"]',
+    '["Maintenance","Security","Trash"]',
+    '{"floor":' || (i % 10) || ',"orientation":"south","heating":"collective","energyClass":"C","notes":"'
+        || md5(random()::text) || md5(random()::text) || '"}',
+    i || ' rue de la République',
+    '750' || lpad((1 + i % 20)::text, 2, '0'),
+    'France',
+    TIMESTAMP '2026-01-01' + (i || ' seconds')::interval * 20
+FROM generate_series(1, 1000000) AS s(i);
+
+CREATE INDEX idx_bench_property_cards_created_at ON bench_property_cards (created_at DESC, id DESC);
+VACUUM ANALYZE bench_property_cards;
+
+-- Taille de la table principale et de sa table TOAST
+SELECT pg_size_pretty(pg_relation_size('bench_property_cards')) AS heap,
+       pg_size_pretty(pg_total_relation_size('bench_property_cards')
+           - pg_relation_size('bench_property_cards')
+           - pg_indexes_size('bench_property_cards')) AS toast;
+
+-- 1) Page 1 en entités complètes : toutes les colonnes (getPropertiesFromDatabase)
+EXPLAIN (ANALYZE, BUFFERS, SERIALIZE)
+SELECT *
+FROM bench_property_cards
+WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+ORDER BY created_at DESC, id DESC
+LIMIT 20;
+
+-- 2) Page 1 en projection carte (getPublishedPropertyCards)
+EXPLAIN (ANALYZE, BUFFERS, SERIALIZE)
+SELECT id, slug, title, type, transaction_type, price, currency, surface, bedrooms, city, og_image,
+       latitude, longitude
+FROM bench_property_cards
+WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+ORDER BY created_at DESC, id DESC
+LIMIT 20;
+
+-- 3) Octets retournés au service pour une page de 20 (hors protocole) : ligne complète vs colonnes de la carte
+SELECT sum(pg_column_size(t.*)) AS full_row_bytes,
+       sum(pg_column_size(t.id) + pg_column_size(t.slug) + pg_column_size(t.title) + pg_column_size(t.type)
+           + pg_column_size(t.transaction_type) + pg_column_size(t.price) + pg_column_size(t.currency)
+           + pg_column_size(t.surface) + pg_column_size(t.bedrooms) + pg_column_size(t.city)
+           + pg_column_size(t.og_image) + pg_column_size(t.latitude) + pg_column_size(t.longitude)) AS card_bytes
+FROM (
+    SELECT *
+    FROM bench_property_cards
+    WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+    ORDER BY created_at DESC, id DESC
+    LIMIT 20
+) t;
+
+DROP TABLE bench_property_cards;
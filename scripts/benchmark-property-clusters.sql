@@ -0,0 +1,87 @@
+-- Benchmark : agrégation de carte (clusters geohash) pour une fenêtre France entière
+-- sur une table générée de 1M annonces.
+--
+-- Usage : psql -d realestate_db -f scripts/benchmark-property-clusters.sql
+-- Prérequis : scripts/migration-add-property-geohash.sql et scripts/migration-add-property-cluster-aggregates.sql
+-- Utilise une table dédiée bench_property_clusters (supprimée à la fin), la table properties n'est pas modifiée.
+
+\timing on
+
+DROP TABLE IF EXISTS bench_property_clusters;
+
+CREATE TABLE bench_property_clusters (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    price NUMERIC(15, 2),
+    latitude NUMERIC(10, 7) NOT NULL,
+    longitude NUMERIC(10, 7) NOT NULL,
+    geohash VARCHAR(12)
+);
+
+-- 1M annonces (80 % publiées) : 30 % autour des grandes villes, 70 % réparties sur la France métropolitaine
+SELECT setseed(0.42);
+INSERT INTO bench_property_clusters (status, price, latitude, longitude)
+SELECT
+    (ARRAY['PUBLISHED', 'PUBLISHED', 'AVAILABLE', 'PUBLISHED', 'DRAFT'])[1 + (i % 5)],
+    round((80000 + random() * 900000)::numeric, 2),
+    CASE WHEN i % 10 < 3
+        THEN (ARRAY[48.8566, 45.7640, 43.2965, 44.8378, 43.6047])[1 + (i % 5)] + (random() - 0.5) * 0.4
+        ELSE 42.3 + random() * 8.8 END,
+    CASE WHEN i % 10 < 3
+        THEN (ARRAY[2.3522, 4.8357, 5.3698, -0.5792, 1.4442])[1 + (i % 5)] + (random() - 0.5) * 0.6
+        ELSE -4.8 + random() * 13.0 END
+FROM generate_series(1, 1000000) AS s(i);
+
+UPDATE bench_property_clusters
+SET geohash = property_geohash(latitude::double precision, longitude::double precision, 12);
+
+-- 1) Sans index couvrant (index geohash seul)
+CREATE INDEX idx_bench_property_clusters_geohash ON bench_property_clusters (geohash);
+VACUUM ANALYZE bench_property_clusters;
+
+-- Fenêtre France au zoom 6 : bbox alignée sur la grille de précision 3 (GeoArea.snapToGrid),
+-- cellules couvrantes fusionnées en intervalles comme PropertySpecification.withinArea
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*), avg(latitude), avg(longitude), min(price), property_median(price), min(id), min(geohash)
+FROM bench_property_clusters
+WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+  AND ((geohash >= 'ez' AND geohash < 'f')
+    OR (geohash >= 'gb' AND geohash < 'gd')
+    OR (geohash >= 'sp' AND geohash < 'sq')
+    OR (geohash >= 'u0' AND geohash < 'u2'))
+  AND latitude BETWEEN 40.78125 AND 52.03125
+  AND longitude BETWEEN -5.625 AND 9.84375
+GROUP BY substring(geohash, 1, 3);
+
+-- 2) Index couvrant de la migration : parcours d'index seul
+CREATE INDEX idx_bench_property_clusters_geohash_cluster
+    ON bench_property_clusters (geohash) INCLUDE (status, price, latitude, longitude);
+VACUUM ANALYZE bench_property_clusters;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*), avg(latitude), avg(longitude), min(price), property_median(price), min(id), min(geohash)
+FROM bench_property_clusters
+WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+  AND ((geohash >= 'ez' AND geohash < 'f')
+    OR (geohash >= 'gb' AND geohash < 'gd')
+    OR (geohash >= 'sp' AND geohash < 'sq')
+    OR (geohash >= 'u0' AND geohash < 'u2'))
+  AND latitude BETWEEN 40.78125 AND 52.03125
+  AND longitude BETWEEN -5.625 AND 9.84375
+GROUP BY substring(geohash, 1, 3);
+
+-- 3) Fenêtre ville (Paris, zoom 12, précision 5) : agrégation de quelques milliers de lignes
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*), avg(latitude), avg(longitude), min(price), property_median(price), min(id), min(geohash)
+FROM bench_property_clusters
+WHERE (status = 'PUBLISHED' OR status = 'AVAILABLE')
+  AND ((geohash >= 'u09te' AND geohash < 'u09tf')
+    OR (geohash >= 'u09tg' AND geohash < 'u09th')
+    OR (geohash >= 'u09ts' AND geohash < 'u09u')
+    OR (geohash >= 'u09w5' AND geohash < 'u09w6')
+    OR (geohash >= 'u09w7' AND geohash < 'u09w8')
+    OR (geohash >= 'u09wh' AND geohash < 'u09ws'))
+  AND latitude BETWEEN 48.80 AND 48.92 AND longitude BETWEEN 2.25 AND 2.42
+GROUP BY substring(geohash, 1, 5);
+
+DROP TABLE bench_property_clusters;
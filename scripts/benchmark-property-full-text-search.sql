@@ -0,0 +1,90 @@
+-- Benchmark : recherche LIKE '%terme%' vs recherche plein texte (tsvector + GIN)
+-- sur une table générée de 1M annonces.
+--
+-- Usage : psql -d realestate_db -f scripts/benchmark-property-full-text-search.sql
+-- Prérequis : scripts/migration-add-property-full-text-search.sql (extension unaccent,
+-- configuration french_unaccent et fonctions property_fts_*).
+-- Utilise une table dédiée bench_properties (supprimée à la fin), la table properties n'est pas modifiée.
+
+\timing on
+
+DROP TABLE IF EXISTS bench_properties;
+
+CREATE TABLE bench_properties (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255),
+    description TEXT,
+    city VARCHAR(100),
+    address VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    search_vector tsvector
+);
+
+-- 1M annonces avec un vocabulaire immobilier réaliste
+INSERT INTO bench_properties (title, description, city, address, created_at)
+SELECT
+    (ARRAY['Appartement', 'Maison', 'Studio', 'Villa', 'Loft', 'Duplex'])[1 + (i % 6)]
+        || ' ' || (1 + i % 6) || ' pièces '
+        || (ARRAY['lumineux', 'rénové', 'avec balcon', 'vue mer', 'calme', 'proche métro', 'avec jardin'])[1 + (i % 7)],
+    'Bel ensemble situé ' || (ARRAY['en centre-ville', 'près des écoles', 'dans une résidence sécurisée', 'au dernier étage', 'en rez-de-chaussée'])[1 + (i % 5)]
+        || '. ' || (ARRAY['Cuisine équipée', 'Parquet ancien', 'Double vitrage', 'Cave et parking', 'Terrasse exposée sud'])[1 + (i % 5)]
+        || ', ' || (ARRAY['chauffage collectif', 'ascenseur', 'piscine', 'gardien', 'fibre optique', 'cheminée'])[1 + (i % 6)]
+        || '. Référence ' || md5(i::text),
+    (ARRAY['Paris', 'Lyon', 'Marseille', 'Bordeaux', 'Toulouse', 'Nantes', 'Lille', 'Nice', 'Rennes', 'Orléans'])[1 + (i % 10)],
+    (i % 200) || ' rue ' || (ARRAY['de la République', 'Victor Hugo', 'des Lilas', 'Pasteur', 'du Général Leclerc'])[1 + (i % 5)],
+    now() - (i % 3650) * interval '1 day'
+FROM generate_series(1, 1000000) AS s(i);
+
+UPDATE bench_properties SET search_vector =
+    setweight(to_tsvector('french_unaccent', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('french_unaccent', coalesce(city, '')), 'B') ||
+    setweight(to_tsvector('french_unaccent', coalesce(address, '')), 'B') ||
+    setweight(to_tsvector('french_unaccent', coalesce(description, '')), 'C');
+
+CREATE INDEX idx_bench_properties_search_vector ON bench_properties USING GIN (search_vector);
+CREATE INDEX idx_bench_properties_created_at ON bench_properties (created_at DESC);
+VACUUM ANALYZE bench_properties;
+
+-- Requête : "vue mer" piscine -rez   (phrase + terme inclus + exclusion), page de 20
+
+-- 1) Chemin actuel : LIKE (PropertySpecification.advancedTextSearch)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_properties
+WHERE (lower(title) LIKE '%vue mer%' OR lower(description) LIKE '%vue mer%' OR lower(city) LIKE '%vue mer%')
+  AND (lower(title) LIKE '%piscine%' OR lower(description) LIKE '%piscine%'
+       OR lower(city) LIKE '%piscine%' OR lower(address) LIKE '%piscine%')
+  AND NOT lower(title) LIKE '%rez%' AND NOT lower(description) LIKE '%rez%' AND NOT lower(city) LIKE '%rez%'
+ORDER BY created_at DESC
+LIMIT 20;
+
+SELECT count(*) FROM bench_properties
+WHERE (lower(title) LIKE '%vue mer%' OR lower(description) LIKE '%vue mer%' OR lower(city) LIKE '%vue mer%')
+  AND (lower(title) LIKE '%piscine%' OR lower(description) LIKE '%piscine%'
+       OR lower(city) LIKE '%piscine%' OR lower(address) LIKE '%piscine%')
+  AND NOT lower(title) LIKE '%rez%' AND NOT lower(description) LIKE '%rez%' AND NOT lower(city) LIKE '%rez%';
+
+-- 2) Plein texte : même tsquery que SearchQueryParser.toTsQuery, tri ts_rank
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_properties
+WHERE property_fts_matches(search_vector, '(vue <-> mer) & piscine & !rez')
+ORDER BY property_fts_rank(search_vector, '(vue <-> mer) & piscine & !rez') DESC, created_at DESC
+LIMIT 20;
+
+SELECT count(*) FROM bench_properties
+WHERE property_fts_matches(search_vector, '(vue <-> mer) & piscine & !rez');
+
+-- 3) Terme sélectif accentué/non accentué ("orleans" trouve "Orléans")
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_properties
+WHERE lower(city) LIKE '%orleans%' OR lower(title) LIKE '%orleans%'
+   OR lower(description) LIKE '%orleans%' OR lower(address) LIKE '%orleans%'
+ORDER BY created_at DESC
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_properties
+WHERE property_fts_matches(search_vector, 'orleans')
+ORDER BY property_fts_rank(search_vector, 'orleans') DESC, created_at DESC
+LIMIT 20;
+
+DROP TABLE bench_properties;
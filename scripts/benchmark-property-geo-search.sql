@@ -0,0 +1,104 @@
+-- Benchmark : recherche géographique (near=48.8566,2.3522&radiusKm=5) par distance sur toutes les lignes
+-- vs intervalles de préfixes geohash (index B-tree) sur une table générée de 1M points.
+--
+-- Usage : psql -d realestate_db -f scripts/benchmark-property-geo-search.sql
+-- Prérequis : scripts/migration-add-property-geohash.sql (fonction property_geohash).
+-- Utilise une table dédiée bench_property_points (supprimée à la fin), la table properties n'est pas modifiée.
+
+\timing on
+
+DROP TABLE IF EXISTS bench_property_points;
+
+CREATE TABLE bench_property_points (
+    id BIGSERIAL PRIMARY KEY,
+    latitude NUMERIC(10, 7) NOT NULL,
+    longitude NUMERIC(10, 7) NOT NULL,
+    geohash VARCHAR(12),
+    created_at TIMESTAMP NOT NULL
+);
+
+-- 1M points : 30 % autour des grandes villes, 70 % répartis sur la France métropolitaine
+SELECT setseed(0.42);
+INSERT INTO bench_property_points (latitude, longitude, created_at)
+SELECT
+    CASE WHEN i % 10 < 3
+        THEN (ARRAY[48.8566, 45.7640, 43.2965, 44.8378, 43.6047])[1 + (i % 5)] + (random() - 0.5) * 0.4
+        ELSE 42.3 + random() * 8.8 END,
+    CASE WHEN i % 10 < 3
+        THEN (ARRAY[2.3522, 4.8357, 5.3698, -0.5792, 1.4442])[1 + (i % 5)] + (random() - 0.5) * 0.6
+        ELSE -4.8 + random() * 13.0 END,
+    now() - (i % 3650) * interval '1 day'
+FROM generate_series(1, 1000000) AS s(i);
+
+UPDATE bench_property_points
+SET geohash = property_geohash(latitude::double precision, longitude::double precision, 12);
+
+CREATE INDEX idx_bench_property_points_geohash ON bench_property_points (geohash);
+VACUUM ANALYZE bench_property_points;
+
+-- 1) Sans index spatial : distance évaluée sur chaque ligne
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_property_points
+WHERE 6371.0 * acos(least(1.0,
+        cos(radians(latitude)) * cos(radians(48.8566)) * cos(radians(longitude) - radians(2.3522))
+        + sin(radians(latitude)) * sin(radians(48.8566)))) <= 5
+ORDER BY created_at DESC
+LIMIT 20;
+
+-- 2) PropertySpecification.withinArea : cellules de GeoHash.cover (rectangle englobant du cercle,
+--    15 cellules de précision 5 fusionnées en 6 intervalles), bornes exactes puis distance sur les candidates
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_property_points
+WHERE ((geohash >= 'u09te' AND geohash < 'u09tf')
+    OR (geohash >= 'u09tg' AND geohash < 'u09th')
+    OR (geohash >= 'u09ts' AND geohash < 'u09u')
+    OR (geohash >= 'u09w5' AND geohash < 'u09w6')
+    OR (geohash >= 'u09wh' AND geohash < 'u09wk')
+    OR (geohash >= 'u09wn' AND geohash < 'u09wq'))
+  AND latitude BETWEEN 48.8116339 AND 48.9015661
+  AND longitude BETWEEN 2.2837954 AND 2.4206046
+  AND 6371.0 * acos(least(1.0,
+        cos(radians(latitude)) * cos(radians(48.8566)) * cos(radians(longitude) - radians(2.3522))
+        + sin(radians(latitude)) * sin(radians(48.8566)))) <= 5
+ORDER BY created_at DESC
+LIMIT 20;
+
+-- Les deux requêtes doivent compter les mêmes lignes
+SELECT count(*) FROM bench_property_points
+WHERE 6371.0 * acos(least(1.0,
+        cos(radians(latitude)) * cos(radians(48.8566)) * cos(radians(longitude) - radians(2.3522))
+        + sin(radians(latitude)) * sin(radians(48.8566)))) <= 5;
+
+SELECT count(*) FROM bench_property_points
+WHERE ((geohash >= 'u09te' AND geohash < 'u09tf')
+    OR (geohash >= 'u09tg' AND geohash < 'u09th')
+    OR (geohash >= 'u09ts' AND geohash < 'u09u')
+    OR (geohash >= 'u09w5' AND geohash < 'u09w6')
+    OR (geohash >= 'u09wh' AND geohash < 'u09wk')
+    OR (geohash >= 'u09wn' AND geohash < 'u09wq'))
+  AND latitude BETWEEN 48.8116339 AND 48.9015661
+  AND longitude BETWEEN 2.2837954 AND 2.4206046
+  AND 6371.0 * acos(least(1.0,
+        cos(radians(latitude)) * cos(radians(48.8566)) * cos(radians(longitude) - radians(2.3522))
+        + sin(radians(latitude)) * sin(radians(48.8566)))) <= 5;
+
+-- 3) Rectangle de carte (bbox=2.25,48.80,2.42,48.92) : 20 cellules de précision 5 fusionnées en 6 intervalles
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_property_points
+WHERE latitude BETWEEN 48.80 AND 48.92 AND longitude BETWEEN 2.25 AND 2.42
+ORDER BY created_at DESC
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM bench_property_points
+WHERE ((geohash >= 'u09te' AND geohash < 'u09tf')
+    OR (geohash >= 'u09tg' AND geohash < 'u09th')
+    OR (geohash >= 'u09ts' AND geohash < 'u09u')
+    OR (geohash >= 'u09w5' AND geohash < 'u09w6')
+    OR (geohash >= 'u09w7' AND geohash < 'u09w8')
+    OR (geohash >= 'u09wh' AND geohash < 'u09ws'))
+  AND latitude BETWEEN 48.80 AND 48.92 AND longitude BETWEEN 2.25 AND 2.42
+ORDER BY created_at DESC
+LIMIT 20;
+
+DROP TABLE bench_property_points;
@@ -0,0 +1,49 @@
+-- Migration: Cumuls horaires des annonces (statistiques par période, compaction des impressions brutes)
+-- Date: 2026-10-18
+--
+-- AdvertisementService.getAnalytics lit advertisement_hourly_stats (annonce, heure, ville, type de page) pour les
+-- statistiques par jour / semaine / mois et les répartitions par ville et type de page, au lieu de parcourir
+-- advertisement_impressions et advertisement_clicks. AdvertisementEventWriter incrémente ces cumuls dans la
+-- transaction qui applique les compteurs des annonces.
+--
+-- Le recalcul ci-dessous reprend les jours passés depuis les lignes brutes et écrase les cumuls existants
+-- (dépense recalculée aux tarifs actuels de l'annonce, sans plafond de budget) : à exécuter après le déploiement
+-- (le jour courant reste alimenté par l'ingestion) et AVANT la première compaction (advertisements.raw-retention,
+-- 03:30 par défaut), qui supprime les impressions de plus de 90 jours.
+
+CREATE TABLE IF NOT EXISTS advertisement_hourly_stats (
+    id BIGSERIAL PRIMARY KEY,
+    advertisement_id BIGINT NOT NULL,
+    hour TIMESTAMP NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    page_type VARCHAR(50) NOT NULL,
+    impressions BIGINT NOT NULL,
+    clicks BIGINT NOT NULL,
+    spent NUMERIC(20,5) NOT NULL,
+    CONSTRAINT uk_advertisement_hourly_stats UNIQUE (advertisement_id, hour, city, page_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_advertisement_hourly_stats_hour ON advertisement_hourly_stats (hour);
+
+INSERT INTO advertisement_hourly_stats (advertisement_id, hour, city, page_type, impressions, clicks, spent)
+SELECT e.advertisement_id, e.hour, e.city, e.page_type, SUM(e.impressions), SUM(e.clicks),
+       SUM(e.impressions) * COALESCE(a.cost_per_impression, 0) / 1000 + SUM(e.clicks) * COALESCE(a.cost_per_click, 0)
+FROM (
+    SELECT advertisement_id, DATE_TRUNC('hour', impressed_at) AS hour,
+           LEFT(TRIM(COALESCE(city, '')), 100) AS city, LEFT(TRIM(COALESCE(page_type, '')), 50) AS page_type,
+           1 AS impressions, 0 AS clicks
+    FROM advertisement_impressions
+    WHERE impressed_at < CURRENT_DATE
+    UNION ALL
+    SELECT advertisement_id, DATE_TRUNC('hour', clicked_at), LEFT(TRIM(COALESCE(city, '')), 100), '', 0, 1
+    FROM advertisement_clicks
+    WHERE clicked_at < CURRENT_DATE
+) e
+JOIN advertisements a ON a.id = e.advertisement_id
+GROUP BY e.advertisement_id, e.hour, e.city, e.page_type, a.cost_per_impression, a.cost_per_click
+ON CONFLICT (advertisement_id, hour, city, page_type) DO UPDATE SET
+    impressions = EXCLUDED.impressions,
+    clicks = EXCLUDED.clicks,
+    spent = EXCLUDED.spent;
+
+ANALYZE advertisement_hourly_stats;
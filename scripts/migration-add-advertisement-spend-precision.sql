@@ -0,0 +1,10 @@
+-- Migration: Dépense publicitaire exacte (advertisements.total_spent en NUMERIC(20,5))
+-- Date: 2026-10-18
+--
+-- Les impressions et clics sont comptés en mémoire puis appliqués en deltas (AdvertisementEventWriter) :
+-- total_spent = total_spent + impressions * cost_per_impression / 1000 + clics * cost_per_click, plafonné au budget.
+-- Une impression au CPM coûte CPM / 1000 (ex. 2,55 / 1000 = 0,00255) : 5 décimales sont nécessaires pour ne
+-- perdre aucune fraction (avec 2 décimales, un CPM inférieur à 5 € arrondissait chaque impression à 0).
+-- ddl-auto: update ne modifie pas le type d'une colonne existante.
+
+ALTER TABLE advertisements ALTER COLUMN total_spent TYPE NUMERIC(20, 5);
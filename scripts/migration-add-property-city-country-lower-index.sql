@@ -0,0 +1,10 @@
+-- Migration: Index fonctionnels pour les filtres ville / pays insensibles à la casse
+-- Date: 2026-10-18
+--
+-- La recherche publique compare lower(city) / lower(country) (PropertySpecification.hasCityIgnoreCase,
+-- hasCountryIgnoreCase) pour que "Paris" et "paris" partagent la même entrée de cache.
+-- Sans ces index, idx_property_city n'est plus utilisable par ces prédicats.
+
+CREATE INDEX IF NOT EXISTS idx_property_city_lower ON properties (lower(city));
+
+CREATE INDEX IF NOT EXISTS idx_property_country_lower ON properties (lower(country));
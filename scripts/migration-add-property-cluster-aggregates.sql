@@ -0,0 +1,29 @@
+-- Migration: Agrégats pour les clusters de carte (/api/public/properties/clusters)
+-- Date: 2026-10-18
+-- Prérequis : scripts/migration-add-property-geohash.sql
+--
+-- PublicPropertyService.getPropertyClusters regroupe les propriétés publiées par préfixe geohash
+-- (GROUP BY substring(geohash, 1, précision)) et calcule le prix médian de chaque cellule avec
+-- property_median (agrégat simple, utilisable depuis une requête Criteria JPA qui ne sait pas
+-- exprimer percentile_cont(...) WITHIN GROUP).
+
+CREATE OR REPLACE FUNCTION property_median_final(prices numeric[])
+RETURNS numeric AS $$
+    SELECT percentile_cont(0.5) WITHIN GROUP (ORDER BY price)::numeric
+    FROM unnest(prices) AS price
+$$ LANGUAGE sql IMMUTABLE;
+
+DROP AGGREGATE IF EXISTS property_median(numeric);
+CREATE AGGREGATE property_median(numeric) (
+    SFUNC = array_append,
+    STYPE = numeric[],
+    FINALFUNC = property_median_final,
+    INITCOND = '{}'
+);
+
+-- Index couvrant : l'agrégation d'une fenêtre de carte est lue par parcours d'index seul
+-- (statut, prix et coordonnées inclus), sans accès aux lignes de la table
+CREATE INDEX IF NOT EXISTS idx_property_geohash_cluster
+    ON properties (geohash) INCLUDE (status, price, latitude, longitude);
+
+VACUUM ANALYZE properties;
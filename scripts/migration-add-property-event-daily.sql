@@ -0,0 +1,46 @@
+-- Migration: Cumuls journaliers des événements de propriétés (historique des statistiques)
+-- Date: 2026-10-18
+--
+-- PropertyEventService.getPropertyStatsHistory / getGlobalStatsHistory lisent property_event_daily
+-- (propriété, jour, type) et property_event_daily_totals (jour, type) au lieu de charger les lignes de
+-- property_events. PropertyEventWriter incrémente ces cumuls dans la transaction de chaque lot d'événements.
+--
+-- Le recalcul ci-dessous reprend les jours passés depuis property_events et écrase les cumuls existants :
+-- à exécuter après le déploiement (le jour courant reste alimenté par l'ingestion), et à relancer
+-- sans risque pour corriger un cumul.
+
+CREATE TABLE IF NOT EXISTS property_event_daily (
+    id BIGSERIAL PRIMARY KEY,
+    property_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    CONSTRAINT uk_property_event_daily UNIQUE (property_id, day, event_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_property_event_daily_day ON property_event_daily (day);
+
+CREATE TABLE IF NOT EXISTS property_event_daily_totals (
+    id BIGSERIAL PRIMARY KEY,
+    day DATE NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    event_count BIGINT NOT NULL,
+    CONSTRAINT uk_property_event_daily_total UNIQUE (day, event_type)
+);
+
+INSERT INTO property_event_daily (property_id, day, event_type, event_count)
+SELECT property_id, created_at::date, event_type, COUNT(*)
+FROM property_events
+WHERE created_at < CURRENT_DATE
+GROUP BY property_id, created_at::date, event_type
+ON CONFLICT (property_id, day, event_type) DO UPDATE SET event_count = EXCLUDED.event_count;
+
+INSERT INTO property_event_daily_totals (day, event_type, event_count)
+SELECT created_at::date, event_type, COUNT(*)
+FROM property_events
+WHERE created_at < CURRENT_DATE
+GROUP BY created_at::date, event_type
+ON CONFLICT (day, event_type) DO UPDATE SET event_count = EXCLUDED.event_count;
+
+ANALYZE property_event_daily;
+ANALYZE property_event_daily_totals;
@@ -0,0 +1,17 @@
+-- Migration: Fonctions des facettes de recherche publique (/api/public/properties/facets)
+-- Date: 2026-10-18
+--
+-- Sans Elasticsearch, PublicPropertyService.getPropertyFacets calcule toutes les facettes en une requête
+-- GROUP BY GROUPING SETS ((type), (transaction_type), (city), (tranche de prix)).
+-- La tranche de prix est une fonction sans paramètre pour que l'expression soit identique dans le SELECT
+-- et le GROUP BY. Bornes identiques à PriceBands.SALE / PriceBands.RENT (tranche 0 = sous la première borne).
+
+CREATE OR REPLACE FUNCTION property_sale_price_band(price numeric)
+RETURNS integer AS $$
+    SELECT width_bucket(price, ARRAY[100000, 200000, 300000, 500000, 1000000]::numeric[])
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION property_rent_price_band(price numeric)
+RETURNS integer AS $$
+    SELECT width_bucket(price, ARRAY[500, 1000, 1500, 2500]::numeric[])
+$$ LANGUAGE sql IMMUTABLE;
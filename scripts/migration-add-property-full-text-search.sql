@@ -0,0 +1,57 @@
+-- Migration: Recherche plein texte PostgreSQL pour les propriétés (tsvector français + unaccent + GIN)
+-- Date: 2026-10-18
+--
+-- Remplace les prédicats LIKE '%terme%' de PropertySpecification.advancedTextSearch
+-- (scan séquentiel) par une recherche indexée. Activer ensuite côté property-service :
+--   search.full-text.enabled=true (variable SEARCH_FULL_TEXT_ENABLED)
+
+-- Extension unaccent (é → e, à → a, ...)
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- Configuration de recherche française insensible aux accents
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'french_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION french_unaccent (COPY = french);
+        ALTER TEXT SEARCH CONFIGURATION french_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, french_stem;
+    END IF;
+END $$;
+
+-- Colonne tsvector, non mappée sur l'entité Property (lue uniquement par les filtres, cf. FullTextSearchFunctions)
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+COMMENT ON COLUMN properties.search_vector IS 'Vecteur de recherche plein texte (title A, city/address B, description C), maintenu par trigger';
+
+-- Mise à jour du vecteur à chaque écriture
+CREATE OR REPLACE FUNCTION properties_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('french_unaccent', coalesce(NEW.title, '')), 'A') ||
+        setweight(to_tsvector('french_unaccent', coalesce(NEW.city, '')), 'B') ||
+        setweight(to_tsvector('french_unaccent', coalesce(NEW.address, '')), 'B') ||
+        setweight(to_tsvector('french_unaccent', coalesce(NEW.description, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_properties_search_vector ON properties;
+CREATE TRIGGER trg_properties_search_vector
+    BEFORE INSERT OR UPDATE OF title, description, city, address ON properties
+    FOR EACH ROW EXECUTE FUNCTION properties_search_vector_update();
+
+-- Initialiser les lignes existantes (le trigger recalcule le vecteur)
+UPDATE properties SET title = title WHERE search_vector IS NULL;
+
+-- Index GIN
+CREATE INDEX IF NOT EXISTS idx_property_search_vector ON properties USING GIN (search_vector);
+
+-- Fonctions appelées par PropertySpecification.fullTextSearch
+-- (fonctions SQL simples : inlinées par le planner, l'index GIN reste utilisable)
+CREATE OR REPLACE FUNCTION property_fts_matches(v tsvector, q text) RETURNS boolean AS $$
+    SELECT v @@ to_tsquery('french_unaccent', q)
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION property_fts_rank(v tsvector, q text) RETURNS real AS $$
+    SELECT ts_rank(v, to_tsquery('french_unaccent', q))
+$$ LANGUAGE sql STABLE;
@@ -0,0 +1,68 @@
+-- Migration: Colonne geohash pour la recherche géographique (carte)
+-- Date: 2026-10-18
+--
+-- La recherche publique bbox= / near=lat,lon&radiusKm= (PropertySpecification.withinArea) couvre la zone
+-- par au plus 32 cellules geohash et lit chaque cellule comme un intervalle [préfixe, préfixe suivant)
+-- sur idx_property_geohash (B-tree) : seules les lignes candidates évaluent les bornes exactes et la distance.
+-- La colonne est maintenue par l'application (Property.updateGeohash) ; property_geohash reproduit
+-- GeoHash.encode pour le backfill des lignes existantes.
+
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS geohash VARCHAR(12);
+
+CREATE OR REPLACE FUNCTION property_geohash(lat double precision, lon double precision, precision_chars integer)
+RETURNS varchar AS $$
+DECLARE
+    base32 CONSTANT text := '0123456789bcdefghjkmnpqrstuvwxyz';
+    min_lat double precision := -90;
+    max_lat double precision := 90;
+    min_lon double precision := -180;
+    max_lon double precision := 180;
+    mid double precision;
+    hash text := '';
+    even_bit boolean := true;
+    bit_count integer := 0;
+    idx integer := 0;
+BEGIN
+    IF lat IS NULL OR lon IS NULL THEN
+        RETURN NULL;
+    END IF;
+    WHILE length(hash) < precision_chars LOOP
+        IF even_bit THEN
+            mid := (min_lon + max_lon) / 2;
+            IF lon >= mid THEN
+                idx := idx * 2 + 1;
+                min_lon := mid;
+            ELSE
+                idx := idx * 2;
+                max_lon := mid;
+            END IF;
+        ELSE
+            mid := (min_lat + max_lat) / 2;
+            IF lat >= mid THEN
+                idx := idx * 2 + 1;
+                min_lat := mid;
+            ELSE
+                idx := idx * 2;
+                max_lat := mid;
+            END IF;
+        END IF;
+        even_bit := NOT even_bit;
+        bit_count := bit_count + 1;
+        IF bit_count = 5 THEN
+            hash := hash || substr(base32, idx + 1, 1);
+            bit_count := 0;
+            idx := 0;
+        END IF;
+    END LOOP;
+    RETURN hash;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+UPDATE properties
+SET geohash = property_geohash(latitude::double precision, longitude::double precision, 12)
+WHERE latitude IS NOT NULL AND longitude IS NOT NULL
+  AND geohash IS DISTINCT FROM property_geohash(latitude::double precision, longitude::double precision, 12);
+
+CREATE INDEX IF NOT EXISTS idx_property_geohash ON properties (geohash);
+
+ANALYZE properties;
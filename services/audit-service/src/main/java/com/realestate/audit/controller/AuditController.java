@@ -5,7 +5,7 @@ import com.realestate.audit.entity.AuditLog;
 import com.realestate.audit.mapper.AuditLogMapper;
 import com.realestate.audit.service.AuditService;
 import com.realestate.common.exception.ResourceNotFoundException;
-import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.PermissionContextResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -30,15 +30,15 @@ public class AuditController {
 
     private final AuditService auditService;
     private final AuditLogMapper auditLogMapper;
-    private final IdentityServiceClient identityServiceClient;
+    private final PermissionContextResolver permissionContextResolver;
 
     public AuditController(
             AuditService auditService, 
             AuditLogMapper auditLogMapper,
-            IdentityServiceClient identityServiceClient) {
+            PermissionContextResolver permissionContextResolver) {
         this.auditService = auditService;
         this.auditLogMapper = auditLogMapper;
-        this.identityServiceClient = identityServiceClient;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @PostMapping
@@ -102,12 +102,12 @@ public class AuditController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ") && identityServiceClient != null) {
+            if (authorization != null && authorization.startsWith("Bearer ") && permissionContextResolver != null) {
                 String token = authorization.substring(7);
                 
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
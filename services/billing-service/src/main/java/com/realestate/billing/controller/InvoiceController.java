@@ -5,7 +5,7 @@ import com.realestate.billing.entity.Invoice;
 import com.realestate.billing.mapper.InvoiceMapper;
 import com.realestate.billing.service.InvoiceService;
 import com.realestate.common.exception.ResourceNotFoundException;
-import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.PermissionContextResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.data.domain.Page;
@@ -35,17 +35,17 @@ public class InvoiceController {
     private final InvoiceService invoiceService;
     private final InvoiceMapper invoiceMapper;
     private final com.realestate.billing.service.InvoicePdfService invoicePdfService;
-    private final IdentityServiceClient identityServiceClient;
+    private final PermissionContextResolver permissionContextResolver;
 
     public InvoiceController(
             InvoiceService invoiceService, 
             InvoiceMapper invoiceMapper, 
             com.realestate.billing.service.InvoicePdfService invoicePdfService,
-            IdentityServiceClient identityServiceClient) {
+            PermissionContextResolver permissionContextResolver) {
         this.invoiceService = invoiceService;
         this.invoiceMapper = invoiceMapper;
         this.invoicePdfService = invoicePdfService;
-        this.identityServiceClient = identityServiceClient;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @PostMapping
@@ -90,12 +90,12 @@ public class InvoiceController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ") && identityServiceClient != null) {
+            if (authorization != null && authorization.startsWith("Bearer ") && permissionContextResolver != null) {
                 String token = authorization.substring(7);
                 
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -5,7 +5,7 @@ import com.realestate.billing.entity.Subscription;
 import com.realestate.billing.mapper.SubscriptionMapper;
 import com.realestate.billing.service.SubscriptionService;
 import com.realestate.common.exception.ResourceNotFoundException;
-import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.PermissionContextResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -26,15 +26,15 @@ public class SubscriptionController {
 
     private final SubscriptionService subscriptionService;
     private final SubscriptionMapper subscriptionMapper;
-    private final IdentityServiceClient identityServiceClient;
+    private final PermissionContextResolver permissionContextResolver;
 
     public SubscriptionController(
             SubscriptionService subscriptionService, 
             SubscriptionMapper subscriptionMapper,
-            IdentityServiceClient identityServiceClient) {
+            PermissionContextResolver permissionContextResolver) {
         this.subscriptionService = subscriptionService;
         this.subscriptionMapper = subscriptionMapper;
-        this.identityServiceClient = identityServiceClient;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @GetMapping
@@ -48,12 +48,12 @@ public class SubscriptionController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ") && identityServiceClient != null) {
+            if (authorization != null && authorization.startsWith("Bearer ") && permissionContextResolver != null) {
                 String token = authorization.substring(7);
                 
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -17,7 +17,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.PermissionContextResolver;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -33,17 +33,17 @@ public class DocumentController {
     private final DocumentService documentService;
     private final DocumentMapper documentMapper;
     private final ImageOptimizationService imageOptimizationService;
-    private final IdentityServiceClient identityServiceClient;
+    private final PermissionContextResolver permissionContextResolver;
 
     public DocumentController(
             DocumentService documentService, 
             DocumentMapper documentMapper,
             ImageOptimizationService imageOptimizationService,
-            IdentityServiceClient identityServiceClient) {
+            PermissionContextResolver permissionContextResolver) {
         this.documentService = documentService;
         this.documentMapper = documentMapper;
         this.imageOptimizationService = imageOptimizationService;
-        this.identityServiceClient = identityServiceClient;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @PostMapping("/upload")
@@ -62,7 +62,7 @@ public class DocumentController {
                 String token = authorization.substring(7);
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -111,7 +111,7 @@ public class DocumentController {
             String token = authorization.substring(7);
             try {
                 java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                        identityServiceClient.getPermissionContext(token).block();
+                        permissionContextResolver.getPermissionContext(token);
                 
                 if (permissionContextOpt.isPresent()) {
                     com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -160,7 +160,7 @@ public class DocumentController {
                 String token = authorization.substring(7);
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -230,12 +230,12 @@ public class DocumentController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ") && identityServiceClient != null) {
+            if (authorization != null && authorization.startsWith("Bearer ") && permissionContextResolver != null) {
                 String token = authorization.substring(7);
                 
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -290,7 +290,7 @@ public class DocumentController {
                         .orElseThrow(() -> new ResourceNotFoundException("Document", id));
                 
                 java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                        identityServiceClient.getPermissionContext(token).block();
+                        permissionContextResolver.getPermissionContext(token);
                 
                 if (permissionContextOpt.isPresent()) {
                     com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -342,7 +342,7 @@ public class DocumentController {
                             .orElseThrow(() -> new ResourceNotFoundException("Document", id));
                     
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();
@@ -1,7 +1,9 @@
 package com.realestate.identity.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.realestate.common.cache.CacheValueCodecs;
+import com.realestate.identity.dto.CityDTO;
+import com.realestate.identity.dto.CountryDTO;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +11,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -26,42 +27,30 @@ import java.util.Map;
  * - cities : Cache pour la liste des villes actives (TTL: 1 heure)
  * - city : Cache pour les détails d'une ville (TTL: 1 heure)
  * - citiesByCountry : Cache pour les villes par pays (TTL: 1 heure)
+ * 
+ * Valeurs encodées en Smile (+ LZ4 au-delà de cache.codec.compression-threshold),
+ * cache.codec.format=json rétablit la sérialisation JSON historique.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /**
-     * Crée un ObjectMapper configuré pour Redis avec support des types Java 8 date/time
-     */
-    private ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.activateDefaultTyping(
-                mapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                com.fasterxml.jackson.annotation.JsonTypeInfo.As.PROPERTY
-        );
-        return mapper;
-    }
+    @Value("${cache.codec.format:" + CacheValueCodecs.FORMAT_SMILE + "}")
+    private String codecFormat;
 
-    /**
-     * Crée un serializer JSON pour Redis avec support des types Java 8 date/time
-     */
-    private GenericJackson2JsonRedisSerializer createJsonRedisSerializer() {
-        return new GenericJackson2JsonRedisSerializer(createObjectMapper());
-    }
+    @Value("${cache.codec.compression-threshold:2048}")
+    private int compressionThreshold;
 
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        GenericJackson2JsonRedisSerializer jsonSerializer = createJsonRedisSerializer();
+        // Types déclarés par cache : encodage binaire sans noms de classes (cf. CacheValueCodecs)
+        CacheValueCodecs codecs = new CacheValueCodecs(codecFormat, compressionThreshold);
         
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5)) // TTL par défaut : 5 minutes
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
+                .serializeValuesWith(codecs.json())
                 .disableCachingNullValues();
 
         // Configuration pour les pays et villes (TTL plus long car changent rarement)
@@ -69,16 +58,14 @@ public class CacheConfig {
                 .entryTtl(Duration.ofHours(1)) // TTL : 1 heure pour les pays et villes
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
                 .disableCachingNullValues();
         
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        cacheConfigurations.put("countries", countryCityConfig);
-        cacheConfigurations.put("country", countryCityConfig);
-        cacheConfigurations.put("cities", countryCityConfig);
-        cacheConfigurations.put("city", countryCityConfig);
-        cacheConfigurations.put("citiesByCountry", countryCityConfig);
+        cacheConfigurations.put("countries", countryCityConfig.serializeValuesWith(codecs.forListOf(CountryDTO.class)));
+        cacheConfigurations.put("country", countryCityConfig.serializeValuesWith(codecs.forType(CountryDTO.class)));
+        cacheConfigurations.put("cities", countryCityConfig.serializeValuesWith(codecs.forListOf(CityDTO.class)));
+        cacheConfigurations.put("city", countryCityConfig.serializeValuesWith(codecs.forType(CityDTO.class)));
+        cacheConfigurations.put("citiesByCountry", countryCityConfig.serializeValuesWith(codecs.forListOf(CityDTO.class)));
         
         return RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
@@ -5,6 +5,7 @@ import com.realestate.identity.dto.OrganizationSettingsDTO;
 import com.realestate.identity.entity.Organization;
 import com.realestate.identity.mapper.OrganizationMapper;
 import com.realestate.identity.service.OrganizationService;
+import com.realestate.common.exception.BadRequestException;
 import com.realestate.common.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "bearerAuth")
 public class OrganizationController {
 
+    private static final int MAX_BATCH_IDS = 500;
+
     private final OrganizationService organizationService;
     private final OrganizationMapper organizationMapper;
 
@@ -39,6 +42,18 @@ public class OrganizationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(organizationMapper.toDTO(created));
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get organizations by IDs", description = "Returns organizations for up to " + MAX_BATCH_IDS + " IDs in a single call. Unknown IDs are omitted.")
+    public ResponseEntity<List<OrganizationDTO>> getOrganizationsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("Too many ids (max " + MAX_BATCH_IDS + ")");
+        }
+        List<OrganizationDTO> organizationDTOs = organizationService.getOrganizationsByIds(ids).stream()
+                .map(organizationMapper::toDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(organizationDTOs);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get organization by ID", description = "Returns organization information for a specific ID")
     public ResponseEntity<OrganizationDTO> getOrganizationById(@PathVariable Long id) {
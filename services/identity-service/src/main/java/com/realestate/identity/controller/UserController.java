@@ -11,6 +11,7 @@ import com.realestate.identity.service.UserService;
 import com.realestate.identity.service.UserTypeService;
 import com.realestate.identity.service.PermissionContextService;
 import com.realestate.identity.dto.PermissionContextDTO;
+import com.realestate.common.exception.BadRequestException;
 import com.realestate.common.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -23,7 +24,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/identity/users")
@@ -31,6 +34,8 @@ import java.util.Map;
 @SecurityRequirement(name = "bearerAuth")
 public class UserController {
 
+    private static final int MAX_BATCH_IDS = 500;
+
     private final UserService userService;
     private final JwtService jwtService;
     private final UserMapper userMapper;
@@ -124,6 +129,18 @@ public class UserController {
         }
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get users by IDs", description = "Returns summary information (id, email, names, roles) for up to " + MAX_BATCH_IDS + " user IDs in a single call. Unknown IDs are omitted.")
+    public ResponseEntity<List<UserDTO>> getUsersByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BadRequestException("Too many ids (max " + MAX_BATCH_IDS + ")");
+        }
+        List<UserDTO> users = userService.getUsersByIds(ids).stream()
+                .map(userMapper::toSummaryDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Returns user information for a specific user ID")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
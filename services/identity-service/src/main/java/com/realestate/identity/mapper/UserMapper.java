@@ -61,6 +61,28 @@ public class UserMapper {
         return dto;
     }
 
+    /**
+     * Mapping allégé (identité et rôles) sans lookup de l'organisation principale,
+     * utilisé par les résolutions en lot pour éviter une requête par utilisateur
+     */
+    public UserDTO toSummaryDTO(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setEnabled(user.getEnabled());
+        if (user.getRoles() != null) {
+            dto.setRoleNames(user.getRoles().stream()
+                    .map(Role::getName)
+                    .collect(Collectors.toSet()));
+        }
+        return dto;
+    }
+
     public User toEntity(UserDTO dto) {
         if (dto == null) {
             return null;
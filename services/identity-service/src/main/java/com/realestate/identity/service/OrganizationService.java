@@ -5,6 +5,7 @@ import com.realestate.identity.repository.OrganizationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +28,17 @@ public class OrganizationService {
         return organizationRepository.findById(id);
     }
 
+    /**
+     * Récupère plusieurs organisations en une requête, pour les résolutions en lot
+     */
+    @Transactional(readOnly = true)
+    public List<Organization> getOrganizationsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return organizationRepository.findAllById(ids);
+    }
+
     @Transactional(readOnly = true)
     public List<Organization> getAllOrganizations() {
         return organizationRepository.findAll();
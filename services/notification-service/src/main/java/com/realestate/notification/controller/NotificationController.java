@@ -59,6 +59,25 @@ public class NotificationController {
         }
     }
 
+    @PostMapping("/send-batch")
+    @Operation(summary = "Send notifications in batch", description = "Sends several notifications in one request and one " +
+            "transaction (same fields as /send); the whole batch is rejected if an entry is invalid")
+    public ResponseEntity<List<NotificationDTO>> sendNotifications(@RequestBody List<Map<String, Object>> requests) {
+        List<Notification> notifications;
+        try {
+            notifications = requests.stream()
+                    .map(this::toNotification)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<NotificationDTO> sent = notificationService.sendNotifications(notifications).stream()
+                .map(notificationMapper::toDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.status(HttpStatus.CREATED).body(sent);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get notification by ID", description = "Returns notification information for a specific notification ID")
     public ResponseEntity<NotificationDTO> getNotificationById(@PathVariable Long id) {
@@ -123,4 +142,18 @@ public class NotificationController {
         notificationService.deleteNotification(id);
         return ResponseEntity.noContent().build();
     }
+
+    private Notification toNotification(Map<String, Object> request) {
+        Notification notification = new Notification(
+                request.get("type").toString(),
+                request.get("title").toString(),
+                request.get("message").toString(),
+                Long.valueOf(request.get("recipientId").toString()),
+                Long.valueOf(request.get("organizationId").toString()));
+        notification.setSenderId(request.containsKey("senderId") ? Long.valueOf(request.get("senderId").toString()) : null);
+        notification.setChannel(request.containsKey("channel") ? request.get("channel").toString() : "IN_APP");
+        notification.setTargetType(request.containsKey("targetType") ? request.get("targetType").toString() : null);
+        notification.setTargetId(request.containsKey("targetId") ? Long.valueOf(request.get("targetId").toString()) : null);
+        return notification;
+    }
 }
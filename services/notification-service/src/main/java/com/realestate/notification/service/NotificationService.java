@@ -60,6 +60,15 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
 
+    /**
+     * Envoi groupé : une seule transaction pour tout le lot
+     */
+    @Transactional
+    public List<Notification> sendNotifications(List<Notification> notifications) {
+        notifications.forEach(notification -> notification.setStatus("SENT"));
+        return notificationRepository.saveAll(notifications);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Notification> getNotificationById(Long id) {
         return notificationRepository.findById(id);
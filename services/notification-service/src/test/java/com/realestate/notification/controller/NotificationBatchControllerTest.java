@@ -0,0 +1,75 @@
+package com.realestate.notification.controller;
+
+import com.realestate.notification.entity.Notification;
+import com.realestate.notification.mapper.NotificationMapper;
+import com.realestate.notification.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * POST /api/notifications/send-batch sur un MockMvc autonome (sans contexte Spring)
+ */
+class NotificationBatchControllerTest {
+
+    private NotificationService notificationService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new NotificationController(notificationService, new NotificationMapper()))
+                .build();
+    }
+
+    private Notification sentNotification(Long recipientId) {
+        Notification notification = new Notification();
+        notification.setId(recipientId);
+        notification.setType("PRICE_ALERT");
+        notification.setTitle("Title");
+        notification.setMessage("Message");
+        notification.setRecipientId(recipientId);
+        notification.setOrganizationId(100L);
+        notification.setStatus("SENT");
+        notification.setChannel("IN_APP");
+        return notification;
+    }
+
+    @Test
+    void testSendNotifications_Batch() throws Exception {
+        // Given
+        when(notificationService.sendNotifications(anyList()))
+                .thenReturn(List.of(sentNotification(10L), sentNotification(11L)));
+
+        // When & Then
+        mockMvc.perform(post("/api/notifications/send-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"type\":\"PRICE_ALERT\",\"title\":\"Title\",\"message\":\"Message\",\"recipientId\":10,\"organizationId\":100,\"targetType\":\"PROPERTY\",\"targetId\":50}," +
+                                "{\"type\":\"PRICE_ALERT\",\"title\":\"Title\",\"message\":\"Message\",\"recipientId\":11,\"organizationId\":100}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].recipientId").value(11));
+        verify(notificationService).sendNotifications(argThat(list -> list.size() == 2
+                && "IN_APP".equals(list.get(1).getChannel()) && list.get(0).getTargetId() == 50L));
+    }
+
+    @Test
+    void testSendNotifications_InvalidEntryRejectsBatch() throws Exception {
+        mockMvc.perform(post("/api/notifications/send-batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"type\":\"PRICE_ALERT\",\"title\":\"Title\",\"message\":\"Message\"}]"))
+                .andExpect(status().isBadRequest());
+        verify(notificationService, never()).sendNotifications(anyList());
+    }
+}
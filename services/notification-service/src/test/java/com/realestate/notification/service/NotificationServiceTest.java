@@ -89,6 +89,25 @@ class NotificationServiceTest {
         verify(notificationRepository).save(any(Notification.class));
     }
 
+    @Test
+    void testSendNotifications_MarksAllSentInOneSave() {
+        // Given
+        Notification second = new Notification();
+        second.setRecipientId(11L);
+        second.setStatus("PENDING");
+        List<Notification> notifications = List.of(testNotification, second);
+        when(notificationRepository.saveAll(notifications)).thenReturn(notifications);
+
+        // When
+        List<Notification> result = notificationService.sendNotifications(notifications);
+
+        // Then
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(notification -> "SENT".equals(notification.getStatus())));
+        verify(notificationRepository).saveAll(notifications);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
     @Test
     void testGetNotificationById_Success() {
         // Given
@@ -0,0 +1,86 @@
+package com.realestate.property.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Diffusion des invalidations du cache L1 entre les instances via Redis pub/sub
+ *
+ * Chaque écriture ou éviction locale publie (nodeId, cache, clé) ; les autres instances
+ * retirent la clé de leur L1 et reliront la valeur à jour depuis Redis (L2).
+ * Les messages émis par l'instance elle-même sont ignorés.
+ *
+ * Format du message : nodeId \t cacheName \t key (key vide = clear du cache)
+ */
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    public static final String DEFAULT_CHANNEL = "property-service:cache-invalidation";
+
+    private static final String SEPARATOR = "\t";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private TwoTierCacheManager cacheManager;
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    void bind(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Publie l'éviction d'une clé L1 (best effort : une erreur Redis n'interrompt pas l'écriture)
+     */
+    public void publishEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    /**
+     * Publie le vidage complet d'un cache L1
+     */
+    public void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR);
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            logger.warn("Failed to publish cache invalidation on {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(SEPARATOR, 3);
+        if (parts.length != 3 || cacheManager == null) {
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cacheManager.clearLocal(parts[1]);
+        } else {
+            cacheManager.evictLocal(parts[1], parts[2]);
+        }
+    }
+}
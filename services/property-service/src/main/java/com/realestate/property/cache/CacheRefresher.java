@@ -0,0 +1,80 @@
+package com.realestate.property.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur borné des rafraîchissements de cache en arrière-plan
+ *
+ * Un seul rafraîchissement à la fois par clé ; file pleine → le rafraîchissement est abandonné
+ * (la valeur périmée reste servie jusqu'au TTL dur, puis chargement synchrone).
+ * Volontairement pas un bean Executor : il ne doit pas remplacer l'exécuteur @Async par défaut.
+ */
+public class CacheRefresher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRefresher.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CacheRefresher(int threads, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                daemonThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Planifie un rafraîchissement ; false si déjà en cours pour cette clé ou si la file est pleine
+     */
+    public boolean schedule(String cacheName, String key, Runnable refresh) {
+        String refreshKey = cacheName + "::" + key;
+        if (!refreshing.add(refreshKey)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Background refresh of {} failed: {}", refreshKey, e.getMessage());
+                } finally {
+                    refreshing.remove(refreshKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(refreshKey);
+            logger.debug("Refresh queue full, skipping {}", refreshKey);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.realestate.property.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Index tag → clés de cache, stocké dans Redis (un SET par tag)
+ *
+ * Partagé par toutes les instances : une invalidation par tag sur un nœud retire les
+ * entrées Redis et, via TwoTierCache, les copies L1 de tous les nœuds.
+ * Chaque SET expire avec le TTL du cache, les clés orphelines disparaissent donc d'elles-mêmes.
+ */
+public class CacheTagRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTagRegistry.class);
+
+    private static final String PREFIX = "property-cache-tags:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CacheTagRegistry(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Associe une clé de cache à ses tags (best effort : une erreur n'empêche pas la mise en cache)
+     */
+    public void register(String cacheName, String key, Collection<String> tags, Duration ttl) {
+        try {
+            for (String tag : tags) {
+                String setKey = setKey(cacheName, tag);
+                redisTemplate.opsForSet().add(setKey, key);
+                redisTemplate.expire(setKey, ttl);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to register cache tags {} for {}:{}: {}", tags, cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Retourne les clés associées aux tags et les retire de leurs SET
+     * (seules les clés lues sont retirées : une clé enregistrée entre-temps reste indexée)
+     */
+    public Set<String> removeKeys(String cacheName, Collection<String> tags) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String setKey = setKey(cacheName, tag);
+            Set<String> members = redisTemplate.opsForSet().members(setKey);
+            if (members != null && !members.isEmpty()) {
+                keys.addAll(members);
+                redisTemplate.opsForSet().remove(setKey, members.toArray());
+            }
+        }
+        return keys;
+    }
+
+    private String setKey(String cacheName, String tag) {
+        return PREFIX + cacheName + ":" + tag;
+    }
+}
@@ -0,0 +1,66 @@
+package com.realestate.property.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compteurs hit/miss par cache et par niveau (l1 = Caffeine local, l2 = Redis)
+ *
+ * Exposé via Actuator : property.cache.requests{cache, tier, result}
+ * Les miss regroupés sur un chargement déjà en cours sont comptés avec tier=load, result=coalesced ;
+ * les valeurs périmées servies (stale) et les rafraîchissements anticipés (refresh_ahead) aussi en tier=load.
+ */
+public class CacheTierMetrics {
+
+    public static final String TIER_L1 = "l1";
+    public static final String TIER_L2 = "l2";
+    public static final String TIER_LOAD = "load";
+
+    private static final String METRIC_NAME = "property.cache.requests";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterRegistry registre Micrometer, null pour désactiver les métriques
+     */
+    public CacheTierMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void hit(String cacheName, String tier) {
+        increment(cacheName, tier, "hit");
+    }
+
+    public void miss(String cacheName, String tier) {
+        increment(cacheName, tier, "miss");
+    }
+
+    public void coalesced(String cacheName) {
+        increment(cacheName, TIER_LOAD, "coalesced");
+    }
+
+    public void stale(String cacheName) {
+        increment(cacheName, TIER_LOAD, "stale");
+    }
+
+    public void refreshAhead(String cacheName) {
+        increment(cacheName, TIER_LOAD, "refresh_ahead");
+    }
+
+    private void increment(String cacheName, String tier, String result) {
+        if (meterRegistry == null) {
+            return;
+        }
+        counters.computeIfAbsent(cacheName + ':' + tier + ':' + result, id -> Counter.builder(METRIC_NAME)
+                        .description("Cache lookups per tier")
+                        .tag("cache", cacheName)
+                        .tag("tier", tier)
+                        .tag("result", result)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,107 @@
+package com.realestate.property.cache;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Clé canonique d'une recherche : filtres normalisés, triés par nom puis hachés
+ *
+ * - texte insensible à la casse (text) : trim, minuscules, espaces multiples réduits
+ * - valeur exacte (exact) : inchangée (la requête compare aussi la valeur brute)
+ * - nombres décimaux : 250000 et 250000.00 donnent la même clé
+ * - valeurs null ou vides : ignorées (ajouter un filtre optionnel ne change pas les clés existantes)
+ *
+ * Deux recherches équivalentes produisent la même clé quel que soit l'ordre ou la forme des paramètres,
+ * à condition que la requête exécutée applique les mêmes règles (cf. PropertySpecification.hasCityIgnoreCase).
+ */
+public final class CanonicalSearchKey {
+
+    private static final int HASH_HEX_LENGTH = 32;
+
+    private final String namespace;
+    private final Map<String, String> fields = new TreeMap<>();
+
+    private CanonicalSearchKey(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public static CanonicalSearchKey of(String namespace) {
+        return new CanonicalSearchKey(namespace);
+    }
+
+    public CanonicalSearchKey text(String name, Object value) {
+        String normalized = normalizeText(value);
+        if (normalized != null) {
+            fields.put(name, normalized);
+        }
+        return this;
+    }
+
+    public CanonicalSearchKey exact(String name, Object value) {
+        String normalized = normalizeExact(value);
+        if (normalized != null) {
+            fields.put(name, normalized);
+        }
+        return this;
+    }
+
+    /**
+     * Forme lisible, avant hachage (logs, tests)
+     */
+    public String canonical() {
+        StringBuilder builder = new StringBuilder(namespace).append('?');
+        boolean first = true;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (!first) {
+                builder.append('&');
+            }
+            builder.append(field.getKey()).append('=').append(field.getValue());
+            first = false;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Clé de cache : namespace + SHA-256 tronqué (128 bits) de la forme canonique
+     */
+    public String hash() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical().getBytes(StandardCharsets.UTF_8));
+            return namespace + ':' + HexFormat.of().formatHex(digest).substring(0, HASH_HEX_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String normalizeText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.toString().trim();
+        if (normalized.isEmpty()) {
+            return null;
+        }
+        normalized = normalized.toLowerCase(Locale.ROOT);
+        // Les phrases exactes ("...") sont comparées telles quelles : on ne touche pas à leurs espaces
+        return normalized.indexOf('"') < 0 ? normalized.replaceAll("\\s+", " ") : normalized;
+    }
+
+    static String normalizeExact(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+        }
+        String normalized = value.toString();
+        return normalized.isEmpty() ? null : normalized;
+    }
+}
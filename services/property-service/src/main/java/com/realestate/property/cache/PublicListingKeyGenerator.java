@@ -0,0 +1,99 @@
+package com.realestate.property.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Générateur de clés pour les pages de listing publiques (cache publicProperties)
+ *
+ * Clé : CanonicalSearchKey de la méthode et de tous ses paramètres (city, country, search et
+ * transactionType insensibles à la casse, cf. CASE_INSENSITIVE_PARAMETERS). Chaque page reçoit un seul tag,
+ * le filtre le plus sélectif qui permet de savoir si une propriété peut y figurer :
+ * org:{id}, sinon city:{ville}, sinon type:{type}, sinon all.
+ */
+public class PublicListingKeyGenerator implements KeyGenerator {
+
+    public static final String TAG_ALL = "all";
+
+    /**
+     * Filtres comparés sans tenir compte de la casse ni des espaces par PublicPropertyService
+     */
+    static final Set<String> CASE_INSENSITIVE_PARAMETERS = Set.of("city", "country", "search", "transactionType");
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        CanonicalSearchKey key = CanonicalSearchKey.of(method.getName());
+        Object organizationId = null;
+        Object city = null;
+        Object type = null;
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        for (int i = 0; i < params.length; i++) {
+            // Sans -parameters : noms positionnels, clé toujours complète mais sans normalisation de casse
+            String name = names != null && i < names.length ? names[i] : "arg" + i;
+            if (CASE_INSENSITIVE_PARAMETERS.contains(name)) {
+                key.text(name, params[i]);
+            } else {
+                key.exact(name, params[i]);
+            }
+            switch (name) {
+                case "organizationId" -> organizationId = params[i];
+                case "city" -> city = params[i];
+                case "type" -> type = params[i];
+                default -> { }
+            }
+        }
+        return new TaggedCacheKey(key.hash(), Collections.singleton(selectTag(organizationId, city, type)));
+    }
+
+    private String selectTag(Object organizationId, Object city, Object type) {
+        if (organizationId != null) {
+            return organizationTag(organizationId);
+        }
+        if (city != null && !city.toString().isBlank()) {
+            return cityTag(city.toString());
+        }
+        if (type != null && !type.toString().isBlank()) {
+            return typeTag(type.toString());
+        }
+        return TAG_ALL;
+    }
+
+    public static String organizationTag(Object organizationId) {
+        return "org:" + organizationId;
+    }
+
+    public static String cityTag(String city) {
+        return "city:" + normalize(city);
+    }
+
+    public static String typeTag(String type) {
+        return "type:" + normalize(type);
+    }
+
+    /**
+     * Tags des pages pouvant contenir une propriété (valeurs courantes et précédentes)
+     */
+    public static void collectTags(Set<String> tags, Long organizationId, String city, String type) {
+        if (organizationId != null) {
+            tags.add(organizationTag(organizationId));
+        }
+        if (city != null && !city.isBlank()) {
+            tags.add(cityTag(city));
+        }
+        if (type != null && !type.isBlank()) {
+            tags.add(typeTag(type));
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
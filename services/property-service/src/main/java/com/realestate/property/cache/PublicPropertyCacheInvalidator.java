@@ -0,0 +1,109 @@
+package com.realestate.property.cache;
+
+import com.realestate.common.event.PropertyCreatedEvent;
+import com.realestate.common.event.PropertyUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Invalidation ciblée des caches publics sur création / modification / suppression d'une propriété
+ *
+ * Événements locaux publiés par PropertyService, traités après commit (une lecture concurrente
+ * ne peut donc pas remettre en cache l'ancienne version). Fonctionne sans Kafka : Redis (L2)
+ * est partagé et l'éviction est diffusée aux L1 des autres instances par TwoTierCache.
+ *
+ * - publicProperty : clés id et référence
+ * - publicPropertyBySlug : slug courant et précédent
+ * - publicProperties, publicPropertyCards, propertyClusters, propertyFacets : uniquement les entrées taggées org / ville / type de la propriété (+ "all")
+ */
+@Component
+public class PublicPropertyCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicPropertyCacheInvalidator.class);
+
+    static final String PROPERTY_CACHE = "publicProperty";
+    static final String PROPERTY_BY_SLUG_CACHE = "publicPropertyBySlug";
+    static final List<String> LISTING_CACHES = List.of(
+            "publicProperties", "publicPropertyCards", "propertyClusters", "propertyFacets");
+
+    private final CacheManager cacheManager;
+    private final CacheTagRegistry tagRegistry;
+
+    public PublicPropertyCacheInvalidator(CacheManager cacheManager, CacheTagRegistry tagRegistry) {
+        this.cacheManager = cacheManager;
+        this.tagRegistry = tagRegistry;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyCreated(PropertyCreatedEvent event) {
+        // Une nouvelle propriété n'a pas encore d'entrée détail : seules les pages de listing sont concernées
+        Set<String> tags = new LinkedHashSet<>();
+        PublicListingKeyGenerator.collectTags(tags, event.getOrganizationId(), event.getCity(), event.getPropertyType());
+        evictListings(tags);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyUpdated(PropertyUpdatedEvent event) {
+        evict(PROPERTY_CACHE, event.getPropertyId());
+        evict(PROPERTY_CACHE, event.getPropertyReference());
+        evict(PROPERTY_BY_SLUG_CACHE, event.getSlug());
+        evict(PROPERTY_BY_SLUG_CACHE, event.getPreviousSlug());
+
+        Set<String> tags = new LinkedHashSet<>();
+        PublicListingKeyGenerator.collectTags(tags, event.getOrganizationId(), event.getCity(), event.getPropertyType());
+        PublicListingKeyGenerator.collectTags(tags, null, event.getPreviousCity(), event.getPreviousPropertyType());
+        evictListings(tags);
+    }
+
+    private void evictListings(Set<String> tags) {
+        tags.add(PublicListingKeyGenerator.TAG_ALL);
+        for (String cacheName : LISTING_CACHES) {
+            try {
+                Set<String> keys = tagRegistry.removeKeys(cacheName, tags);
+                for (String key : keys) {
+                    evict(cacheName, key);
+                }
+                logger.debug("Evicted {} {} entries for tags {}", keys.size(), cacheName, tags);
+            } catch (Exception e) {
+                // Pas d'index disponible : on ne peut plus cibler, on vide le cache
+                logger.warn("Tag lookup failed for {}, clearing {}: {}", tags, cacheName, e.getMessage());
+                clear(cacheName);
+            }
+        }
+    }
+
+    private void clear(String cacheName) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to clear {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        if (key == null) {
+            return;
+        }
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        } catch (Exception e) {
+            // La mise à jour est déjà commitée : on ne la fait pas échouer, l'entrée expirera par TTL
+            logger.warn("Failed to evict {}:{}: {}", cacheName, key, e.getMessage());
+        }
+    }
+}
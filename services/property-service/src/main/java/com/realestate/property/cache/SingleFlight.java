@@ -0,0 +1,66 @@
+package com.realestate.property.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Regroupement des chargements concurrents d'une même clé (single-flight)
+ *
+ * Le premier appelant exécute le chargement, les appels concurrents sur la même clé attendent
+ * son résultat (ou son exception) au lieu de relancer la requête. La clé est libérée dès la fin
+ * du chargement : un appel ultérieur relit normalement le cache.
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param onCoalesced appelé quand l'appel attend un chargement déjà en cours (métriques), peut être null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Callable<T> loader, Runnable onCoalesced) throws Exception {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            if (onCoalesced != null) {
+                onCoalesced.run();
+            }
+            return (T) await(existing);
+        }
+
+        try {
+            T value = loader.call();
+            call.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> call) throws Exception {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
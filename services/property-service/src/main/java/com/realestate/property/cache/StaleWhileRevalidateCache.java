@@ -0,0 +1,221 @@
+package com.realestate.property.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache "stale-while-revalidate" : TTL souple (softTtl) et TTL dur (TTL Redis du cache)
+ *
+ * Les valeurs sont stockées horodatées (StampedValue). Sur get(key, loader) (@Cacheable(sync = true)) :
+ * - âge < seuil de rafraîchissement anticipé : valeur servie
+ * - clé fréquemment lue (hotKeyHits lectures depuis le dernier rafraîchissement) et âge au-delà
+ *   de REFRESH_AHEAD_RATIO × softTtl : valeur servie, rafraîchissement planifié avant expiration
+ * - âge ≥ softTtl : valeur périmée servie immédiatement, rafraîchissement planifié (CacheRefresher)
+ * - absente (TTL dur atteint ou évincée) : chargement synchrone, regroupé par le délégué
+ *
+ * Les lectures sans loader (get(key)) servent la valeur jusqu'au TTL dur sans rafraîchir.
+ *
+ * Un rafraîchissement peut lire la base avant le commit d'une modification et se terminer après son
+ * éviction (PublicPropertyCacheInvalidator) : toute éviction incrémente la génération du cache, et un
+ * rafraîchissement qui a commencé sous une génération antérieure n'écrit pas sa valeur.
+ */
+public class StaleWhileRevalidateCache implements Cache {
+
+    static final double REFRESH_AHEAD_RATIO = 0.8;
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final Cache delegate;
+    private final Spec spec;
+    private final CacheRefresher refresher;
+    private final CacheTierMetrics metrics;
+    private final Clock clock;
+    private final com.github.benmanes.caffeine.cache.Cache<String, AtomicInteger> reads;
+    private final AtomicLong generation = new AtomicLong();
+
+    public StaleWhileRevalidateCache(Cache delegate, Spec spec, CacheRefresher refresher, CacheTierMetrics metrics, Clock clock) {
+        this.delegate = delegate;
+        this.spec = spec;
+        this.refresher = refresher;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.reads = Caffeine.newBuilder()
+                .maximumSize(MAX_TRACKED_KEYS)
+                .expireAfterWrite(spec.getSoftTtl())
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        StampedValue<?> stamped = unwrap(delegate.get(key));
+        return stamped != null ? new SimpleValueWrapper(stamped.getValue()) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = delegate.get(key);
+        StampedValue<?> stamped = unwrap(wrapper);
+        if (stamped != null) {
+            boolean hot = recordRead(key);
+            long age = clock.millis() - stamped.getWrittenAt();
+            long softTtl = spec.getSoftTtl().toMillis();
+            if (age >= softTtl) {
+                metrics.stale(getName());
+                scheduleRefresh(key, valueLoader);
+            } else if (hot && age >= softTtl * REFRESH_AHEAD_RATIO) {
+                metrics.refreshAhead(getName());
+                scheduleRefresh(key, valueLoader);
+            }
+            return (T) stamped.getValue();
+        }
+        if (wrapper != null) {
+            // Entrée écrite avant activation du mode SWR : remplacée par une valeur horodatée
+            delegate.evict(key);
+        }
+
+        StampedValue<T> loaded = delegate.get(key, () -> stamp(valueLoader.call()));
+        return loaded != null ? loaded.getValue() : null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, stamp(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        StampedValue<?> existing = unwrap(delegate.putIfAbsent(key, stamp(value)));
+        return existing != null ? new SimpleValueWrapper(existing.getValue()) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        delegate.evict(key);
+        reads.invalidate(TwoTierCache.toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generation.incrementAndGet();
+        reads.invalidate(TwoTierCache.toLocalKey(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        generation.incrementAndGet();
+        delegate.clear();
+        reads.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        generation.incrementAndGet();
+        reads.invalidateAll();
+        return delegate.invalidate();
+    }
+
+    private <T> void scheduleRefresh(Object key, Callable<T> valueLoader) {
+        String localKey = TwoTierCache.toLocalKey(key);
+        refresher.schedule(getName(), localKey, () -> {
+            long startGeneration = generation.get();
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (generation.get() != startGeneration) {
+                // Évincée pendant le chargement : la valeur lue peut précéder la modification
+                return;
+            }
+            if (value != null) {
+                delegate.put(key, stamp(value));
+                // Éviction concurrente de l'écriture (la génération est incrémentée avant l'éviction)
+                if (generation.get() != startGeneration) {
+                    delegate.evict(key);
+                }
+            } else {
+                delegate.evict(key);
+            }
+            reads.invalidate(localKey);
+        });
+    }
+
+    /**
+     * Compte une lecture ; true si la clé a atteint hotKeyHits lectures depuis son dernier rafraîchissement
+     */
+    private boolean recordRead(Object key) {
+        if (spec.getHotKeyHits() <= 0) {
+            return false;
+        }
+        AtomicInteger count = reads.get(TwoTierCache.toLocalKey(key), k -> new AtomicInteger());
+        return count.incrementAndGet() >= spec.getHotKeyHits();
+    }
+
+    private <T> StampedValue<T> stamp(T value) {
+        return value != null ? new StampedValue<>(value, clock.millis()) : null;
+    }
+
+    /**
+     * Valeur horodatée ou null (absente, ou écrite dans un autre format avant activation du mode)
+     */
+    private StampedValue<?> unwrap(ValueWrapper wrapper) {
+        if (wrapper == null || !(wrapper.get() instanceof StampedValue)) {
+            return null;
+        }
+        StampedValue<?> stamped = (StampedValue<?>) wrapper.get();
+        return stamped.getValue() != null ? stamped : null;
+    }
+
+    /**
+     * Paramètres d'un cache SWR : TTL souple et nombre de lectures qui déclenche le rafraîchissement anticipé
+     * (0 pour le désactiver). Le TTL dur est le TTL Redis du cache.
+     */
+    public static class Spec {
+        private final Duration softTtl;
+        private final int hotKeyHits;
+
+        public Spec(Duration softTtl, int hotKeyHits) {
+            this.softTtl = softTtl;
+            this.hotKeyHits = hotKeyHits;
+        }
+
+        public Duration getSoftTtl() {
+            return softTtl;
+        }
+
+        public int getHotKeyHits() {
+            return hotKeyHits;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.realestate.property.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager qui passe en mode stale-while-revalidate les caches ayant une spécification SWR
+ * et délègue les autres tels quels
+ */
+public class StaleWhileRevalidateCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, StaleWhileRevalidateCache.Spec> specs;
+    private final CacheRefresher refresher;
+    private final CacheTierMetrics metrics;
+    private final Map<String, StaleWhileRevalidateCache> swrCaches = new ConcurrentHashMap<>();
+
+    public StaleWhileRevalidateCacheManager(
+            CacheManager delegate,
+            Map<String, StaleWhileRevalidateCache.Spec> specs,
+            CacheRefresher refresher,
+            CacheTierMetrics metrics) {
+        this.delegate = delegate;
+        this.specs = specs;
+        this.refresher = refresher;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        StaleWhileRevalidateCache.Spec spec = specs.get(name);
+        if (spec == null) {
+            return delegate.getCache(name);
+        }
+        StaleWhileRevalidateCache cache = swrCaches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return swrCaches.computeIfAbsent(name, cacheName ->
+                new StaleWhileRevalidateCache(target, spec, refresher, metrics, Clock.systemUTC()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,47 @@
+package com.realestate.property.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+/**
+ * Valeur de cache horodatée (date d'écriture), utilisée par StaleWhileRevalidateCache
+ *
+ * Stockée telle quelle dans Redis et dans le L1 : l'âge d'une entrée est donc le même sur toutes
+ * les instances, quel que soit le nœud qui l'a chargée.
+ */
+public class StampedValue<T> {
+
+    private T value;
+    private long writtenAt;
+
+    public StampedValue() {
+    }
+
+    public StampedValue(T value, long writtenAt) {
+        this.value = value;
+        this.writtenAt = writtenAt;
+    }
+
+    /**
+     * Type Jackson de StampedValue&lt;valueType&gt; pour la déclaration du codec du cache
+     */
+    public static JavaType type(Class<?> valueType) {
+        return TypeFactory.defaultInstance().constructParametricType(StampedValue.class, valueType);
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T value) {
+        this.value = value;
+    }
+
+    public long getWrittenAt() {
+        return writtenAt;
+    }
+
+    public void setWrittenAt(long writtenAt) {
+        this.writtenAt = writtenAt;
+    }
+}
@@ -0,0 +1,51 @@
+package com.realestate.property.cache;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Clé de cache portant des tags d'invalidation
+ *
+ * toString() retourne la clé elle-même : Redis (RedisCache) et le L1 utilisent donc
+ * exactement la même clé que si une String avait été fournie. Les tags ne sont lus
+ * qu'au moment de l'écriture (cf. TaggingCache).
+ */
+public final class TaggedCacheKey {
+
+    private final String key;
+    private final Set<String> tags;
+
+    public TaggedCacheKey(String key, Set<String> tags) {
+        this.key = key;
+        this.tags = tags != null ? Collections.unmodifiableSet(tags) : Collections.emptySet();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TaggedCacheKey)) {
+            return false;
+        }
+        return key.equals(((TaggedCacheKey) other).key);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
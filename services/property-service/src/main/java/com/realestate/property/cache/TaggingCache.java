@@ -0,0 +1,102 @@
+package com.realestate.property.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Décorateur de cache qui indexe les clés TaggedCacheKey dans le CacheTagRegistry à l'écriture
+ *
+ * L'enregistrement n'a lieu que lors d'un put (donc sur un miss), jamais sur un hit.
+ */
+public class TaggingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheTagRegistry tagRegistry;
+    private final Duration tagTtl;
+
+    public TaggingCache(Cache delegate, CacheTagRegistry tagRegistry, Duration tagTtl) {
+        this.delegate = delegate;
+        this.tagRegistry = tagRegistry;
+        this.tagTtl = tagTtl;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Le délégué garde la main sur le chargement (regroupement des miss concurrents)
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            if (value != null) {
+                registerTags(key);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        if (value != null) {
+            registerTags(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null && value != null) {
+            registerTags(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void registerTags(Object key) {
+        if (key instanceof TaggedCacheKey) {
+            TaggedCacheKey taggedKey = (TaggedCacheKey) key;
+            if (!taggedKey.getTags().isEmpty()) {
+                tagRegistry.register(getName(), taggedKey.getKey(), taggedKey.getTags(), tagTtl);
+            }
+        }
+    }
+}
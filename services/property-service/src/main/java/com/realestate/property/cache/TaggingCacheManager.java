@@ -0,0 +1,50 @@
+package com.realestate.property.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager qui décore les caches taggés (TaggingCache) et délègue les autres tels quels
+ *
+ * taggedCaches : nom du cache → durée de rétention des index de tags (TTL du cache)
+ */
+public class TaggingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Duration> taggedCaches;
+    private final CacheTagRegistry tagRegistry;
+    private final Map<String, TaggingCache> decorated = new ConcurrentHashMap<>();
+
+    public TaggingCacheManager(CacheManager delegate, Map<String, Duration> taggedCaches, CacheTagRegistry tagRegistry) {
+        this.delegate = delegate;
+        this.taggedCaches = taggedCaches;
+        this.tagRegistry = tagRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Duration tagTtl = taggedCaches.get(name);
+        if (tagTtl == null) {
+            return delegate.getCache(name);
+        }
+        TaggingCache cache = decorated.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(name, cacheName -> new TaggingCache(target, tagRegistry, tagTtl));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,183 @@
+package com.realestate.property.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache à deux niveaux : L1 Caffeine en mémoire (borné en taille et en TTL) devant L2 Redis
+ *
+ * - Lecture : L1, puis L2 (la valeur trouvée dans Redis est recopiée dans L1)
+ * - Écriture / éviction : L2 puis L1, puis diffusion aux autres instances pour qu'elles
+ *   retirent leur copie L1
+ *
+ * - Chargement (sync) : regroupé par clé (SingleFlight), une requête par instance pour N miss concurrents
+ *
+ * Les valeurs L1 sont partagées par référence : les DTO retournés ne doivent pas être modifiés.
+ * Les clés L1 sont la forme String de la clé (comme les clés Redis), pour que les
+ * invalidations reçues par pub/sub correspondent quel que soit le type de la clé d'origine.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> l1;
+    private final Cache l2;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheTierMetrics metrics;
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    public TwoTierCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, Object> l1,
+            Cache l2,
+            CacheInvalidationBus invalidationBus,
+            CacheTierMetrics metrics) {
+        super(false);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationBus = invalidationBus;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = toLocalKey(key);
+        Object value = l1.getIfPresent(localKey);
+        if (value != null) {
+            metrics.hit(name, CacheTierMetrics.TIER_L1);
+            return value;
+        }
+        metrics.miss(name, CacheTierMetrics.TIER_L1);
+
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            metrics.miss(name, CacheTierMetrics.TIER_L2);
+            return null;
+        }
+        metrics.hit(name, CacheTierMetrics.TIER_L2);
+        value = wrapper.get();
+        l1.put(localKey, value);
+        return value;
+    }
+
+    /**
+     * Lecture avec chargement (@Cacheable(sync = true)) : sur un miss, un seul chargement par clé
+     * et par instance, les appels concurrents attendent son résultat (SingleFlight)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        String localKey = toLocalKey(key);
+        try {
+            return singleFlight.execute(localKey, () -> {
+                // Un chargement concurrent vient peut-être de se terminer
+                Object cached = l1.getIfPresent(localKey);
+                if (cached != null) {
+                    return (T) cached;
+                }
+                T loaded = valueLoader.call();
+                if (loaded != null) {
+                    put(key, loaded);
+                }
+                return loaded;
+            }, () -> metrics.coalesced(name));
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            // disableCachingNullValues côté Redis : rien à stocker, on retire seulement l'ancienne valeur
+            evict(key);
+            return;
+        }
+        l2.put(key, value);
+        String localKey = toLocalKey(key);
+        l1.put(localKey, value);
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        String localKey = toLocalKey(key);
+        if (existing != null && existing.get() != null) {
+            l1.put(localKey, existing.get());
+            return existing;
+        }
+        if (value != null) {
+            l1.put(localKey, value);
+            invalidationBus.publishEvict(name, localKey);
+        }
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        evictLocalAndBroadcast(toLocalKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = l2.evictIfPresent(key);
+        evictLocalAndBroadcast(toLocalKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        invalidationBus.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        l1.invalidateAll();
+        invalidationBus.publishClear(name);
+        return invalidated;
+    }
+
+    /**
+     * Retire une clé du L1 local uniquement (invalidation reçue d'une autre instance)
+     */
+    void evictLocal(String localKey) {
+        l1.invalidate(localKey);
+    }
+
+    /**
+     * Vide le L1 local uniquement (invalidation reçue d'une autre instance)
+     */
+    void clearLocal() {
+        l1.invalidateAll();
+    }
+
+    private void evictLocalAndBroadcast(String localKey) {
+        l1.invalidate(localKey);
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,102 @@
+package com.realestate.property.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager composite : un L1 Caffeine borné devant les caches Redis du délégué
+ *
+ * Seuls les caches ayant une spécification L1 sont à deux niveaux ;
+ * les autres sont servis directement par le délégué (Redis).
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, L1Spec> l1Specs;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheTierMetrics metrics;
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(
+            CacheManager delegate,
+            Map<String, L1Spec> l1Specs,
+            CacheInvalidationBus invalidationBus,
+            CacheTierMetrics metrics) {
+        this.delegate = delegate;
+        this.l1Specs = l1Specs;
+        this.invalidationBus = invalidationBus;
+        this.metrics = metrics;
+        invalidationBus.bind(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        L1Spec spec = l1Specs.get(name);
+        if (spec == null) {
+            return delegate.getCache(name);
+        }
+        TwoTierCache cache = twoTierCaches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = delegate.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return twoTierCaches.computeIfAbsent(name, cacheName -> new TwoTierCache(
+                cacheName,
+                Caffeine.newBuilder()
+                        .maximumSize(spec.getMaximumSize())
+                        .expireAfterWrite(spec.getTtl())
+                        .build(),
+                l2,
+                invalidationBus,
+                metrics));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    void evictLocal(String cacheName, String localKey) {
+        TwoTierCache cache = twoTierCaches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(localKey);
+        }
+    }
+
+    void clearLocal(String cacheName) {
+        TwoTierCache cache = twoTierCaches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    /**
+     * Limites du L1 d'un cache : nombre d'entrées et TTL (à garder inférieur au TTL Redis)
+     */
+    public static class L1Spec {
+        private final long maximumSize;
+        private final Duration ttl;
+
+        public L1Spec(long maximumSize, Duration ttl) {
+            this.maximumSize = maximumSize;
+            this.ttl = ttl;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.realestate.property.config;
+
+import com.realestate.property.service.AdvertisementEventBuffer;
+import com.realestate.property.service.AdvertisementEventWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Impressions et clics publicitaires : compteurs en mémoire et lignes brutes écrits en arrière-plan
+ * (les endpoints publics ne lisent ni ne verrouillent la ligne de l'annonce)
+ */
+@Configuration
+public class AdvertisementIngestionConfig {
+
+    @Value("${advertisements.ingestion.capacity:100000}")
+    private int capacity;
+
+    @Value("${advertisements.ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${advertisements.ingestion.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Bean
+    public AdvertisementEventWriter advertisementEventWriter(JdbcTemplate jdbcTemplate,
+                                                             PlatformTransactionManager transactionManager) {
+        return new AdvertisementEventWriter(jdbcTemplate, transactionManager);
+    }
+
+    @Bean(initMethod = "start")
+    public AdvertisementEventBuffer advertisementEventBuffer(
+            AdvertisementEventWriter advertisementEventWriter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new AdvertisementEventBuffer(advertisementEventWriter, capacity, batchSize, flushIntervalMs,
+                meterRegistry.getIfAvailable());
+    }
+}
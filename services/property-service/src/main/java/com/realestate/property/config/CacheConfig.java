@@ -1,15 +1,37 @@
 package com.realestate.property.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.realestate.common.cache.CacheValueCodecs;
+import com.realestate.property.cache.CacheInvalidationBus;
+import com.realestate.property.cache.CacheRefresher;
+import com.realestate.property.cache.CacheTagRegistry;
+import com.realestate.property.cache.CacheTierMetrics;
+import com.realestate.property.cache.PublicListingKeyGenerator;
+import com.realestate.property.cache.StaleWhileRevalidateCache;
+import com.realestate.property.cache.StaleWhileRevalidateCacheManager;
+import com.realestate.property.cache.StampedValue;
+import com.realestate.property.cache.TaggingCacheManager;
+import com.realestate.property.cache.TwoTierCacheManager;
+import com.realestate.property.dto.PagedPropertyCardResponse;
+import com.realestate.property.dto.PagedPropertyResponse;
+import com.realestate.property.dto.PropertyClusterResponse;
+import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.dto.PropertyFacetsDTO;
+import com.realestate.property.dto.SearchSuggestionsDTO;
+import com.realestate.property.dto.StatsHistoryPointDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -21,63 +43,167 @@ import java.util.Map;
  * Configuration du cache Redis pour optimiser les performances
  * 
  * Caches configurés :
- * - publicProperties : Cache pour les listes de propriétés publiques (TTL: 5 minutes)
- * - publicProperty : Cache pour les détails d'une propriété (TTL: 10 minutes)
+ * - publicProperties : Cache pour les listes de propriétés publiques (TTL: 15 minutes)
+ * - publicPropertyCards : Listings publics en cartes compactes, view=card (TTL: 15 minutes, taggés comme les listings)
+ * - publicProperty / publicPropertyBySlug : Cache pour les détails d'une propriété (TTL: 30 minutes)
+ * - propertyClusters : Agrégats de carte par cellule geohash (TTL: 15 minutes, taggés comme les listings)
+ * - propertyFacets : Compteurs de facettes de la recherche publique (TTL: 15 minutes, taggés comme les listings)
+ * 
+ * Les caches publics ont un L1 Caffeine en mémoire devant Redis (cache.l1.enabled),
+ * invalidé entre instances par Redis pub/sub.
+ * Les valeurs des caches typés sont encodées en Smile (+ LZ4 au-delà de cache.codec.compression-threshold),
+ * cache.codec.format=json rétablit la sérialisation JSON historique.
+ * Les TTL longs sont possibles car les entrées sont évincées à chaque modification
+ * (PublicPropertyCacheInvalidator, pages de listing taggées par org / ville / type).
+ * 
+ * publicProperties et searchSuggestions sont en stale-while-revalidate (cache.swr.enabled) :
+ * au-delà du TTL souple (createSwrSpecs) la valeur est servie et rafraîchie en arrière-plan,
+ * le TTL Redis est le TTL dur.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${cache.l1.enabled:true}")
+    private boolean l1Enabled;
+
+    @Value("${cache.l1.invalidation-channel:" + CacheInvalidationBus.DEFAULT_CHANNEL + "}")
+    private String invalidationChannel;
+
+    @Value("${cache.codec.format:" + CacheValueCodecs.FORMAT_SMILE + "}")
+    private String codecFormat;
+
+    @Value("${cache.codec.compression-threshold:2048}")
+    private int compressionThreshold;
+
+    @Value("${cache.swr.enabled:true}")
+    private boolean swrEnabled;
+
+    @Value("${cache.swr.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Value("${cache.swr.refresh-queue-capacity:100}")
+    private int refreshQueueCapacity;
+
+    /**
+     * Limites L1 par cache (TTL L1 < TTL Redis pour borner la durée d'une copie locale
+     * si un message d'invalidation est perdu)
+     */
+    private Map<String, TwoTierCacheManager.L1Spec> createL1Specs() {
+        Map<String, TwoTierCacheManager.L1Spec> l1Specs = new HashMap<>();
+        l1Specs.put("publicProperty", new TwoTierCacheManager.L1Spec(5_000, Duration.ofMinutes(1)));
+        l1Specs.put("publicPropertyBySlug", new TwoTierCacheManager.L1Spec(5_000, Duration.ofMinutes(1)));
+        l1Specs.put("publicProperties", new TwoTierCacheManager.L1Spec(1_000, Duration.ofSeconds(30)));
+        l1Specs.put("publicPropertyCards", new TwoTierCacheManager.L1Spec(1_000, Duration.ofSeconds(30)));
+        l1Specs.put("propertyClusters", new TwoTierCacheManager.L1Spec(500, Duration.ofSeconds(30)));
+        l1Specs.put("propertyFacets", new TwoTierCacheManager.L1Spec(1_000, Duration.ofSeconds(30)));
+        l1Specs.put("availableCities", new TwoTierCacheManager.L1Spec(500, Duration.ofMinutes(5)));
+        l1Specs.put("searchSuggestions", new TwoTierCacheManager.L1Spec(2_000, Duration.ofMinutes(1)));
+        return l1Specs;
+    }
+
     /**
-     * Crée un ObjectMapper configuré pour Redis avec support des types Java 8 date/time
+     * Caches en stale-while-revalidate : TTL souple (< TTL Redis) et nombre de lectures
+     * par fenêtre souple au-delà duquel la clé est rafraîchie avant expiration
      */
-    private ObjectMapper createObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.activateDefaultTyping(
-                mapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                com.fasterxml.jackson.annotation.JsonTypeInfo.As.PROPERTY
-        );
-        return mapper;
+    private Map<String, StaleWhileRevalidateCache.Spec> createSwrSpecs() {
+        Map<String, StaleWhileRevalidateCache.Spec> swrSpecs = new HashMap<>();
+        swrSpecs.put("publicProperties", new StaleWhileRevalidateCache.Spec(Duration.ofMinutes(5), 20));
+        swrSpecs.put("searchSuggestions", new StaleWhileRevalidateCache.Spec(Duration.ofMinutes(5), 20));
+        return swrSpecs;
+    }
+
+    private static final Duration PROPERTY_DETAIL_TTL = Duration.ofMinutes(30);
+    private static final Duration PROPERTY_LISTING_TTL = Duration.ofMinutes(15);
+    private static final Duration SEARCH_SUGGESTIONS_TTL = Duration.ofMinutes(30);
+
+    @Bean
+    public CacheRefresher cacheRefresher() {
+        return new CacheRefresher(refreshThreads, refreshQueueCapacity);
+    }
+
+    @Bean
+    public CacheTagRegistry cacheTagRegistry(RedisConnectionFactory redisConnectionFactory) {
+        return new CacheTagRegistry(new StringRedisTemplate(redisConnectionFactory));
     }
 
     /**
-     * Crée un serializer JSON pour Redis avec support des types Java 8 date/time
+     * Clés taggées des pages de listing publiques (cf. PublicListingKeyGenerator)
      */
-    private GenericJackson2JsonRedisSerializer createJsonRedisSerializer() {
-        return new GenericJackson2JsonRedisSerializer(createObjectMapper());
+    @Bean
+    public KeyGenerator publicListingKeyGenerator() {
+        return new PublicListingKeyGenerator();
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(RedisConnectionFactory redisConnectionFactory) {
+        StringRedisTemplate redisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        return new CacheInvalidationBus(redisTemplate, invalidationChannel);
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        GenericJackson2JsonRedisSerializer jsonSerializer = createJsonRedisSerializer();
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(
+            RedisConnectionFactory redisConnectionFactory,
+            CacheInvalidationBus cacheInvalidationBus,
+            CacheTagRegistry cacheTagRegistry,
+            CacheRefresher cacheRefresher,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        // Types déclarés par cache : encodage binaire sans noms de classes (cf. CacheValueCodecs)
+        CacheValueCodecs codecs = new CacheValueCodecs(codecFormat, compressionThreshold);
         
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(5)) // TTL par défaut : 5 minutes
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
+                .serializeValuesWith(codecs.json())
                 .disableCachingNullValues();
 
-        // Configuration spécifique pour le cache des propriétés individuelles (plus long)
+        // Listings publics : invalidés par tag à chaque modification, TTL long
+        RedisCacheConfiguration listingConfig = defaultConfig
+                .entryTtl(PROPERTY_LISTING_TTL)
+                .serializeValuesWith(swrEnabled
+                        ? codecs.forType(StampedValue.type(PagedPropertyResponse.class))
+                        : codecs.forType(PagedPropertyResponse.class));
+
+        // Cartes compactes (view=card) : mêmes clés et mêmes tags que les listings
+        RedisCacheConfiguration cardsConfig = defaultConfig
+                .entryTtl(PROPERTY_LISTING_TTL)
+                .serializeValuesWith(codecs.forType(PagedPropertyCardResponse.class));
+
+        // Agrégats de carte : mêmes clés et mêmes tags que les listings
+        RedisCacheConfiguration clustersConfig = defaultConfig
+                .entryTtl(PROPERTY_LISTING_TTL)
+                .serializeValuesWith(codecs.forType(PropertyClusterResponse.class));
+
+        // Facettes : clés canoniques des listings (sans pagination ni tri), mêmes tags
+        RedisCacheConfiguration facetsConfig = defaultConfig
+                .entryTtl(PROPERTY_LISTING_TTL)
+                .serializeValuesWith(codecs.forType(PropertyFacetsDTO.class));
+
+        // Configuration spécifique pour le cache des propriétés individuelles (plus long, invalidé à la modification)
         RedisCacheConfiguration propertyConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10)) // TTL : 10 minutes pour les détails
+                .entryTtl(PROPERTY_DETAIL_TTL) // TTL : 30 minutes pour les détails
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
+                .serializeValuesWith(codecs.forType(PropertyDTO.class))
                 .disableCachingNullValues();
 
         // Configuration pour le cache des villes (TTL plus long car les villes changent rarement)
-        GenericJackson2JsonRedisSerializer citiesJsonSerializer = createJsonRedisSerializer();
         RedisCacheConfiguration citiesConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30)) // TTL : 30 minutes pour les villes
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        citiesJsonSerializer))
+                .serializeValuesWith(codecs.forListOf(String.class))
                 .disableCachingNullValues();
 
         // Configuration pour le cache des statistiques historiques (TTL : 5 minutes)
@@ -85,31 +211,56 @@ public class CacheConfig {
                 .entryTtl(Duration.ofMinutes(5))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
+                .serializeValuesWith(codecs.forListOf(StatsHistoryPointDTO.class))
                 .disableCachingNullValues();
 
-        // Configuration pour le cache des suggestions de recherche (TTL : 10 minutes)
+        // Configuration pour le cache des suggestions de recherche (TTL dur : 30 minutes, rafraîchi après 5 en SWR)
         RedisCacheConfiguration searchSuggestionsConfig = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(SEARCH_SUGGESTIONS_TTL)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        jsonSerializer))
+                .serializeValuesWith(swrEnabled
+                        ? codecs.forType(StampedValue.type(SearchSuggestionsDTO.class))
+                        : codecs.forType(SearchSuggestionsDTO.class))
                 .disableCachingNullValues();
         
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         cacheConfigurations.put("publicProperty", propertyConfig);
-        cacheConfigurations.put("publicProperties", defaultConfig); // Réactivé avec PagedPropertyResponse
+        cacheConfigurations.put("publicPropertyBySlug", propertyConfig);
+        cacheConfigurations.put("publicProperties", listingConfig); // Réactivé avec PagedPropertyResponse
+        cacheConfigurations.put("publicPropertyCards", cardsConfig); // Cartes compactes
+        cacheConfigurations.put("propertyClusters", clustersConfig); // Agrégats de carte
+        cacheConfigurations.put("propertyFacets", facetsConfig); // Compteurs de facettes
         cacheConfigurations.put("availableCities", citiesConfig); // Cache pour les villes
         cacheConfigurations.put("propertyStatsHistory", statsHistoryConfig); // Cache pour l'historique des stats
         cacheConfigurations.put("globalStatsHistory", statsHistoryConfig); // Cache pour l'historique global
         cacheConfigurations.put("searchSuggestions", searchSuggestionsConfig); // Cache pour les suggestions
         
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        // Non exposé comme bean : initialiser les caches configurés explicitement
+        redisCacheManager.initializeCaches();
+
+        CacheTierMetrics metrics = new CacheTierMetrics(meterRegistry.getIfAvailable());
+        CacheManager cacheManager = redisCacheManager;
+        if (l1Enabled) {
+            cacheManager = new TwoTierCacheManager(
+                    redisCacheManager,
+                    createL1Specs(),
+                    cacheInvalidationBus,
+                    metrics);
+        }
+        if (swrEnabled) {
+            cacheManager = new StaleWhileRevalidateCacheManager(cacheManager, createSwrSpecs(), cacheRefresher, metrics);
+        }
+        // Index des tags en dernier : l'éviction d'une clé taggée passe par le L1 (diffusion pub/sub)
+        return new TaggingCacheManager(cacheManager, Map.of(
+                "publicProperties", PROPERTY_LISTING_TTL,
+                "publicPropertyCards", PROPERTY_LISTING_TTL,
+                "propertyClusters", PROPERTY_LISTING_TTL,
+                "propertyFacets", PROPERTY_LISTING_TTL), cacheTagRegistry);
     }
 }
 
@@ -0,0 +1,53 @@
+package com.realestate.property.config;
+
+import com.realestate.property.service.PropertyEventBuffer;
+import com.realestate.property.service.PropertyEventWriter;
+import com.realestate.property.service.UniqueVisitorCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Ingestion des événements de propriétés : file bornée en mémoire puis écriture par lots
+ * (les endpoints de tracking répondent 202 sans attendre la base), visiteurs uniques en HyperLogLog Redis
+ */
+@Configuration
+public class PropertyEventIngestionConfig {
+
+    @Value("${property-events.ingestion.capacity:100000}")
+    private int capacity;
+
+    @Value("${property-events.ingestion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${property-events.ingestion.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${property-events.unique-visitors.retention-days:400}")
+    private int uniqueVisitorsRetentionDays;
+
+    @Bean
+    public PropertyEventWriter propertyEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new PropertyEventWriter(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public UniqueVisitorCounter uniqueVisitorCounter(RedisConnectionFactory redisConnectionFactory) {
+        return new UniqueVisitorCounter(new StringRedisTemplate(redisConnectionFactory), uniqueVisitorsRetentionDays);
+    }
+
+    @Bean(initMethod = "start")
+    public PropertyEventBuffer propertyEventBuffer(
+            PropertyEventWriter propertyEventWriter,
+            UniqueVisitorCounter uniqueVisitorCounter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PropertyEventBuffer(propertyEventWriter, uniqueVisitorCounter, capacity, batchSize, flushIntervalMs,
+                meterRegistry.getIfAvailable());
+    }
+}
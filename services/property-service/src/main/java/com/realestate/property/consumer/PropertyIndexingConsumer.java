@@ -115,6 +115,9 @@ public class PropertyIndexingConsumer {
         document.setDescription(property.getDescription());
         document.setType(property.getType());
         document.setStatus(property.getStatus());
+        document.setTransactionType(property.getTransactionType() != null
+                ? property.getTransactionType().toUpperCase() : null);
+        document.setSlug(property.getSlug());
         document.setPrice(property.getPrice());
         document.setCurrency(property.getCurrency());
         document.setSurface(property.getSurface());
@@ -1,30 +1,41 @@
 package com.realestate.property.controller;
 
+import com.realestate.property.dto.CursorPage;
 import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.dto.PropertyImportJobDTO;
 import com.realestate.property.entity.Property;
+import com.realestate.property.entity.PropertyImportJob;
 import com.realestate.property.mapper.PropertyMapper;
+import com.realestate.property.service.PropertyBulkImportService;
+import com.realestate.property.service.PropertyExportService;
 import com.realestate.property.service.PropertyService;
 import com.realestate.property.service.ContactMessageService;
+import com.realestate.common.client.PermissionContextResolver;
+import com.realestate.common.exception.BadRequestException;
 import com.realestate.common.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/properties")
@@ -38,6 +49,9 @@ public class PropertyController {
     private final ContactMessageService contactMessageService;
     private final com.realestate.property.service.StatsService statsService;
     private final com.realestate.property.service.PropertyEventService propertyEventService;
+    private final PropertyExportService propertyExportService;
+    private final PropertyBulkImportService propertyBulkImportService;
+    private final PermissionContextResolver permissionContextResolver;
     private final String identityServiceUrl;
 
     public PropertyController(
@@ -46,12 +60,18 @@ public class PropertyController {
             ContactMessageService contactMessageService,
             com.realestate.property.service.StatsService statsService,
             com.realestate.property.service.PropertyEventService propertyEventService,
+            PropertyExportService propertyExportService,
+            PropertyBulkImportService propertyBulkImportService,
+            PermissionContextResolver permissionContextResolver,
             @Value("${services.identity.url:http://localhost:8081}") String identityServiceUrl) {
         this.propertyService = propertyService;
         this.propertyMapper = propertyMapper;
         this.contactMessageService = contactMessageService;
         this.statsService = statsService;
         this.propertyEventService = propertyEventService;
+        this.propertyExportService = propertyExportService;
+        this.propertyBulkImportService = propertyBulkImportService;
+        this.permissionContextResolver = permissionContextResolver;
         this.identityServiceUrl = identityServiceUrl;
     }
 
@@ -71,39 +91,21 @@ public class PropertyController {
                     .build();
         }
         
-        try {
-            WebClient webClient = WebClient.builder()
-                    .baseUrl(identityServiceUrl)
-                    .build();
-            
-            com.realestate.common.client.dto.UserInfoDTO currentUser = webClient
-                    .get()
-                    .uri("/api/identity/users/me")
-                    .header("Authorization", "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(com.realestate.common.client.dto.UserInfoDTO.class)
-                    .block();
-            
-            if (currentUser == null || currentUser.getId() == null) {
-                logger.warn("Failed to identify current user from token");
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .build();
-            }
-            
-            // Remplir createdBy depuis l'utilisateur connecté
-            property.setCreatedBy(currentUser.getId());
-            
-            // Remplir organizationId si l'utilisateur a une organisation
-            // (peut être null pour les utilisateurs particuliers)
-            if (currentUser.getOrganizationId() != null) {
-                property.setOrganizationId(currentUser.getOrganizationId());
-            }
-        } catch (Exception e) {
-            logger.error("Failed to fetch current user information: {}", e.getMessage(), e);
+        com.realestate.common.client.dto.UserInfoDTO currentUser = fetchCurrentUser(token);
+        if (currentUser == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .build();
         }
         
+        // Remplir createdBy depuis l'utilisateur connecté
+        property.setCreatedBy(currentUser.getId());
+        
+        // Remplir organizationId si l'utilisateur a une organisation
+        // (peut être null pour les utilisateurs particuliers)
+        if (currentUser.getOrganizationId() != null) {
+            property.setOrganizationId(currentUser.getOrganizationId());
+        }
+        
         Property created = propertyService.createProperty(property, token);
         return ResponseEntity.status(HttpStatus.CREATED).body(propertyMapper.toDTO(created));
     }
@@ -160,7 +162,8 @@ public class PropertyController {
             }
             
             // Convertir en DTO
-            Page<PropertyDTO> dtoPage = propertyPage.map(propertyMapper::toDTO);
+            Page<PropertyDTO> dtoPage = new PageImpl<>(
+                    propertyMapper.toDTOs(propertyPage.getContent()), propertyPage.getPageable(), propertyPage.getTotalElements());
             
             // Construire la réponse au format attendu par le frontend
             Map<String, Object> response = new java.util.HashMap<>();
@@ -196,7 +199,9 @@ public class PropertyController {
     }
 
     @GetMapping
-    @Operation(summary = "List properties", description = "Returns a list of properties filtered by various criteria using JPA Specifications. Automatically filters by user permissions and accessible organizations.")
+    @Operation(summary = "List properties", description = "Returns a list of properties filtered by various criteria using JPA Specifications. Automatically filters by user permissions and accessible organizations. " +
+            "Cursor mode (cursor=true or after=<token>): keyset pagination, next page token in the X-Next-Cursor header, " +
+            "total in X-Total-Count only when withTotal=true.")
     public ResponseEntity<List<PropertyDTO>> getProperties(
             @RequestHeader(value = "Authorization", required = false) String authorization,
             @RequestParam(required = false) Long organizationId,
@@ -214,7 +219,11 @@ public class PropertyController {
             @RequestParam(required = false) Integer bathrooms,
             @RequestParam(required = false) String search,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "1000") int size) {
+            @RequestParam(required = false, defaultValue = "1000") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal) {
         
         try {
             // Récupérer le contexte de permissions si un token est fourni
@@ -223,31 +232,45 @@ public class PropertyController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ")) {
-                String token = authorization.substring(7);
-                WebClient webClient = WebClient.builder()
-                        .baseUrl(identityServiceUrl)
-                        .build();
-                
-                try {
-                    com.realestate.common.client.dto.PermissionContextDTO permissionContext = webClient
-                            .get()
-                            .uri("/api/identity/users/me/permissions")
-                            .header("Authorization", "Bearer " + token)
-                            .retrieve()
-                            .bodyToMono(com.realestate.common.client.dto.PermissionContextDTO.class)
-                            .block();
-                    
-                    if (permissionContext != null) {
-                        userId = permissionContext.getUserId();
-                        isSuperAdmin = permissionContext.isSuperAdmin();
-                        isAdmin = permissionContext.isAdmin();
-                        accessibleOrgIds = permissionContext.getAccessibleOrganizationIds();
-                    }
-                } catch (Exception e) {
-                    logger.warn("Failed to fetch permission context: {}", e.getMessage());
-                    // Continuer sans contexte de permissions (peut être un endpoint public)
+            com.realestate.common.client.dto.PermissionContextDTO permissionContext = resolvePermissionContext(authorization);
+            if (permissionContext != null) {
+                userId = permissionContext.getUserId();
+                isSuperAdmin = permissionContext.isSuperAdmin();
+                isAdmin = permissionContext.isAdmin();
+                accessibleOrgIds = permissionContext.getAccessibleOrganizationIds();
+            }
+            
+            // Pagination par curseur (keyset) : pas d'OFFSET, COUNT optionnel
+            if (cursor || (after != null && !after.isEmpty())) {
+                boolean restricted = !isSuperAdmin && !isAdmin && userId != null;
+                if (restricted && organizationId != null && accessibleOrgIds != null && !accessibleOrgIds.contains(organizationId)) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
                 }
+
+                int pageSize = Math.min(size, 1000);
+                CursorPage<Property> cursorPage;
+                if (restricted && organizationId == null && accessibleOrgIds != null && !accessibleOrgIds.isEmpty()) {
+                    cursorPage = propertyService.getPropertiesWithFiltersAndPermissionsAfter(
+                            userId, accessibleOrgIds, assignedUserId, teamId, status, type, city, country,
+                            minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search,
+                            sortBy, after, pageSize, withTotal);
+                } else {
+                    cursorPage = propertyService.getPropertiesWithFiltersAfter(
+                            organizationId, assignedUserId, teamId, status, type, city, country,
+                            minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search,
+                            sortBy, after, pageSize, withTotal);
+                }
+
+                List<PropertyDTO> propertyDTOs = propertyMapper.toDTOs(cursorPage.getContent());
+
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+                if (cursorPage.getNextCursor() != null) {
+                    builder.header("X-Next-Cursor", cursorPage.getNextCursor());
+                }
+                if (cursorPage.getTotalElements() != null) {
+                    builder.header("X-Total-Count", String.valueOf(cursorPage.getTotalElements()));
+                }
+                return builder.body(propertyDTOs);
             }
             
             // Déclarer la variable properties
@@ -311,16 +334,156 @@ public class PropertyController {
                 }
             }
 
-            List<PropertyDTO> propertyDTOs = properties.stream()
-                    .map(propertyMapper::toDTO)
-                    .collect(Collectors.toList());
+            List<PropertyDTO> propertyDTOs = propertyMapper.toDTOs(properties);
             return ResponseEntity.ok(propertyDTOs);
+        } catch (BadRequestException e) {
+            // Curseur invalide ou incohérent avec le tri : 400 via GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             logger.error("Error fetching properties", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export properties (streaming)", description = "Streams every property matching the filters of GET /api/properties " +
+            "as CSV (format=csv, default) or NDJSON (format=ndjson, one PropertyDTO per line). Rows are read from a " +
+            "database cursor and written in batches with constant memory. Same permission rules as the list endpoint.")
+    public ResponseEntity<StreamingResponseBody> exportProperties(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) Long assignedUserId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minSurface,
+            @RequestParam(required = false) BigDecimal maxSurface,
+            @RequestParam(required = false) Integer bedrooms,
+            @RequestParam(required = false) Integer bathrooms,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false, defaultValue = PropertyExportService.FORMAT_CSV) String format) {
+
+        String exportFormat = PropertyExportService.normalizeFormat(format);
+        com.realestate.common.client.dto.PermissionContextDTO permissionContext = resolvePermissionContext(authorization);
+
+        // Mêmes règles que getProperties : hors admin, restriction aux organisations accessibles
+        Long userId = permissionContext != null ? permissionContext.getUserId() : null;
+        Set<Long> accessibleOrgIds = permissionContext != null ? permissionContext.getAccessibleOrganizationIds() : null;
+        boolean restricted = permissionContext != null && userId != null
+                && !permissionContext.isSuperAdmin() && !permissionContext.isAdmin();
+        if (restricted && organizationId != null && accessibleOrgIds != null && !accessibleOrgIds.contains(organizationId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Set<Long> permissionOrgIds = restricted && organizationId == null && accessibleOrgIds != null && !accessibleOrgIds.isEmpty()
+                ? accessibleOrgIds
+                : null;
+
+        StreamingResponseBody body = outputStream -> propertyExportService.exportProperties(
+                userId, permissionOrgIds, organizationId, assignedUserId, teamId, status, type, city, country,
+                minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search, exportFormat, outputStream);
+
+        boolean csv = PropertyExportService.FORMAT_CSV.equals(exportFormat);
+        return ResponseEntity.ok()
+                .contentType(csv
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"properties." + exportFormat + "\"")
+                .body(body);
+    }
+
+    /**
+     * Contexte de permissions de l'utilisateur du token, mis en cache par PermissionContextResolver
+     * (null sans token ou si identity-service est indisponible)
+     */
+    private com.realestate.common.client.dto.PermissionContextDTO resolvePermissionContext(String authorization) {
+        try {
+            return permissionContextResolver.resolve(authorization).orElse(null);
+        } catch (Exception e) {
+            logger.warn("Failed to fetch permission context: {}", e.getMessage());
+            // Continuer sans contexte de permissions (peut être un endpoint public)
+            return null;
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Bulk import properties", description = "Imports properties from a CSV file (header row with " +
+            "PropertyDTO field names, as produced by GET /export) or a JSON array of PropertyDTO. Rows are validated in " +
+            "parallel and inserted in JDBC batches in the organization of the current user; references and slugs are " +
+            "generated when missing. Returns 202 with the import job, to be polled on GET /bulk/{jobId}.")
+    public ResponseEntity<PropertyImportJobDTO> importProperties(
+            @RequestBody byte[] content,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        if (token == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        com.realestate.common.client.dto.UserInfoDTO currentUser = fetchCurrentUser(token);
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (currentUser.getOrganizationId() == null) {
+            throw new BadRequestException("Bulk import requires a user attached to an organization");
+        }
+
+        String format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? PropertyBulkImportService.FORMAT_JSON
+                : PropertyBulkImportService.FORMAT_CSV;
+        List<PropertyBulkImportService.ImportRow> rows = propertyBulkImportService.parseRows(content, format);
+        PropertyImportJob job = propertyBulkImportService.createJob(
+                currentUser.getId(), currentUser.getOrganizationId(), format, rows.size());
+        propertyBulkImportService.runImport(job.getId(), rows, token);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(propertyBulkImportService.toDTO(job));
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    @Operation(summary = "Get bulk import status", description = "Progress of an import job started by the current user, " +
+            "with the rejected rows and their cause")
+    public ResponseEntity<PropertyImportJobDTO> getImportJob(
+            @PathVariable Long jobId,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        com.realestate.common.client.dto.PermissionContextDTO permissionContext = resolvePermissionContext(authorization);
+        if (permissionContext == null || permissionContext.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        PropertyImportJob job = propertyBulkImportService.getJob(jobId, permissionContext.getUserId());
+        return ResponseEntity.ok(propertyBulkImportService.toDTO(job));
+    }
+
+    /**
+     * Utilisateur connecté (identity-service /users/me), null si le token ne permet pas de l'identifier
+     */
+    private com.realestate.common.client.dto.UserInfoDTO fetchCurrentUser(String token) {
+        try {
+            WebClient webClient = WebClient.builder()
+                    .baseUrl(identityServiceUrl)
+                    .build();
+            
+            com.realestate.common.client.dto.UserInfoDTO currentUser = webClient
+                    .get()
+                    .uri("/api/identity/users/me")
+                    .header("Authorization", "Bearer " + token)
+                    .retrieve()
+                    .bodyToMono(com.realestate.common.client.dto.UserInfoDTO.class)
+                    .block();
+            
+            if (currentUser == null || currentUser.getId() == null) {
+                logger.warn("Failed to identify current user from token");
+                return null;
+            }
+            return currentUser;
+        } catch (Exception e) {
+            logger.error("Failed to fetch current user information: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update property", description = "Updates property information for a specific property ID")
     public ResponseEntity<PropertyDTO> updateProperty(
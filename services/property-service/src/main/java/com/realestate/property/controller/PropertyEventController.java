@@ -1,9 +1,10 @@
 package com.realestate.property.controller;
 
-import com.realestate.property.entity.PropertyEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.realestate.property.service.PropertyEventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,12 +13,16 @@ import java.util.Map;
 
 /**
  * Controller pour le tracking des événements de propriétés
+ * Réponse immédiate (202) : les événements sont écrits par lots en arrière-plan (PropertyEventBuffer)
  */
 @RestController
 @RequestMapping("/api/properties")
 @Tag(name = "Property Events", description = "Property event tracking API")
 public class PropertyEventController {
 
+    // Partagé : endpoint le plus sollicité, un ObjectMapper par appel coûtait plus que la mise en file
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     private final PropertyEventService propertyEventService;
 
     public PropertyEventController(PropertyEventService propertyEventService) {
@@ -27,15 +32,17 @@ public class PropertyEventController {
     @PostMapping("/{propertyId}/events/view")
     @Operation(
         summary = "Track property view",
-        description = "Records a view event for a property. Can be called from frontend when a property is viewed."
+        description = "Records a view event for a property. Can be called from frontend when a property is viewed. " +
+                     "Events are buffered and written in batches: 202 when accepted, 429 when the buffer is full. " +
+                     "X-Visitor-Id (anonymous first-party id, max 64 chars) identifies visitors for unique visitor counts."
     )
-    public ResponseEntity<PropertyEvent> trackView(
+    public ResponseEntity<Void> trackView(
             @PathVariable Long propertyId,
             @RequestParam(required = false) Long userId,
+            @RequestHeader(value = "X-Visitor-Id", required = false) String visitorId,
             @RequestBody(required = false) Map<String, Object> metadata) {
         String metadataJson = metadata != null ? convertToJson(metadata) : null;
-        PropertyEvent event = propertyEventService.trackView(propertyId, userId, metadataJson);
-        return ResponseEntity.status(HttpStatus.CREATED).body(event);
+        return accepted(propertyEventService.trackView(propertyId, userId, visitorId, metadataJson));
     }
 
     @PostMapping("/{propertyId}/events/contact")
@@ -43,13 +50,12 @@ public class PropertyEventController {
         summary = "Track property contact",
         description = "Records a contact event for a property. Called when a user contacts about a property."
     )
-    public ResponseEntity<PropertyEvent> trackContact(
+    public ResponseEntity<Void> trackContact(
             @PathVariable Long propertyId,
             @RequestParam(required = false) Long userId,
             @RequestBody(required = false) Map<String, Object> metadata) {
         String metadataJson = metadata != null ? convertToJson(metadata) : null;
-        PropertyEvent event = propertyEventService.trackContact(propertyId, userId, metadataJson);
-        return ResponseEntity.status(HttpStatus.CREATED).body(event);
+        return accepted(propertyEventService.trackContact(propertyId, userId, metadataJson));
     }
 
     @PostMapping("/{propertyId}/events/favorite")
@@ -57,13 +63,12 @@ public class PropertyEventController {
         summary = "Track property favorite",
         description = "Records a favorite event for a property. Called when a user adds a property to favorites."
     )
-    public ResponseEntity<PropertyEvent> trackFavorite(
+    public ResponseEntity<Void> trackFavorite(
             @PathVariable Long propertyId,
             @RequestParam(required = false) Long userId,
             @RequestBody(required = false) Map<String, Object> metadata) {
         String metadataJson = metadata != null ? convertToJson(metadata) : null;
-        PropertyEvent event = propertyEventService.trackFavorite(propertyId, userId, metadataJson);
-        return ResponseEntity.status(HttpStatus.CREATED).body(event);
+        return accepted(propertyEventService.trackFavorite(propertyId, userId, metadataJson));
     }
 
     @PostMapping("/{propertyId}/events/share")
@@ -71,14 +76,23 @@ public class PropertyEventController {
         summary = "Track property share",
         description = "Records a share event for a property. Called when a user shares a property."
     )
-    public ResponseEntity<PropertyEvent> trackShare(
+    public ResponseEntity<Void> trackShare(
             @PathVariable Long propertyId,
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) String platform,
             @RequestBody(required = false) Map<String, Object> metadata) {
         String metadataJson = metadata != null ? convertToJson(metadata) : null;
-        PropertyEvent event = propertyEventService.trackShare(propertyId, userId, platform, metadataJson);
-        return ResponseEntity.status(HttpStatus.CREATED).body(event);
+        return accepted(propertyEventService.trackShare(propertyId, userId, platform, metadataJson));
+    }
+
+    /**
+     * 202 si l'événement est en file, 429 si la file d'ingestion est pleine (le client peut réessayer)
+     */
+    private ResponseEntity<Void> accepted(boolean queued) {
+        if (!queued) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
     }
 
     /**
@@ -88,10 +102,8 @@ public class PropertyEventController {
         if (map == null || map.isEmpty()) {
             return null;
         }
-        // Utiliser Jackson ou une simple conversion
         try {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            return mapper.writeValueAsString(map);
+            return OBJECT_MAPPER.writeValueAsString(map);
         } catch (Exception e) {
             return "{}";
         }
@@ -1,9 +1,15 @@
 package com.realestate.property.controller;
 
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.dto.PagedPropertyCardResponse;
 import com.realestate.property.dto.PagedPropertyResponse;
+import com.realestate.property.dto.PropertyClusterResponse;
 import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.dto.PropertyFacetsDTO;
 import com.realestate.property.dto.SearchSuggestionsDTO;
 import com.realestate.property.service.PublicPropertyService;
+import com.realestate.property.util.GeoArea;
+import com.realestate.property.util.GeoHash;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
@@ -40,9 +46,15 @@ public class PublicPropertyController {
                      "- Uses Elasticsearch for complex text searches (if available) " +
                      "- Falls back to PostgreSQL with JPA Specifications for simple filters " +
                      "- Redis caching for frequent queries " +
-                     "- Automatic filtering by status PUBLISHED or AVAILABLE"
+                     "- Automatic filtering by status PUBLISHED or AVAILABLE " +
+                     "Cursor mode (cursor=true or after=<token>): keyset pagination without OFFSET, " +
+                     "next page token returned in nextCursor; total count only computed when withTotal=true. " +
+                     "Map search: bbox=minLon,minLat,maxLon,maxLat or near=lat,lon&radiusKm=5 " +
+                     "(near results sorted by distance unless sortBy is set). " +
+                     "view=card returns compact listing cards (title, price, surface, city, main image, slug) " +
+                     "read by a column projection instead of full property details"
     )
-    public ResponseEntity<PagedPropertyResponse> getPublishedProperties(
+    public ResponseEntity<?> getPublishedProperties(
             @RequestParam(required = false) Long organizationId,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) String city,
@@ -57,21 +69,124 @@ public class PublicPropertyController {
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false) String transactionType,
             @RequestParam(required = false) String createdAfter,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(required = false, defaultValue = "0") int page,
-            @RequestParam(required = false, defaultValue = "20") int size) {
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false, defaultValue = "false") boolean cursor,
+            @RequestParam(required = false, defaultValue = "false") boolean withTotal,
+            @RequestParam(required = false, defaultValue = "full") String view) {
         
         // Limiter la taille de page pour éviter les surcharges
         if (size > 100) {
             size = 100;
         }
         
+        if (!"full".equals(view) && !"card".equals(view)) {
+            throw new BadRequestException("view must be full or card");
+        }
+        
+        // Cartes compactes : projection sur les colonnes d'affichage
+        if ("card".equals(view)) {
+            PagedPropertyCardResponse response = cursor || (after != null && !after.isEmpty())
+                    ? publicPropertyService.getPublishedPropertyCardsAfter(
+                            organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                            bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, bbox, near, radiusKm,
+                            after, size, withTotal)
+                    : publicPropertyService.getPublishedPropertyCards(
+                            organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                            bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, bbox, near, radiusKm,
+                            page, size);
+            return ResponseEntity.ok(response);
+        }
+        
+        // Pagination par curseur (keyset) : pas d'OFFSET, COUNT optionnel
+        if (cursor || (after != null && !after.isEmpty())) {
+            PagedPropertyResponse response = publicPropertyService.getPublishedPropertiesAfter(
+                    organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                    bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, bbox, near, radiusKm,
+                    after, size, withTotal);
+            return ResponseEntity.ok(response);
+        }
+        
             PagedPropertyResponse response = publicPropertyService.getPublishedProperties(
                     organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
-                    bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, page, size);
+                    bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, bbox, near, radiusKm,
+                    page, size);
         
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/facets")
+    @Operation(
+        summary = "Facet counts for the public search",
+        description = "Returns counts per type, transaction type, city (top 20) and price band for the current filters, " +
+                     "computed in one pass (Elasticsearch aggregations if available, otherwise a single GROUPING SETS query). " +
+                     "Accepts the same filters as the listing endpoint; cached under the canonical listing key."
+    )
+    public ResponseEntity<PropertyFacetsDTO> getPropertyFacets(
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minSurface,
+            @RequestParam(required = false) BigDecimal maxSurface,
+            @RequestParam(required = false) Integer bedrooms,
+            @RequestParam(required = false) Integer bathrooms,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) String createdAfter,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm) {
+        PropertyFacetsDTO facets = publicPropertyService.getPropertyFacets(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, transactionType, createdAfter, bbox, near, radiusKm);
+        return ResponseEntity.ok(facets);
+    }
+
+    @GetMapping("/clusters")
+    @Operation(
+        summary = "Map clusters of published properties",
+        description = "Aggregates published/available properties of the viewport (bbox=minLon,minLat,maxLon,maxLat) " +
+                     "into geohash cells sized for the map zoom level (0-22). " +
+                     "Each cell returns count, centroid, min and median price; single-property cells include a compact card. " +
+                     "Accepts the same filters as the listing endpoint. " +
+                     "The viewport is aligned on the cell grid so that nearby viewports share cached results."
+    )
+    public ResponseEntity<PropertyClusterResponse> getPropertyClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) BigDecimal minSurface,
+            @RequestParam(required = false) BigDecimal maxSurface,
+            @RequestParam(required = false) Integer bedrooms,
+            @RequestParam(required = false) Integer bathrooms,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) String createdAfter) {
+
+        int clampedZoom = Math.max(0, Math.min(zoom, 22));
+        GeoArea viewport = GeoArea.fromParameters(bbox, null, null);
+        String snappedBbox = viewport != null
+                ? viewport.snapToGrid(GeoHash.precisionForZoom(clampedZoom)).toBboxParameter()
+                : bbox;
+
+        PropertyClusterResponse response = publicPropertyService.getPropertyClusters(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, transactionType, createdAfter, snappedBbox, clampedZoom);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/cities")
     @Operation(
         summary = "Get list of available cities",
@@ -107,14 +222,16 @@ public class PublicPropertyController {
         description = "Returns property information for a specific property ID. " +
                      "Only returns if property is published/available. " +
                      "Results are cached in Redis for performance. " +
-                     "Automatically tracks a VIEW event."
+                     "Automatically tracks a VIEW event (X-Visitor-Id identifies anonymous visitors for unique visitor counts)."
     )
-    public ResponseEntity<PropertyDTO> getPublishedPropertyById(@PathVariable Long id) {
+    public ResponseEntity<PropertyDTO> getPublishedPropertyById(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Visitor-Id", required = false) String visitorId) {
         PropertyDTO property = publicPropertyService.getPublishedPropertyById(id);
         
-        // Tracker une vue (de manière asynchrone pour ne pas ralentir la réponse)
+        // Tracker une vue (mise en file, écrite par lots ; abandonnée si la file est pleine)
         try {
-            propertyEventService.trackView(id, null, "{\"source\":\"public_api\"}");
+            propertyEventService.trackView(id, null, visitorId, "{\"source\":\"public_api\"}");
         } catch (Exception e) {
             // Ignorer les erreurs de tracking pour ne pas bloquer la réponse
         }
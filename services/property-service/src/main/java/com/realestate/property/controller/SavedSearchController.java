@@ -0,0 +1,121 @@
+package com.realestate.property.controller;
+
+import com.realestate.common.client.PermissionContextResolver;
+import com.realestate.common.client.dto.PermissionContextDTO;
+import com.realestate.property.dto.SavedSearchCreateDTO;
+import com.realestate.property.dto.SavedSearchDTO;
+import com.realestate.property.dto.SavedSearchMatchDTO;
+import com.realestate.property.service.SavedSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@Tag(name = "Saved Searches", description = "Saved search management API")
+public class SavedSearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchController.class);
+
+    private final SavedSearchService savedSearchService;
+    private final PermissionContextResolver permissionContextResolver;
+
+    public SavedSearchController(SavedSearchService savedSearchService,
+                                 PermissionContextResolver permissionContextResolver) {
+        this.savedSearchService = savedSearchService;
+        this.permissionContextResolver = permissionContextResolver;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create saved search", description = "Saves a search (city, type, transaction type, price and " +
+            "surface ranges, title keywords); new or updated listings matching it trigger a notification")
+    public ResponseEntity<SavedSearchDTO> createSavedSearch(
+            @Valid @RequestBody SavedSearchCreateDTO createDTO,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        Long userId = getCurrentUserId(authorization);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        SavedSearchDTO created = savedSearchService.createSavedSearch(createDTO, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get my saved searches", description = "Returns all active saved searches for the current user")
+    public ResponseEntity<List<SavedSearchDTO>> getMySavedSearches(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        Long userId = getCurrentUserId(authorization);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(savedSearchService.getSavedSearchesByUserId(userId));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update saved search", description = "Replaces the criteria of a saved search")
+    public ResponseEntity<SavedSearchDTO> updateSavedSearch(
+            @PathVariable Long id,
+            @Valid @RequestBody SavedSearchCreateDTO updateDTO,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        Long userId = getCurrentUserId(authorization);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(savedSearchService.updateSavedSearch(id, updateDTO, userId));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete saved search", description = "Deletes a saved search and stops its notifications")
+    public ResponseEntity<Void> deleteSavedSearch(
+            @PathVariable Long id,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        Long userId = getCurrentUserId(authorization);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        savedSearchService.deleteSavedSearch(id, userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/matches")
+    @Operation(summary = "Get saved search matches", description = "Returns the listings matched by a saved search, most recent first")
+    public ResponseEntity<Page<SavedSearchMatchDTO>> getMatches(
+            @PathVariable Long id,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        Long userId = getCurrentUserId(authorization);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(savedSearchService.getMatches(id, userId, PageRequest.of(page, size)));
+    }
+
+    /**
+     * ID de l'utilisateur du token (null sans token ou si identity-service est indisponible)
+     */
+    private Long getCurrentUserId(String authorization) {
+        try {
+            return permissionContextResolver.resolve(authorization)
+                    .map(PermissionContextDTO::getUserId)
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.warn("Failed to fetch permission context: {}", e.getMessage());
+            return null;
+        }
+    }
+}
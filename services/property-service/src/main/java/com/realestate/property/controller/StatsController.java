@@ -1,14 +1,24 @@
 package com.realestate.property.controller;
 
+import com.realestate.common.client.PermissionContextResolver;
+import com.realestate.common.client.dto.PermissionContextDTO;
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.common.exception.ResourceNotFoundException;
 import com.realestate.property.dto.DashboardStatsDTO;
 import com.realestate.property.dto.StatsHistoryPointDTO;
+import com.realestate.property.dto.UniqueVisitorsPointDTO;
+import com.realestate.property.service.PropertyEventService;
 import com.realestate.property.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Contrôleur pour les statistiques optimisées
@@ -20,9 +30,15 @@ import java.util.List;
 public class StatsController {
 
     private final StatsService statsService;
+    private final PropertyEventService propertyEventService;
+    private final PermissionContextResolver permissionContextResolver;
 
-    public StatsController(StatsService statsService) {
+    public StatsController(StatsService statsService,
+                           PropertyEventService propertyEventService,
+                           PermissionContextResolver permissionContextResolver) {
         this.statsService = statsService;
+        this.propertyEventService = propertyEventService;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @GetMapping("/dashboard")
@@ -47,5 +63,45 @@ public class StatsController {
         List<StatsHistoryPointDTO> history = statsService.getGlobalStatsHistory(days);
         return ResponseEntity.ok(history);
     }
-}
 
+    @GetMapping("/unique-visitors")
+    @Operation(
+            summary = "Get unique visitors",
+            description = "Returns estimated distinct visitors (HyperLogLog, ~1% error) of a property or of all properties " +
+                          "of an organization, per day, per 7-day week or for the whole range. Exactly one of propertyId " +
+                          "and organizationId is required; the caller must belong to the owning organization (or be an admin). " +
+                          "Default range: last 7 days, max: 366 days."
+    )
+    public ResponseEntity<List<UniqueVisitorsPointDTO>> getUniqueVisitors(
+            @RequestParam(required = false) Long propertyId,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false, defaultValue = PropertyEventService.GRANULARITY_DAY) String granularity,
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if ((propertyId == null) == (organizationId == null)) {
+            throw new BadRequestException("Exactly one of propertyId and organizationId is required");
+        }
+
+        // Statistiques réservées aux membres de l'organisation propriétaire (ou admins)
+        PermissionContextDTO permissionContext = permissionContextResolver.resolve(authorization).orElse(null);
+        if (permissionContext == null || permissionContext.getUserId() == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Long targetOrganizationId = propertyId != null
+                ? propertyEventService.getPropertyOrganizationId(propertyId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Property", propertyId))
+                : organizationId;
+        Set<Long> accessibleOrgIds = permissionContext.getAccessibleOrganizationIds();
+        boolean restricted = !permissionContext.isSuperAdmin() && !permissionContext.isAdmin();
+        if (restricted && (accessibleOrgIds == null || !accessibleOrgIds.contains(targetOrganizationId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (propertyId != null) {
+            return ResponseEntity.ok(
+                    propertyEventService.getPropertyUniqueVisitors(propertyId, startDate, endDate, granularity));
+        }
+        return ResponseEntity.ok(
+                propertyEventService.getOrganizationUniqueVisitors(organizationId, startDate, endDate, granularity));
+    }
+}
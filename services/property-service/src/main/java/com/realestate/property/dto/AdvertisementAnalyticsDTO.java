@@ -38,6 +38,10 @@ public class AdvertisementAnalyticsDTO {
     private List<TopAdvertisement> topByClicks;
     private List<TopAdvertisement> topByConversions;
     
+    // Répartition sur la période par ville et par type de page (cumuls horaires ; les clics n'ont pas de type de page)
+    private List<DimensionStats> statsByCity;
+    private List<DimensionStats> statsByPageType;
+    
     // Getters and Setters
     public Long getTotalAdvertisements() {
         return totalAdvertisements;
@@ -183,6 +187,22 @@ public class AdvertisementAnalyticsDTO {
         this.topByConversions = topByConversions;
     }
     
+    public List<DimensionStats> getStatsByCity() {
+        return statsByCity;
+    }
+    
+    public void setStatsByCity(List<DimensionStats> statsByCity) {
+        this.statsByCity = statsByCity;
+    }
+    
+    public List<DimensionStats> getStatsByPageType() {
+        return statsByPageType;
+    }
+    
+    public void setStatsByPageType(List<DimensionStats> statsByPageType) {
+        this.statsByPageType = statsByPageType;
+    }
+    
     // Classes internes pour les statistiques détaillées
     public static class DailyStats {
         private LocalDate date;
@@ -630,5 +650,54 @@ public class AdvertisementAnalyticsDTO {
             this.cvr = cvr;
         }
     }
+    
+    public static class DimensionStats {
+        private String value;
+        private Long impressions;
+        private Long clicks;
+        private BigDecimal spent;
+        private Double ctr;
+        
+        // Getters and Setters
+        public String getValue() {
+            return value;
+        }
+        
+        public void setValue(String value) {
+            this.value = value;
+        }
+        
+        public Long getImpressions() {
+            return impressions;
+        }
+        
+        public void setImpressions(Long impressions) {
+            this.impressions = impressions;
+        }
+        
+        public Long getClicks() {
+            return clicks;
+        }
+        
+        public void setClicks(Long clicks) {
+            this.clicks = clicks;
+        }
+        
+        public BigDecimal getSpent() {
+            return spent;
+        }
+        
+        public void setSpent(BigDecimal spent) {
+            this.spent = spent;
+        }
+        
+        public Double getCtr() {
+            return ctr;
+        }
+        
+        public void setCtr(Double ctr) {
+            this.ctr = ctr;
+        }
+    }
 }
 
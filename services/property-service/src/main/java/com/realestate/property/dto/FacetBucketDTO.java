@@ -0,0 +1,54 @@
+package com.realestate.property.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Valeur de facette et nombre de propriétés correspondantes
+ */
+public class FacetBucketDTO {
+    private String value; // Valeur de la facette (type, ville...) ou libellé de tranche de prix
+    private long count;
+    private BigDecimal from; // Tranches de prix uniquement : borne basse incluse
+    private BigDecimal to; // Tranches de prix uniquement : borne haute exclue
+
+    public FacetBucketDTO() {
+    }
+
+    public FacetBucketDTO(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public BigDecimal getFrom() {
+        return from;
+    }
+
+    public void setFrom(BigDecimal from) {
+        this.from = from;
+    }
+
+    public BigDecimal getTo() {
+        return to;
+    }
+
+    public void setTo(BigDecimal to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,97 @@
+package com.realestate.property.dto;
+
+import java.util.List;
+
+/**
+ * Réponse paginée de cartes d'annonces (view=card) : même pagination que PagedPropertyResponse,
+ * contenu réduit aux colonnes d'affichage (PropertyCardDTO)
+ */
+public class PagedPropertyCardResponse {
+    private List<PropertyCardDTO> content;
+    private int currentPage;
+    private int totalPages;
+    private long totalElements;
+    private int size;
+    private boolean first;
+    private boolean last;
+    // Jeton de la page suivante en pagination par curseur (null en pagination offset ou en dernière page)
+    private String nextCursor;
+
+    public PagedPropertyCardResponse() {
+    }
+
+    public PagedPropertyCardResponse(List<PropertyCardDTO> content, int currentPage, int totalPages, long totalElements, int size, boolean first, boolean last) {
+        this.content = content;
+        this.currentPage = currentPage;
+        this.totalPages = totalPages;
+        this.totalElements = totalElements;
+        this.size = size;
+        this.first = first;
+        this.last = last;
+    }
+
+    // Getters and Setters
+    public List<PropertyCardDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(List<PropertyCardDTO> content) {
+        this.content = content;
+    }
+
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    public void setCurrentPage(int currentPage) {
+        this.currentPage = currentPage;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isFirst() {
+        return first;
+    }
+
+    public void setFirst(boolean first) {
+        this.first = first;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+
+    public void setLast(boolean last) {
+        this.last = last;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
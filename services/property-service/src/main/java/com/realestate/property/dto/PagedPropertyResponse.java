@@ -14,6 +14,8 @@ public class PagedPropertyResponse {
     private int size;
     private boolean first;
     private boolean last;
+    // Jeton de la page suivante en pagination par curseur (null en pagination offset ou en dernière page)
+    private String nextCursor;
 
     public PagedPropertyResponse() {
     }
@@ -84,5 +86,12 @@ public class PagedPropertyResponse {
     public void setLast(boolean last) {
         this.last = last;
     }
-}
 
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,147 @@
+package com.realestate.property.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Carte d'annonce compacte (listing, carte) : colonnes d'affichage uniquement,
+ * construite par projection JPQL (PropertyRepository.findCardsByIdIn) sans charger l'entité Property
+ */
+public class PropertyCardDTO {
+    private Long id;
+    private String slug;
+    private String title;
+    private String type;
+    private String transactionType;
+    private BigDecimal price;
+    private String currency;
+    private BigDecimal surface;
+    private Integer bedrooms;
+    private String city;
+    private String mainImage; // Image principale (og_image)
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+
+    public PropertyCardDTO() {
+    }
+
+    public PropertyCardDTO(Long id, String slug, String title, String type, String transactionType, BigDecimal price, String currency, BigDecimal surface, Integer bedrooms, String city, String mainImage, BigDecimal latitude, BigDecimal longitude) {
+        this.id = id;
+        this.slug = slug;
+        this.title = title;
+        this.type = type;
+        this.transactionType = transactionType;
+        this.price = price;
+        this.currency = currency;
+        this.surface = surface;
+        this.bedrooms = bedrooms;
+        this.city = city;
+        this.mainImage = mainImage;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getSurface() {
+        return surface;
+    }
+
+    public void setSurface(BigDecimal surface) {
+        this.surface = surface;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public void setBedrooms(Integer bedrooms) {
+        this.bedrooms = bedrooms;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getMainImage() {
+        return mainImage;
+    }
+
+    public void setMainImage(String mainImage) {
+        this.mainImage = mainImage;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,85 @@
+package com.realestate.property.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Agrégat de carte : propriétés publiées d'une cellule geohash
+ */
+public class PropertyClusterDTO {
+    private String geohash; // Cellule geohash (préfixe)
+    private long count;
+    private Double latitude; // Centroïde
+    private Double longitude;
+    private BigDecimal minPrice;
+    private BigDecimal medianPrice;
+    private PropertyCardDTO property; // Renseigné uniquement si count == 1
+
+    public PropertyClusterDTO() {
+    }
+
+    public PropertyClusterDTO(String geohash, long count, Double latitude, Double longitude, BigDecimal minPrice, BigDecimal medianPrice) {
+        this.geohash = geohash;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.minPrice = minPrice;
+        this.medianPrice = medianPrice;
+    }
+
+    // Getters and Setters
+    public String getGeohash() {
+        return geohash;
+    }
+
+    public void setGeohash(String geohash) {
+        this.geohash = geohash;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMedianPrice() {
+        return medianPrice;
+    }
+
+    public void setMedianPrice(BigDecimal medianPrice) {
+        this.medianPrice = medianPrice;
+    }
+
+    public PropertyCardDTO getProperty() {
+        return property;
+    }
+
+    public void setProperty(PropertyCardDTO property) {
+        this.property = property;
+    }
+}
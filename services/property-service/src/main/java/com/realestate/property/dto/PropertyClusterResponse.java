@@ -0,0 +1,56 @@
+package com.realestate.property.dto;
+
+import java.util.List;
+
+/**
+ * Réponse sérialisable (cache Redis) de l'agrégation de carte
+ */
+public class PropertyClusterResponse {
+    private int zoom;
+    private int precision; // Longueur des geohash des cellules
+    private long totalElements;
+    private List<PropertyClusterDTO> clusters;
+
+    public PropertyClusterResponse() {
+    }
+
+    public PropertyClusterResponse(int zoom, int precision, long totalElements, List<PropertyClusterDTO> clusters) {
+        this.zoom = zoom;
+        this.precision = precision;
+        this.totalElements = totalElements;
+        this.clusters = clusters;
+    }
+
+    // Getters and Setters
+    public int getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(int zoom) {
+        this.zoom = zoom;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public List<PropertyClusterDTO> getClusters() {
+        return clusters;
+    }
+
+    public void setClusters(List<PropertyClusterDTO> clusters) {
+        this.clusters = clusters;
+    }
+}
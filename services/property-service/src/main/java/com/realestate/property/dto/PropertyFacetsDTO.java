@@ -0,0 +1,67 @@
+package com.realestate.property.dto;
+
+import java.util.List;
+
+/**
+ * Compteurs de facettes de la recherche publique pour un jeu de filtres
+ * Sérialisable pour Redis (cache propertyFacets)
+ */
+public class PropertyFacetsDTO {
+    private long total;
+    private List<FacetBucketDTO> types;
+    private List<FacetBucketDTO> transactionTypes;
+    private List<FacetBucketDTO> cities; // Villes les plus représentées
+    private List<FacetBucketDTO> priceBands;
+
+    public PropertyFacetsDTO() {
+    }
+
+    public PropertyFacetsDTO(long total, List<FacetBucketDTO> types, List<FacetBucketDTO> transactionTypes, List<FacetBucketDTO> cities, List<FacetBucketDTO> priceBands) {
+        this.total = total;
+        this.types = types;
+        this.transactionTypes = transactionTypes;
+        this.cities = cities;
+        this.priceBands = priceBands;
+    }
+
+    // Getters and Setters
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<FacetBucketDTO> getTypes() {
+        return types;
+    }
+
+    public void setTypes(List<FacetBucketDTO> types) {
+        this.types = types;
+    }
+
+    public List<FacetBucketDTO> getTransactionTypes() {
+        return transactionTypes;
+    }
+
+    public void setTransactionTypes(List<FacetBucketDTO> transactionTypes) {
+        this.transactionTypes = transactionTypes;
+    }
+
+    public List<FacetBucketDTO> getCities() {
+        return cities;
+    }
+
+    public void setCities(List<FacetBucketDTO> cities) {
+        this.cities = cities;
+    }
+
+    public List<FacetBucketDTO> getPriceBands() {
+        return priceBands;
+    }
+
+    public void setPriceBands(List<FacetBucketDTO> priceBands) {
+        this.priceBands = priceBands;
+    }
+}
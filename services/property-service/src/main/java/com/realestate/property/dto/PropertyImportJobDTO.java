@@ -0,0 +1,131 @@
+package com.realestate.property.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Import en masse de propriétés")
+public class PropertyImportJobDTO {
+
+    @Schema(description = "ID du job d'import")
+    private Long id;
+
+    @Schema(description = "Format du fichier (csv, json)")
+    private String format;
+
+    @Schema(description = "Statut (PENDING, RUNNING, COMPLETED, FAILED)")
+    private String status;
+
+    @Schema(description = "Nombre de lignes du fichier")
+    private Integer totalRows;
+
+    @Schema(description = "Lignes traitées")
+    private Integer processedRows;
+
+    @Schema(description = "Propriétés créées")
+    private Integer importedRows;
+
+    @Schema(description = "Lignes rejetées")
+    private Integer failedRows;
+
+    @Schema(description = "Erreurs par ligne (numéro de ligne de données à partir de 1)")
+    private List<PropertyImportRowErrorDTO> errors;
+
+    @Schema(description = "Message d'erreur si le job a échoué")
+    private String errorMessage;
+
+    @Schema(description = "Date de création")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date de complétion")
+    private LocalDateTime completedAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Integer totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public Integer getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(Integer processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public Integer getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Integer importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Integer getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(Integer failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public List<PropertyImportRowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<PropertyImportRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
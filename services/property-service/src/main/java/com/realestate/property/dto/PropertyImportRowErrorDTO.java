@@ -0,0 +1,50 @@
+package com.realestate.property.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Ligne rejetée lors d'un import en masse")
+public class PropertyImportRowErrorDTO {
+
+    @Schema(description = "Numéro de la ligne de données (à partir de 1)")
+    private Integer row;
+
+    @Schema(description = "Référence de la propriété si connue")
+    private String reference;
+
+    @Schema(description = "Cause du rejet")
+    private String message;
+
+    public PropertyImportRowErrorDTO() {
+    }
+
+    public PropertyImportRowErrorDTO(Integer row, String reference, String message) {
+        this.row = row;
+        this.reference = reference;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public Integer getRow() {
+        return row;
+    }
+
+    public void setRow(Integer row) {
+        this.row = row;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
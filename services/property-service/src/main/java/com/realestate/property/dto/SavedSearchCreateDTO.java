@@ -0,0 +1,122 @@
+package com.realestate.property.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Création ou modification d'une recherche sauvegardée")
+public class SavedSearchCreateDTO {
+
+    @Schema(description = "Nom de la recherche")
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+
+    @Schema(description = "Ville (toutes si vide)")
+    @Size(max = 255)
+    private String city;
+
+    @Schema(description = "Type de bien (APARTMENT, HOUSE, ...)")
+    @Size(max = 50)
+    private String type;
+
+    @Schema(description = "Type de transaction (RENT, SALE)")
+    @Size(max = 50)
+    private String transactionType;
+
+    @Schema(description = "Prix minimum")
+    @DecimalMin("0")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Prix maximum")
+    @DecimalMin("0")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Surface minimum (m²)")
+    @DecimalMin("0")
+    private BigDecimal minSurface;
+
+    @Schema(description = "Surface maximum (m²)")
+    @DecimalMin("0")
+    private BigDecimal maxSurface;
+
+    @Schema(description = "Mots-clés, tous présents dans le titre de l'annonce")
+    @Size(max = 255)
+    private String keywords;
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public BigDecimal getMinSurface() {
+        return minSurface;
+    }
+
+    public void setMinSurface(BigDecimal minSurface) {
+        this.minSurface = minSurface;
+    }
+
+    public BigDecimal getMaxSurface() {
+        return maxSurface;
+    }
+
+    public void setMaxSurface(BigDecimal maxSurface) {
+        this.maxSurface = maxSurface;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+}
@@ -0,0 +1,165 @@
+package com.realestate.property.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Recherche sauvegardée")
+public class SavedSearchDTO {
+
+    @Schema(description = "ID de la recherche")
+    private Long id;
+
+    @Schema(description = "Nom de la recherche")
+    private String name;
+
+    @Schema(description = "Ville (toutes si vide)")
+    private String city;
+
+    @Schema(description = "Type de bien (APARTMENT, HOUSE, ...)")
+    private String type;
+
+    @Schema(description = "Type de transaction (RENT, SALE)")
+    private String transactionType;
+
+    @Schema(description = "Prix minimum")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Prix maximum")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Surface minimum (m²)")
+    private BigDecimal minSurface;
+
+    @Schema(description = "Surface maximum (m²)")
+    private BigDecimal maxSurface;
+
+    @Schema(description = "Mots-clés, tous présents dans le titre de l'annonce")
+    private String keywords;
+
+    @Schema(description = "Recherche active")
+    private Boolean active;
+
+    @Schema(description = "Date de la dernière annonce correspondante")
+    private LocalDateTime lastMatchedAt;
+
+    @Schema(description = "Date de création")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date de mise à jour")
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public BigDecimal getMinSurface() {
+        return minSurface;
+    }
+
+    public void setMinSurface(BigDecimal minSurface) {
+        this.minSurface = minSurface;
+    }
+
+    public BigDecimal getMaxSurface() {
+        return maxSurface;
+    }
+
+    public void setMaxSurface(BigDecimal maxSurface) {
+        this.maxSurface = maxSurface;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getLastMatchedAt() {
+        return lastMatchedAt;
+    }
+
+    public void setLastMatchedAt(LocalDateTime lastMatchedAt) {
+        this.lastMatchedAt = lastMatchedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
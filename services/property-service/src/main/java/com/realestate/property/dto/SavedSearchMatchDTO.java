@@ -0,0 +1,32 @@
+package com.realestate.property.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Annonce correspondant à une recherche sauvegardée")
+public class SavedSearchMatchDTO {
+
+    @Schema(description = "ID de l'annonce")
+    private Long propertyId;
+
+    @Schema(description = "Date de la correspondance")
+    private LocalDateTime matchedAt;
+
+    // Getters and Setters
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public LocalDateTime getMatchedAt() {
+        return matchedAt;
+    }
+
+    public void setMatchedAt(LocalDateTime matchedAt) {
+        this.matchedAt = matchedAt;
+    }
+}
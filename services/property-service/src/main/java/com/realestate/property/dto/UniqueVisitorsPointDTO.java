@@ -0,0 +1,57 @@
+package com.realestate.property.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * DTO pour le nombre de visiteurs uniques sur une période (jour, semaine ou période entière)
+ */
+@Schema(description = "Unique visitors over a period (HyperLogLog estimate, ~1% error)")
+public class UniqueVisitorsPointDTO {
+
+    @Schema(description = "First day of the period", example = "2026-01-01")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @Schema(description = "Last day of the period (inclusive)", example = "2026-01-07")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    @Schema(description = "Estimated number of distinct visitors", example = "128")
+    private Long uniqueVisitors;
+
+    public UniqueVisitorsPointDTO() {
+    }
+
+    public UniqueVisitorsPointDTO(LocalDate startDate, LocalDate endDate, Long uniqueVisitors) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.uniqueVisitors = uniqueVisitors;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getUniqueVisitors() {
+        return uniqueVisitors;
+    }
+
+    public void setUniqueVisitors(Long uniqueVisitors) {
+        this.uniqueVisitors = uniqueVisitors;
+    }
+}
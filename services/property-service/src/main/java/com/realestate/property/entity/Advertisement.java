@@ -88,17 +88,19 @@ public class Advertisement {
     private String targetTransactionTypes; // JSON: ["RENT", "SALE"]
 
     // Statistiques
-    @Column(name = "impressions", nullable = false)
+    // impressions, clics et dépense : écrits uniquement en deltas par AdvertisementEventWriter (jamais par un save JPA,
+    // qui écraserait les incréments appliqués entre la lecture et l'écriture de l'entité)
+    @Column(name = "impressions", nullable = false, updatable = false)
     private Long impressions = 0L; // Nombre d'impressions
 
-    @Column(name = "clicks", nullable = false)
+    @Column(name = "clicks", nullable = false, updatable = false)
     private Long clicks = 0L; // Nombre de clics
 
     @Column(name = "conversions", nullable = false)
     private Long conversions = 0L; // Nombre de conversions (contacts, visites, etc.)
 
-    @Column(name = "total_spent", precision = 15, scale = 2, nullable = false)
-    private BigDecimal totalSpent = BigDecimal.ZERO; // Montant total dépensé
+    @Column(name = "total_spent", precision = 20, scale = 5, nullable = false, updatable = false)
+    private BigDecimal totalSpent = BigDecimal.ZERO; // Montant total dépensé (5 décimales : coût exact d'une impression au CPM)
 
     // Paramètres d'affichage
     @Column(name = "max_impressions_per_day")
@@ -0,0 +1,115 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cumul horaire d'une annonce par ville et type de page (chaînes vides si inconnus ; les clics n'ont pas de type de page)
+ *
+ * Incrémenté par AdvertisementEventWriter dans la transaction qui applique les compteurs de l'annonce ;
+ * les statistiques par période lisent ces lignes au lieu de advertisement_impressions / advertisement_clicks.
+ */
+@Entity
+@Table(name = "advertisement_hourly_stats", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_advertisement_hourly_stats", columnNames = {"advertisement_id", "hour", "city", "page_type"})
+}, indexes = {
+    @Index(name = "idx_advertisement_hourly_stats_hour", columnList = "hour")
+})
+public class AdvertisementHourlyStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "advertisement_id", nullable = false)
+    private Long advertisementId;
+
+    @Column(name = "hour", nullable = false)
+    private LocalDateTime hour; // Début de l'heure
+
+    @Column(name = "city", nullable = false, length = 100)
+    private String city;
+
+    @Column(name = "page_type", nullable = false, length = 50)
+    private String pageType;
+
+    @Column(name = "impressions", nullable = false)
+    private Long impressions;
+
+    @Column(name = "clicks", nullable = false)
+    private Long clicks;
+
+    @Column(name = "spent", precision = 20, scale = 5, nullable = false)
+    private BigDecimal spent;
+
+    // Constructors
+    public AdvertisementHourlyStat() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAdvertisementId() {
+        return advertisementId;
+    }
+
+    public void setAdvertisementId(Long advertisementId) {
+        this.advertisementId = advertisementId;
+    }
+
+    public LocalDateTime getHour() {
+        return hour;
+    }
+
+    public void setHour(LocalDateTime hour) {
+        this.hour = hour;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getPageType() {
+        return pageType;
+    }
+
+    public void setPageType(String pageType) {
+        this.pageType = pageType;
+    }
+
+    public Long getImpressions() {
+        return impressions;
+    }
+
+    public void setImpressions(Long impressions) {
+        this.impressions = impressions;
+    }
+
+    public Long getClicks() {
+        return clicks;
+    }
+
+    public void setClicks(Long clicks) {
+        this.clicks = clicks;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+
+    public void setSpent(BigDecimal spent) {
+        this.spent = spent;
+    }
+}
@@ -1,5 +1,6 @@
 package com.realestate.property.entity;
 
+import com.realestate.property.util.GeoHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -19,7 +20,14 @@ import java.util.Set;
     @Index(name = "idx_property_reference", columnList = "reference", unique = true),
     @Index(name = "idx_property_status", columnList = "status"),
     @Index(name = "idx_property_type", columnList = "type"),
-    @Index(name = "idx_property_city", columnList = "city")
+    @Index(name = "idx_property_city", columnList = "city"),
+    // Pagination par curseur (keyset) : (clé de tri, id)
+    @Index(name = "idx_property_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_property_updated_id", columnList = "updated_at, id"),
+    @Index(name = "idx_property_price_id", columnList = "price, id"),
+    @Index(name = "idx_property_surface_id", columnList = "surface, id"),
+    // Recherche géographique : intervalles de préfixes geohash (voir GeoHash)
+    @Index(name = "idx_property_geohash", columnList = "geohash")
 })
 public class Property {
 
@@ -202,6 +210,11 @@ public class Property {
     @Column(precision = 10, scale = 7)
     private BigDecimal longitude;
 
+    // Geohash de (latitude, longitude), recalculé à chaque écriture
+    // Voir scripts/migration-add-property-geohash.sql pour le backfill
+    @Column(length = GeoHash.STORED_PRECISION)
+    private String geohash;
+
     @Column(name = "organization_id", nullable = false)
     private Long organizationId;
 
@@ -281,6 +294,14 @@ public class Property {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = latitude != null && longitude != null
+                ? GeoHash.encode(latitude.doubleValue(), longitude.doubleValue(), GeoHash.STORED_PRECISION)
+                : null;
+    }
+
     // Constructors
     public Property() {
     }
@@ -686,6 +707,10 @@ public class Property {
         this.longitude = longitude;
     }
 
+    public String getGeohash() {
+        return geohash;
+    }
+
     public Long getOrganizationId() {
         return organizationId;
     }
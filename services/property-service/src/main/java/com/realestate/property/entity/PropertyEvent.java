@@ -38,6 +38,9 @@ public class PropertyEvent {
     @Column(columnDefinition = "JSONB")
     private String metadata; // Métadonnées supplémentaires au format JSON
 
+    @Transient
+    private String visitorId; // Identifiant de visiteur anonyme (visiteurs uniques), non persisté
+
     // Relations
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "property_id", insertable = false, updatable = false)
@@ -108,6 +111,14 @@ public class PropertyEvent {
         this.metadata = metadata;
     }
 
+    public String getVisitorId() {
+        return visitorId;
+    }
+
+    public void setVisitorId(String visitorId) {
+        this.visitorId = visitorId;
+    }
+
     public Property getProperty() {
         return property;
     }
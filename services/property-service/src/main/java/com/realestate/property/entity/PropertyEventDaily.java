@@ -0,0 +1,81 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Cumul journalier des événements d'une propriété, par type (vues, contacts, favoris, partages)
+ *
+ * Maintenu par PropertyEventWriter dans la transaction qui insère les événements bruts ;
+ * l'historique des statistiques lit ces lignes au lieu de property_events.
+ */
+@Entity
+@Table(name = "property_event_daily", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_property_event_daily", columnNames = {"property_id", "day", "event_type"})
+}, indexes = {
+    @Index(name = "idx_property_event_daily_day", columnList = "day")
+})
+public class PropertyEventDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    // Constructors
+    public PropertyEventDaily() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
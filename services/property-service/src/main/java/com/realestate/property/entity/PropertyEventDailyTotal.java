@@ -0,0 +1,66 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Cumul journalier des événements toutes propriétés confondues, par type
+ * (historique global : une ligne par jour et par type)
+ */
+@Entity
+@Table(name = "property_event_daily_totals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_property_event_daily_total", columnNames = {"day", "event_type"})
+})
+public class PropertyEventDailyTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+
+    // Constructors
+    public PropertyEventDailyTotal() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+}
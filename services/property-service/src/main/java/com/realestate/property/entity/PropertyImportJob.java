@@ -0,0 +1,188 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Import en masse de propriétés (POST /api/properties/bulk) : avancement et erreurs par ligne
+ */
+@Entity
+@Table(name = "property_import_jobs", indexes = {
+    @Index(name = "idx_property_import_created_by", columnList = "created_by"),
+    @Index(name = "idx_property_import_status", columnList = "status")
+})
+public class PropertyImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+
+    @Column(name = "created_by", nullable = false)
+    private Long createdBy; // Utilisateur qui a lancé l'import
+
+    @Column(nullable = false, length = 10)
+    private String format; // csv, json
+
+    @Column(nullable = false, length = 20)
+    private String status; // PENDING, RUNNING, COMPLETED, FAILED
+
+    @Column(name = "total_rows", nullable = false)
+    private Integer totalRows = 0;
+
+    @Column(name = "processed_rows", nullable = false)
+    private Integer processedRows = 0;
+
+    @Column(name = "imported_rows", nullable = false)
+    private Integer importedRows = 0;
+
+    @Column(name = "failed_rows", nullable = false)
+    private Integer failedRows = 0;
+
+    @Column(name = "row_errors", columnDefinition = "TEXT")
+    private String rowErrors; // JSON array: [{"row": 12, "reference": "...", "message": "..."}]
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage; // Erreur bloquante (job FAILED)
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public PropertyImportJob() {
+    }
+
+    public PropertyImportJob(Long organizationId, Long createdBy, String format, String status, Integer totalRows) {
+        this.organizationId = organizationId;
+        this.createdBy = createdBy;
+        this.format = format;
+        this.status = status;
+        this.totalRows = totalRows;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Long createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(Integer totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public Integer getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(Integer processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public Integer getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(Integer importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public Integer getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(Integer failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public String getRowErrors() {
+        return rowErrors;
+    }
+
+    public void setRowErrors(String rowErrors) {
+        this.rowErrors = rowErrors;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,193 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Recherche sauvegardée : l'utilisateur est notifié des nouvelles annonces qui y correspondent
+ * (voir SavedSearchIndex / SavedSearchMatchingService)
+ */
+@Entity
+@Table(name = "saved_searches", indexes = {
+    @Index(name = "idx_saved_search_user", columnList = "user_id"),
+    @Index(name = "idx_saved_search_updated", columnList = "updated_at")
+})
+public class SavedSearch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    private String city; // Optionnel : toutes les villes si null
+
+    @Column(length = 50)
+    private String type; // APARTMENT, HOUSE, ... (optionnel)
+
+    @Column(name = "transaction_type", length = 50)
+    private String transactionType; // RENT, SALE (optionnel)
+
+    @Column(name = "min_price", precision = 15, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 15, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(name = "min_surface", precision = 10, scale = 2)
+    private BigDecimal minSurface;
+
+    @Column(name = "max_surface", precision = 10, scale = 2)
+    private BigDecimal maxSurface;
+
+    private String keywords; // Mots devant tous figurer dans le titre de l'annonce
+
+    @Column(nullable = false)
+    private Boolean active = true; // Suppression logique : propagée aux index des autres instances
+
+    @Column(name = "last_matched_at")
+    private LocalDateTime lastMatchedAt; // Date de la dernière annonce correspondante
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public SavedSearch() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public BigDecimal getMinSurface() {
+        return minSurface;
+    }
+
+    public void setMinSurface(BigDecimal minSurface) {
+        this.minSurface = minSurface;
+    }
+
+    public BigDecimal getMaxSurface() {
+        return maxSurface;
+    }
+
+    public void setMaxSurface(BigDecimal maxSurface) {
+        this.maxSurface = maxSurface;
+    }
+
+    public String getKeywords() {
+        return keywords;
+    }
+
+    public void setKeywords(String keywords) {
+        this.keywords = keywords;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getLastMatchedAt() {
+        return lastMatchedAt;
+    }
+
+    public void setLastMatchedAt(LocalDateTime lastMatchedAt) {
+        this.lastMatchedAt = lastMatchedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
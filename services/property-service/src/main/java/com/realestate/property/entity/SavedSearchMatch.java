@@ -0,0 +1,78 @@
+package com.realestate.property.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Annonce ayant correspondu à une recherche sauvegardée (une seule notification par couple)
+ */
+@Entity
+@Table(name = "saved_search_matches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_saved_search_match", columnNames = {"saved_search_id", "property_id"})
+}, indexes = {
+    @Index(name = "idx_saved_search_match_user", columnList = "user_id")
+})
+public class SavedSearchMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "saved_search_id", nullable = false)
+    private Long savedSearchId;
+
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "matched_at", nullable = false)
+    private LocalDateTime matchedAt;
+
+    // Constructors
+    public SavedSearchMatch() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSavedSearchId() {
+        return savedSearchId;
+    }
+
+    public void setSavedSearchId(Long savedSearchId) {
+        this.savedSearchId = savedSearchId;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getMatchedAt() {
+        return matchedAt;
+    }
+
+    public void setMatchedAt(LocalDateTime matchedAt) {
+        this.matchedAt = matchedAt;
+    }
+}
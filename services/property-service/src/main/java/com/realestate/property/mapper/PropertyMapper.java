@@ -1,19 +1,21 @@
 package com.realestate.property.mapper;
 
-import com.realestate.common.client.IdentityServiceClient;
-import com.realestate.common.client.dto.OrganizationInfoDTO;
-import com.realestate.common.client.dto.UserInfoDTO;
 import com.realestate.property.dto.PropertyDTO;
 import com.realestate.property.entity.Property;
 import com.realestate.property.entity.PropertyFeature;
 import com.realestate.property.repository.PropertyFeatureRepository;
+import com.realestate.property.service.IdentityLookupService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -25,12 +27,76 @@ public class PropertyMapper {
     private PropertyFeatureRepository propertyFeatureRepository;
 
     @Autowired(required = false)
-    private IdentityServiceClient identityServiceClient;
+    private IdentityLookupService identityLookupService;
 
     public PropertyDTO toDTO(Property property) {
         if (property == null) {
             return null;
         }
+        return toDTOs(Collections.singletonList(property)).get(0);
+    }
+
+    /**
+     * Mapping d'une page de propriétés : les noms d'organisations et d'utilisateurs
+     * sont résolus en un appel par type pour toute la page (et non deux appels par ligne)
+     */
+    public List<PropertyDTO> toDTOs(List<Property> properties) {
+        if (properties == null || properties.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, String> organizationNames = Collections.emptyMap();
+        Map<Long, String> userNames = Collections.emptyMap();
+        if (identityLookupService != null) {
+            Set<Long> organizationIds = new HashSet<>();
+            Set<Long> userIds = new HashSet<>();
+            for (Property property : properties) {
+                if (property.getOrganizationId() != null) {
+                    organizationIds.add(property.getOrganizationId());
+                }
+                if (property.getAssignedUserId() != null) {
+                    userIds.add(property.getAssignedUserId());
+                }
+            }
+            organizationNames = identityLookupService.getOrganizationNames(organizationIds);
+            userNames = identityLookupService.getUserNames(userIds);
+        }
+
+        Map<Long, List<PropertyFeature>> featuresByPropertyId = loadFeatures(properties);
+
+        List<PropertyDTO> dtos = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            dtos.add(toDTO(property, organizationNames, userNames, featuresByPropertyId));
+        }
+        return dtos;
+    }
+
+    /**
+     * Charge les caractéristiques actives de toute la page en une requête IN (...) et les groupe par propriété
+     */
+    private Map<Long, List<PropertyFeature>> loadFeatures(List<Property> properties) {
+        if (propertyFeatureRepository == null) {
+            return Collections.emptyMap();
+        }
+        Set<Long> propertyIds = new HashSet<>();
+        for (Property property : properties) {
+            if (property.getId() != null) {
+                propertyIds.add(property.getId());
+            }
+        }
+        if (propertyIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        // property.getId() sur le proxy LAZY ne déclenche pas de chargement
+        return propertyFeatureRepository.findActiveByPropertyIdIn(propertyIds).stream()
+                .collect(Collectors.groupingBy(feature -> feature.getProperty().getId()));
+    }
+
+    private PropertyDTO toDTO(
+            Property property,
+            Map<Long, String> organizationNames,
+            Map<Long, String> userNames,
+            Map<Long, List<PropertyFeature>> featuresByPropertyId) {
         PropertyDTO dto = new PropertyDTO();
         dto.setId(property.getId());
         dto.setReference(property.getReference());
@@ -60,34 +126,12 @@ public class PropertyMapper {
         dto.setAssignedUserId(property.getAssignedUserId());
         dto.setMetadata(property.getFeatures()); // features est stocké comme JSON
         
-        // Enrich with organization name and assigned user name (async, but we'll do it synchronously for now)
-        if (property.getOrganizationId() != null && identityServiceClient != null) {
-            try {
-                Optional<OrganizationInfoDTO> orgInfo = identityServiceClient
-                        .getOrganizationById(property.getOrganizationId(), null)
-                        .block();
-                if (orgInfo.isPresent()) {
-                    dto.setOrganizationName(orgInfo.get().getName());
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to fetch organization name for ID {}: {}", property.getOrganizationId(), e.getMessage());
-            }
+        // Enrichissement avec le nom de l'organisation et de l'utilisateur assigné (résolus en lot)
+        if (property.getOrganizationId() != null) {
+            dto.setOrganizationName(organizationNames.get(property.getOrganizationId()));
         }
-        
-        if (property.getAssignedUserId() != null && identityServiceClient != null) {
-            try {
-                Optional<UserInfoDTO> userInfo = identityServiceClient
-                        .getUserById(property.getAssignedUserId(), null)
-                        .block();
-                if (userInfo.isPresent()) {
-                    UserInfoDTO user = userInfo.get();
-                    String fullName = (user.getFirstName() != null ? user.getFirstName() : "") +
-                            (user.getLastName() != null ? " " + user.getLastName() : "").trim();
-                    dto.setAssignedUserName(fullName.isEmpty() ? user.getEmail() : fullName);
-                }
-            } catch (Exception e) {
-                logger.warn("Failed to fetch user name for ID {}: {}", property.getAssignedUserId(), e.getMessage());
-            }
+        if (property.getAssignedUserId() != null) {
+            dto.setAssignedUserName(userNames.get(property.getAssignedUserId()));
         }
         
         // New detailed fields
@@ -135,7 +179,7 @@ public class PropertyMapper {
         
         // Load PropertyFeatures if repository is available
         if (propertyFeatureRepository != null && property.getId() != null) {
-            List<PropertyFeature> features = propertyFeatureRepository.findActiveByPropertyId(property.getId());
+            List<PropertyFeature> features = featuresByPropertyId.getOrDefault(property.getId(), Collections.emptyList());
             // Convert PropertyFeatures to JSON arrays for fields that might be stored as features
             // This allows backward compatibility - if fields are in Property, use them; otherwise use PropertyFeatures
             if (dto.getAppliancesIncluded() == null || dto.getAppliancesIncluded().isEmpty()) {
@@ -0,0 +1,65 @@
+package com.realestate.property.mapper;
+
+import com.realestate.property.dto.SavedSearchCreateDTO;
+import com.realestate.property.dto.SavedSearchDTO;
+import com.realestate.property.dto.SavedSearchMatchDTO;
+import com.realestate.property.entity.SavedSearch;
+import com.realestate.property.entity.SavedSearchMatch;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SavedSearchMapper {
+
+    public SavedSearchDTO toDTO(SavedSearch savedSearch) {
+        if (savedSearch == null) {
+            return null;
+        }
+
+        SavedSearchDTO dto = new SavedSearchDTO();
+        dto.setId(savedSearch.getId());
+        dto.setName(savedSearch.getName());
+        dto.setCity(savedSearch.getCity());
+        dto.setType(savedSearch.getType());
+        dto.setTransactionType(savedSearch.getTransactionType());
+        dto.setMinPrice(savedSearch.getMinPrice());
+        dto.setMaxPrice(savedSearch.getMaxPrice());
+        dto.setMinSurface(savedSearch.getMinSurface());
+        dto.setMaxSurface(savedSearch.getMaxSurface());
+        dto.setKeywords(savedSearch.getKeywords());
+        dto.setActive(savedSearch.getActive());
+        dto.setLastMatchedAt(savedSearch.getLastMatchedAt());
+        dto.setCreatedAt(savedSearch.getCreatedAt());
+        dto.setUpdatedAt(savedSearch.getUpdatedAt());
+        return dto;
+    }
+
+    public SavedSearchMatchDTO toDTO(SavedSearchMatch match) {
+        if (match == null) {
+            return null;
+        }
+
+        SavedSearchMatchDTO dto = new SavedSearchMatchDTO();
+        dto.setPropertyId(match.getPropertyId());
+        dto.setMatchedAt(match.getMatchedAt());
+        return dto;
+    }
+
+    /**
+     * Copie les critères du DTO dans l'entité (création et modification)
+     */
+    public void updateEntity(SavedSearch savedSearch, SavedSearchCreateDTO dto) {
+        savedSearch.setName(dto.getName().trim());
+        savedSearch.setCity(blankToNull(dto.getCity()));
+        savedSearch.setType(blankToNull(dto.getType()));
+        savedSearch.setTransactionType(blankToNull(dto.getTransactionType()));
+        savedSearch.setMinPrice(dto.getMinPrice());
+        savedSearch.setMaxPrice(dto.getMaxPrice());
+        savedSearch.setMinSurface(dto.getMinSurface());
+        savedSearch.setMaxSurface(dto.getMaxSurface());
+        savedSearch.setKeywords(blankToNull(dto.getKeywords()));
+    }
+
+    private String blankToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value.trim() : null;
+    }
+}
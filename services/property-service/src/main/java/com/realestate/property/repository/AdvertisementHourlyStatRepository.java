@@ -0,0 +1,48 @@
+package com.realestate.property.repository;
+
+import com.realestate.property.entity.AdvertisementHourlyStat;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository pour les cumuls horaires des annonces
+ */
+@Repository
+public interface AdvertisementHourlyStatRepository extends JpaRepository<AdvertisementHourlyStat, Long> {
+
+    /**
+     * Cumuls par ville sur [from, to[ : [ville, impressions, clics, dépense], par impressions décroissantes
+     */
+    @Query("SELECT h.city, SUM(h.impressions), SUM(h.clicks), SUM(h.spent) FROM AdvertisementHourlyStat h " +
+           "WHERE h.hour >= :from AND h.hour < :to " +
+           "AND (:organizationId IS NULL OR h.advertisementId IN " +
+           "     (SELECT a.id FROM Advertisement a WHERE a.organizationId = :organizationId)) " +
+           "GROUP BY h.city ORDER BY SUM(h.impressions) DESC")
+    List<Object[]> sumByCity(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("organizationId") Long organizationId,
+            Pageable pageable
+    );
+
+    /**
+     * Cumuls par type de page sur [from, to[ : [type de page, impressions, clics, dépense], par impressions décroissantes
+     */
+    @Query("SELECT h.pageType, SUM(h.impressions), SUM(h.clicks), SUM(h.spent) FROM AdvertisementHourlyStat h " +
+           "WHERE h.hour >= :from AND h.hour < :to " +
+           "AND (:organizationId IS NULL OR h.advertisementId IN " +
+           "     (SELECT a.id FROM Advertisement a WHERE a.organizationId = :organizationId)) " +
+           "GROUP BY h.pageType ORDER BY SUM(h.impressions) DESC")
+    List<Object[]> sumByPageType(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("organizationId") Long organizationId,
+            Pageable pageable
+    );
+}
@@ -2,9 +2,11 @@ package com.realestate.property.repository;
 
 import com.realestate.property.entity.AdvertisementImpression;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -34,5 +36,15 @@ public interface AdvertisementImpressionRepository extends JpaRepository<Adverti
 
     // Trouver les impressions pour une annonce
     List<AdvertisementImpression> findByAdvertisementIdOrderByImpressedAtDesc(Long advertisementId);
+
+    // Compaction : supprime au plus :limit impressions antérieures à :before (déjà comptées dans les cumuls horaires)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM advertisement_impressions WHERE id IN (SELECT id FROM advertisement_impressions " +
+           "WHERE impressed_at < :before LIMIT :limit)", nativeQuery = true)
+    int deleteImpressedBefore(
+        @Param("before") LocalDateTime before,
+        @Param("limit") int limit
+    );
 }
 
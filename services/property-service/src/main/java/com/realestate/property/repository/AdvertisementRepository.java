@@ -52,6 +52,11 @@ public interface AdvertisementRepository extends JpaRepository<Advertisement, Lo
         @Param("now") LocalDateTime now
     );
 
+    // Annonces diffusables maintenant ou plus tard (index de diffusion ; fenêtre de début vérifiée en mémoire)
+    @Query("SELECT a FROM Advertisement a WHERE a.active = true AND a.status = 'ACTIVE' " +
+           "AND (a.endDate IS NULL OR a.endDate >= :now)")
+    List<Advertisement> findServable(@Param("now") LocalDateTime now);
+
     // Statistiques par organisation
     @Query("SELECT COUNT(a) FROM Advertisement a WHERE a.organizationId = :organizationId")
     Long countByOrganizationId(@Param("organizationId") Long organizationId);
@@ -6,6 +6,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,6 +41,22 @@ public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
     @Query("SELECT pa FROM PriceAlert pa WHERE pa.propertyId = :propertyId AND pa.active = true AND pa.notified = false")
     List<PriceAlert> findActiveUnnotifiedAlertsByPropertyId(@Param("propertyId") Long propertyId);
 
+    /**
+     * Alertes actives non notifiées d'un lot de propriétés (une requête par lot d'événements)
+     */
+    @Query("SELECT pa FROM PriceAlert pa WHERE pa.propertyId IN :propertyIds AND pa.active = true AND pa.notified = false")
+    List<PriceAlert> findActiveUnnotifiedAlertsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * Marquer des alertes comme notifiées en une requête (ignore celles déjà notifiées entre-temps)
+     *
+     * @return identifiants réellement marqués par cet appel : une alerte réclamée par une autre instance
+     *         (même changement de prix traité en parallèle) n'y figure pas
+     */
+    @Query(value = "UPDATE price_alerts SET notified = true, notified_at = :notifiedAt, updated_at = :notifiedAt " +
+           "WHERE id IN (:ids) AND notified = false RETURNING id", nativeQuery = true)
+    List<Long> markNotified(@Param("ids") Collection<Long> ids, @Param("notifiedAt") LocalDateTime notifiedAt);
+
     /**
      * Compter le nombre d'alertes actives pour un utilisateur
      */
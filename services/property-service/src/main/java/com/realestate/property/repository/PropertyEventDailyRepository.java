@@ -0,0 +1,28 @@
+package com.realestate.property.repository;
+
+import com.realestate.property.entity.PropertyEventDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository pour les cumuls journaliers d'événements par propriété
+ */
+@Repository
+public interface PropertyEventDailyRepository extends JpaRepository<PropertyEventDaily, Long> {
+
+    /**
+     * Cumuls d'une propriété dans une période : [jour, type, nombre], au plus un par jour et par type
+     */
+    @Query("SELECT d.day, d.eventType, d.eventCount FROM PropertyEventDaily d WHERE d.propertyId = :propertyId " +
+           "AND d.day >= :startDate AND d.day <= :endDate")
+    List<Object[]> findCountsByPropertyIdAndDateRange(
+            @Param("propertyId") Long propertyId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
@@ -0,0 +1,27 @@
+package com.realestate.property.repository;
+
+import com.realestate.property.entity.PropertyEventDailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository pour les cumuls journaliers d'événements toutes propriétés confondues
+ */
+@Repository
+public interface PropertyEventDailyTotalRepository extends JpaRepository<PropertyEventDailyTotal, Long> {
+
+    /**
+     * Cumuls globaux dans une période : [jour, type, nombre], au plus un par jour et par type
+     */
+    @Query("SELECT t.day, t.eventType, t.eventCount FROM PropertyEventDailyTotal t " +
+           "WHERE t.day >= :startDate AND t.day <= :endDate")
+    List<Object[]> findCountsByDateRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+}
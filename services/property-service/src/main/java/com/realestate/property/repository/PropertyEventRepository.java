@@ -32,17 +32,6 @@ public interface PropertyEventRepository extends JpaRepository<PropertyEvent, Lo
             @Param("endDate") LocalDate endDate
     );
 
-    /**
-     * Récupère tous les événements dans une période (global)
-     */
-    @Query("SELECT e FROM PropertyEvent e WHERE " +
-           "DATE(e.createdAt) >= :startDate AND DATE(e.createdAt) <= :endDate " +
-           "ORDER BY e.createdAt ASC")
-    List<PropertyEvent> findByDateRange(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
-    );
-
     /**
      * Compte les événements par type pour une propriété
      */
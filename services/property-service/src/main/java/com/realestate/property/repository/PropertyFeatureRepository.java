@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,12 @@ public interface PropertyFeatureRepository extends JpaRepository<PropertyFeature
     @Query("SELECT pf FROM PropertyFeature pf WHERE pf.property.id = :propertyId AND pf.active = true")
     List<PropertyFeature> findActiveByPropertyId(@Param("propertyId") Long propertyId);
 
+    /**
+     * Caractéristiques actives de plusieurs propriétés en une seule requête (mapping d'une page)
+     */
+    @Query("SELECT pf FROM PropertyFeature pf WHERE pf.property.id IN :propertyIds AND pf.active = true")
+    List<PropertyFeature> findActiveByPropertyIdIn(@Param("propertyIds") Collection<Long> propertyIds);
+
     @Query("SELECT pf FROM PropertyFeature pf WHERE pf.property.id = :propertyId AND pf.key = :key AND pf.active = true")
     Optional<PropertyFeature> findActiveByPropertyIdAndKey(
             @Param("propertyId") Long propertyId,
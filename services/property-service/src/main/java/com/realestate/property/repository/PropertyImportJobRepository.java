@@ -0,0 +1,13 @@
+package com.realestate.property.repository;
+
+import com.realestate.property.entity.PropertyImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PropertyImportJobRepository extends JpaRepository<PropertyImportJob, Long> {
+
+    Optional<PropertyImportJob> findByIdAndCreatedBy(Long id, Long createdBy);
+}
@@ -1,6 +1,12 @@
 package com.realestate.property.repository;
 
+import com.realestate.property.dto.CursorPage;
+import com.realestate.property.dto.PropertyCardDTO;
 import com.realestate.property.entity.Property;
+import com.realestate.property.specification.PropertySpecification;
+import com.realestate.property.util.KeysetCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +14,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +26,26 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
 
     Optional<Property> findBySlug(String slug);
 
+    /**
+     * Références déjà utilisées parmi celles fournies (import en masse : une requête par lot)
+     */
+    @Query("SELECT p.reference FROM Property p WHERE p.reference IN :references")
+    List<String> findExistingReferences(@Param("references") Collection<String> references);
+
     List<Property> findByOrganizationId(Long organizationId);
 
+    /**
+     * Organisation propriétaire d'une propriété (contrôle d'accès sans charger l'entité)
+     */
+    @Query("SELECT p.organizationId FROM Property p WHERE p.id = :id")
+    Optional<Long> findOrganizationIdById(@Param("id") Long id);
+
+    /**
+     * Identifiants des propriétés d'une organisation, désactivées comprises (statistiques de visiteurs uniques)
+     */
+    @Query("SELECT p.id FROM Property p WHERE p.organizationId = :organizationId")
+    List<Long> findIdsByOrganizationId(@Param("organizationId") Long organizationId);
+
     @Query("SELECT p FROM Property p WHERE p.organizationId = :organizationId AND p.active = true")
     List<Property> findActiveByOrganizationId(@Param("organizationId") Long organizationId);
 
@@ -132,5 +158,40 @@ public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSp
             @Param("status") String status,
             org.springframework.data.domain.Pageable pageable
     );
-}
 
+    /**
+     * Cartes d'annonces compactes (projection : seules les colonnes d'affichage sont lues)
+     */
+    @Query("SELECT new com.realestate.property.dto.PropertyCardDTO(p.id, p.slug, p.title, p.type, p.transactionType, " +
+            "p.price, p.currency, p.surface, p.bedrooms, p.city, p.ogImage, p.latitude, p.longitude) " +
+            "FROM Property p WHERE p.id IN :ids")
+    List<PropertyCardDTO> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Pagination par curseur (keyset) : retourne les lignes dont (clé de tri, id) suit le curseur,
+     * sans OFFSET. Une ligne supplémentaire est lue pour déterminer hasNext ;
+     * le COUNT n'est exécuté que si includeTotal.
+     */
+    default CursorPage<Property> findAllAfter(
+            Specification<Property> spec,
+            Sort.Order order,
+            String after,
+            int size,
+            boolean includeTotal) {
+        int pageSize = Math.max(size, 1);
+        KeysetCursor cursor = after != null && !after.isEmpty() ? KeysetCursor.decode(after, order) : null;
+        Sort sort = Sort.by(order).and(Sort.by(order.getDirection(), "id"));
+        Specification<Property> keysetSpec = Specification.where(spec).and(PropertySpecification.keysetAfter(cursor));
+
+        List<Property> rows = findBy(keysetSpec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Property> content = new ArrayList<>(hasNext ? rows.subList(0, pageSize) : rows);
+        String nextCursor = hasNext
+                ? KeysetCursor.after(content.get(content.size() - 1), order).encode()
+                : null;
+        Long totalElements = includeTotal ? count(spec) : null;
+
+        return new CursorPage<>(content, nextCursor, hasNext, totalElements);
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.property.repository;
+
+import com.realestate.property.entity.SavedSearch;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+
+    List<SavedSearch> findByUserIdAndActiveTrueOrderByCreatedAtDesc(Long userId);
+
+    Optional<SavedSearch> findByIdAndUserIdAndActiveTrue(Long id, Long userId);
+
+    long countByUserIdAndActiveTrue(Long userId);
+
+    /**
+     * Recherches actives par pages de clé (chargement de SavedSearchIndex)
+     */
+    @Query("SELECT s FROM SavedSearch s WHERE s.active = true AND s.id > :afterId ORDER BY s.id")
+    List<SavedSearch> findActiveAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Recherches créées, modifiées ou désactivées depuis une date (synchronisation de l'index entre instances)
+     */
+    List<SavedSearch> findByUpdatedAtAfter(LocalDateTime since);
+}
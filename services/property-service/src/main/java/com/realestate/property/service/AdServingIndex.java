@@ -0,0 +1,231 @@
+package com.realestate.property.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.property.dto.AdvertisementDTO;
+import com.realestate.property.entity.Advertisement;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Instantané immuable des annonces diffusables, indexé pour la sélection des emplacements publicitaires
+ *
+ * - (adType, position) : liste triée par priorité
+ * - localisation : villes / codes postaux / régions de target_locations (minuscules), + annonces sans ciblage
+ * - type de propriété : valeurs de target_property_types, + annonces sans ciblage
+ * Les fenêtres de diffusion (startDate / endDate) sont vérifiées à la lecture : une annonce programmée est indexée
+ * dès sa création et devient éligible sans reconstruction.
+ */
+public class AdServingIndex {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("[,;]");
+    private static final Comparator<ServedAd> BY_PRIORITY =
+            Comparator.comparingInt(ServedAd::priority).reversed().thenComparing(ServedAd::id);
+
+    // Après BY_PRIORITY : le constructeur l'utilise pendant l'initialisation de la classe
+    static final AdServingIndex EMPTY = new AdServingIndex(List.of());
+
+    private final List<ServedAd> all;
+    private final Map<String, List<ServedAd>> byTypeAndPosition = new HashMap<>();
+    private final Map<String, List<ServedAd>> byLocation = new HashMap<>();
+    private final List<ServedAd> anyLocation = new ArrayList<>();
+    private final Map<String, List<ServedAd>> byPropertyType = new HashMap<>();
+    private final List<ServedAd> anyPropertyType = new ArrayList<>();
+    private final List<ServedAd> capped = new ArrayList<>();
+    private final Set<Long> cappedIds = new HashSet<>();
+
+    private AdServingIndex(List<ServedAd> ads) {
+        this.all = ads.stream().sorted(BY_PRIORITY).toList();
+        for (ServedAd ad : all) {
+            byTypeAndPosition.computeIfAbsent(typeAndPositionKey(ad.adType(), ad.position()), key -> new ArrayList<>()).add(ad);
+            if (ad.locations().isEmpty()) {
+                anyLocation.add(ad);
+            }
+            for (String location : ad.locations()) {
+                byLocation.computeIfAbsent(location, key -> new ArrayList<>()).add(ad);
+            }
+            if (ad.propertyTypes().isEmpty()) {
+                anyPropertyType.add(ad);
+            }
+            for (String propertyType : ad.propertyTypes()) {
+                byPropertyType.computeIfAbsent(propertyType, key -> new ArrayList<>()).add(ad);
+            }
+            if (ad.maxImpressionsPerDay() != null) {
+                capped.add(ad);
+                cappedIds.add(ad.id());
+            }
+        }
+    }
+
+    /**
+     * @param toDTO projection servie telle quelle aux clients (partagée entre requêtes, jamais modifiée)
+     */
+    static AdServingIndex build(Collection<Advertisement> advertisements, Function<Advertisement, AdvertisementDTO> toDTO) {
+        List<ServedAd> ads = new ArrayList<>(advertisements.size());
+        for (Advertisement advertisement : advertisements) {
+            ads.add(new ServedAd(
+                    advertisement.getId(),
+                    advertisement.getAdType(),
+                    advertisement.getPosition(),
+                    advertisement.getPriority() != null ? advertisement.getPriority() : 0,
+                    advertisement.getStartDate(),
+                    advertisement.getEndDate(),
+                    parseTargets(advertisement.getTargetLocations()),
+                    parseTargets(advertisement.getTargetPropertyTypes()),
+                    advertisement.getMaxImpressionsPerDay(),
+                    advertisement.getBudget(),
+                    advertisement.getTotalSpent() != null ? advertisement.getTotalSpent() : BigDecimal.ZERO,
+                    advertisement.getCostPerImpression(),
+                    advertisement.getCostPerClick(),
+                    toDTO.apply(advertisement)));
+        }
+        return new AdServingIndex(ads);
+    }
+
+    /**
+     * Annonces dans leur fenêtre de diffusion et acceptées par le filtre, par priorité décroissante
+     *
+     * Même critère que les anciennes requêtes : (adType, position) si les deux sont fournis, sinon localisation
+     * (ville ou code postal), sinon type de propriété, sinon toutes les annonces.
+     */
+    public List<ServedAd> select(String adType, String position, String city, String postalCode, String propertyType,
+                                 LocalDateTime now, Predicate<ServedAd> filter, int limit) {
+        List<ServedAd> candidates;
+        if (adType != null && position != null) {
+            candidates = byTypeAndPosition.getOrDefault(typeAndPositionKey(adType, position), List.of());
+        } else if (city != null || postalCode != null) {
+            candidates = merge(anyLocation, byLocation.get(normalize(city)), byLocation.get(normalize(postalCode)));
+        } else if (propertyType != null) {
+            candidates = merge(anyPropertyType, byPropertyType.get(normalize(propertyType)), null);
+        } else {
+            candidates = all;
+        }
+        List<ServedAd> selected = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (ServedAd ad : candidates) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            if (ad.isLive(now) && filter.test(ad)) {
+                selected.add(ad);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Annonces avec une limite d'impressions quotidienne
+     */
+    public List<ServedAd> cappedAds() {
+        return capped;
+    }
+
+    public boolean isCapped(Long advertisementId) {
+        return cappedIds.contains(advertisementId);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * Valeurs de ciblage d'une colonne TEXT : JSON (objet de listes ou liste) ou, à défaut, liste séparée par , ou ;
+     */
+    static Set<String> parseTargets(String text) {
+        if (text == null || text.isBlank()) {
+            return Set.of();
+        }
+        Set<String> targets = new LinkedHashSet<>();
+        String trimmed = text.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            try {
+                collectValues(JSON.readTree(trimmed), targets);
+                return Set.copyOf(targets);
+            } catch (IOException e) {
+                // Pas du JSON valide : traité comme une liste
+            }
+        }
+        for (String value : LIST_SEPARATOR.split(trimmed)) {
+            addTarget(targets, value);
+        }
+        return Set.copyOf(targets);
+    }
+
+    private static void collectValues(JsonNode node, Set<String> targets) {
+        if (node.isContainerNode()) {
+            node.forEach(child -> collectValues(child, targets));
+        } else if (node.isValueNode()) {
+            addTarget(targets, node.asText());
+        }
+    }
+
+    private static void addTarget(Set<String> targets, String value) {
+        String normalized = normalize(value);
+        if (normalized != null) {
+            targets.add(normalized);
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim().replace("\"", "");
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static String typeAndPositionKey(String adType, String position) {
+        return adType + "|" + position;
+    }
+
+    private static List<ServedAd> merge(List<ServedAd> untargeted, List<ServedAd> first, List<ServedAd> second) {
+        if (first == null && second == null) {
+            return untargeted;
+        }
+        // Identité : une annonce présente dans plusieurs listes n'y figure qu'une fois
+        Set<ServedAd> merged = Collections.newSetFromMap(new IdentityHashMap<>());
+        merged.addAll(untargeted);
+        if (first != null) {
+            merged.addAll(first);
+        }
+        if (second != null) {
+            merged.addAll(second);
+        }
+        List<ServedAd> sorted = new ArrayList<>(merged);
+        sorted.sort(BY_PRIORITY);
+        return sorted;
+    }
+
+    /**
+     * Annonce indexée : critères de diffusion, tarifs pour le contrôle du budget et projection servie
+     */
+    public record ServedAd(Long id, String adType, String position, int priority,
+                           LocalDateTime startDate, LocalDateTime endDate,
+                           Set<String> locations, Set<String> propertyTypes,
+                           Integer maxImpressionsPerDay,
+                           BigDecimal budget, BigDecimal totalSpent,
+                           BigDecimal costPerImpression, BigDecimal costPerClick,
+                           AdvertisementDTO dto) {
+
+        boolean isLive(LocalDateTime now) {
+            return (startDate == null || !startDate.isAfter(now)) && (endDate == null || !endDate.isBefore(now));
+        }
+    }
+}
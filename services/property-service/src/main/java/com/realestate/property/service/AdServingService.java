@@ -0,0 +1,285 @@
+package com.realestate.property.service;
+
+import com.realestate.property.dto.AdvertisementDTO;
+import com.realestate.property.mapper.AdvertisementMapper;
+import com.realestate.property.repository.AdvertisementRepository;
+import com.realestate.property.service.AdServingIndex.ServedAd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sélection des annonces d'un emplacement publicitaire, en mémoire
+ *
+ * - Index (AdServingIndex) reconstruit après commit d'une modification locale, quand la version partagée
+ *   (Redis, incrémentée à chaque modification) change, et toutes les refresh-interval-ms (dépense, expiration)
+ * - Limite d'impressions quotidienne : compteur local par annonce, poussé en INCRBY sur une clé Redis par jour
+ *   toutes les sync-interval-ms ; le total renvoyé (toutes instances) plus les impressions locales non poussées
+ *   est comparé à la limite. Redis indisponible : chaque instance continue avec le dernier total connu.
+ * - Budget : dépense de l'instantané + impressions / clics pas encore écrits par cette instance
+ */
+@Service
+public class AdServingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdServingService.class);
+
+    static final int MAX_ADS_PER_SLOT = 5;
+    static final String VERSION_KEY = "advertisement:serving:version";
+    private static final String DAILY_IMPRESSIONS_KEY_PREFIX = "advertisement:daily-impressions:";
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long DAILY_KEY_TTL_HOURS = 48;
+
+    private final AdvertisementRepository advertisementRepository;
+    private final AdvertisementMapper advertisementMapper;
+    private final AdvertisementEventBuffer advertisementEventBuffer;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile AdServingIndex index;
+    private volatile String indexVersion;
+    private final Map<Long, DailyCount> dailyCounts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AdServingService(AdvertisementRepository advertisementRepository,
+                            AdvertisementMapper advertisementMapper,
+                            AdvertisementEventBuffer advertisementEventBuffer,
+                            RedisConnectionFactory redisConnectionFactory) {
+        this(advertisementRepository, advertisementMapper, advertisementEventBuffer,
+                new StringRedisTemplate(redisConnectionFactory));
+    }
+
+    AdServingService(AdvertisementRepository advertisementRepository,
+                     AdvertisementMapper advertisementMapper,
+                     AdvertisementEventBuffer advertisementEventBuffer,
+                     StringRedisTemplate redisTemplate) {
+        this.advertisementRepository = advertisementRepository;
+        this.advertisementMapper = advertisementMapper;
+        this.advertisementEventBuffer = advertisementEventBuffer;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Jusqu'à 5 annonces diffusables par priorité décroissante, sans accès base ni Redis
+     */
+    public List<AdvertisementDTO> selectAdvertisements(String adType, String position, String city, String postalCode,
+                                                       String propertyType) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        return currentIndex()
+                .select(adType, position, city, postalCode, propertyType, now,
+                        ad -> !isBudgetExhausted(ad) && isUnderDailyCap(ad, today), MAX_ADS_PER_SLOT)
+                .stream()
+                .map(ServedAd::dto)
+                .toList();
+    }
+
+    /**
+     * Impression servie : compte pour la limite quotidienne (annonces limitées uniquement)
+     */
+    public void recordImpression(Long advertisementId) {
+        AdServingIndex current = index;
+        if (current == null || advertisementId == null || !current.isCapped(advertisementId)) {
+            return;
+        }
+        dailyCountFor(advertisementId, LocalDate.now()).served.increment();
+    }
+
+    /**
+     * Modification locale d'une annonce : reconstruction après commit, version partagée incrémentée pour
+     * que les autres instances reconstruisent à leur prochaine synchronisation
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAdvertisementChanged(AdvertisementChangedEvent event) {
+        try {
+            Long version = redisTemplate.opsForValue().increment(VERSION_KEY);
+            indexVersion = Objects.toString(version, null);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to publish advertisement serving version: {}", e.getMessage());
+        }
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruction complète (dépense à jour, annonces expirées ou activées ailleurs)
+     */
+    @Scheduled(fixedDelayString = "${advertisements.serving.refresh-interval-ms:60000}",
+            initialDelayString = "${advertisements.serving.refresh-interval-ms:60000}")
+    public void refreshIndex() {
+        rebuild();
+    }
+
+    /**
+     * Pousse les impressions locales des annonces limitées, récupère les totaux du jour (toutes instances)
+     * et la version partagée de l'index, en un seul aller-retour Redis
+     */
+    @Scheduled(fixedDelayString = "${advertisements.serving.sync-interval-ms:1000}")
+    public void syncDailyCounts() {
+        AdServingIndex current = index;
+        if (current == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        String day = today.format(DAY_FORMAT);
+        List<ServedAd> capped = current.cappedAds();
+        List<DailyCount> counts = new ArrayList<>(capped.size());
+        long[] deltas = new long[capped.size()];
+        for (int i = 0; i < capped.size(); i++) {
+            DailyCount count = dailyCountFor(capped.get(i).id(), today);
+            counts.add(count);
+            deltas[i] = count.served.sum() - count.pushed;
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (int i = 0; i < capped.size(); i++) {
+                    String key = dailyImpressionsKey(capped.get(i).id(), day);
+                    redis.incrBy(key, deltas[i]);
+                    redis.expire(key, TimeUnit.HOURS.toSeconds(DAILY_KEY_TTL_HOURS));
+                }
+                redis.get(VERSION_KEY);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Failed to sync advertisement daily impressions, using last known totals: {}", e.getMessage());
+            return;
+        }
+
+        for (int i = 0; i < counts.size(); i++) {
+            DailyCount count = counts.get(i);
+            count.pushed += deltas[i];
+            if (results.get(i * 2) instanceof Number total) {
+                count.global = total.longValue();
+            }
+        }
+        // Compteurs des jours précédents et des annonces retirées de l'index
+        dailyCounts.entrySet().removeIf(entry -> !entry.getValue().day.equals(today) || !current.isCapped(entry.getKey()));
+
+        String version = Objects.toString(results.get(results.size() - 1), null);
+        if (version != null && !version.equals(indexVersion)) {
+            indexVersion = version;
+            rebuild();
+        }
+    }
+
+    /**
+     * Budget atteint en tenant compte des impressions et clics pas encore écrits par cette instance
+     * (la dépense en base est plafonnée au budget : rien n'est facturé au-delà)
+     */
+    boolean isBudgetExhausted(ServedAd ad) {
+        if (ad.budget() == null) {
+            return false;
+        }
+        BigDecimal spent = ad.totalSpent();
+        if (ad.costPerImpression() != null) {
+            spent = spent.add(ad.costPerImpression()
+                    .multiply(BigDecimal.valueOf(advertisementEventBuffer.getPendingImpressions(ad.id())))
+                    .movePointLeft(3));
+        }
+        if (ad.costPerClick() != null) {
+            spent = spent.add(ad.costPerClick()
+                    .multiply(BigDecimal.valueOf(advertisementEventBuffer.getPendingClicks(ad.id()))));
+        }
+        return spent.compareTo(ad.budget()) >= 0;
+    }
+
+    /**
+     * Total du jour connu à la dernière synchronisation + impressions locales pas encore poussées
+     */
+    boolean isUnderDailyCap(ServedAd ad, LocalDate today) {
+        if (ad.maxImpressionsPerDay() == null) {
+            return true;
+        }
+        DailyCount count = dailyCounts.get(ad.id());
+        long served = count != null && count.day.equals(today) ? count.global + count.served.sum() - count.pushed : 0;
+        return served < ad.maxImpressionsPerDay();
+    }
+
+    private AdServingIndex currentIndex() {
+        AdServingIndex current = index;
+        if (current == null) {
+            // Appel avant ApplicationReadyEvent : chargement synchrone, une seule fois
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    synchronized AdServingIndex rebuild() {
+        long startTime = System.currentTimeMillis();
+        try {
+            AdServingIndex rebuilt = AdServingIndex.build(
+                    advertisementRepository.findServable(LocalDateTime.now()), advertisementMapper::toDTO);
+            index = rebuilt;
+            logger.debug("Advertisement serving index rebuilt: {} ads in {}ms",
+                    rebuilt.size(), System.currentTimeMillis() - startTime);
+            return rebuilt;
+        } catch (DataAccessException e) {
+            logger.warn("Failed to rebuild advertisement serving index, keeping previous one: {}", e.getMessage());
+            return index != null ? index : AdServingIndex.EMPTY;
+        }
+    }
+
+    private DailyCount dailyCountFor(Long advertisementId, LocalDate today) {
+        DailyCount count = dailyCounts.get(advertisementId);
+        if (count == null || !count.day.equals(today)) {
+            count = dailyCounts.compute(advertisementId,
+                    (id, existing) -> existing != null && existing.day.equals(today) ? existing : new DailyCount(today));
+        }
+        return count;
+    }
+
+    static String dailyImpressionsKey(Long advertisementId, String day) {
+        return DAILY_IMPRESSIONS_KEY_PREFIX + advertisementId + ":" + day;
+    }
+
+    private static final class DailyCount {
+        private final LocalDate day;
+        private final LongAdder served = new LongAdder();
+        // Écrits par le seul thread de synchronisation
+        private volatile long pushed;
+        private volatile long global;
+
+        private DailyCount(LocalDate day) {
+            this.day = day;
+        }
+    }
+
+    /**
+     * Annonce créée, modifiée, supprimée ou changée de statut (publié par AdvertisementService)
+     */
+    public record AdvertisementChangedEvent(Long advertisementId) {
+    }
+}
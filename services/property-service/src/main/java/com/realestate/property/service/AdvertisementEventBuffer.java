@@ -0,0 +1,343 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.AdvertisementClick;
+import com.realestate.property.entity.AdvertisementImpression;
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementCounterDelta;
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementHourlyDelta;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Comptage en mémoire des impressions et clics publicitaires, écrits en arrière-plan
+ *
+ * Compteurs par annonce en LongAdder (striping, pas de contention entre requêtes) jamais remis à zéro :
+ * le thread de flush applique la différence avec la dernière valeur écrite (AdvertisementEventWriter.applyCounters),
+ * et ne l'avance qu'après commit. Un incrément concurrent au flush ou un flush en échec est repris au suivant :
+ * rien n'est perdu ni compté deux fois, et la dépense (calculée en base) reste exacte.
+ * Même principe pour les cumuls horaires (annonce, heure, ville, type de page), appliqués dans la même transaction ;
+ * les deltas des compteurs d'annonces sont la somme des deltas horaires du même flush. Un cumul d'une heure révolue (plus d'une heure de marge) et entièrement écrit est retiré de la mémoire.
+ * Les lignes brutes (advertisement_impressions / advertisement_clicks) passent par des files bornées écrites par lots ;
+ * file pleine : la ligne est abandonnée (les compteurs et la dépense restent exacts).
+ * Métriques : advertisement.events.rows{type=impression|click, result=accepted|dropped|written|failed}
+ */
+public class AdvertisementEventBuffer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdvertisementEventBuffer.class);
+
+    static final int CITY_MAX_LENGTH = 100;
+    static final int PAGE_TYPE_MAX_LENGTH = 50;
+    private static final Comparator<AdvertisementHourlyDelta> HOURLY_DELTA_ORDER = Comparator
+            .comparing(AdvertisementHourlyDelta::advertisementId)
+            .thenComparing(AdvertisementHourlyDelta::hour)
+            .thenComparing(AdvertisementHourlyDelta::city)
+            .thenComparing(AdvertisementHourlyDelta::pageType);
+
+    private final AdvertisementEventWriter writer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Map<Long, AdCounters> counters = new ConcurrentHashMap<>();
+    private final Map<HourlyKey, AdCounters> hourlyCounters = new ConcurrentHashMap<>();
+    private final RowQueue<AdvertisementImpression> impressions;
+    private final RowQueue<AdvertisementClick> clicks;
+
+    private final Thread flusher;
+    private volatile boolean running;
+
+    /**
+     * @param capacity lignes brutes en attente par type au-delà desquelles les nouvelles sont abandonnées
+     * @param meterRegistry registre Micrometer, null pour désactiver les métriques
+     */
+    public AdvertisementEventBuffer(AdvertisementEventWriter writer, int capacity, int batchSize, long flushIntervalMs,
+                                    MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.impressions = new RowQueue<>("impression", capacity);
+        this.clicks = new RowQueue<>("click", capacity);
+        this.flusher = new Thread(this::run, "advertisement-events-flusher");
+        this.flusher.setDaemon(true);
+        if (meterRegistry != null) {
+            impressions.registerMetrics(meterRegistry);
+            clicks.registerMetrics(meterRegistry);
+        }
+    }
+
+    public void start() {
+        running = true;
+        flusher.start();
+    }
+
+    public void recordImpression(AdvertisementImpression impression) {
+        countersFor(impression.getAdvertisementId()).impressions.increment();
+        hourlyCountersFor(HourlyKey.of(impression.getAdvertisementId(), impression.getImpressedAt(),
+                impression.getCity(), impression.getPageType())).impressions.increment();
+        wakeUpIfBatchFull(impressions.offer(impression));
+    }
+
+    public void recordClick(AdvertisementClick click) {
+        countersFor(click.getAdvertisementId()).clicks.increment();
+        hourlyCountersFor(HourlyKey.of(click.getAdvertisementId(), click.getClickedAt(), click.getCity(), null))
+                .clicks.increment();
+        wakeUpIfBatchFull(clicks.offer(click));
+    }
+
+    /**
+     * Impressions comptées sur cette instance et pas encore écrites en base
+     */
+    public long getPendingImpressions(Long advertisementId) {
+        AdCounters adCounters = counters.get(advertisementId);
+        return adCounters != null ? adCounters.impressions.sum() - adCounters.flushedImpressions : 0;
+    }
+
+    /**
+     * Clics comptés sur cette instance et pas encore écrits en base
+     */
+    public long getPendingClicks(Long advertisementId) {
+        AdCounters adCounters = counters.get(advertisementId);
+        return adCounters != null ? adCounters.clicks.sum() - adCounters.flushedClicks : 0;
+    }
+
+    public int size() {
+        return impressions.size.get() + clicks.size.get();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+    }
+
+    /**
+     * Écrit les lignes en file puis les compteurs, dans le thread appelant
+     */
+    synchronized void flushAll() {
+        flushRows(impressions, writer::writeImpressions);
+        flushRows(clicks, writer::writeClicks);
+        flushCounters();
+    }
+
+    private AdCounters countersFor(Long advertisementId) {
+        return counters.computeIfAbsent(advertisementId, id -> new AdCounters());
+    }
+
+    private AdCounters hourlyCountersFor(HourlyKey key) {
+        return hourlyCounters.computeIfAbsent(key, k -> new AdCounters());
+    }
+
+    private void wakeUpIfBatchFull(int queued) {
+        if (queued > 0 && queued % batchSize == 0) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                flushAll();
+            } catch (RuntimeException e) {
+                logger.error("Advertisement events flush failed: {}", e.getMessage());
+            }
+            LockSupport.parkNanos(this, flushIntervalNanos);
+        }
+    }
+
+    private <T> void flushRows(RowQueue<T> queue, Function<List<T>, Integer> write) {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (queue.drain(batch, batchSize) > 0) {
+            try {
+                int written = write.apply(batch);
+                queue.written.add(written);
+                queue.failed.add(batch.size() - written);
+            } catch (RuntimeException e) {
+                queue.failed.add(batch.size());
+                logger.error("Failed to write {} advertisement {} rows: {}", batch.size(), queue.type, e.getMessage());
+            }
+        }
+    }
+
+    private void flushCounters() {
+        List<AdvertisementHourlyDelta> hourlyDeltas = new ArrayList<>();
+        hourlyCounters.forEach((key, adCounters) -> {
+            long impressionDelta = adCounters.impressions.sum() - adCounters.flushedImpressions;
+            long clickDelta = adCounters.clicks.sum() - adCounters.flushedClicks;
+            if (impressionDelta > 0 || clickDelta > 0) {
+                hourlyDeltas.add(new AdvertisementHourlyDelta(key.advertisementId(), key.hour(), key.city(),
+                        key.pageType(), impressionDelta, clickDelta));
+            }
+        });
+        if (hourlyDeltas.isEmpty()) {
+            return;
+        }
+        // Ordre fixe : deux instances verrouillent les lignes d'annonces et de cumuls dans le même ordre
+        hourlyDeltas.sort(HOURLY_DELTA_ORDER);
+        // Compteurs d'annonces = somme de leurs cumuls horaires : la dépense facturée est répartie sur exactement
+        // les mêmes événements (les compteurs par annonce sont incrémentés avant les cumuls, jamais en retard)
+        List<AdvertisementCounterDelta> deltas = new ArrayList<>();
+        for (AdvertisementHourlyDelta delta : hourlyDeltas) {
+            AdvertisementCounterDelta last = deltas.isEmpty() ? null : deltas.get(deltas.size() - 1);
+            if (last != null && last.advertisementId().equals(delta.advertisementId())) {
+                deltas.set(deltas.size() - 1, new AdvertisementCounterDelta(last.advertisementId(),
+                        last.impressions() + delta.impressions(), last.clicks() + delta.clicks()));
+            } else {
+                deltas.add(new AdvertisementCounterDelta(delta.advertisementId(), delta.impressions(), delta.clicks()));
+            }
+        }
+
+        int[] updated;
+        try {
+            updated = writer.applyCounters(deltas, hourlyDeltas);
+        } catch (RuntimeException e) {
+            logger.error("Failed to apply counters of {} advertisements, retrying at next flush: {}",
+                    deltas.size(), e.getMessage());
+            return;
+        }
+        for (AdvertisementHourlyDelta delta : hourlyDeltas) {
+            AdCounters adCounters = hourlyCounters.get(HourlyKey.of(delta));
+            if (adCounters != null) {
+                adCounters.flushedImpressions += delta.impressions();
+                adCounters.flushedClicks += delta.clicks();
+            }
+        }
+        for (int i = 0; i < deltas.size(); i++) {
+            AdvertisementCounterDelta delta = deltas.get(i);
+            if (i < updated.length && updated[i] == 0) {
+                // Annonce inexistante (supprimée, identifiant invalide) : compteurs abandonnés
+                counters.remove(delta.advertisementId());
+                continue;
+            }
+            AdCounters adCounters = counters.get(delta.advertisementId());
+            if (adCounters == null) {
+                continue;
+            }
+            adCounters.flushedImpressions += delta.impressions();
+            adCounters.flushedClicks += delta.clicks();
+        }
+        evictFlushedHours();
+    }
+
+    /**
+     * Retire les cumuls horaires terminés depuis plus d'une heure et entièrement écrits
+     * (ou dont l'annonce n'existe plus) : aucun événement ne peut encore les incrémenter
+     */
+    private void evictFlushedHours() {
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        hourlyCounters.entrySet().removeIf(entry -> !counters.containsKey(entry.getKey().advertisementId())
+                || (entry.getKey().hour().isBefore(cutoff)
+                && entry.getValue().impressions.sum() == entry.getValue().flushedImpressions
+                && entry.getValue().clicks.sum() == entry.getValue().flushedClicks));
+    }
+
+    /**
+     * Clé d'un cumul horaire ; ville et type de page tronqués à la taille des colonnes, vides si inconnus
+     */
+    private record HourlyKey(Long advertisementId, LocalDateTime hour, String city, String pageType) {
+
+        private static HourlyKey of(Long advertisementId, LocalDateTime at, String city, String pageType) {
+            return new HourlyKey(advertisementId, at.truncatedTo(ChronoUnit.HOURS),
+                    dimension(city, CITY_MAX_LENGTH), dimension(pageType, PAGE_TYPE_MAX_LENGTH));
+        }
+
+        private static HourlyKey of(AdvertisementHourlyDelta delta) {
+            return new HourlyKey(delta.advertisementId(), delta.hour(), delta.city(), delta.pageType());
+        }
+
+        private static String dimension(String value, int maxLength) {
+            if (value == null) {
+                return "";
+            }
+            String trimmed = value.trim();
+            return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+        }
+    }
+
+    private static final class AdCounters {
+        private final LongAdder impressions = new LongAdder();
+        private final LongAdder clicks = new LongAdder();
+        // Écrits par le seul thread de flush, lus par les requêtes (valeurs en attente)
+        private volatile long flushedImpressions;
+        private volatile long flushedClicks;
+    }
+
+    /**
+     * File bornée sans verrou (taille réservée avant l'ajout)
+     */
+    private static final class RowQueue<T> {
+        private final String type;
+        private final int capacity;
+        private final ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder written = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private RowQueue(String type, int capacity) {
+            this.type = type;
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return taille de la file après l'ajout, 0 si la ligne est abandonnée
+         */
+        private int offer(T row) {
+            int reserved = size.incrementAndGet();
+            if (reserved > capacity) {
+                size.decrementAndGet();
+                dropped.increment();
+                return 0;
+            }
+            queue.offer(row);
+            accepted.increment();
+            return reserved;
+        }
+
+        private int drain(List<T> batch, int max) {
+            batch.clear();
+            T row;
+            while (batch.size() < max && (row = queue.poll()) != null) {
+                batch.add(row);
+            }
+            size.addAndGet(-batch.size());
+            return batch.size();
+        }
+
+        private void registerMetrics(MeterRegistry meterRegistry) {
+            registerCounter(meterRegistry, "accepted", accepted);
+            registerCounter(meterRegistry, "dropped", dropped);
+            registerCounter(meterRegistry, "written", written);
+            registerCounter(meterRegistry, "failed", failed);
+        }
+
+        private void registerCounter(MeterRegistry meterRegistry, String result, LongAdder adder) {
+            FunctionCounter.builder("advertisement.events.rows", adder, LongAdder::sum)
+                    .description("Raw advertisement impression and click rows by outcome")
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
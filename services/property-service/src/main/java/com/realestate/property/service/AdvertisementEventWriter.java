@@ -0,0 +1,238 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.AdvertisementClick;
+import com.realestate.property.entity.AdvertisementImpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écriture des impressions / clics publicitaires par lots JDBC et application des compteurs agrégés
+ *
+ * Les compteurs sont appliqués en deltas atomiques (impressions = impressions + ?) : pas de lecture préalable de
+ * la ligne, pas de mise à jour perdue entre instances. La dépense est calculée par PostgreSQL avec les tarifs de
+ * la ligne (CPM / 1000 par impression, CPC par clic) en NUMERIC exact, plafonnée au budget de la campagne.
+ * Les cumuls horaires (advertisement_hourly_stats : annonce, heure, ville, type de page) sont incrémentés dans la
+ * même transaction avec la dépense réellement facturée (renvoyée par l'UPDATE), répartie entre les lignes horaires
+ * de l'annonce : leur somme est égale à l'augmentation de total_spent, même quand le lot atteint le budget.
+ */
+public class AdvertisementEventWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdvertisementEventWriter.class);
+
+    static final String INSERT_IMPRESSION_SQL =
+            "INSERT INTO advertisement_impressions (advertisement_id, ip_address, user_agent, property_id, page_type, " +
+            "city, postal_code, impressed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_CLICK_SQL =
+            "INSERT INTO advertisement_clicks (advertisement_id, ip_address, user_agent, referrer, property_id, " +
+            "city, postal_code, clicked_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Ancienne dépense lue sous verrou (FOR UPDATE) : RETURNING ne voit que la nouvelle valeur
+    static final String APPLY_COUNTERS_SQL =
+            "UPDATE advertisements a SET impressions = a.impressions + ?, clicks = a.clicks + ?, " +
+            "total_spent = CASE WHEN a.budget IS NULL THEN a.total_spent + ? * COALESCE(a.cost_per_impression, 0) / 1000 " +
+            "+ ? * COALESCE(a.cost_per_click, 0) " +
+            "ELSE LEAST(a.budget, a.total_spent + ? * COALESCE(a.cost_per_impression, 0) / 1000 " +
+            "+ ? * COALESCE(a.cost_per_click, 0)) END " +
+            "FROM (SELECT id, total_spent FROM advertisements WHERE id = ? FOR UPDATE) previous " +
+            "WHERE a.id = previous.id " +
+            "RETURNING COALESCE(a.total_spent, 0) - COALESCE(previous.total_spent, 0), " +
+            "a.cost_per_impression, a.cost_per_click";
+
+    static final String UPSERT_HOURLY_SQL =
+            "INSERT INTO advertisement_hourly_stats (advertisement_id, hour, city, page_type, impressions, clicks, spent) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (advertisement_id, hour, city, page_type) DO UPDATE SET " +
+            "impressions = advertisement_hourly_stats.impressions + EXCLUDED.impressions, " +
+            "clicks = advertisement_hourly_stats.clicks + EXCLUDED.clicks, " +
+            "spent = advertisement_hourly_stats.spent + EXCLUDED.spent";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public AdvertisementEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return nombre d'impressions écrites
+     */
+    public int writeImpressions(List<AdvertisementImpression> impressions) {
+        return write(INSERT_IMPRESSION_SQL, impressions, AdvertisementEventWriter::setImpressionValues, "impressions");
+    }
+
+    /**
+     * @return nombre de clics écrits
+     */
+    public int writeClicks(List<AdvertisementClick> clicks) {
+        return write(INSERT_CLICK_SQL, clicks, AdvertisementEventWriter::setClickValues, "clicks");
+    }
+
+    /**
+     * Applique les compteurs d'annonces puis les deltas horaires dans une seule transaction (tout ou rien),
+     * chacun dans l'ordre des clés (mêmes verrous dans le même ordre sur toutes les instances)
+     *
+     * Une requête par annonce (RETURNING de la dépense facturée), puis les cumuls horaires en un lot ; les deltas
+     * horaires d'une annonce inexistante sont ignorés.
+     *
+     * @param hourlyDeltas triés par annonce ; pour chaque annonce, mêmes totaux que son delta de compteurs
+     * @return lignes d'annonces mises à jour par delta (0 : annonce inexistante)
+     */
+    public int[] applyCounters(List<AdvertisementCounterDelta> deltas, List<AdvertisementHourlyDelta> hourlyDeltas) {
+        if (deltas.isEmpty() && hourlyDeltas.isEmpty()) {
+            return new int[0];
+        }
+        return transactionTemplate.execute(status -> {
+            int[] updated = new int[deltas.size()];
+            Map<Long, BilledIncrement> billed = new HashMap<>();
+            for (int i = 0; i < deltas.size(); i++) {
+                AdvertisementCounterDelta delta = deltas.get(i);
+                List<BilledIncrement> rows = jdbcTemplate.query(APPLY_COUNTERS_SQL,
+                        (rs, rowNum) -> new BilledIncrement(rs.getBigDecimal(1), rs.getBigDecimal(2), rs.getBigDecimal(3)),
+                        delta.impressions(), delta.clicks(), delta.impressions(), delta.clicks(),
+                        delta.impressions(), delta.clicks(), delta.advertisementId());
+                if (!rows.isEmpty()) {
+                    updated[i] = 1;
+                    billed.put(delta.advertisementId(), rows.get(0));
+                }
+            }
+
+            List<AdvertisementHourlyDelta> known = hourlyDeltas.stream()
+                    .filter(delta -> billed.containsKey(delta.advertisementId()))
+                    .toList();
+            if (!known.isEmpty()) {
+                List<BigDecimal> spent = allocateSpent(known, billed);
+                List<Object[]> rows = new ArrayList<>(known.size());
+                for (int i = 0; i < known.size(); i++) {
+                    AdvertisementHourlyDelta delta = known.get(i);
+                    rows.add(new Object[]{delta.advertisementId(), Timestamp.valueOf(delta.hour()), delta.city(),
+                            delta.pageType(), delta.impressions(), delta.clicks(), spent.get(i)});
+                }
+                jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, rows);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Répartit la dépense facturée de chaque annonce entre ses lignes horaires (consécutives) : coût de la ligne
+     * aux tarifs de l'annonce, plafonné au reste à répartir ; la dernière ligne reçoit le reste (budget atteint
+     * en cours de lot, arrondi de total_spent), la somme est donc exactement la dépense facturée
+     */
+    static List<BigDecimal> allocateSpent(List<AdvertisementHourlyDelta> hourlyDeltas, Map<Long, BilledIncrement> billed) {
+        List<BigDecimal> spent = new ArrayList<>(hourlyDeltas.size());
+        BigDecimal remaining = BigDecimal.ZERO;
+        for (int i = 0; i < hourlyDeltas.size(); i++) {
+            AdvertisementHourlyDelta delta = hourlyDeltas.get(i);
+            BilledIncrement increment = billed.get(delta.advertisementId());
+            if (i == 0 || !delta.advertisementId().equals(hourlyDeltas.get(i - 1).advertisementId())) {
+                remaining = increment.amount() != null ? increment.amount().max(BigDecimal.ZERO) : BigDecimal.ZERO;
+            }
+            boolean last = i == hourlyDeltas.size() - 1
+                    || !delta.advertisementId().equals(hourlyDeltas.get(i + 1).advertisementId());
+            BigDecimal rowSpent = last ? remaining : increment.cost(delta.impressions(), delta.clicks()).min(remaining);
+            spent.add(rowSpent);
+            remaining = remaining.subtract(rowSpent);
+        }
+        return spent;
+    }
+
+    private <T> int write(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter, String label) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter));
+            return rows.size();
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} advertisement {} failed, retrying row by row: {}", rows.size(), label, e.getMessage());
+            int written = 0;
+            for (T row : rows) {
+                try {
+                    jdbcTemplate.update(sql, ps -> setter.setValues(ps, row));
+                    written++;
+                } catch (DataAccessException rowException) {
+                    logger.debug("Dropping advertisement {} row: {}", label, rowException.getMostSpecificCause().getMessage());
+                }
+            }
+            return written;
+        }
+    }
+
+    private static void setImpressionValues(PreparedStatement ps, AdvertisementImpression impression) throws SQLException {
+        ps.setLong(1, impression.getAdvertisementId());
+        ps.setString(2, impression.getIpAddress());
+        ps.setString(3, impression.getUserAgent());
+        setNullableLong(ps, 4, impression.getPropertyId());
+        ps.setString(5, impression.getPageType());
+        ps.setString(6, impression.getCity());
+        ps.setString(7, impression.getPostalCode());
+        ps.setTimestamp(8, Timestamp.valueOf(impression.getImpressedAt()));
+    }
+
+    private static void setClickValues(PreparedStatement ps, AdvertisementClick click) throws SQLException {
+        ps.setLong(1, click.getAdvertisementId());
+        ps.setString(2, click.getIpAddress());
+        ps.setString(3, click.getUserAgent());
+        ps.setString(4, click.getReferrer());
+        setNullableLong(ps, 5, click.getPropertyId());
+        ps.setString(6, click.getCity());
+        ps.setString(7, click.getPostalCode());
+        ps.setTimestamp(8, Timestamp.valueOf(click.getClickedAt()));
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Augmentation de total_spent appliquée par l'UPDATE d'une annonce et ses tarifs (CPM, CPC)
+     */
+    record BilledIncrement(BigDecimal amount, BigDecimal costPerImpression, BigDecimal costPerClick) {
+
+        BigDecimal cost(long impressions, long clicks) {
+            BigDecimal cost = BigDecimal.ZERO;
+            if (costPerImpression != null) {
+                cost = cost.add(costPerImpression.multiply(BigDecimal.valueOf(impressions)).movePointLeft(3));
+            }
+            if (costPerClick != null) {
+                cost = cost.add(costPerClick.multiply(BigDecimal.valueOf(clicks)));
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Impressions et clics à ajouter aux compteurs d'une annonce
+     */
+    public record AdvertisementCounterDelta(Long advertisementId, long impressions, long clicks) {
+    }
+
+    /**
+     * Impressions et clics à ajouter au cumul horaire d'une annonce (ville et type de page vides si inconnus)
+     */
+    public record AdvertisementHourlyDelta(Long advertisementId, LocalDateTime hour, String city, String pageType,
+                                           long impressions, long clicks) {
+    }
+}
@@ -11,6 +11,7 @@ import com.realestate.property.entity.AdvertisementClick;
 import com.realestate.property.entity.AdvertisementImpression;
 import com.realestate.property.mapper.AdvertisementMapper;
 import com.realestate.property.repository.AdvertisementClickRepository;
+import com.realestate.property.repository.AdvertisementHourlyStatRepository;
 import com.realestate.property.repository.AdvertisementImpressionRepository;
 import com.realestate.property.repository.AdvertisementRepository;
 import jakarta.persistence.EntityManager;
@@ -18,6 +19,10 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,23 +42,46 @@ public class AdvertisementService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdvertisementService.class);
 
+    static final String UNKNOWN_DIMENSION = "UNKNOWN";
+    private static final int MAX_DIMENSION_VALUES = 20;
+
     private final AdvertisementRepository advertisementRepository;
     private final AdvertisementClickRepository clickRepository;
     private final AdvertisementImpressionRepository impressionRepository;
     private final AdvertisementMapper advertisementMapper;
+    private final AdvertisementEventBuffer advertisementEventBuffer;
+    private final AdServingService adServingService;
+    private final AdvertisementHourlyStatRepository hourlyStatRepository;
+    @Autowired(required = false)
+    private ApplicationEventPublisher applicationEventPublisher;
     
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${advertisements.raw-retention.days:90}")
+    private int rawRetentionDays;
+
+    @Value("${advertisements.raw-retention.batch-size:10000}")
+    private int compactionBatchSize;
+
+    @Value("${advertisements.raw-retention.max-batches-per-run:30}")
+    private int compactionMaxBatchesPerRun;
+
     public AdvertisementService(
             AdvertisementRepository advertisementRepository,
             AdvertisementClickRepository clickRepository,
             AdvertisementImpressionRepository impressionRepository,
-            AdvertisementMapper advertisementMapper) {
+            AdvertisementMapper advertisementMapper,
+            AdvertisementEventBuffer advertisementEventBuffer,
+            AdServingService adServingService,
+            AdvertisementHourlyStatRepository hourlyStatRepository) {
         this.advertisementRepository = advertisementRepository;
         this.clickRepository = clickRepository;
         this.impressionRepository = impressionRepository;
         this.advertisementMapper = advertisementMapper;
+        this.advertisementEventBuffer = advertisementEventBuffer;
+        this.adServingService = adServingService;
+        this.hourlyStatRepository = hourlyStatRepository;
     }
     
     /**
@@ -79,6 +107,7 @@ public class AdvertisementService {
     public AdvertisementDTO createAdvertisement(AdvertisementCreateDTO dto) {
         Advertisement advertisement = advertisementMapper.toEntity(dto);
         advertisement = advertisementRepository.save(advertisement);
+        publishChange(advertisement.getId());
         return advertisementMapper.toDTO(advertisement);
     }
 
@@ -110,6 +139,7 @@ public class AdvertisementService {
                 .orElseThrow(() -> new ResourceNotFoundException("Advertisement", id));
         advertisementMapper.updateEntity(advertisement, dto);
         advertisement = advertisementRepository.save(advertisement);
+        publishChange(id);
         return advertisementMapper.toDTO(advertisement);
     }
 
@@ -118,6 +148,7 @@ public class AdvertisementService {
         Advertisement advertisement = advertisementRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Advertisement", id));
         advertisementRepository.delete(advertisement);
+        publishChange(id);
     }
 
     @Transactional
@@ -126,109 +157,48 @@ public class AdvertisementService {
                 .orElseThrow(() -> new ResourceNotFoundException("Advertisement", id));
         advertisement.setStatus(status);
         advertisement = advertisementRepository.save(advertisement);
+        publishChange(id);
         return advertisementMapper.toDTO(advertisement);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Annonces d'un emplacement, sélectionnées dans l'index de diffusion en mémoire (AdServingService)
+     */
     public List<AdvertisementDTO> getActiveAdvertisements(String adType, String position, String city, String postalCode, String propertyType) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Advertisement> advertisements;
-
-        if (adType != null && position != null) {
-            advertisements = advertisementRepository.findActiveByTypeAndPosition(adType, position, now);
-        } else if (city != null || postalCode != null) {
-            advertisements = advertisementRepository.findActiveByLocation(city != null ? city : "", postalCode != null ? postalCode : "", now);
-        } else if (propertyType != null) {
-            advertisements = advertisementRepository.findActiveByPropertyType(propertyType, now);
-        } else {
-            // Retourner toutes les annonces actives
-            advertisements = advertisementRepository.findAll().stream()
-                    .filter(ad -> ad.getActive() && "ACTIVE".equals(ad.getStatus())
-                            && (ad.getStartDate() == null || ad.getStartDate().isBefore(now) || ad.getStartDate().isEqual(now))
-                            && (ad.getEndDate() == null || ad.getEndDate().isAfter(now) || ad.getEndDate().isEqual(now)))
-                    .collect(Collectors.toList());
-        }
-
-        // Filtrer par limite d'impressions quotidiennes
-        return advertisements.stream()
-                .filter(ad -> {
-                    if (ad.getMaxImpressionsPerDay() != null) {
-                        try {
-                            Long todayImpressions = impressionRepository.countByAdvertisementIdAndDate(ad.getId(), now);
-                            return todayImpressions != null && todayImpressions < ad.getMaxImpressionsPerDay();
-                        } catch (Exception e) {
-                            logger.warn("Error checking daily impressions limit for ad {}: {}", ad.getId(), e.getMessage());
-                            return true; // En cas d'erreur, on autorise l'affichage
-                        }
-                    }
-                    return true;
-                })
-                .sorted((a, b) -> Integer.compare(b.getPriority(), a.getPriority())) // Trier par priorité décroissante
-                .limit(5) // Limiter à 5 annonces maximum par slot
-                .map(advertisementMapper::toDTO)
-                .collect(Collectors.toList());
+        return adServingService.selectAdvertisements(adType, position, city, postalCode, propertyType);
     }
 
-    @Transactional
+    /**
+     * Compte une impression (compteurs en mémoire, ligne brute écrite par lot) : ni lecture ni verrou de l'annonce
+     */
     public void recordImpression(Long advertisementId, String ipAddress, String userAgent, Long propertyId, String pageType, String city, String postalCode) {
-        try {
-            AdvertisementImpression impression = new AdvertisementImpression();
-            impression.setAdvertisementId(advertisementId);
-            impression.setIpAddress(ipAddress);
-            impression.setUserAgent(userAgent);
-            impression.setPropertyId(propertyId);
-            impression.setPageType(pageType);
-            impression.setCity(city);
-            impression.setPostalCode(postalCode);
-            impressionRepository.save(impression);
-
-            // Mettre à jour le compteur d'impressions
-            Advertisement advertisement = advertisementRepository.findById(advertisementId).orElse(null);
-            if (advertisement != null) {
-                advertisement.setImpressions(advertisement.getImpressions() + 1);
-                
-                // Calculer le coût si CPM
-                if (advertisement.getCostPerImpression() != null) {
-                    BigDecimal cost = advertisement.getCostPerImpression()
-                            .divide(BigDecimal.valueOf(1000), 4, java.math.RoundingMode.HALF_UP);
-                    advertisement.setTotalSpent(advertisement.getTotalSpent().add(cost));
-                }
-                
-                advertisementRepository.save(advertisement);
-            }
-        } catch (Exception e) {
-            logger.error("Error recording impression for advertisement {}: {}", advertisementId, e.getMessage());
-        }
+        AdvertisementImpression impression = new AdvertisementImpression();
+        impression.setAdvertisementId(advertisementId);
+        impression.setIpAddress(ipAddress);
+        impression.setUserAgent(userAgent);
+        impression.setPropertyId(propertyId);
+        impression.setPageType(pageType);
+        impression.setCity(city);
+        impression.setPostalCode(postalCode);
+        impression.setImpressedAt(LocalDateTime.now());
+        advertisementEventBuffer.recordImpression(impression);
+        adServingService.recordImpression(advertisementId);
     }
 
-    @Transactional
+    /**
+     * Compte un clic (compteurs en mémoire, ligne brute écrite par lot) : ni lecture ni verrou de l'annonce
+     */
     public void recordClick(Long advertisementId, String ipAddress, String userAgent, String referrer, Long propertyId, String city, String postalCode) {
-        try {
-            AdvertisementClick click = new AdvertisementClick();
-            click.setAdvertisementId(advertisementId);
-            click.setIpAddress(ipAddress);
-            click.setUserAgent(userAgent);
-            click.setReferrer(referrer);
-            click.setPropertyId(propertyId);
-            click.setCity(city);
-            click.setPostalCode(postalCode);
-            clickRepository.save(click);
-
-            // Mettre à jour le compteur de clics
-            Advertisement advertisement = advertisementRepository.findById(advertisementId).orElse(null);
-            if (advertisement != null) {
-                advertisement.setClicks(advertisement.getClicks() + 1);
-                
-                // Calculer le coût si CPC
-                if (advertisement.getCostPerClick() != null) {
-                    advertisement.setTotalSpent(advertisement.getTotalSpent().add(advertisement.getCostPerClick()));
-                }
-                
-                advertisementRepository.save(advertisement);
-            }
-        } catch (Exception e) {
-            logger.error("Error recording click for advertisement {}: {}", advertisementId, e.getMessage());
-        }
+        AdvertisementClick click = new AdvertisementClick();
+        click.setAdvertisementId(advertisementId);
+        click.setIpAddress(ipAddress);
+        click.setUserAgent(userAgent);
+        click.setReferrer(referrer);
+        click.setPropertyId(propertyId);
+        click.setCity(city);
+        click.setPostalCode(postalCode);
+        click.setClickedAt(LocalDateTime.now());
+        advertisementEventBuffer.recordClick(click);
     }
 
     @Transactional(readOnly = true)
@@ -286,6 +256,47 @@ public class AdvertisementService {
             advertisementRepository.save(ad);
             logger.info("Expired advertisement: {}", ad.getId());
         }
+        if (!expired.isEmpty()) {
+            publishChange(null);
+        }
+    }
+    
+    /**
+     * Compaction : supprime par lots les impressions brutes plus anciennes que la rétention
+     * (elles restent comptées dans advertisement_hourly_stats et dans les compteurs de l'annonce)
+     * Au plus max-batches-per-run lots par exécution : un arriéré est résorbé sur les exécutions suivantes
+     */
+    @Scheduled(cron = "${advertisements.raw-retention.cron:0 30 * * * ?}")
+    public void compactRawImpressions() {
+        if (rawRetentionDays <= 0) {
+            return;
+        }
+        LocalDateTime before = LocalDate.now().minusDays(rawRetentionDays).atStartOfDay();
+        long deleted = 0;
+        int batches = 0;
+        int batch = 0;
+        try {
+            do {
+                batch = impressionRepository.deleteImpressedBefore(before, compactionBatchSize);
+                deleted += batch;
+                batches++;
+            } while (batch == compactionBatchSize && batches < compactionMaxBatchesPerRun);
+        } catch (Exception e) {
+            logger.warn("Failed to compact advertisement impressions before {}: {}", before, e.getMessage());
+        }
+        if (deleted > 0) {
+            logger.info("Compacted {} advertisement impressions before {}{}", deleted, before,
+                    batch == compactionBatchSize ? " (more left for the next run)" : "");
+        }
+    }
+    
+    /**
+     * Reconstruction de l'index de diffusion après commit (id null : plusieurs annonces)
+     */
+    private void publishChange(Long advertisementId) {
+        if (applicationEventPublisher != null) {
+            applicationEventPublisher.publishEvent(new AdServingService.AdvertisementChangedEvent(advertisementId));
+        }
     }
     
     /**
@@ -350,6 +361,12 @@ public class AdvertisementService {
         analytics.setDailyStats(getDailyStats(organizationId, defaultStartDate, defaultEndDate));
         analytics.setWeeklyStats(getWeeklyStats(organizationId, defaultStartDate, defaultEndDate));
         analytics.setMonthlyStats(getMonthlyStats(organizationId, defaultStartDate, defaultEndDate));
+        LocalDateTime from = defaultStartDate.atStartOfDay();
+        LocalDateTime to = defaultEndDate.plusDays(1).atStartOfDay();
+        analytics.setStatsByCity(toDimensionStats(
+                hourlyStatRepository.sumByCity(from, to, organizationId, PageRequest.of(0, MAX_DIMENSION_VALUES))));
+        analytics.setStatsByPageType(toDimensionStats(
+                hourlyStatRepository.sumByPageType(from, to, organizationId, PageRequest.of(0, MAX_DIMENSION_VALUES))));
         analytics.setStatsByType(getStatsByType(organizationId));
         analytics.setStatsByPosition(getStatsByPosition(organizationId));
         analytics.setTopByImpressions(getTopAdvertisements(organizationId, "impressions", 10));
@@ -359,33 +376,39 @@ public class AdvertisementService {
         return analytics;
     }
     
+    /**
+     * Cumuls horaires d'une période [startDate, endDate], filtrés par organisation si fournie
+     */
+    private static String hourlyStatsFrom(Long organizationId) {
+        return " FROM advertisement_hourly_stats h"
+                + (organizationId != null
+                ? " JOIN advertisements a ON a.id = h.advertisement_id AND a.organization_id = :organizationId" : "")
+                + " WHERE h.hour >= :startTime AND h.hour < :endTime ";
+    }
+    
+    private Query createHourlyStatsQuery(String sql, Long organizationId, LocalDate startDate, LocalDate endDate) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("startTime", startDate.atStartOfDay());
+        query.setParameter("endTime", endDate.plusDays(1).atStartOfDay());
+        if (organizationId != null) {
+            query.setParameter("organizationId", organizationId);
+        }
+        return query;
+    }
+    
     private List<AdvertisementAnalyticsDTO.DailyStats> getDailyStats(Long organizationId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
-                DATE(impressed_at) as date,
-                COUNT(*) as impressions,
-                (SELECT COUNT(*) FROM advertisement_clicks 
-                 WHERE advertisement_id IN (SELECT id FROM advertisements WHERE active = true 
-                 """ + (organizationId != null ? " AND organization_id = :organizationId" : "") + """
-                 )
-                 AND DATE(clicked_at) = DATE(impressed_at)) as clicks,
-                COALESCE(SUM(a.total_spent), 0) as spent
-            FROM advertisement_impressions i
-            LEFT JOIN advertisements a ON a.id = i.advertisement_id
-            WHERE DATE(impressed_at) BETWEEN :startDate AND :endDate
-            """ + (organizationId != null ? " AND a.organization_id = :organizationId" : "") + """
-            GROUP BY DATE(impressed_at)
+                CAST(h.hour AS date) as date,
+                COALESCE(SUM(h.impressions), 0) as impressions,
+                COALESCE(SUM(h.clicks), 0) as clicks,
+                COALESCE(SUM(h.spent), 0) as spent
+            """ + hourlyStatsFrom(organizationId) + """
+            GROUP BY CAST(h.hour AS date)
             ORDER BY date ASC
             """;
         
-        Query query = entityManager.createNativeQuery(sql);
-        query.setParameter("startDate", startDate);
-        query.setParameter("endDate", endDate);
-        if (organizationId != null) {
-            query.setParameter("organizationId", organizationId);
-        }
-        
-        List<Object[]> results = query.getResultList();
+        List<Object[]> results = createHourlyStatsQuery(sql, organizationId, startDate, endDate).getResultList();
         List<AdvertisementAnalyticsDTO.DailyStats> dailyStats = new ArrayList<>();
         
         for (Object[] row : results) {
@@ -408,31 +431,17 @@ public class AdvertisementService {
     private List<AdvertisementAnalyticsDTO.WeeklyStats> getWeeklyStats(Long organizationId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
-                DATE_TRUNC('week', impressed_at)::date as week_start,
-                (DATE_TRUNC('week', impressed_at) + INTERVAL '6 days')::date as week_end,
-                COUNT(*) as impressions,
-                (SELECT COUNT(*) FROM advertisement_clicks 
-                 WHERE advertisement_id IN (SELECT id FROM advertisements WHERE active = true 
-                 """ + (organizationId != null ? " AND organization_id = :organizationId" : "") + """
-                 )
-                 AND DATE_TRUNC('week', clicked_at) = DATE_TRUNC('week', impressed_at)) as clicks,
-                COALESCE(SUM(a.total_spent), 0) as spent
-            FROM advertisement_impressions i
-            LEFT JOIN advertisements a ON a.id = i.advertisement_id
-            WHERE DATE(impressed_at) BETWEEN :startDate AND :endDate
-            """ + (organizationId != null ? " AND a.organization_id = :organizationId" : "") + """
-            GROUP BY DATE_TRUNC('week', impressed_at)
+                DATE_TRUNC('week', h.hour)::date as week_start,
+                (DATE_TRUNC('week', h.hour) + INTERVAL '6 days')::date as week_end,
+                COALESCE(SUM(h.impressions), 0) as impressions,
+                COALESCE(SUM(h.clicks), 0) as clicks,
+                COALESCE(SUM(h.spent), 0) as spent
+            """ + hourlyStatsFrom(organizationId) + """
+            GROUP BY DATE_TRUNC('week', h.hour)
             ORDER BY week_start ASC
             """;
         
-        Query query = entityManager.createNativeQuery(sql);
-        query.setParameter("startDate", startDate);
-        query.setParameter("endDate", endDate);
-        if (organizationId != null) {
-            query.setParameter("organizationId", organizationId);
-        }
-        
-        List<Object[]> results = query.getResultList();
+        List<Object[]> results = createHourlyStatsQuery(sql, organizationId, startDate, endDate).getResultList();
         List<AdvertisementAnalyticsDTO.WeeklyStats> weeklyStats = new ArrayList<>();
         
         for (Object[] row : results) {
@@ -456,32 +465,17 @@ public class AdvertisementService {
     private List<AdvertisementAnalyticsDTO.MonthlyStats> getMonthlyStats(Long organizationId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
-                EXTRACT(YEAR FROM impressed_at)::int as year,
-                EXTRACT(MONTH FROM impressed_at)::int as month,
-                COUNT(*) as impressions,
-                (SELECT COUNT(*) FROM advertisement_clicks 
-                 WHERE advertisement_id IN (SELECT id FROM advertisements WHERE active = true 
-                 """ + (organizationId != null ? " AND organization_id = :organizationId" : "") + """
-                 )
-                 AND EXTRACT(YEAR FROM clicked_at) = EXTRACT(YEAR FROM impressed_at)
-                 AND EXTRACT(MONTH FROM clicked_at) = EXTRACT(MONTH FROM impressed_at)) as clicks,
-                COALESCE(SUM(a.total_spent), 0) as spent
-            FROM advertisement_impressions i
-            LEFT JOIN advertisements a ON a.id = i.advertisement_id
-            WHERE DATE(impressed_at) BETWEEN :startDate AND :endDate
-            """ + (organizationId != null ? " AND a.organization_id = :organizationId" : "") + """
-            GROUP BY EXTRACT(YEAR FROM impressed_at), EXTRACT(MONTH FROM impressed_at)
+                EXTRACT(YEAR FROM h.hour)::int as year,
+                EXTRACT(MONTH FROM h.hour)::int as month,
+                COALESCE(SUM(h.impressions), 0) as impressions,
+                COALESCE(SUM(h.clicks), 0) as clicks,
+                COALESCE(SUM(h.spent), 0) as spent
+            """ + hourlyStatsFrom(organizationId) + """
+            GROUP BY EXTRACT(YEAR FROM h.hour), EXTRACT(MONTH FROM h.hour)
             ORDER BY year ASC, month ASC
             """;
         
-        Query query = entityManager.createNativeQuery(sql);
-        query.setParameter("startDate", startDate);
-        query.setParameter("endDate", endDate);
-        if (organizationId != null) {
-            query.setParameter("organizationId", organizationId);
-        }
-        
-        List<Object[]> results = query.getResultList();
+        List<Object[]> results = createHourlyStatsQuery(sql, organizationId, startDate, endDate).getResultList();
         List<AdvertisementAnalyticsDTO.MonthlyStats> monthlyStats = new ArrayList<>();
         
         for (Object[] row : results) {
@@ -502,6 +496,26 @@ public class AdvertisementService {
         return monthlyStats;
     }
     
+    /**
+     * Lignes [valeur, impressions, clics, dépense] des cumuls horaires ; valeur vide : inconnue
+     */
+    static List<AdvertisementAnalyticsDTO.DimensionStats> toDimensionStats(List<Object[]> rows) {
+        List<AdvertisementAnalyticsDTO.DimensionStats> dimensionStats = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            AdvertisementAnalyticsDTO.DimensionStats stats = new AdvertisementAnalyticsDTO.DimensionStats();
+            String value = (String) row[0];
+            stats.setValue(value == null || value.isEmpty() ? UNKNOWN_DIMENSION : value);
+            stats.setImpressions(row[1] != null ? ((Number) row[1]).longValue() : 0L);
+            stats.setClicks(row[2] != null ? ((Number) row[2]).longValue() : 0L);
+            stats.setSpent(row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO);
+            if (stats.getImpressions() > 0) {
+                stats.setCtr((stats.getClicks().doubleValue() / stats.getImpressions().doubleValue()) * 100.0);
+            }
+            dimensionStats.add(stats);
+        }
+        return dimensionStats;
+    }
+    
     private Map<String, AdvertisementAnalyticsDTO.TypeStats> getStatsByType(Long organizationId) {
         String sql = """
             SELECT 
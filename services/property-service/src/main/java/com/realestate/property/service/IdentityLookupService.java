@@ -0,0 +1,155 @@
+package com.realestate.property.service;
+
+import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.dto.OrganizationInfoDTO;
+import com.realestate.common.client.dto.UserInfoDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Résolution en lot des noms d'organisations et d'utilisateurs pour l'enrichissement des PropertyDTO
+ *
+ * Les IDs distincts d'une page sont résolus via les endpoints /batch d'identity-service
+ * (un appel par type au lieu de deux appels bloquants par propriété),
+ * avec un cache local à TTL court pour les pages suivantes.
+ */
+@Service
+public class IdentityLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdentityLookupService.class);
+
+    @Autowired(required = false)
+    private IdentityServiceClient identityServiceClient;
+
+    // Token de service pour les appels inter-services (pas de token utilisateur dans le mapping)
+    @Value("${services.internal.auth-token:}")
+    private String serviceAuthToken;
+
+    @Value("${identity.lookup.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${identity.lookup.cache-max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private final Map<Long, CachedName> organizationNames = new ConcurrentHashMap<>();
+    private final Map<Long, CachedName> userNames = new ConcurrentHashMap<>();
+
+    /**
+     * Noms des organisations par ID (les IDs inconnus ou en erreur sont absents de la map)
+     */
+    public Map<Long, String> getOrganizationNames(Collection<Long> organizationIds) {
+        return resolve(organizationIds, organizationNames, missing -> {
+            Map<Long, String> names = new HashMap<>();
+            List<OrganizationInfoDTO> organizations = identityServiceClient
+                    .getOrganizationsByIds(missing, serviceAuthToken)
+                    .block();
+            if (organizations != null) {
+                for (OrganizationInfoDTO organization : organizations) {
+                    names.put(organization.getId(), organization.getName());
+                }
+            }
+            return names;
+        });
+    }
+
+    /**
+     * Noms affichables des utilisateurs par ID (nom complet, sinon email)
+     */
+    public Map<Long, String> getUserNames(Collection<Long> userIds) {
+        return resolve(userIds, userNames, missing -> {
+            Map<Long, String> names = new HashMap<>();
+            List<UserInfoDTO> users = identityServiceClient
+                    .getUsersByIds(missing, serviceAuthToken)
+                    .block();
+            if (users != null) {
+                for (UserInfoDTO user : users) {
+                    names.put(user.getId(), toDisplayName(user));
+                }
+            }
+            return names;
+        });
+    }
+
+    private Map<Long, String> resolve(
+            Collection<Long> ids,
+            Map<Long, CachedName> cache,
+            Function<Set<Long>, Map<Long, String>> loader) {
+
+        Map<Long, String> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+
+        long now = System.currentTimeMillis();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                continue;
+            }
+            CachedName cached = cache.get(id);
+            if (cached != null && cached.expiresAt > now) {
+                result.put(id, cached.name);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (missing.isEmpty() || identityServiceClient == null) {
+            return result;
+        }
+
+        try {
+            Map<Long, String> loaded = loader.apply(missing);
+            long expiresAt = now + cacheTtlSeconds * 1000;
+            evictIfFull(cache, now);
+            loaded.forEach((id, name) -> {
+                if (name != null) {
+                    cache.put(id, new CachedName(name, expiresAt));
+                    result.put(id, name);
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("Failed to resolve identity names for IDs {}: {}", missing, e.getMessage());
+        }
+        return result;
+    }
+
+    private void evictIfFull(Map<Long, CachedName> cache, long now) {
+        if (cache.size() < cacheMaxEntries) {
+            return;
+        }
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+        if (cache.size() >= cacheMaxEntries) {
+            cache.clear();
+        }
+    }
+
+    private String toDisplayName(UserInfoDTO user) {
+        String fullName = ((user.getFirstName() != null ? user.getFirstName() : "") +
+                (user.getLastName() != null ? " " + user.getLastName() : "")).trim();
+        return fullName.isEmpty() ? user.getEmail() : fullName;
+    }
+
+    private static final class CachedName {
+        private final String name;
+        private final long expiresAt;
+
+        private CachedName(String name, long expiresAt) {
+            this.name = Objects.requireNonNull(name);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
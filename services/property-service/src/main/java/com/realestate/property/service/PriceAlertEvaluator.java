@@ -0,0 +1,148 @@
+package com.realestate.property.service;
+
+import com.realestate.common.event.PropertyUpdatedEvent;
+import com.realestate.property.entity.PriceAlert;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Évaluation des alertes de prix hors de la transaction de mise à jour, par micro-lots
+ *
+ * Les PropertyUpdatedEvent portant un changement de prix (previousPrice) sont regroupés par propriété
+ * après commit, puis traités périodiquement par lots de batch-size : une requête de chargement et une
+ * requête de mise à jour par lot (PriceAlertService), puis les notifications par envoi groupé.
+ * Plusieurs changements d'une même propriété dans la fenêtre sont fusionnés (premier ancien prix, dernier prix).
+ */
+@Component
+public class PriceAlertEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceAlertEvaluator.class);
+
+    private final PriceAlertService priceAlertService;
+    private final RestTemplate restTemplate;
+    private final Map<Long, PriceAlertService.PriceChange> pending = new ConcurrentHashMap<>();
+
+    @Value("${services.notification.url:http://localhost:8085}")
+    private String notificationServiceUrl;
+
+    @Value("${price-alerts.batch.size:500}")
+    private int batchSize;
+
+    @Value("${price-alerts.notifications.enabled:true}")
+    private boolean notificationsEnabled;
+
+    public PriceAlertEvaluator(
+            PriceAlertService priceAlertService,
+            @Autowired(required = false) RestTemplate restTemplate) {
+        this.priceAlertService = priceAlertService;
+        this.restTemplate = restTemplate != null ? restTemplate : new RestTemplate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyUpdated(PropertyUpdatedEvent event) {
+        if (event.getPropertyId() == null || event.getPrice() == null || event.getPreviousPrice() == null) {
+            return;
+        }
+        PriceAlertService.PriceChange change = new PriceAlertService.PriceChange(event.getPropertyId(),
+                event.getOrganizationId(), event.getPropertyTitle(), event.getPreviousPrice(), event.getPrice());
+        pending.merge(event.getPropertyId(), change, PriceAlertService.PriceChange::then);
+    }
+
+    /**
+     * Vide la file par lots ; synchronisé avec l'arrêt de l'application (@PreDestroy)
+     */
+    @Scheduled(fixedDelayString = "${price-alerts.batch.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            Map<Long, PriceAlertService.PriceChange> batch = new LinkedHashMap<>();
+            Iterator<Long> propertyIds = pending.keySet().iterator();
+            while (propertyIds.hasNext() && batch.size() < batchSize) {
+                Long propertyId = propertyIds.next();
+                PriceAlertService.PriceChange change = pending.remove(propertyId);
+                if (change != null) {
+                    batch.put(propertyId, change);
+                }
+            }
+            processBatch(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void processBatch(Map<Long, PriceAlertService.PriceChange> batch) {
+        List<PriceAlert> triggeredAlerts;
+        try {
+            triggeredAlerts = priceAlertService.checkAndTriggerAlerts(batch);
+        } catch (Exception e) {
+            // Comme avant : un échec des alertes n'est pas rejoué, les prochains changements de prix le seront
+            logger.error("Failed to evaluate price alerts for {} properties: {}", batch.size(), e.getMessage());
+            return;
+        }
+        if (!notificationsEnabled || triggeredAlerts.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> notifications = new ArrayList<>();
+        for (PriceAlert alert : triggeredAlerts) {
+            if (Boolean.TRUE.equals(alert.getInAppNotification())) {
+                notifications.add(toNotificationRequest(alert, batch.get(alert.getPropertyId())));
+            }
+        }
+        for (int from = 0; from < notifications.size(); from += batchSize) {
+            sendNotifications(notifications.subList(from, Math.min(from + batchSize, notifications.size())));
+        }
+    }
+
+    private Map<String, Object> toNotificationRequest(PriceAlert alert, PriceAlertService.PriceChange change) {
+        Map<String, Object> notificationRequest = new HashMap<>();
+        notificationRequest.put("type", "PRICE_ALERT");
+        notificationRequest.put("title", "Alerte de prix");
+        notificationRequest.put("message",
+            String.format("Le prix de \"%s\" est passé de %s à %s",
+                change.getPropertyTitle(), change.getOldPrice().toPlainString(), change.getNewPrice().toPlainString()));
+        notificationRequest.put("recipientId", alert.getUserId());
+        notificationRequest.put("organizationId", change.getOrganizationId());
+        notificationRequest.put("channel", "IN_APP");
+        notificationRequest.put("targetType", "PROPERTY");
+        notificationRequest.put("targetId", alert.getPropertyId());
+        notificationRequest.put("actionUrl", "/properties/" + alert.getPropertyId());
+        return notificationRequest;
+    }
+
+    private void sendNotifications(List<Map<String, Object>> notifications) {
+        try {
+            String url = notificationServiceUrl + "/api/notifications/send-batch";
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            restTemplate.postForEntity(url, new HttpEntity<>(notifications, headers), String.class);
+            logger.info("Price alert notifications sent: {}", notifications.size());
+        } catch (Exception e) {
+            // Les alertes restent marquées notifiées : pas de renvoi en boucle si notification-service est indisponible
+            logger.error("Error sending {} price alert notifications: {}", notifications.size(), e.getMessage());
+        }
+    }
+}
@@ -15,8 +15,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -111,27 +114,34 @@ public class PriceAlertService {
     }
 
     /**
-     * Vérifier et déclencher les alertes pour une propriété après un changement de prix
+     * Déclencher les alertes d'un lot de changements de prix (PriceAlertEvaluator, après commit)
+     *
+     * Une requête pour charger les alertes de tout le lot, une requête pour les marquer notifiées ;
+     * renvoie les alertes effectivement marquées par cet appel.
      */
     @Transactional
-    public List<PriceAlertDTO> checkAndTriggerAlerts(Long propertyId, BigDecimal newPrice, BigDecimal oldPrice) {
-        logger.debug("Checking alerts for property ID: {} with new price: {}", propertyId, newPrice);
-
-        List<PriceAlert> activeAlerts = priceAlertRepository.findActiveUnnotifiedAlertsByPropertyId(propertyId);
-        List<PriceAlert> triggeredAlerts = activeAlerts.stream()
-                .filter(alert -> shouldTriggerAlert(alert, newPrice, oldPrice))
+    public List<PriceAlert> checkAndTriggerAlerts(Map<Long, PriceChange> changesByPropertyId) {
+        if (changesByPropertyId.isEmpty()) {
+            return List.of();
+        }
+        List<PriceAlert> triggeredAlerts = priceAlertRepository
+                .findActiveUnnotifiedAlertsByPropertyIds(changesByPropertyId.keySet()).stream()
+                .filter(alert -> {
+                    PriceChange change = changesByPropertyId.get(alert.getPropertyId());
+                    return shouldTriggerAlert(alert, change.getNewPrice(), change.getOldPrice());
+                })
                 .collect(Collectors.toList());
-
-        for (PriceAlert alert : triggeredAlerts) {
-            alert.setNotified(true);
-            alert.setNotifiedAt(LocalDateTime.now());
-            priceAlertRepository.save(alert);
-            logger.info("Price alert triggered: ID {} for property ID: {}", alert.getId(), propertyId);
+        if (triggeredAlerts.isEmpty()) {
+            return triggeredAlerts;
         }
 
+        List<Long> alertIds = triggeredAlerts.stream().map(PriceAlert::getId).collect(Collectors.toList());
+        Set<Long> claimedIds = new HashSet<>(priceAlertRepository.markNotified(alertIds, LocalDateTime.now()));
+        logger.info("Price alerts triggered: {} for {} price changes ({} claimed by this instance)",
+                triggeredAlerts.size(), changesByPropertyId.size(), claimedIds.size());
+        // Seules les alertes marquées ici sont notifiées : pas de doublon entre instances
         return triggeredAlerts.stream()
-                .map(priceAlertMapper::toDTO)
-                .map(this::enrichDTO)
+                .filter(alert -> claimedIds.contains(alert.getId()))
                 .collect(Collectors.toList());
     }
 
@@ -142,6 +152,9 @@ public class PriceAlertService {
         if (oldPrice == null || oldPrice.compareTo(BigDecimal.ZERO) == 0) {
             return false; // Pas de prix précédent pour comparer
         }
+        if (newPrice == null || alert.getAlertType() == null) {
+            return false; // Une alerte incomplète ne doit pas faire échouer tout le lot
+        }
 
         String alertType = alert.getAlertType();
         BigDecimal priceChange = newPrice.subtract(oldPrice);
@@ -151,13 +164,13 @@ public class PriceAlertService {
 
         switch (alertType) {
             case "PRICE_DROP":
-                return newPrice.compareTo(alert.getTargetPrice()) <= 0;
+                return alert.getTargetPrice() != null && newPrice.compareTo(alert.getTargetPrice()) <= 0;
             case "PRICE_INCREASE":
-                return newPrice.compareTo(alert.getTargetPrice()) >= 0;
+                return alert.getTargetPrice() != null && newPrice.compareTo(alert.getTargetPrice()) >= 0;
             case "PERCENTAGE_DROP":
-                return percentageChange <= -alert.getPercentageThreshold();
+                return alert.getPercentageThreshold() != null && percentageChange <= -alert.getPercentageThreshold();
             case "PERCENTAGE_INCREASE":
-                return percentageChange >= alert.getPercentageThreshold();
+                return alert.getPercentageThreshold() != null && percentageChange >= alert.getPercentageThreshold();
             default:
                 return false;
         }
@@ -224,5 +237,51 @@ public class PriceAlertService {
         
         return dto;
     }
-}
 
+    /**
+     * Changement de prix d'une propriété (ancien prix du premier événement, nouveau prix du dernier)
+     */
+    public static final class PriceChange {
+        private final Long propertyId;
+        private final Long organizationId;
+        private final String propertyTitle;
+        private final BigDecimal oldPrice;
+        private final BigDecimal newPrice;
+
+        public PriceChange(Long propertyId, Long organizationId, String propertyTitle,
+                           BigDecimal oldPrice, BigDecimal newPrice) {
+            this.propertyId = propertyId;
+            this.organizationId = organizationId;
+            this.propertyTitle = propertyTitle;
+            this.oldPrice = oldPrice;
+            this.newPrice = newPrice;
+        }
+
+        /**
+         * Fusion avec un changement plus récent de la même propriété
+         */
+        public PriceChange then(PriceChange next) {
+            return new PriceChange(propertyId, next.organizationId, next.propertyTitle, oldPrice, next.newPrice);
+        }
+
+        public Long getPropertyId() {
+            return propertyId;
+        }
+
+        public Long getOrganizationId() {
+            return organizationId;
+        }
+
+        public String getPropertyTitle() {
+            return propertyTitle;
+        }
+
+        public BigDecimal getOldPrice() {
+            return oldPrice;
+        }
+
+        public BigDecimal getNewPrice() {
+            return newPrice;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.realestate.property.service;
 
+import com.realestate.common.event.PropertyUpdatedEvent;
 import com.realestate.property.dto.PriceHistoryCreateDTO;
 import com.realestate.property.dto.PriceHistoryDTO;
 import com.realestate.property.dto.PriceHistoryStatsDTO;
@@ -8,10 +9,10 @@ import com.realestate.property.entity.Property;
 import com.realestate.property.mapper.PriceHistoryMapper;
 import com.realestate.property.repository.PriceHistoryRepository;
 import com.realestate.property.repository.PropertyRepository;
-import com.realestate.property.service.PriceAlertService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -43,10 +44,49 @@ public class PriceHistoryService {
     }
 
     /**
-     * Créer une nouvelle entrée d'historique de prix
+     * Créer une nouvelle entrée d'historique de prix (changement de prix direct)
+     *
+     * Publie un PropertyUpdatedEvent local avec l'ancien prix : caches publics, recherches sauvegardées
+     * et alertes de prix sont traités après commit, comme pour une mise à jour via PropertyService.
      */
     @Transactional
     public PriceHistoryDTO createPriceHistory(PriceHistoryCreateDTO createDTO, Long userId) {
+        Property property = propertyRepository.findById(createDTO.getPropertyId())
+                .orElseThrow(() -> new IllegalArgumentException("Property not found with ID: " + createDTO.getPropertyId()));
+        BigDecimal previousPrice = property.getPrice();
+
+        PriceHistoryDTO created = recordPriceHistory(createDTO, userId);
+
+        if (applicationEventPublisher != null) {
+            PropertyUpdatedEvent event = new PropertyUpdatedEvent(
+                    property.getOrganizationId(),
+                    userId,
+                    property.getId(),
+                    property.getReference(),
+                    property.getTitle(),
+                    property.getType(),
+                    property.getPrice(),
+                    property.getStatus(),
+                    property.getCity(),
+                    property.getCountry()
+            );
+            event.setSlug(property.getSlug());
+            event.setTransactionType(property.getTransactionType());
+            event.setSurface(property.getSurface());
+            if (previousPrice != null && previousPrice.compareTo(createDTO.getPrice()) != 0) {
+                event.setPreviousPrice(previousPrice);
+            }
+            applicationEventPublisher.publishEvent(event);
+        }
+        return created;
+    }
+
+    /**
+     * Enregistrer une entrée d'historique et mettre à jour le prix de la propriété, sans événement
+     * (PropertyService publie le sien, avec l'ancien prix)
+     */
+    @Transactional
+    public PriceHistoryDTO recordPriceHistory(PriceHistoryCreateDTO createDTO, Long userId) {
         logger.debug("Creating price history for property ID: {}", createDTO.getPropertyId());
 
         // Vérifier que la propriété existe
@@ -83,30 +123,12 @@ public class PriceHistoryService {
         logger.info("Price history created for property ID: {} with price: {}", 
                 createDTO.getPropertyId(), createDTO.getPrice());
 
-        // Vérifier et déclencher les alertes de prix
-        try {
-            if (priceAlertService != null) {
-                // Récupérer le prix précédent depuis l'historique (on vient d'en créer un, donc on prend le suivant)
-                List<PriceHistory> allHistory = priceHistoryRepository.findByPropertyIdOrderByChangeDateDesc(createDTO.getPropertyId());
-                BigDecimal oldPrice = null;
-                if (allHistory.size() > 1) {
-                    oldPrice = allHistory.get(1).getPrice(); // Le deuxième élément (le précédent)
-                } else {
-                    // Si c'est le premier historique, utiliser le prix actuel de la propriété comme référence
-                    oldPrice = property.getPrice();
-                }
-                priceAlertService.checkAndTriggerAlerts(createDTO.getPropertyId(), createDTO.getPrice(), oldPrice);
-            }
-        } catch (Exception e) {
-            logger.warn("Failed to check price alerts for property {}: {}", createDTO.getPropertyId(), e.getMessage());
-            // Ne pas bloquer la création de l'historique si les alertes échouent
-        }
-
+        // Les alertes de prix sont évaluées après commit, par lots (PriceAlertEvaluator)
         return priceHistoryMapper.toDTO(saved);
     }
 
     @Autowired(required = false)
-    private PriceAlertService priceAlertService;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Récupérer l'historique des prix pour une propriété
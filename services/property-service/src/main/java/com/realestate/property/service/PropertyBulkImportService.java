@@ -0,0 +1,735 @@
+package com.realestate.property.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.event.PropertyCreatedEvent;
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.common.exception.ResourceNotFoundException;
+import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.dto.PropertyImportJobDTO;
+import com.realestate.property.dto.PropertyImportRowErrorDTO;
+import com.realestate.property.entity.Property;
+import com.realestate.property.entity.PropertyImportJob;
+import com.realestate.property.mapper.PropertyMapper;
+import com.realestate.property.repository.PropertyImportJobRepository;
+import com.realestate.property.repository.PropertyRepository;
+import com.realestate.property.util.GeoHash;
+import com.realestate.property.util.OfficeHoursHelper;
+import com.realestate.property.util.SlugGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse de propriétés (CSV ou tableau JSON de PropertyDTO)
+ *
+ * Contrairement à PropertyService.createProperty appelé ligne par ligne : permission et horaires
+ * de l'organisation résolus une fois par job, validation en parallèle, identifiants réservés par lot
+ * sur la séquence de properties (référence et slug construits avec l'id, sans recherche ni second save),
+ * unicité des références vérifiée par une seule requête par lot, propriétés et historique de prix
+ * insérés par batch JDBC, événements publiés par lot. Avancement et erreurs par ligne dans PropertyImportJob.
+ */
+@Service
+public class PropertyBulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyBulkImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_JSON = "json";
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    // Un aller-retour pour n identifiants (colonne IDENTITY : Hibernate ne peut pas regrouper les INSERT)
+    static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('properties', 'id')) FROM generate_series(1, ?)";
+
+    static final String INSERT_PRICE_HISTORY_SQL = "INSERT INTO price_history "
+            + "(property_id, price, currency, change_date, change_reason, created_by, source, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] PRICE_HISTORY_TYPES = {
+            Types.BIGINT, Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR,
+            Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    /**
+     * Colonnes insérées dans properties (search_vector est alimenté par la base)
+     */
+    private static final Map<String, Function<Property, Object>> PROPERTY_COLUMNS = new LinkedHashMap<>();
+    private static final List<Integer> PROPERTY_COLUMN_TYPES = new ArrayList<>();
+
+    static {
+        column("id", Types.BIGINT, Property::getId);
+        column("reference", Types.VARCHAR, Property::getReference);
+        column("title", Types.VARCHAR, Property::getTitle);
+        column("description", Types.VARCHAR, Property::getDescription);
+        column("type", Types.VARCHAR, Property::getType);
+        column("status", Types.VARCHAR, Property::getStatus);
+        column("transaction_type", Types.VARCHAR, Property::getTransactionType);
+        column("slug", Types.VARCHAR, Property::getSlug);
+        column("meta_title", Types.VARCHAR, Property::getMetaTitle);
+        column("meta_description", Types.VARCHAR, Property::getMetaDescription);
+        column("meta_keywords", Types.VARCHAR, Property::getMetaKeywords);
+        column("og_image", Types.VARCHAR, Property::getOgImage);
+        column("price", Types.NUMERIC, Property::getPrice);
+        column("currency", Types.VARCHAR, Property::getCurrency);
+        column("surface", Types.NUMERIC, Property::getSurface);
+        column("rooms", Types.INTEGER, Property::getRooms);
+        column("bedrooms", Types.INTEGER, Property::getBedrooms);
+        column("bathrooms", Types.INTEGER, Property::getBathrooms);
+        column("full_bathrooms", Types.INTEGER, Property::getFullBathrooms);
+        column("appliances_included", Types.VARCHAR, Property::getAppliancesIncluded);
+        column("laundry_location", Types.VARCHAR, Property::getLaundryLocation);
+        column("total_structure_area", Types.NUMERIC, Property::getTotalStructureArea);
+        column("total_interior_livable_area", Types.NUMERIC, Property::getTotalInteriorLivableArea);
+        column("virtual_tour_url", Types.VARCHAR, Property::getVirtualTourUrl);
+        column("parking_features", Types.VARCHAR, Property::getParkingFeatures);
+        column("has_garage", Types.BOOLEAN, Property::getHasGarage);
+        column("accessibility_features", Types.VARCHAR, Property::getAccessibilityFeatures);
+        column("patio_porch", Types.VARCHAR, Property::getPatioPorch);
+        column("exterior_features", Types.VARCHAR, Property::getExteriorFeatures);
+        column("special_conditions", Types.VARCHAR, Property::getSpecialConditions);
+        column("home_type", Types.VARCHAR, Property::getHomeType);
+        column("property_subtype", Types.VARCHAR, Property::getPropertySubtype);
+        column("condition", Types.VARCHAR, Property::getCondition);
+        column("year_built", Types.INTEGER, Property::getYearBuilt);
+        column("subdivision", Types.VARCHAR, Property::getSubdivision);
+        column("has_hoa", Types.BOOLEAN, Property::getHasHOA);
+        column("hoa_amenities", Types.VARCHAR, Property::getHoaAmenities);
+        column("hoa_services", Types.VARCHAR, Property::getHoaServices);
+        column("hoa_fee", Types.NUMERIC, Property::getHoaFee);
+        column("hoa_fee_frequency", Types.VARCHAR, Property::getHoaFeeFrequency);
+        column("region", Types.VARCHAR, Property::getRegion);
+        column("price_per_square_foot", Types.NUMERIC, Property::getPricePerSquareFoot);
+        column("date_on_market", Types.DATE, Property::getDateOnMarket);
+        column("address", Types.VARCHAR, Property::getAddress);
+        column("city", Types.VARCHAR, Property::getCity);
+        column("postal_code", Types.VARCHAR, Property::getPostalCode);
+        column("country", Types.VARCHAR, Property::getCountry);
+        column("latitude", Types.NUMERIC, Property::getLatitude);
+        column("longitude", Types.NUMERIC, Property::getLongitude);
+        column("geohash", Types.VARCHAR, PropertyBulkImportService::geohash);
+        column("organization_id", Types.BIGINT, Property::getOrganizationId);
+        column("team_id", Types.BIGINT, Property::getTeamId);
+        column("assigned_user_id", Types.BIGINT, Property::getAssignedUserId);
+        column("created_by", Types.BIGINT, Property::getCreatedBy);
+        column("active", Types.BOOLEAN, Property::getActive);
+        column("features", Types.VARCHAR, Property::getFeatures);
+        column("pet_friendly", Types.BOOLEAN, Property::getPetFriendly);
+        column("special_offer", Types.VARCHAR, Property::getSpecialOffer);
+        column("office_hours", Types.VARCHAR, Property::getOfficeHours);
+        column("neighborhood", Types.VARCHAR, Property::getNeighborhood);
+        column("walk_score", Types.INTEGER, Property::getWalkScore);
+        column("transit_score", Types.INTEGER, Property::getTransitScore);
+        column("bike_score", Types.INTEGER, Property::getBikeScore);
+        column("building_name", Types.VARCHAR, Property::getBuildingName);
+        column("flooring", Types.VARCHAR, Property::getFlooring);
+        column("unit_features", Types.VARCHAR, Property::getUnitFeatures);
+        column("building_amenities", Types.VARCHAR, Property::getBuildingAmenities);
+        column("available_units", Types.VARCHAR, Property::getAvailableUnits);
+        column("pet_policy", Types.VARCHAR, Property::getPetPolicy);
+        column("parking_policy", Types.VARCHAR, Property::getParkingPolicy);
+        column("created_at", Types.TIMESTAMP, Property::getCreatedAt);
+        column("updated_at", Types.TIMESTAMP, Property::getUpdatedAt);
+    }
+
+    static final String INSERT_PROPERTY_SQL = "INSERT INTO properties (" + String.join(", ", PROPERTY_COLUMNS.keySet())
+            + ") VALUES (" + String.join(", ", PROPERTY_COLUMNS.keySet().stream().map(c -> "?").toList()) + ")";
+
+    private static final int[] PROPERTY_TYPES = PROPERTY_COLUMN_TYPES.stream().mapToInt(Integer::intValue).toArray();
+
+    private final PropertyImportJobRepository importJobRepository;
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final SlugGenerator slugGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    @Autowired(required = false)
+    private PropertyEventProducer eventProducer;
+    @Autowired(required = false)
+    private IdentityServiceClient identityServiceClient;
+    @Autowired(required = false)
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Autowired(required = false)
+    private SavedSearchMatchingService savedSearchMatchingService;
+
+    // Lignes acceptées par fichier
+    @Value("${import.properties.max-rows:50000}")
+    private int maxRows;
+
+    // Lignes insérées par transaction (un batch JDBC properties + un batch price_history)
+    @Value("${import.properties.batch-size:500}")
+    private int batchSize;
+
+    // Erreurs de ligne conservées dans le job (failedRows compte toutes les lignes rejetées)
+    @Value("${import.properties.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public PropertyBulkImportService(
+            PropertyImportJobRepository importJobRepository,
+            PropertyRepository propertyRepository,
+            PropertyMapper propertyMapper,
+            SlugGenerator slugGenerator,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Validator validator,
+            ObjectMapper objectMapper) {
+        this.importJobRepository = importJobRepository;
+        this.propertyRepository = propertyRepository;
+        this.propertyMapper = propertyMapper;
+        this.slugGenerator = slugGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lit le fichier : CSV avec ligne d'en-tête (noms des champs de PropertyDTO, comme l'export)
+     * ou tableau JSON de PropertyDTO. Une ligne illisible devient une erreur de ligne, pas un échec du fichier.
+     */
+    public List<ImportRow> parseRows(byte[] content, String format) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        List<ImportRow> rows = FORMAT_CSV.equals(format) ? parseCsvRows(text) : parseJsonRows(text);
+        if (rows.isEmpty()) {
+            throw new BadRequestException("Import file contains no properties");
+        }
+        if (rows.size() > maxRows) {
+            throw new BadRequestException("Import file contains " + rows.size() + " properties, maximum is " + maxRows);
+        }
+        return rows;
+    }
+
+    public PropertyImportJob createJob(Long userId, Long organizationId, String format, int totalRows) {
+        return importJobRepository.save(new PropertyImportJob(organizationId, userId, format, STATUS_PENDING, totalRows));
+    }
+
+    public PropertyImportJob getJob(Long jobId, Long userId) {
+        return importJobRepository.findByIdAndCreatedBy(jobId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("PropertyImportJob", jobId));
+    }
+
+    /**
+     * Exécute l'import du job (asynchrone) et retourne le nombre de propriétés créées
+     */
+    @Async
+    public CompletableFuture<Integer> runImport(Long jobId, List<ImportRow> rows, String authToken) {
+        PropertyImportJob job = importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("PropertyImportJob", jobId));
+        long startTime = System.currentTimeMillis();
+        Long organizationId = job.getOrganizationId();
+        Long createdBy = job.getCreatedBy();
+        job.setStatus(STATUS_RUNNING);
+        job = importJobRepository.save(job);
+
+        List<PropertyImportRowErrorDTO> errors = new ArrayList<>();
+        int imported = 0;
+        int failed = 0;
+        try {
+            if (!hasCreatePermission(createdBy, authToken)) {
+                logger.warn("User {} does not have permission to create properties, import job {} rejected", createdBy, jobId);
+                job.setStatus(STATUS_FAILED);
+                job.setErrorMessage("User does not have permission to create properties");
+                job.setCompletedAt(LocalDateTime.now());
+                importJobRepository.save(job);
+                return CompletableFuture.completedFuture(0);
+            }
+            String officeHours = resolveOfficeHours(organizationId);
+
+            // Validation en parallèle (Bean Validation + mapping), puis doublons de référence dans le fichier
+            List<ValidatedRow> validated = rows.parallelStream()
+                    .map(row -> validate(row, organizationId, createdBy, officeHours))
+                    .toList();
+            List<ValidatedRow> valid = new ArrayList<>(validated.size());
+            Set<String> fileReferences = new HashSet<>();
+            for (ValidatedRow row : validated) {
+                String reference = row.property != null ? row.property.getReference() : null;
+                if (row.error == null && reference != null && !fileReferences.add(reference)) {
+                    row.error = "Duplicate reference in file: " + reference;
+                }
+                if (row.error != null) {
+                    failed++;
+                    addError(errors, row);
+                } else {
+                    valid.add(row);
+                }
+            }
+            job = saveProgress(job, failed, imported, failed, errors);
+
+            long timestamp = System.currentTimeMillis();
+            for (int i = 0; i < valid.size(); i += batchSize) {
+                List<ValidatedRow> batch = valid.subList(i, Math.min(i + batchSize, valid.size()));
+                int inserted = importBatch(batch, timestamp, createdBy, errors);
+                imported += inserted;
+                failed += batch.size() - inserted;
+                job = saveProgress(job, imported + failed, imported, failed, errors);
+            }
+
+            job.setStatus(STATUS_COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            logger.info("Property import job {} completed: {} imported, {} failed out of {} rows in {}ms",
+                    jobId, imported, failed, rows.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            logger.error("Property import job {} failed after {} imported rows: {}", jobId, imported, e.getMessage(), e);
+            job.setStatus(STATUS_FAILED);
+            job.setErrorMessage(e.getMessage());
+            job.setCompletedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+        }
+        return CompletableFuture.completedFuture(imported);
+    }
+
+    public PropertyImportJobDTO toDTO(PropertyImportJob job) {
+        PropertyImportJobDTO dto = new PropertyImportJobDTO();
+        dto.setId(job.getId());
+        dto.setFormat(job.getFormat());
+        dto.setStatus(job.getStatus());
+        dto.setTotalRows(job.getTotalRows());
+        dto.setProcessedRows(job.getProcessedRows());
+        dto.setImportedRows(job.getImportedRows());
+        dto.setFailedRows(job.getFailedRows());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setCompletedAt(job.getCompletedAt());
+        List<PropertyImportRowErrorDTO> errors = new ArrayList<>();
+        if (job.getRowErrors() != null) {
+            try {
+                errors = objectMapper.readValue(job.getRowErrors(), new TypeReference<List<PropertyImportRowErrorDTO>>() {});
+            } catch (Exception e) {
+                logger.warn("Unreadable row errors for property import job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+        dto.setErrors(errors);
+        return dto;
+    }
+
+    /**
+     * Insère un lot et retourne le nombre de propriétés créées ; les lignes rejetées sont ajoutées à errors
+     */
+    private int importBatch(List<ValidatedRow> batch, long timestamp, Long createdBy, List<PropertyImportRowErrorDTO> errors) {
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, batch.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            Property property = batch.get(i).property;
+            Long id = ids.get(i);
+            property.setId(id);
+            if (property.getReference() == null) {
+                property.setReference(generateReference(property.getType(), timestamp, id));
+            }
+            property.setSlug(slugGenerator.generatePropertySlug(
+                    property.getType(), property.getCity(), property.getBedrooms(), property.getTitle(), id));
+            property.setCreatedAt(now);
+            property.setUpdatedAt(now);
+        }
+
+        // Références déjà en base : une requête pour tout le lot
+        Set<String> existing = new HashSet<>(propertyRepository.findExistingReferences(
+                batch.stream().map(row -> row.property.getReference()).toList()));
+        List<ValidatedRow> rows = new ArrayList<>(batch.size());
+        for (ValidatedRow row : batch) {
+            if (existing.contains(row.property.getReference())) {
+                row.error = "Reference already exists: " + row.property.getReference();
+                addError(errors, row);
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<ValidatedRow> inserted;
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertRows(rows, createdBy, now));
+            inserted = rows;
+        } catch (DataAccessException e) {
+            // Contrainte violée dans le lot (slug, référence concurrente...) : rejouer ligne par ligne pour isoler la cause
+            logger.warn("Batch insert of {} properties failed, retrying row by row: {}", rows.size(), e.getMessage());
+            inserted = new ArrayList<>(rows.size());
+            for (ValidatedRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insertRows(List.of(row), createdBy, now));
+                    inserted.add(row);
+                } catch (DataAccessException rowException) {
+                    row.error = rowException.getMostSpecificCause().getMessage();
+                    addError(errors, row);
+                }
+            }
+        }
+
+        publishCreatedEvents(inserted.stream().map(row -> row.property).toList());
+        return inserted.size();
+    }
+
+    private void insertRows(List<ValidatedRow> rows, Long createdBy, LocalDateTime now) {
+        List<Object[]> propertyArgs = new ArrayList<>(rows.size());
+        List<Object[]> priceHistoryArgs = new ArrayList<>(rows.size());
+        for (ValidatedRow row : rows) {
+            Property property = row.property;
+            Object[] args = new Object[PROPERTY_COLUMNS.size()];
+            int i = 0;
+            for (Function<Property, Object> column : PROPERTY_COLUMNS.values()) {
+                args[i++] = column.apply(property);
+            }
+            propertyArgs.add(args);
+            // Prix initial dans l'historique, comme createProperty
+            priceHistoryArgs.add(new Object[]{
+                    property.getId(), property.getPrice(), property.getCurrency(), now,
+                    "Prix initial lors de l'import", createdBy, "IMPORT", now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_PROPERTY_SQL, propertyArgs, PROPERTY_TYPES);
+        jdbcTemplate.batchUpdate(INSERT_PRICE_HISTORY_SQL, priceHistoryArgs, PRICE_HISTORY_TYPES);
+    }
+
+    /**
+     * Kafka : un événement par propriété (indexation), envoyés puis vidés en une fois.
+     * Local : l'invalidation des caches publics ne dépend que de (organisation, ville, type),
+     * un seul événement par combinaison du lot suffit.
+     * Recherches sauvegardées : toutes les annonces du lot sont percolées (idempotent pour celles
+     * qui reçoivent aussi l'événement local).
+     */
+    private void publishCreatedEvents(List<Property> properties) {
+        if (properties.isEmpty()) {
+            return;
+        }
+        List<PropertyCreatedEvent> events = new ArrayList<>(properties.size());
+        Map<List<Object>, PropertyCreatedEvent> cacheEvents = new LinkedHashMap<>();
+        for (Property property : properties) {
+            PropertyCreatedEvent event = new PropertyCreatedEvent(
+                    property.getOrganizationId(),
+                    property.getCreatedBy(),
+                    property.getId(),
+                    property.getReference(),
+                    property.getTitle(),
+                    property.getType(),
+                    property.getPrice(),
+                    property.getCity(),
+                    property.getCountry()
+            );
+            event.setSlug(property.getSlug());
+            event.setStatus(property.getStatus());
+            event.setTransactionType(property.getTransactionType());
+            event.setSurface(property.getSurface());
+            events.add(event);
+            cacheEvents.putIfAbsent(Arrays.asList(property.getOrganizationId(), property.getCity(), property.getType()), event);
+        }
+        if (applicationEventPublisher != null) {
+            cacheEvents.values().forEach(applicationEventPublisher::publishEvent);
+        }
+        if (eventProducer != null) {
+            eventProducer.publishPropertiesCreated(events);
+        }
+        if (savedSearchMatchingService != null) {
+            savedSearchMatchingService.onPropertiesCreated(events);
+        }
+    }
+
+    private ValidatedRow validate(ImportRow row, Long organizationId, Long createdBy, String officeHours) {
+        if (row.getError() != null) {
+            return new ValidatedRow(row.getRow(), null, row.getError());
+        }
+        PropertyDTO dto = row.getProperty();
+        Set<ConstraintViolation<PropertyDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return new ValidatedRow(row.getRow(), dto.getReference(), message);
+        }
+
+        Property property = propertyMapper.toEntity(dto);
+        property.setId(null);
+        property.setReference(dto.getReference() != null && !dto.getReference().trim().isEmpty()
+                ? dto.getReference().trim()
+                : null);
+        property.setOrganizationId(organizationId);
+        property.setCreatedBy(createdBy);
+        property.setActive(true);
+        if (property.getCurrency() == null || property.getCurrency().trim().isEmpty()) {
+            property.setCurrency("EUR");
+        }
+        if (property.getOfficeHours() == null || property.getOfficeHours().trim().isEmpty()) {
+            property.setOfficeHours(officeHours);
+        }
+        return new ValidatedRow(row.getRow(), property);
+    }
+
+    /**
+     * Même contrôle que createProperty, une fois pour tout le fichier ; un refus explicite
+     * (ou le fallback fermé du circuit breaker) rejette le job
+     */
+    private boolean hasCreatePermission(Long userId, String authToken) {
+        if (identityServiceClient == null || authToken == null) {
+            return true;
+        }
+        try {
+            Boolean allowed = identityServiceClient.checkPermission(userId, "property:create", "Property", null, authToken).block();
+            return !Boolean.FALSE.equals(allowed);
+        } catch (Exception e) {
+            logger.error("Error validating permission for property import", e);
+            return true;
+        }
+    }
+
+    /**
+     * Horaires par défaut de l'organisation, hérités par les propriétés qui n'en fournissent pas
+     */
+    private String resolveOfficeHours(Long organizationId) {
+        if (identityServiceClient != null) {
+            try {
+                Optional<com.realestate.common.client.dto.OrganizationInfoDTO> orgInfo = identityServiceClient
+                        .getOrganizationById(organizationId, null)
+                        .block();
+                if (orgInfo != null && orgInfo.isPresent() && orgInfo.get().getDefaultOfficeHours() != null
+                        && !orgInfo.get().getDefaultOfficeHours().trim().isEmpty()) {
+                    return orgInfo.get().getDefaultOfficeHours();
+                }
+            } catch (Exception e) {
+                logger.warn("Error fetching organization default office hours, using system default: {}", e.getMessage());
+            }
+        }
+        return OfficeHoursHelper.getDefaultOfficeHours();
+    }
+
+    private PropertyImportJob saveProgress(PropertyImportJob job, int processed, int imported, int failed,
+                                           List<PropertyImportRowErrorDTO> errors) {
+        job.setProcessedRows(processed);
+        job.setImportedRows(imported);
+        job.setFailedRows(failed);
+        try {
+            job.setRowErrors(errors.isEmpty() ? null : objectMapper.writeValueAsString(errors));
+        } catch (Exception e) {
+            logger.warn("Failed to serialize row errors for property import job {}: {}", job.getId(), e.getMessage());
+        }
+        return importJobRepository.save(job);
+    }
+
+    private void addError(List<PropertyImportRowErrorDTO> errors, ValidatedRow row) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new PropertyImportRowErrorDTO(row.row,
+                    row.property != null ? row.property.getReference() : row.reference, row.error));
+        }
+    }
+
+    /**
+     * Référence générée : {TYPE}-{horodatage du job}-{id}, unique par construction (id réservé sur la séquence)
+     */
+    static String generateReference(String type, long timestamp, Long id) {
+        String typePrefix = type != null && !type.isEmpty()
+                ? type.substring(0, Math.min(3, type.length())).toUpperCase()
+                : "PROP";
+        return String.format("%s-%d-%d", typePrefix, timestamp, id);
+    }
+
+    static String geohash(Property property) {
+        return property.getLatitude() != null && property.getLongitude() != null
+                ? GeoHash.encode(property.getLatitude().doubleValue(), property.getLongitude().doubleValue(), GeoHash.STORED_PRECISION)
+                : null;
+    }
+
+    private List<ImportRow> parseCsvRows(String text) {
+        List<List<String>> records = parseCsv(text);
+        List<ImportRow> rows = new ArrayList<>();
+        if (records.isEmpty()) {
+            return rows;
+        }
+        List<String> header = records.get(0).stream().map(String::trim).toList();
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue;
+            }
+            int rowNumber = rows.size() + 1;
+            if (record.size() != header.size()) {
+                rows.add(ImportRow.failed(rowNumber,
+                        "Expected " + header.size() + " columns, found " + record.size()));
+                continue;
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int column = 0; column < header.size(); column++) {
+                String value = record.get(column);
+                if (!value.isEmpty()) {
+                    values.put(header.get(column), value);
+                }
+            }
+            try {
+                rows.add(ImportRow.of(rowNumber, objectMapper.convertValue(values, PropertyDTO.class)));
+            } catch (IllegalArgumentException e) {
+                rows.add(ImportRow.failed(rowNumber, firstLine(e.getMessage())));
+            }
+        }
+        return rows;
+    }
+
+    private List<ImportRow> parseJsonRows(String text) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(text);
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid JSON import file: " + firstLine(e.getMessage()));
+        }
+        if (root == null || !root.isArray()) {
+            throw new BadRequestException("JSON import file must be an array of properties");
+        }
+        List<ImportRow> rows = new ArrayList<>(root.size());
+        for (JsonNode node : root) {
+            int rowNumber = rows.size() + 1;
+            try {
+                rows.add(ImportRow.of(rowNumber, objectMapper.treeToValue(node, PropertyDTO.class)));
+            } catch (Exception e) {
+                rows.add(ImportRow.failed(rowNumber, firstLine(e.getMessage())));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Lecteur CSV RFC 4180 : champs entre guillemets (virgules, sauts de ligne, "" pour un guillemet), fins de ligne CRLF ou LF
+     */
+    static List<List<String>> parseCsv(String text) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new BadRequestException("Invalid CSV import file: unterminated quoted field");
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "Invalid row";
+        }
+        int end = message.indexOf('\n');
+        return end >= 0 ? message.substring(0, end).trim() : message;
+    }
+
+    private static void column(String name, int sqlType, Function<Property, Object> value) {
+        PROPERTY_COLUMNS.put(name, value);
+        PROPERTY_COLUMN_TYPES.add(sqlType);
+    }
+
+    /**
+     * Ligne lue dans le fichier : PropertyDTO ou erreur de lecture (numéro de ligne de données à partir de 1)
+     */
+    public static final class ImportRow {
+        private final int row;
+        private final PropertyDTO property;
+        private final String error;
+
+        private ImportRow(int row, PropertyDTO property, String error) {
+            this.row = row;
+            this.property = property;
+            this.error = error;
+        }
+
+        static ImportRow of(int row, PropertyDTO property) {
+            return new ImportRow(row, property, null);
+        }
+
+        static ImportRow failed(int row, String error) {
+            return new ImportRow(row, null, error);
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public PropertyDTO getProperty() {
+            return property;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private static final class ValidatedRow {
+        private final int row;
+        private final Property property;
+        private final String reference;
+        private String error;
+
+        private ValidatedRow(int row, Property property) {
+            this.row = row;
+            this.property = property;
+            this.reference = property.getReference();
+        }
+
+        private ValidatedRow(int row, String reference, String error) {
+            this.row = row;
+            this.property = null;
+            this.reference = reference;
+            this.error = error;
+        }
+    }
+}
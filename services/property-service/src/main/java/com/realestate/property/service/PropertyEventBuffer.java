@@ -0,0 +1,193 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PropertyEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * File d'ingestion bornée et sans verrou des événements de propriétés (vues, contacts, favoris, partages)
+ *
+ * Le thread de la requête ne fait qu'un offer ; un thread dédié vide la file par lots de batchSize
+ * (réveillé dès qu'un lot est plein, sinon toutes les flushIntervalMs) et les écrit via PropertyEventWriter ;
+ * les vues du lot alimentent ensuite les compteurs de visiteurs uniques (UniqueVisitorCounter).
+ * File pleine : l'événement est rejeté (contre-pression, l'appelant répond 429) et compté.
+ * Métriques : property.events.ingested{result=accepted|dropped|written|failed}, property.events.buffer.size
+ * Les événements encore en file à l'arrêt sont écrits avant la fermeture (destroy).
+ */
+public class PropertyEventBuffer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyEventBuffer.class);
+
+    private static final String METRIC_NAME = "property.events.ingested";
+
+    private final PropertyEventWriter writer;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final ConcurrentLinkedQueue<PropertyEvent> queue = new ConcurrentLinkedQueue<>();
+    // Taille réservée avant l'ajout : la borne est respectée sans verrou
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Thread flusher;
+    private volatile boolean running;
+
+    /**
+     * @param uniqueVisitorCounter compteurs de visiteurs uniques, null pour ne pas les alimenter
+     * @param meterRegistry registre Micrometer, null pour désactiver les métriques
+     */
+    public PropertyEventBuffer(PropertyEventWriter writer, UniqueVisitorCounter uniqueVisitorCounter,
+                               int capacity, int batchSize, long flushIntervalMs, MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.uniqueVisitorCounter = uniqueVisitorCounter;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.flusher = new Thread(this::run, "property-events-flusher");
+        this.flusher.setDaemon(true);
+        if (meterRegistry != null) {
+            registerMetrics(meterRegistry);
+        }
+    }
+
+    public void start() {
+        running = true;
+        flusher.start();
+    }
+
+    /**
+     * Ajoute un événement ; false si la file est pleine (événement abandonné)
+     */
+    public boolean offer(PropertyEvent event) {
+        int reserved = size.incrementAndGet();
+        if (reserved > capacity) {
+            size.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(event);
+        accepted.increment();
+        if (reserved % batchSize == 0) {
+            LockSupport.unpark(flusher);
+        }
+        return true;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushAll();
+    }
+
+    /**
+     * Écrit tout ce qui est en file dans le thread appelant
+     */
+    void flushAll() {
+        List<PropertyEvent> batch = new ArrayList<>(batchSize);
+        while (drain(batch) > 0) {
+            write(batch);
+        }
+    }
+
+    private void run() {
+        List<PropertyEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            int drained = drain(batch);
+            if (drained > 0) {
+                write(batch);
+            }
+            if (drained < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    private int drain(List<PropertyEvent> batch) {
+        batch.clear();
+        PropertyEvent event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            batch.add(event);
+        }
+        size.addAndGet(-batch.size());
+        return batch.size();
+    }
+
+    private void write(List<PropertyEvent> batch) {
+        try {
+            int count = writer.write(batch);
+            written.add(count);
+            failed.add(batch.size() - count);
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            logger.error("Failed to write {} property events: {}", batch.size(), e.getMessage());
+        }
+        if (uniqueVisitorCounter != null) {
+            // Indépendant de l'écriture en base : Redis indisponible ne fait perdre que les visiteurs uniques
+            try {
+                uniqueVisitorCounter.record(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to record unique visitors for {} property events: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        registerCounter(meterRegistry, "accepted", accepted);
+        registerCounter(meterRegistry, "dropped", dropped);
+        registerCounter(meterRegistry, "written", written);
+        registerCounter(meterRegistry, "failed", failed);
+        Gauge.builder("property.events.buffer.size", size, AtomicInteger::get)
+                .description("Property events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private void registerCounter(MeterRegistry meterRegistry, String result, LongAdder adder) {
+        FunctionCounter.builder(METRIC_NAME, adder, LongAdder::sum)
+                .description("Property events by ingestion outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for publishing property-related events to Kafka.
@@ -50,6 +53,37 @@ public class PropertyEventProducer {
         }
     }
 
+    /**
+     * Publishes a batch of PropertyCreatedEvents (bulk import).
+     * Records are handed to the producer without waiting, then flushed once for the whole batch;
+     * failures are logged per event, successes once per batch.
+     */
+    public void publishPropertiesCreated(List<PropertyCreatedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(events.size());
+        for (PropertyCreatedEvent event : events) {
+            try {
+                futures.add(kafkaTemplate.send(PROPERTY_CREATED_TOPIC, event).whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        failed.incrementAndGet();
+                        logger.error("Failed to publish PropertyCreatedEvent: propertyId={}, eventId={}",
+                                event.getPropertyId(), event.getEventId(), ex);
+                    }
+                }));
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                logger.error("Error publishing PropertyCreatedEvent: propertyId={}", event.getPropertyId(), e);
+            }
+        }
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((result, ex) -> logger.info("PropertyCreatedEvent batch published: {} events, {} failed",
+                        events.size(), failed.get()));
+    }
+
     /**
      * Publishes a PropertyUpdatedEvent to Kafka.
      */
@@ -1,79 +1,117 @@
 package com.realestate.property.service;
 
+import com.realestate.common.exception.BadRequestException;
 import com.realestate.property.dto.StatsHistoryPointDTO;
+import com.realestate.property.dto.UniqueVisitorsPointDTO;
 import com.realestate.property.entity.PropertyEvent;
+import com.realestate.property.repository.PropertyEventDailyRepository;
+import com.realestate.property.repository.PropertyEventDailyTotalRepository;
 import com.realestate.property.repository.PropertyEventRepository;
+import com.realestate.property.repository.PropertyRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 /**
  * Service pour gérer les événements de propriétés
  * Permet de tracker les vues, contacts, favoris, partages
+ *
+ * Les événements sont mis en file (PropertyEventBuffer) et écrits par lots hors du thread de la requête :
+ * les méthodes track* n'ouvrent ni transaction ni connexion et renvoient false si la file est pleine.
+ * L'historique est lu dans les cumuls journaliers (au plus un point par jour et par type), pas dans property_events ;
+ * les visiteurs uniques dans les HyperLogLog par propriété et par jour (UniqueVisitorCounter).
  */
 @Service
-@Transactional
 public class PropertyEventService {
 
+    public static final String GRANULARITY_DAY = "day";
+    public static final String GRANULARITY_WEEK = "week";
+    public static final String GRANULARITY_TOTAL = "total";
+
+    private static final int MAX_UNIQUE_VISITORS_DAYS = 366;
+
     private final PropertyEventRepository propertyEventRepository;
+    private final PropertyEventDailyRepository propertyEventDailyRepository;
+    private final PropertyEventDailyTotalRepository propertyEventDailyTotalRepository;
+    private final PropertyRepository propertyRepository;
+    private final PropertyEventBuffer propertyEventBuffer;
+    private final UniqueVisitorCounter uniqueVisitorCounter;
 
-    public PropertyEventService(PropertyEventRepository propertyEventRepository) {
+    public PropertyEventService(PropertyEventRepository propertyEventRepository,
+                                PropertyEventDailyRepository propertyEventDailyRepository,
+                                PropertyEventDailyTotalRepository propertyEventDailyTotalRepository,
+                                PropertyRepository propertyRepository,
+                                PropertyEventBuffer propertyEventBuffer,
+                                UniqueVisitorCounter uniqueVisitorCounter) {
         this.propertyEventRepository = propertyEventRepository;
+        this.propertyEventDailyRepository = propertyEventDailyRepository;
+        this.propertyEventDailyTotalRepository = propertyEventDailyTotalRepository;
+        this.propertyRepository = propertyRepository;
+        this.propertyEventBuffer = propertyEventBuffer;
+        this.uniqueVisitorCounter = uniqueVisitorCounter;
     }
 
     /**
      * Enregistre un événement de vue
      */
-    @Transactional
-    public PropertyEvent trackView(Long propertyId, Long userId, String metadata) {
+    public boolean trackView(Long propertyId, Long userId, String metadata) {
+        return trackView(propertyId, userId, null, metadata);
+    }
+
+    /**
+     * Enregistre un événement de vue ; visitorId identifie un visiteur anonyme pour les visiteurs uniques
+     */
+    public boolean trackView(Long propertyId, Long userId, String visitorId, String metadata) {
         PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_VIEW, userId, metadata);
-        return propertyEventRepository.save(event);
+        event.setVisitorId(visitorId);
+        return offer(event);
     }
 
     /**
      * Enregistre un événement de contact
      */
-    @Transactional
-    public PropertyEvent trackContact(Long propertyId, Long userId, String metadata) {
-        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_CONTACT, userId, metadata);
-        return propertyEventRepository.save(event);
+    public boolean trackContact(Long propertyId, Long userId, String metadata) {
+        return trackEvent(propertyId, PropertyEvent.EVENT_TYPE_CONTACT, userId, metadata);
     }
 
     /**
      * Enregistre un événement de favori
      */
-    @Transactional
-    public PropertyEvent trackFavorite(Long propertyId, Long userId, String metadata) {
-        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_FAVORITE, userId, metadata);
-        return propertyEventRepository.save(event);
+    public boolean trackFavorite(Long propertyId, Long userId, String metadata) {
+        return trackEvent(propertyId, PropertyEvent.EVENT_TYPE_FAVORITE, userId, metadata);
     }
 
     /**
      * Enregistre un événement de partage
      */
-    @Transactional
-    public PropertyEvent trackShare(Long propertyId, Long userId, String platform, String metadata) {
+    public boolean trackShare(Long propertyId, Long userId, String platform, String metadata) {
         String shareMetadata = metadata != null ? metadata : "{\"platform\":\"" + platform + "\"}";
-        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_SHARE, userId, shareMetadata);
-        return propertyEventRepository.save(event);
+        return trackEvent(propertyId, PropertyEvent.EVENT_TYPE_SHARE, userId, shareMetadata);
     }
 
     /**
-     * Enregistre un événement générique
+     * Enregistre un événement générique (horodaté à la réception, pas à l'écriture)
      */
-    @Transactional
-    public PropertyEvent trackEvent(Long propertyId, String eventType, Long userId, String metadata) {
-        PropertyEvent event = new PropertyEvent(propertyId, eventType, userId, metadata);
-        return propertyEventRepository.save(event);
+    public boolean trackEvent(Long propertyId, String eventType, Long userId, String metadata) {
+        return offer(new PropertyEvent(propertyId, eventType, userId, metadata));
+    }
+
+    private boolean offer(PropertyEvent event) {
+        event.setCreatedAt(LocalDateTime.now());
+        return propertyEventBuffer.offer(event);
     }
 
     /**
-     * Récupère l'historique des statistiques pour une propriété
+     * Récupère l'historique des statistiques pour une propriété (cumuls journaliers property_event_daily)
      */
     @Transactional(readOnly = true)
     public List<StatsHistoryPointDTO> getPropertyStatsHistory(Long propertyId, Integer days) {
@@ -81,15 +119,15 @@ public class PropertyEventService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(daysToFetch - 1);
 
-        List<PropertyEvent> events = propertyEventRepository.findByPropertyIdAndDateRange(
+        List<Object[]> counts = propertyEventDailyRepository.findCountsByPropertyIdAndDateRange(
                 propertyId, startDate, endDate
         );
 
-        return aggregateEventsByDate(events, startDate, endDate);
+        return buildHistory(counts, startDate, endDate);
     }
 
     /**
-     * Récupère l'historique des statistiques globales
+     * Récupère l'historique des statistiques globales (cumuls journaliers property_event_daily_totals)
      */
     @Transactional(readOnly = true)
     public List<StatsHistoryPointDTO> getGlobalStatsHistory(Integer days) {
@@ -97,51 +135,112 @@ public class PropertyEventService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(daysToFetch - 1);
 
-        List<PropertyEvent> events = propertyEventRepository.findByDateRange(startDate, endDate);
+        List<Object[]> counts = propertyEventDailyTotalRepository.findCountsByDateRange(startDate, endDate);
 
-        return aggregateEventsByDate(events, startDate, endDate);
+        return buildHistory(counts, startDate, endDate);
     }
 
     /**
-     * Agrège les événements par date
+     * Construit un point par jour de la période à partir des cumuls [jour, type, nombre] (jours sans cumul à zéro)
      */
-    private List<StatsHistoryPointDTO> aggregateEventsByDate(
-            List<PropertyEvent> events, LocalDate startDate, LocalDate endDate) {
-        
-        // Grouper les événements par date
-        Map<LocalDate, List<PropertyEvent>> eventsByDate = events.stream()
-                .collect(Collectors.groupingBy(event -> 
-                    event.getCreatedAt().toLocalDate()
-                ));
-
-        // Créer les points de données
-        List<StatsHistoryPointDTO> history = new ArrayList<>();
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            List<PropertyEvent> dayEvents = eventsByDate.getOrDefault(currentDate, new ArrayList<>());
-            
-            long views = dayEvents.stream()
-                    .filter(e -> PropertyEvent.EVENT_TYPE_VIEW.equals(e.getEventType()))
-                    .count();
-            
-            long contacts = dayEvents.stream()
-                    .filter(e -> PropertyEvent.EVENT_TYPE_CONTACT.equals(e.getEventType()))
-                    .count();
-            
-            long favorites = dayEvents.stream()
-                    .filter(e -> PropertyEvent.EVENT_TYPE_FAVORITE.equals(e.getEventType()))
-                    .count();
-            
-            long shares = dayEvents.stream()
-                    .filter(e -> PropertyEvent.EVENT_TYPE_SHARE.equals(e.getEventType()))
-                    .count();
-
-            history.add(new StatsHistoryPointDTO(currentDate, views, contacts, favorites, shares));
-            currentDate = currentDate.plusDays(1);
+    static List<StatsHistoryPointDTO> buildHistory(List<Object[]> counts, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, StatsHistoryPointDTO> pointsByDate = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            pointsByDate.put(date, new StatsHistoryPointDTO(date, 0L, 0L, 0L, 0L));
+        }
+
+        for (Object[] row : counts) {
+            StatsHistoryPointDTO point = pointsByDate.get((LocalDate) row[0]);
+            if (point == null) {
+                continue;
+            }
+            String eventType = (String) row[1];
+            Long count = (Long) row[2];
+
+            switch (eventType) {
+                case PropertyEvent.EVENT_TYPE_VIEW:
+                    point.setViews(point.getViews() + count);
+                    break;
+                case PropertyEvent.EVENT_TYPE_CONTACT:
+                    point.setContacts(point.getContacts() + count);
+                    break;
+                case PropertyEvent.EVENT_TYPE_FAVORITE:
+                    point.setFavorites(point.getFavorites() + count);
+                    break;
+                case PropertyEvent.EVENT_TYPE_SHARE:
+                    point.setShares(point.getShares() + count);
+                    break;
+            }
         }
 
-        return history;
+        return new ArrayList<>(pointsByDate.values());
+    }
+
+    /**
+     * Organisation d'une propriété, vide si elle n'existe pas (contrôle d'accès aux statistiques)
+     */
+    public Optional<Long> getPropertyOrganizationId(Long propertyId) {
+        return propertyRepository.findOrganizationIdById(propertyId);
+    }
+
+    /**
+     * Visiteurs uniques d'une propriété sur [from, to] (par défaut les 7 derniers jours), par jour, semaine ou au total
+     */
+    public List<UniqueVisitorsPointDTO> getPropertyUniqueVisitors(
+            Long propertyId, LocalDate from, LocalDate to, String granularity) {
+        return getUniqueVisitors(List.of(propertyId), from, to, granularity);
+    }
+
+    /**
+     * Visiteurs uniques de l'ensemble des propriétés d'une organisation (un visiteur de plusieurs annonces compte une fois)
+     */
+    @Transactional(readOnly = true)
+    public List<UniqueVisitorsPointDTO> getOrganizationUniqueVisitors(
+            Long organizationId, LocalDate from, LocalDate to, String granularity) {
+        return getUniqueVisitors(propertyRepository.findIdsByOrganizationId(organizationId), from, to, granularity);
+    }
+
+    private List<UniqueVisitorsPointDTO> getUniqueVisitors(
+            Collection<Long> propertyIds, LocalDate from, LocalDate to, String granularity) {
+        LocalDate endDate = to != null ? to : LocalDate.now();
+        LocalDate startDate = from != null ? from : endDate.minusDays(6);
+        if (startDate.isAfter(endDate)) {
+            throw new BadRequestException("startDate must not be after endDate");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_UNIQUE_VISITORS_DAYS) {
+            throw new BadRequestException("Unique visitors range must not exceed " + MAX_UNIQUE_VISITORS_DAYS + " days");
+        }
+
+        List<UniqueVisitorsPointDTO> points = new ArrayList<>();
+        for (LocalDate[] period : splitPeriod(startDate, endDate, granularity)) {
+            long count = uniqueVisitorCounter.count(propertyIds, period[0], period[1]);
+            points.add(new UniqueVisitorsPointDTO(period[0], period[1], count));
+        }
+        return points;
+    }
+
+    /**
+     * Découpe [startDate, endDate] en périodes [début, fin] : jours, semaines de 7 jours depuis startDate
+     * (la dernière éventuellement plus courte) ou période entière
+     */
+    static List<LocalDate[]> splitPeriod(LocalDate startDate, LocalDate endDate, String granularity) {
+        int step;
+        if (granularity == null || GRANULARITY_TOTAL.equalsIgnoreCase(granularity)) {
+            return List.<LocalDate[]>of(new LocalDate[]{startDate, endDate});
+        } else if (GRANULARITY_DAY.equalsIgnoreCase(granularity)) {
+            step = 1;
+        } else if (GRANULARITY_WEEK.equalsIgnoreCase(granularity)) {
+            step = 7;
+        } else {
+            throw new BadRequestException("granularity must be one of: day, week, total");
+        }
+
+        List<LocalDate[]> periods = new ArrayList<>();
+        for (LocalDate start = startDate; !start.isAfter(endDate); start = start.plusDays(step)) {
+            LocalDate end = start.plusDays(step - 1);
+            periods.add(new LocalDate[]{start, end.isAfter(endDate) ? endDate : end});
+        }
+        return periods;
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PropertyEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Écriture des événements de propriétés par lots JDBC (une transaction par lot)
+ *
+ * Avec reWriteBatchedInserts (application.yml), le pilote PostgreSQL envoie le lot en INSERT multi-lignes.
+ * Lot rejeté (propriété supprimée entre-temps...) : rejoué ligne par ligne, les lignes en erreur sont perdues.
+ *
+ * Les cumuls journaliers (property_event_daily, property_event_daily_totals) sont incrémentés dans la même
+ * transaction que les événements bruts : un lot agrégé en mémoire donne une ligne par (propriété, jour, type).
+ */
+public class PropertyEventWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyEventWriter.class);
+
+    static final String INSERT_EVENT_SQL =
+            "INSERT INTO property_events (property_id, event_type, created_at, user_id, metadata) VALUES (?, ?, ?, ?, ?)";
+
+    static final String UPSERT_DAILY_SQL =
+            "INSERT INTO property_event_daily (property_id, day, event_type, event_count) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (property_id, day, event_type) " +
+            "DO UPDATE SET event_count = property_event_daily.event_count + EXCLUDED.event_count";
+
+    static final String UPSERT_DAILY_TOTAL_SQL =
+            "INSERT INTO property_event_daily_totals (day, event_type, event_count) VALUES (?, ?, ?) " +
+            "ON CONFLICT (day, event_type) " +
+            "DO UPDATE SET event_count = property_event_daily_totals.event_count + EXCLUDED.event_count";
+
+    // Ordre fixe des clés : deux instances qui incrémentent les mêmes lignes les verrouillent dans le même ordre
+    private static final Comparator<DailyKey> DAILY_KEY_ORDER = Comparator
+            .comparing(DailyKey::day)
+            .thenComparing(DailyKey::eventType)
+            .thenComparing(DailyKey::propertyId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean dailyRollups;
+
+    public PropertyEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this(jdbcTemplate, transactionManager, true);
+    }
+
+    /**
+     * @param dailyRollups false pour n'écrire que les événements bruts (base sans ON CONFLICT DO UPDATE, tests)
+     */
+    PropertyEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, boolean dailyRollups) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dailyRollups = dailyRollups;
+    }
+
+    /**
+     * @return nombre d'événements écrits
+     */
+    public int write(List<PropertyEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, events.size(), PropertyEventWriter::setValues);
+                updateDailyRollups(events);
+            });
+            return events.size();
+        } catch (DataAccessException e) {
+            logger.warn("Batch insert of {} property events failed, retrying row by row: {}", events.size(), e.getMessage());
+            List<PropertyEvent> written = new ArrayList<>(events.size());
+            for (PropertyEvent event : events) {
+                try {
+                    jdbcTemplate.update(INSERT_EVENT_SQL, ps -> setValues(ps, event));
+                    written.add(event);
+                } catch (DataAccessException rowException) {
+                    logger.debug("Dropping property event for property {}: {}",
+                            event.getPropertyId(), rowException.getMostSpecificCause().getMessage());
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> updateDailyRollups(written));
+            } catch (DataAccessException rollupException) {
+                // Événements bruts conservés : scripts/migration-add-property-event-daily.sql recalcule les jours passés
+                logger.error("Failed to update daily rollups for {} property events: {}",
+                        written.size(), rollupException.getMessage());
+            }
+            return written.size();
+        }
+    }
+
+    private void updateDailyRollups(List<PropertyEvent> events) {
+        if (!dailyRollups || events.isEmpty()) {
+            return;
+        }
+        Map<DailyKey, Long> daily = aggregateByDay(events);
+        Map<DailyKey, Long> totals = new TreeMap<>(DAILY_KEY_ORDER);
+        daily.forEach((key, count) ->
+                totals.merge(new DailyKey(null, key.day(), key.eventType()), count, Long::sum));
+
+        List<Object[]> dailyArgs = new ArrayList<>(daily.size());
+        daily.forEach((key, count) ->
+                dailyArgs.add(new Object[]{key.propertyId(), key.day(), key.eventType(), count}));
+        List<Object[]> totalArgs = new ArrayList<>(totals.size());
+        totals.forEach((key, count) -> totalArgs.add(new Object[]{key.day(), key.eventType(), count}));
+
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, dailyArgs);
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_TOTAL_SQL, totalArgs);
+    }
+
+    /**
+     * Nombre d'événements par (propriété, jour, type), clés triées
+     */
+    static Map<DailyKey, Long> aggregateByDay(List<PropertyEvent> events) {
+        Map<DailyKey, Long> counts = new TreeMap<>(DAILY_KEY_ORDER);
+        for (PropertyEvent event : events) {
+            DailyKey key = new DailyKey(event.getPropertyId(), event.getCreatedAt().toLocalDate(), event.getEventType());
+            counts.merge(key, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    record DailyKey(Long propertyId, LocalDate day, String eventType) {
+    }
+
+    private static void setValues(PreparedStatement ps, PropertyEvent event) throws SQLException {
+        ps.setLong(1, event.getPropertyId());
+        ps.setString(2, event.getEventType());
+        ps.setTimestamp(3, Timestamp.valueOf(event.getCreatedAt()));
+        if (event.getUserId() != null) {
+            ps.setLong(4, event.getUserId());
+        } else {
+            ps.setNull(4, Types.BIGINT);
+        }
+        // Types.OTHER : texte converti en JSONB par PostgreSQL
+        if (event.getMetadata() != null) {
+            ps.setObject(5, event.getMetadata(), Types.OTHER);
+        } else {
+            ps.setNull(5, Types.OTHER);
+        }
+    }
+}
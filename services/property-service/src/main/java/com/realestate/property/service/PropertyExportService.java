@@ -0,0 +1,235 @@
+package com.realestate.property.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.entity.Property;
+import com.realestate.property.mapper.PropertyMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Export en flux des propriétés du back-office (CSV ou NDJSON)
+ *
+ * Les lignes sont lues par un curseur serveur PostgreSQL (fetch size, lecture seule), mappées
+ * par lots (PropertyMapper.toDTOs : une requête de caractéristiques et une résolution de noms par lot),
+ * écrites puis vidées vers le client ; le contexte de persistance est vidé à chaque lot.
+ * La mémoire utilisée ne dépend pas du nombre de propriétés exportées.
+ */
+@Service
+public class PropertyExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyExportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * Colonnes de l'export CSV, dans l'ordre
+     */
+    static final Map<String, Function<PropertyDTO, Object>> CSV_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        CSV_COLUMNS.put("id", PropertyDTO::getId);
+        CSV_COLUMNS.put("reference", PropertyDTO::getReference);
+        CSV_COLUMNS.put("title", PropertyDTO::getTitle);
+        CSV_COLUMNS.put("type", PropertyDTO::getType);
+        CSV_COLUMNS.put("status", PropertyDTO::getStatus);
+        CSV_COLUMNS.put("transactionType", PropertyDTO::getTransactionType);
+        CSV_COLUMNS.put("price", PropertyDTO::getPrice);
+        CSV_COLUMNS.put("currency", PropertyDTO::getCurrency);
+        CSV_COLUMNS.put("surface", PropertyDTO::getSurface);
+        CSV_COLUMNS.put("rooms", PropertyDTO::getRooms);
+        CSV_COLUMNS.put("bedrooms", PropertyDTO::getBedrooms);
+        CSV_COLUMNS.put("bathrooms", PropertyDTO::getBathrooms);
+        CSV_COLUMNS.put("address", PropertyDTO::getAddress);
+        CSV_COLUMNS.put("city", PropertyDTO::getCity);
+        CSV_COLUMNS.put("postalCode", PropertyDTO::getPostalCode);
+        CSV_COLUMNS.put("country", PropertyDTO::getCountry);
+        CSV_COLUMNS.put("organizationId", PropertyDTO::getOrganizationId);
+        CSV_COLUMNS.put("organizationName", PropertyDTO::getOrganizationName);
+        CSV_COLUMNS.put("assignedUserId", PropertyDTO::getAssignedUserId);
+        CSV_COLUMNS.put("assignedUserName", PropertyDTO::getAssignedUserName);
+        CSV_COLUMNS.put("createdAt", PropertyDTO::getCreatedAt);
+        CSV_COLUMNS.put("updatedAt", PropertyDTO::getUpdatedAt);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PropertyService propertyService;
+    private final PropertyMapper propertyMapper;
+    private final ObjectMapper objectMapper;
+
+    // Lignes lues par aller-retour du curseur serveur
+    @Value("${export.properties.fetch-size:500}")
+    private int fetchSize;
+
+    // Lignes mappées et écrites avant chaque flush
+    @Value("${export.properties.batch-size:200}")
+    private int batchSize;
+
+    public PropertyExportService(
+            PropertyService propertyService,
+            PropertyMapper propertyMapper,
+            ObjectMapper objectMapper) {
+        this.propertyService = propertyService;
+        this.propertyMapper = propertyMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Vérifie le format demandé (csv ou ndjson)
+     */
+    public static String normalizeFormat(String format) {
+        String normalized = format != null ? format.trim().toLowerCase() : FORMAT_CSV;
+        if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+            throw new BadRequestException("format must be csv or ndjson");
+        }
+        return normalized;
+    }
+
+    /**
+     * Écrit les propriétés filtrées dans outputStream et retourne le nombre de lignes exportées
+     *
+     * Mêmes filtres que getAllPropertiesWithFilters ; si accessibleOrganizationIds != null, mêmes
+     * restrictions que getAllPropertiesWithFiltersAndPermissions (propriétés créées par userId
+     * ou dans ses organisations), organizationId est alors ignoré.
+     * Doit être appelée hors transaction de l'appelant : le curseur reste ouvert pendant toute l'écriture.
+     */
+    @Transactional(readOnly = true)
+    public long exportProperties(
+            Long userId,
+            Set<Long> accessibleOrganizationIds,
+            Long organizationId,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String format,
+            OutputStream outputStream) throws IOException {
+
+        long startTime = System.currentTimeMillis();
+        Specification<Property> spec = accessibleOrganizationIds != null
+                ? propertyService.buildPermissionFilterSpecification(
+                        userId, accessibleOrganizationIds, assignedUserId, teamId, status,
+                        type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search)
+                : propertyService.buildFilterSpecification(
+                        organizationId, assignedUserId, teamId, status,
+                        type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Property> query = cb.createQuery(Property.class);
+        Root<Property> root = query.from(Property.class);
+        query.select(root)
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+
+        boolean csv = FORMAT_CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (csv) {
+            writeCsvRow(writer, new ArrayList<>(CSV_COLUMNS.keySet()));
+        }
+
+        long exported = 0;
+        try (Stream<Property> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            List<Property> batch = new ArrayList<>(batchSize);
+            Iterator<Property> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() >= batchSize) {
+                    exported += writeBatch(writer, batch, csv);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                exported += writeBatch(writer, batch, csv);
+            }
+        }
+        writer.flush();
+
+        logger.info("Exported {} properties as {} in {}ms", exported, format, System.currentTimeMillis() - startTime);
+        return exported;
+    }
+
+    private int writeBatch(Writer writer, List<Property> batch, boolean csv) throws IOException {
+        for (PropertyDTO dto : propertyMapper.toDTOs(batch)) {
+            if (csv) {
+                List<Object> values = new ArrayList<>(CSV_COLUMNS.size());
+                for (Function<PropertyDTO, Object> column : CSV_COLUMNS.values()) {
+                    values.add(column.apply(dto));
+                }
+                writeCsvRow(writer, values);
+            } else {
+                writer.write(objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        // Entités du lot détachées : le contexte de persistance ne grossit pas avec l'export
+        entityManager.clear();
+        return batch.size();
+    }
+
+    static void writeCsvRow(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Échappement RFC 4180 : valeur entre guillemets si elle contient une virgule, un guillemet ou un saut de ligne
+     */
+    static String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
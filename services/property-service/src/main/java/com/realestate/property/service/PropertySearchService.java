@@ -1,14 +1,38 @@
 package com.realestate.property.service;
 
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.FiltersBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.json.JsonData;
 import com.realestate.common.document.PropertyDocument;
 import com.realestate.common.repository.elasticsearch.PropertyDocumentRepository;
+import com.realestate.property.dto.FacetBucketDTO;
+import com.realestate.property.dto.PropertyFacetsDTO;
+import com.realestate.property.util.PriceBands;
+import com.realestate.property.util.SearchQueryParser;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Service de recherche Elasticsearch pour les Properties
@@ -19,10 +43,270 @@ import java.util.List;
 @ConditionalOnBean(PropertyDocumentRepository.class)
 public class PropertySearchService {
 
+    /**
+     * Champs texte interrogés par la recherche publique (title boosté)
+     */
+    private static final List<String> TEXT_FIELDS = List.of("title^3", "description", "address", "city");
+
+    /**
+     * Statuts visibles sur le site public
+     */
+    private static final List<FieldValue> PUBLIC_STATUSES = List.of(
+            FieldValue.of("PUBLISHED"), FieldValue.of("AVAILABLE"));
+
+    private static final String FACET_TYPES = "types";
+    private static final String FACET_TRANSACTION_TYPES = "transactionTypes";
+    private static final String FACET_CITIES = "cities";
+    private static final String FACET_PRICE_BANDS = "priceBands";
+    private static final int MAX_TERMS = 50;
+
     private final PropertyDocumentRepository propertyDocumentRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
 
-    public PropertySearchService(PropertyDocumentRepository propertyDocumentRepository) {
+    public PropertySearchService(
+            PropertyDocumentRepository propertyDocumentRepository,
+            ElasticsearchOperations elasticsearchOperations) {
         this.propertyDocumentRepository = propertyDocumentRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    /**
+     * Recherche des propriétés publiées avec tous les filtres publics
+     *
+     * - Les termes de recherche (SearchQueryParser) sont évalués en contexte "query" (scoring)
+     * - Tous les autres filtres sont en contexte "filter" (non scorés, mis en cache par Elasticsearch)
+     * - Le tri et la pagination sont portés par le Pageable
+     */
+    public Page<PropertyDocument> searchPublishedProperties(
+            Long organizationId,
+            String type,
+            String transactionType,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            LocalDateTime createdAfter,
+            Pageable pageable) {
+
+        BoolQuery bool = buildPublishedQuery(organizationId, type, transactionType, city, country,
+                minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search, createdAfter);
+
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(bool))
+                .withPageable(pageable)
+                .withTrackTotalHits(true)
+                .build();
+
+        SearchHits<PropertyDocument> hits = elasticsearchOperations.search(query, PropertyDocument.class);
+        List<PropertyDocument> content = hits.getSearchHits().stream()
+                .map(SearchHit::getContent)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    /**
+     * Compteurs de facettes (type, type de transaction, villes, tranches de prix) pour les filtres publics
+     * Une seule requête sans documents (size 0) : agrégations terms et range sur la même requête filtrée
+     */
+    public PropertyFacetsDTO aggregatePublishedFacets(
+            Long organizationId,
+            String type,
+            String transactionType,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            LocalDateTime createdAfter,
+            List<BigDecimal> priceBands,
+            int maxCities) {
+
+        BoolQuery bool = buildPublishedQuery(organizationId, type, transactionType, city, country,
+                minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search, createdAfter);
+
+        // Tranches [from, to) en agrégation filters (une requête range par tranche)
+        Map<String, Query> bandQueries = new LinkedHashMap<>();
+        for (int band = 0; band <= priceBands.size(); band++) {
+            BigDecimal from = PriceBands.from(priceBands, band);
+            BigDecimal to = PriceBands.to(priceBands, band);
+            bandQueries.put(String.valueOf(band), Query.of(q -> q.range(r -> {
+                r.field("price");
+                if (from != null) {
+                    r.gte(JsonData.of(from.doubleValue()));
+                }
+                if (to != null) {
+                    r.lt(JsonData.of(to.doubleValue()));
+                }
+                return r;
+            })));
+        }
+
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(q -> q.bool(bool))
+                .withMaxResults(0)
+                .withTrackTotalHits(true)
+                .withAggregation(FACET_TYPES, Aggregation.of(a -> a.terms(t -> t.field("type").size(MAX_TERMS))))
+                .withAggregation(FACET_TRANSACTION_TYPES, Aggregation.of(a -> a.terms(t -> t.field("transactionType").size(MAX_TERMS))))
+                .withAggregation(FACET_CITIES, Aggregation.of(a -> a.terms(t -> t.field("city").size(maxCities))))
+                .withAggregation(FACET_PRICE_BANDS, Aggregation.of(a -> a.filters(f -> f.filters(b -> b.keyed(bandQueries)))))
+                .build();
+
+        SearchHits<PropertyDocument> hits = elasticsearchOperations.search(query, PropertyDocument.class);
+        Map<String, ElasticsearchAggregation> aggregations = hits.hasAggregations()
+                ? ((ElasticsearchAggregations) hits.getAggregations()).aggregationsAsMap()
+                : Map.of();
+
+        List<FacetBucketDTO> bands = new ArrayList<>();
+        ElasticsearchAggregation priceAggregation = aggregations.get(FACET_PRICE_BANDS);
+        if (priceAggregation != null) {
+            Map<String, FiltersBucket> buckets = priceAggregation.aggregation().getAggregate().filters().buckets().keyed();
+            for (int band = 0; band <= priceBands.size(); band++) {
+                FiltersBucket bucket = buckets.get(String.valueOf(band));
+                if (bucket != null && bucket.docCount() > 0) {
+                    bands.add(PriceBands.bucket(priceBands, band, bucket.docCount()));
+                }
+            }
+        }
+
+        return new PropertyFacetsDTO(
+                hits.getTotalHits(),
+                termBuckets(aggregations.get(FACET_TYPES)),
+                termBuckets(aggregations.get(FACET_TRANSACTION_TYPES)),
+                termBuckets(aggregations.get(FACET_CITIES)),
+                bands);
+    }
+
+    private List<FacetBucketDTO> termBuckets(ElasticsearchAggregation aggregation) {
+        List<FacetBucketDTO> buckets = new ArrayList<>();
+        if (aggregation == null) {
+            return buckets;
+        }
+        for (StringTermsBucket bucket : aggregation.aggregation().getAggregate().sterms().buckets().array()) {
+            buckets.add(new FacetBucketDTO(bucket.key().stringValue(), bucket.docCount()));
+        }
+        return buckets;
+    }
+
+    /**
+     * Requête bool des propriétés publiées avec tous les filtres publics
+     */
+    private BoolQuery buildPublishedQuery(
+            Long organizationId,
+            String type,
+            String transactionType,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            LocalDateTime createdAfter) {
+
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+
+        // Contexte filter : statut public
+        bool.filter(f -> f.terms(t -> t.field("status").terms(v -> v.value(PUBLIC_STATUSES))));
+
+        if (organizationId != null) {
+            bool.filter(f -> f.term(t -> t.field("organizationId").value(organizationId)));
+        }
+        if (type != null && !type.isEmpty()) {
+            bool.filter(f -> f.term(t -> t.field("type").value(type)));
+        }
+        if (transactionType != null && !transactionType.isEmpty()) {
+            bool.filter(f -> f.term(t -> t.field("transactionType").value(transactionType.toUpperCase())));
+        }
+        // Insensible à la casse, comme le chemin PostgreSQL (hasCityIgnoreCase / hasCountryIgnoreCase)
+        if (city != null && !city.trim().isEmpty()) {
+            bool.filter(f -> f.term(t -> t.field("city").value(city.trim()).caseInsensitive(true)));
+        }
+        if (country != null && !country.trim().isEmpty()) {
+            bool.filter(f -> f.term(t -> t.field("country").value(country.trim()).caseInsensitive(true)));
+        }
+        if (minPrice != null || maxPrice != null) {
+            bool.filter(rangeQuery("price", minPrice, maxPrice));
+        }
+        if (minSurface != null || maxSurface != null) {
+            bool.filter(rangeQuery("surface", minSurface, maxSurface));
+        }
+        if (bedrooms != null) {
+            bool.filter(f -> f.term(t -> t.field("bedrooms").value(bedrooms)));
+        }
+        if (bathrooms != null) {
+            bool.filter(f -> f.term(t -> t.field("bathrooms").value(bathrooms)));
+        }
+        if (createdAfter != null) {
+            bool.filter(f -> f.range(r -> r.field("createdAt").gte(JsonData.of(createdAfter.toString()))));
+        }
+
+        // Contexte query : recherche textuelle (même sémantique que PropertySpecification.advancedTextSearch)
+        if (search != null && !search.trim().isEmpty()) {
+            addTextSearch(bool, search);
+        }
+        return bool.build();
+    }
+
+    /**
+     * Ajoute la recherche textuelle style Google :
+     * - phrases exactes : match_phrase obligatoire
+     * - termes inclus : au moins un terme doit correspondre (OR)
+     * - termes exclus : must_not
+     */
+    private void addTextSearch(BoolQuery.Builder bool, String search) {
+        SearchQueryParser.ParsedQuery parsedQuery = SearchQueryParser.parse(search);
+
+        if (parsedQuery.isEmpty()) {
+            bool.must(multiMatch(search.trim(), TextQueryType.BestFields));
+            return;
+        }
+
+        for (String phrase : parsedQuery.getExactPhrases()) {
+            bool.must(multiMatch(phrase, TextQueryType.Phrase));
+        }
+        if (!parsedQuery.getIncludeTerms().isEmpty()) {
+            bool.must(m -> m.bool(b -> {
+                for (String term : parsedQuery.getIncludeTerms()) {
+                    b.should(multiMatch(term, TextQueryType.BestFields));
+                }
+                return b.minimumShouldMatch("1");
+            }));
+        }
+        for (String term : parsedQuery.getExcludeTerms()) {
+            bool.mustNot(multiMatch(term, TextQueryType.BestFields));
+        }
+    }
+
+    private Query multiMatch(String text, TextQueryType queryType) {
+        return Query.of(q -> q.multiMatch(m -> m
+                .query(text)
+                .fields(TEXT_FIELDS)
+                .type(queryType)
+                .lenient(true)));
+    }
+
+    private Query rangeQuery(String field, BigDecimal min, BigDecimal max) {
+        return Query.of(q -> q.range(r -> {
+            r.field(field);
+            if (min != null) {
+                r.gte(JsonData.of(min.doubleValue()));
+            }
+            if (max != null) {
+                r.lte(JsonData.of(max.doubleValue()));
+            }
+            return r;
+        }));
     }
 
     /**
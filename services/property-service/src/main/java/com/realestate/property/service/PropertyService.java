@@ -5,6 +5,7 @@ import com.realestate.common.client.IdentityServiceClient;
 import com.realestate.common.client.ResourceServiceClient;
 import com.realestate.common.event.PropertyCreatedEvent;
 import com.realestate.common.event.PropertyUpdatedEvent;
+import com.realestate.property.dto.CursorPage;
 import com.realestate.property.entity.Property;
 import com.realestate.property.entity.PropertyAccess;
 import com.realestate.property.entity.PropertyFeature;
@@ -12,14 +13,17 @@ import com.realestate.property.repository.PropertyAccessRepository;
 import com.realestate.property.repository.PropertyFeatureRepository;
 import com.realestate.property.repository.PropertyRepository;
 import com.realestate.property.specification.PropertySpecification;
+import com.realestate.property.util.PropertySortHelper;
 import com.realestate.property.util.SlugGenerator;
 import com.realestate.property.dto.PriceHistoryCreateDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +53,8 @@ public class PropertyService {
     private PriceHistoryService priceHistoryService;
     @Autowired(required = false)
     private EmailServiceClient emailServiceClient;
+    @Autowired(required = false)
+    private ApplicationEventPublisher applicationEventPublisher;
     
     @Value("${app.frontend.url:http://localhost:3003}")
     private String frontendUrl;
@@ -154,7 +160,7 @@ public class PropertyService {
                 priceHistoryDTO.setChangeReason("Prix initial lors de la création");
                 priceHistoryDTO.setChangeDate(saved.getCreatedAt() != null ? saved.getCreatedAt() : java.time.LocalDateTime.now());
                 
-                priceHistoryService.createPriceHistory(priceHistoryDTO, saved.getCreatedBy());
+                priceHistoryService.recordPriceHistory(priceHistoryDTO, saved.getCreatedBy());
             } catch (Exception e) {
                 logger.warn("Failed to create initial price history entry for property {}: {}", saved.getId(), e.getMessage());
                 // Ne pas bloquer la création de la propriété si l'historique échoue
@@ -174,20 +180,26 @@ public class PropertyService {
             saved = propertyRepository.save(saved);
         }
         
+        PropertyCreatedEvent createdEvent = new PropertyCreatedEvent(
+                saved.getOrganizationId(),
+                saved.getCreatedBy(),
+                saved.getId(),
+                saved.getReference(),
+                saved.getTitle(),
+                saved.getType(),
+                saved.getPrice(),
+                saved.getCity(),
+                saved.getCountry()
+        );
+        createdEvent.setSlug(saved.getSlug());
+        createdEvent.setStatus(saved.getStatus());
+        createdEvent.setTransactionType(saved.getTransactionType());
+        createdEvent.setSurface(saved.getSurface());
+        // Événement local (invalidation des caches publics après commit)
+        publishLocalEvent(createdEvent);
         // Publish event to Kafka (if Kafka is configured)
         if (eventProducer != null) {
-            PropertyCreatedEvent event = new PropertyCreatedEvent(
-                    saved.getOrganizationId(),
-                    saved.getCreatedBy(),
-                    saved.getId(),
-                    saved.getReference(),
-                    saved.getTitle(),
-                    saved.getType(),
-                    saved.getPrice(),
-                    saved.getCity(),
-                    saved.getCountry()
-            );
-            eventProducer.publishPropertyCreated(event);
+            eventProducer.publishPropertyCreated(createdEvent);
         }
         
         // Envoyer un email de notification si la propriété est publiée
@@ -385,70 +397,9 @@ public class PropertyService {
             String search,
             Pageable pageable) {
         
-        Specification<Property> spec = Specification.where(null);
-
-        // Filtre par organisation
-        if (organizationId != null) {
-            spec = spec.and(PropertySpecification.hasOrganization(organizationId));
-        }
-
-        // Filtre par utilisateur assigné
-        if (assignedUserId != null) {
-            spec = spec.and(PropertySpecification.hasAssignedUser(assignedUserId));
-        }
-
-        // Filtre par team
-        if (teamId != null) {
-            spec = spec.and(PropertySpecification.hasTeam(teamId));
-        }
-
-        // Filtre par statut
-        if (status != null && !status.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasStatus(status));
-        }
-
-        // Filtre par type
-        if (type != null && !type.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasType(type));
-        }
-
-        // Filtre par ville
-        if (city != null && !city.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCity(city));
-        }
-
-        // Filtre par pays
-        if (country != null && !country.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCountry(country));
-        }
-
-        // Filtre par plage de prix
-        if (minPrice != null || maxPrice != null) {
-            spec = spec.and(PropertySpecification.hasPriceRange(minPrice, maxPrice));
-        }
-
-        // Filtre par plage de surface
-        if (minSurface != null || maxSurface != null) {
-            spec = spec.and(PropertySpecification.hasSurfaceRange(minSurface, maxSurface));
-        }
-
-        // Filtre par nombre de chambres
-        if (bedrooms != null) {
-            spec = spec.and(PropertySpecification.hasBedrooms(bedrooms));
-        }
-
-        // Filtre par nombre de salles de bain
-        if (bathrooms != null) {
-            spec = spec.and(PropertySpecification.hasBathrooms(bathrooms));
-        }
-
-        // Recherche textuelle
-        if (search != null && !search.isEmpty()) {
-            spec = spec.and(PropertySpecification.searchByText(search));
-        }
-
-        // Par défaut, ne retourner que les propriétés actives
-        spec = spec.and(PropertySpecification.isActive(true));
+        Specification<Property> spec = buildFilterSpecification(
+                organizationId, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
 
         return propertyRepository.findAll(spec, pageable);
     }
@@ -473,48 +424,44 @@ public class PropertyService {
             Integer bathrooms,
             String search) {
         
-        Specification<Property> spec = Specification.where(null);
+        Specification<Property> spec = buildFilterSpecification(
+                organizationId, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
 
-        if (organizationId != null) {
-            spec = spec.and(PropertySpecification.hasOrganization(organizationId));
-        }
-        if (assignedUserId != null) {
-            spec = spec.and(PropertySpecification.hasAssignedUser(assignedUserId));
-        }
-        if (teamId != null) {
-            spec = spec.and(PropertySpecification.hasTeam(teamId));
-        }
-        if (status != null && !status.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasStatus(status));
-        }
-        if (type != null && !type.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasType(type));
-        }
-        if (city != null && !city.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCity(city));
-        }
-        if (country != null && !country.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCountry(country));
-        }
-        if (minPrice != null || maxPrice != null) {
-            spec = spec.and(PropertySpecification.hasPriceRange(minPrice, maxPrice));
-        }
-        if (minSurface != null || maxSurface != null) {
-            spec = spec.and(PropertySpecification.hasSurfaceRange(minSurface, maxSurface));
-        }
-        if (bedrooms != null) {
-            spec = spec.and(PropertySpecification.hasBedrooms(bedrooms));
-        }
-        if (bathrooms != null) {
-            spec = spec.and(PropertySpecification.hasBathrooms(bathrooms));
-        }
-        if (search != null && !search.isEmpty()) {
-            spec = spec.and(PropertySpecification.searchByText(search));
-        }
+        return propertyRepository.findAll(spec);
+    }
 
-        spec = spec.and(PropertySpecification.isActive(true));
+    /**
+     * Récupérer les propriétés avec filtres en pagination par curseur (keyset)
+     * sortBy au format "field-direction" (cf. PropertySortHelper), after = curseur de la page précédente
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Property> getPropertiesWithFiltersAfter(
+            Long organizationId,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String sortBy,
+            String after,
+            int size,
+            boolean includeTotal) {
 
-        return propertyRepository.findAll(spec);
+        Specification<Property> spec = buildFilterSpecification(
+                organizationId, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+
+        Sort.Order order = PropertySortHelper.fromParameter(sortBy).iterator().next();
+        return propertyRepository.findAllAfter(spec, order, after, size, includeTotal);
     }
 
     /**
@@ -540,52 +487,9 @@ public class PropertyService {
             String search,
             Pageable pageable) {
         
-        Specification<Property> spec = Specification.where(null);
-
-        // Filtrer selon les permissions : propriétés créées par l'utilisateur OU dans ses organisations
-        if (accessibleOrganizationIds != null && !accessibleOrganizationIds.isEmpty()) {
-            spec = spec.and(PropertySpecification.accessibleByUser(userId, accessibleOrganizationIds));
-        } else {
-            // Si pas d'organisations, seulement les propriétés créées par l'utilisateur
-            spec = spec.and(PropertySpecification.hasCreatedBy(userId));
-        }
-
-        // Appliquer les autres filtres
-        if (assignedUserId != null) {
-            spec = spec.and(PropertySpecification.hasAssignedUser(assignedUserId));
-        }
-        if (teamId != null) {
-            spec = spec.and(PropertySpecification.hasTeam(teamId));
-        }
-        if (status != null && !status.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasStatus(status));
-        }
-        if (type != null && !type.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasType(type));
-        }
-        if (city != null && !city.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCity(city));
-        }
-        if (country != null && !country.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCountry(country));
-        }
-        if (minPrice != null || maxPrice != null) {
-            spec = spec.and(PropertySpecification.hasPriceRange(minPrice, maxPrice));
-        }
-        if (minSurface != null || maxSurface != null) {
-            spec = spec.and(PropertySpecification.hasSurfaceRange(minSurface, maxSurface));
-        }
-        if (bedrooms != null) {
-            spec = spec.and(PropertySpecification.hasBedrooms(bedrooms));
-        }
-        if (bathrooms != null) {
-            spec = spec.and(PropertySpecification.hasBathrooms(bathrooms));
-        }
-        if (search != null && !search.isEmpty()) {
-            spec = spec.and(PropertySpecification.searchByText(search));
-        }
-
-        spec = spec.and(PropertySpecification.isActive(true));
+        Specification<Property> spec = buildPermissionFilterSpecification(
+                userId, accessibleOrganizationIds, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
 
         return propertyRepository.findAll(spec, pageable);
     }
@@ -611,53 +515,185 @@ public class PropertyService {
             Integer bathrooms,
             String search) {
         
+        Specification<Property> spec = buildPermissionFilterSpecification(
+                userId, accessibleOrganizationIds, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+
+        return propertyRepository.findAll(spec);
+    }
+
+    /**
+     * Récupérer les propriétés avec filtres et permissions en pagination par curseur (keyset)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Property> getPropertiesWithFiltersAndPermissionsAfter(
+            Long userId,
+            Set<Long> accessibleOrganizationIds,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String sortBy,
+            String after,
+            int size,
+            boolean includeTotal) {
+
+        Specification<Property> spec = buildPermissionFilterSpecification(
+                userId, accessibleOrganizationIds, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+
+        Sort.Order order = PropertySortHelper.fromParameter(sortBy).iterator().next();
+        return propertyRepository.findAllAfter(spec, order, after, size, includeTotal);
+    }
+
+    /**
+     * Construit la specification des filtres back-office (propriétés actives uniquement)
+     * Partagée avec PropertyExportService.
+     */
+    Specification<Property> buildFilterSpecification(
+            Long organizationId,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search) {
+
         Specification<Property> spec = Specification.where(null);
 
-        // Filtrer selon les permissions
+        // Filtre par organisation
+        if (organizationId != null) {
+            spec = spec.and(PropertySpecification.hasOrganization(organizationId));
+        }
+
+        return applyCommonFilters(spec, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+    }
+
+    /**
+     * Construit la specification des filtres back-office restreinte aux propriétés accessibles :
+     * créées par l'utilisateur OU dans ses organisations
+     */
+    Specification<Property> buildPermissionFilterSpecification(
+            Long userId,
+            Set<Long> accessibleOrganizationIds,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search) {
+
+        Specification<Property> spec = Specification.where(null);
+
+        // Filtrer selon les permissions : propriétés créées par l'utilisateur OU dans ses organisations
         if (accessibleOrganizationIds != null && !accessibleOrganizationIds.isEmpty()) {
             spec = spec.and(PropertySpecification.accessibleByUser(userId, accessibleOrganizationIds));
         } else {
+            // Si pas d'organisations, seulement les propriétés créées par l'utilisateur
             spec = spec.and(PropertySpecification.hasCreatedBy(userId));
         }
 
-        // Appliquer les autres filtres
+        return applyCommonFilters(spec, assignedUserId, teamId, status,
+                type, city, country, minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search);
+    }
+
+    private Specification<Property> applyCommonFilters(
+            Specification<Property> spec,
+            Long assignedUserId,
+            Long teamId,
+            String status,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search) {
+
+        // Filtre par utilisateur assigné
         if (assignedUserId != null) {
             spec = spec.and(PropertySpecification.hasAssignedUser(assignedUserId));
         }
+
+        // Filtre par team
         if (teamId != null) {
             spec = spec.and(PropertySpecification.hasTeam(teamId));
         }
+
+        // Filtre par statut
         if (status != null && !status.isEmpty()) {
             spec = spec.and(PropertySpecification.hasStatus(status));
         }
+
+        // Filtre par type
         if (type != null && !type.isEmpty()) {
             spec = spec.and(PropertySpecification.hasType(type));
         }
+
+        // Filtre par ville
         if (city != null && !city.isEmpty()) {
             spec = spec.and(PropertySpecification.hasCity(city));
         }
+
+        // Filtre par pays
         if (country != null && !country.isEmpty()) {
             spec = spec.and(PropertySpecification.hasCountry(country));
         }
+
+        // Filtre par plage de prix
         if (minPrice != null || maxPrice != null) {
             spec = spec.and(PropertySpecification.hasPriceRange(minPrice, maxPrice));
         }
+
+        // Filtre par plage de surface
         if (minSurface != null || maxSurface != null) {
             spec = spec.and(PropertySpecification.hasSurfaceRange(minSurface, maxSurface));
         }
+
+        // Filtre par nombre de chambres
         if (bedrooms != null) {
             spec = spec.and(PropertySpecification.hasBedrooms(bedrooms));
         }
+
+        // Filtre par nombre de salles de bain
         if (bathrooms != null) {
             spec = spec.and(PropertySpecification.hasBathrooms(bathrooms));
         }
+
+        // Recherche textuelle
         if (search != null && !search.isEmpty()) {
             spec = spec.and(PropertySpecification.searchByText(search));
         }
 
-        spec = spec.and(PropertySpecification.isActive(true));
-
-        return propertyRepository.findAll(spec);
+        // Par défaut, ne retourner que les propriétés actives
+        return spec.and(PropertySpecification.isActive(true));
     }
 
     @Transactional
@@ -679,6 +715,10 @@ public class PropertyService {
         }
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
+        // Valeurs avant modification : les pages de listing de l'ancienne ville / ancien type sont aussi à invalider
+        String previousType = property.getType();
+        String previousCity = property.getCity();
+        String previousSlug = property.getSlug();
 
         if (propertyDetails.getTitle() != null) {
             property.setTitle(propertyDetails.getTitle());
@@ -709,7 +749,7 @@ public class PropertyService {
                     
                     // Récupérer l'ID de l'utilisateur depuis propertyDetails ou property
                     Long userId = propertyDetails.getCreatedBy() != null ? propertyDetails.getCreatedBy() : property.getCreatedBy();
-                    priceHistoryService.createPriceHistory(priceHistoryDTO, userId);
+                    priceHistoryService.recordPriceHistory(priceHistoryDTO, userId);
                 } catch (Exception e) {
                     logger.warn("Failed to create price history entry for property {}: {}", id, e.getMessage());
                     // Ne pas bloquer la mise à jour de la propriété si l'historique échoue
@@ -843,21 +883,32 @@ public class PropertyService {
 
         Property updated = propertyRepository.save(property);
         
+        PropertyUpdatedEvent updatedEvent = new PropertyUpdatedEvent(
+                updated.getOrganizationId(),
+                updated.getCreatedBy(),
+                updated.getId(),
+                updated.getReference(),
+                updated.getTitle(),
+                updated.getType(),
+                updated.getPrice(),
+                updated.getStatus(),
+                updated.getCity(),
+                updated.getCountry()
+        );
+        updatedEvent.setSlug(updated.getSlug());
+        updatedEvent.setTransactionType(updated.getTransactionType());
+        updatedEvent.setSurface(updated.getSurface());
+        updatedEvent.setPreviousPropertyType(previousType);
+        updatedEvent.setPreviousCity(previousCity);
+        updatedEvent.setPreviousSlug(previousSlug);
+        if (oldPrice != null && updated.getPrice() != null && oldPrice.compareTo(updated.getPrice()) != 0) {
+            updatedEvent.setPreviousPrice(oldPrice);
+        }
+        // Événement local (invalidation des caches publics, alertes de prix après commit)
+        publishLocalEvent(updatedEvent);
         // Publish event to Kafka (if Kafka is configured)
         if (eventProducer != null) {
-            PropertyUpdatedEvent event = new PropertyUpdatedEvent(
-                    updated.getOrganizationId(),
-                    updated.getCreatedBy(),
-                    updated.getId(),
-                    updated.getReference(),
-                    updated.getTitle(),
-                    updated.getType(),
-                    updated.getPrice(),
-                    updated.getStatus(),
-                    updated.getCity(),
-                    updated.getCountry()
-            );
-            eventProducer.publishPropertyUpdated(event);
+            eventProducer.publishPropertyUpdated(updatedEvent);
         }
         
         return updated;
@@ -865,10 +916,57 @@ public class PropertyService {
 
     @Transactional
     public void deleteProperty(Long id) {
-        if (!propertyRepository.existsById(id)) {
-            throw new RuntimeException("Property not found with id: " + id);
-        }
+        Property property = propertyRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
         propertyRepository.deleteById(id);
+
+        // Événement local uniquement (pas de suppression côté Kafka) : invalide les caches publics
+        PropertyUpdatedEvent deletedEvent = new PropertyUpdatedEvent(
+                property.getOrganizationId(),
+                property.getCreatedBy(),
+                property.getId(),
+                property.getReference(),
+                property.getTitle(),
+                property.getType(),
+                property.getPrice(),
+                "DELETED",
+                property.getCity(),
+                property.getCountry()
+        );
+        deletedEvent.setSlug(property.getSlug());
+        publishLocalEvent(deletedEvent);
+    }
+
+    /**
+     * Caractéristiques modifiées : les PropertyDTO publics en cache les embarquent, même invalidation
+     * qu'une mise à jour (événement local uniquement, l'annonce elle-même n'a pas changé)
+     */
+    private void publishFeaturesChanged(Property property) {
+        if (property == null) {
+            return;
+        }
+        PropertyUpdatedEvent featuresEvent = new PropertyUpdatedEvent(
+                property.getOrganizationId(),
+                property.getCreatedBy(),
+                property.getId(),
+                property.getReference(),
+                property.getTitle(),
+                property.getType(),
+                property.getPrice(),
+                property.getStatus(),
+                property.getCity(),
+                property.getCountry()
+        );
+        featuresEvent.setSlug(property.getSlug());
+        featuresEvent.setTransactionType(property.getTransactionType());
+        featuresEvent.setSurface(property.getSurface());
+        publishLocalEvent(featuresEvent);
+    }
+
+    private void publishLocalEvent(Object event) {
+        if (applicationEventPublisher != null) {
+            applicationEventPublisher.publishEvent(event);
+        }
     }
 
     @Transactional
@@ -910,10 +1008,14 @@ public class PropertyService {
             existingFeature.setValue(feature.getValue());
             existingFeature.setType(feature.getType());
             existingFeature.setActive(true);
-            return propertyFeatureRepository.save(existingFeature);
+            PropertyFeature saved = propertyFeatureRepository.save(existingFeature);
+            publishFeaturesChanged(property);
+            return saved;
         } else {
             feature.setProperty(property);
-            return propertyFeatureRepository.save(feature);
+            PropertyFeature saved = propertyFeatureRepository.save(feature);
+            publishFeaturesChanged(property);
+            return saved;
         }
     }
 
@@ -923,6 +1025,7 @@ public class PropertyService {
                 .findByPropertyIdAndKey(propertyId, featureKey)
                 .orElseThrow(() -> new RuntimeException("Feature not found: " + featureKey));
         propertyFeatureRepository.delete(feature);
+        publishFeaturesChanged(feature.getProperty());
     }
 
     /**
@@ -957,6 +1060,7 @@ public class PropertyService {
                 propertyFeatureRepository.save(feature);
             }
         }
+        publishFeaturesChanged(property);
 
         return propertyFeatureRepository.findActiveByPropertyId(propertyId);
     }
@@ -988,6 +1092,7 @@ public class PropertyService {
             feature.setType("STRING");
             propertyFeatureRepository.save(feature);
         }
+        publishFeaturesChanged(property);
 
         return propertyFeatureRepository.findActiveByPropertyId(propertyId);
     }
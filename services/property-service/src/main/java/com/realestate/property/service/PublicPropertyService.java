@@ -1,26 +1,55 @@
 package com.realestate.property.service;
 
+import com.realestate.common.document.PropertyDocument;
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.dto.CursorPage;
+import com.realestate.property.dto.FacetBucketDTO;
+import com.realestate.property.dto.PagedPropertyCardResponse;
 import com.realestate.property.dto.PagedPropertyResponse;
+import com.realestate.property.dto.PropertyCardDTO;
+import com.realestate.property.dto.PropertyClusterDTO;
+import com.realestate.property.dto.PropertyClusterResponse;
 import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.dto.PropertyFacetsDTO;
 import com.realestate.property.dto.SearchSuggestionsDTO;
 import com.realestate.property.entity.Property;
 import com.realestate.property.mapper.PropertyMapper;
 import com.realestate.property.repository.PropertyRepository;
 import com.realestate.property.specification.PropertySpecification;
+import com.realestate.property.util.GeoArea;
+import com.realestate.property.util.GeoHash;
+import com.realestate.property.util.KeysetCursor;
+import com.realestate.property.util.PriceBands;
+import com.realestate.property.util.PropertySortHelper;
+import com.realestate.property.util.SearchQueryParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service optimisé pour les requêtes publiques de propriétés
@@ -28,6 +57,8 @@ import java.util.List;
  * Stratégie de performance :
  * 1. Utilise Elasticsearch si disponible (recherche full-text, filtres complexes)
  * 2. Fallback sur PostgreSQL avec JPA Specifications (filtres simples)
+ *    - recherche textuelle plein texte (tsvector/GIN) si search.full-text.enabled, sinon LIKE
+ *    - zone géographique (bbox / near + radiusKm) via l'index geohash
  * 3. Cache Redis pour les résultats fréquents
  * 4. Pagination optimisée
  */
@@ -35,7 +66,33 @@ import java.util.List;
 public class PublicPropertyService {
 
     private static final Logger logger = LoggerFactory.getLogger(PublicPropertyService.class);
+
+    /**
+     * Nombre maximal de cellules d'agrégation de carte par requête (précision réduite au-delà)
+     */
+    static final int MAX_CLUSTER_CELLS = 1024;
+
+    /**
+     * Nombre de villes retournées dans les facettes (les plus représentées)
+     */
+    static final int MAX_FACET_CITIES = 20;
+
+    // Bits de GROUPING(type, transaction_type, city, bande de prix) : 0 = colonne du grouping set courant
+    private static final int GROUPED_BY_TYPE = 0b0111;
+    private static final int GROUPED_BY_TRANSACTION_TYPE = 0b1011;
+    private static final int GROUPED_BY_CITY = 0b1101;
+    private static final int GROUPED_BY_PRICE_BAND = 0b1110;
+
+    /**
+     * Colonnes lues par la projection carte, dans l'ordre du constructeur de PropertyCardDTO
+     */
+    private static final List<String> CARD_COLUMNS = List.of(
+            "id", "slug", "title", "type", "transactionType", "price", "currency",
+            "surface", "bedrooms", "city", "ogImage", "latitude", "longitude");
     
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final PropertyRepository propertyRepository;
     private final PropertyMapper propertyMapper;
     
@@ -43,6 +100,10 @@ public class PublicPropertyService {
     @Autowired(required = false)
     private PropertySearchService propertySearchService;
 
+    // Recherche plein texte PostgreSQL (tsvector + GIN) au lieu des LIKE '%terme%'
+    @Value("${search.full-text.enabled:false}")
+    private boolean fullTextSearchEnabled;
+
     public PublicPropertyService(
             PropertyRepository propertyRepository,
             PropertyMapper propertyMapper) {
@@ -55,10 +116,12 @@ public class PublicPropertyService {
      * 
      * Stratégie :
      * - Si recherche textuelle complexe ET Elasticsearch disponible → utilise Elasticsearch
+     *   (sauf filtre géographique, servi par l'index geohash PostgreSQL)
      * - Sinon → utilise PostgreSQL avec JPA Specifications (plus rapide pour filtres simples)
-     * - Cache Redis avec PagedPropertyResponse (sérialisable)
+     * - Cache Redis avec PagedPropertyResponse (sérialisable), clé canonique (PublicListingKeyGenerator)
+     * - sync : les miss concurrents sur une même clé ne déclenchent qu'une requête par instance
      */
-    @Cacheable(value = "publicProperties", key = "#root.method.name + '_' + (#organizationId != null ? #organizationId : 'null') + '_' + #type + '_' + #city + '_' + #minPrice + '_' + #maxPrice + '_' + #page + '_' + #size + '_' + #search + '_' + #sortBy + '_' + #transactionType + '_' + (#createdAfter != null ? #createdAfter : 'null')")
+    @Cacheable(value = "publicProperties", keyGenerator = "publicListingKeyGenerator", sync = true)
     @Transactional(readOnly = true)
     public PagedPropertyResponse getPublishedProperties(
             Long organizationId,
@@ -75,14 +138,18 @@ public class PublicPropertyService {
             String sortBy,
             String transactionType,
             String createdAfter,
+            String bbox,
+            String near,
+            Double radiusKm,
             int page,
             int size) {
         
         long startTime = System.currentTimeMillis();
+        GeoArea area = GeoArea.fromParameters(bbox, near, radiusKm);
         
             try {
                 // Stratégie 1 : Si recherche textuelle ET Elasticsearch disponible → utilise Elasticsearch
-                if (search != null && !search.trim().isEmpty() && propertySearchService != null) {
+                if (search != null && !search.trim().isEmpty() && propertySearchService != null && area == null) {
                     logger.debug("Using Elasticsearch for text search: {}", search);
                     return getPropertiesFromElasticsearch(
                             organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
@@ -93,7 +160,7 @@ public class PublicPropertyService {
                 logger.debug("Using PostgreSQL with JPA Specifications");
                 return getPropertiesFromDatabase(
                         organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
-                        bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, page, size);
+                        bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, area, page, size);
                     
         } finally {
             long duration = System.currentTimeMillis() - startTime;
@@ -101,27 +168,63 @@ public class PublicPropertyService {
         }
     }
 
-        /**
-         * Récupère depuis Elasticsearch (si disponible)
-         */
-        private PagedPropertyResponse getPropertiesFromElasticsearch(
-                Long organizationId,
-                String type, String city, String country,
-                BigDecimal minPrice, BigDecimal maxPrice,
-                BigDecimal minSurface, BigDecimal maxSurface,
-                Integer bedrooms, Integer bathrooms,
-                String search, String sortBy, String transactionType, String createdAfter, int page, int size) {
-
-            // TODO: Implémenter la recherche Elasticsearch avec tous les filtres
-            // Pour l'instant, fallback sur PostgreSQL
-            logger.warn("Elasticsearch search not fully implemented, falling back to PostgreSQL");
+    /**
+     * Récupère depuis Elasticsearch (si disponible)
+     * 
+     * Elasticsearch évalue la recherche textuelle et tous les filtres, puis seule la page
+     * d'IDs retournée est chargée depuis PostgreSQL (lookup par clé primaire) pour produire
+     * des PropertyDTO identiques au chemin base de données.
+     * En cas d'erreur Elasticsearch, fallback sur PostgreSQL.
+     */
+    private PagedPropertyResponse getPropertiesFromElasticsearch(
+            Long organizationId,
+            String type, String city, String country,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            BigDecimal minSurface, BigDecimal maxSurface,
+            Integer bedrooms, Integer bathrooms,
+            String search, String sortBy, String transactionType, String createdAfter, int page, int size) {
+
+        try {
+            Pageable pageable = PageRequest.of(page, size, PropertySortHelper.fromParameter(sortBy));
+            Page<PropertyDocument> documentPage = propertySearchService.searchPublishedProperties(
+                    organizationId, type, normalizeTransactionType(transactionType), city, country,
+                    minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search,
+                    parseCreatedAfter(createdAfter), pageable);
+
+            List<Long> ids = documentPage.getContent().stream()
+                    .map(PropertyDocument::getId)
+                    .collect(java.util.stream.Collectors.toList());
+
+            // Conserver l'ordre (pertinence / tri) retourné par Elasticsearch
+            Map<Long, Property> propertiesById = new HashMap<>();
+            for (Property property : propertyRepository.findAllById(ids)) {
+                propertiesById.put(property.getId(), property);
+            }
+            List<PropertyDTO> content = propertyMapper.toDTOs(ids.stream()
+                    .map(propertiesById::get)
+                    .filter(java.util.Objects::nonNull)
+                    .collect(java.util.stream.Collectors.toList()));
+
+            return new PagedPropertyResponse(
+                    content,
+                    documentPage.getNumber(),
+                    documentPage.getTotalPages(),
+                    documentPage.getTotalElements(),
+                    documentPage.getSize(),
+                    documentPage.isFirst(),
+                    documentPage.isLast()
+            );
+        } catch (Exception e) {
+            logger.warn("Elasticsearch search failed, falling back to PostgreSQL: {}", e.getMessage());
             return getPropertiesFromDatabase(
                     organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
-                    bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, page, size);
+                    bedrooms, bathrooms, search, sortBy, transactionType, createdAfter, null, page, size);
         }
+    }
 
     /**
      * Récupère depuis PostgreSQL avec JPA Specifications (optimisé)
+     * Recherche autour d'un point sans tri explicite : résultats triés par distance croissante
      */
     private PagedPropertyResponse getPropertiesFromDatabase(
             Long organizationId,
@@ -129,7 +232,533 @@ public class PublicPropertyService {
             BigDecimal minPrice, BigDecimal maxPrice,
             BigDecimal minSurface, BigDecimal maxSurface,
             Integer bedrooms, Integer bathrooms,
-            String search, String sortBy, String transactionType, String createdAfter, int page, int size) {
+            String search, String sortBy, String transactionType, String createdAfter,
+            GeoArea area, int page, int size) {
+        
+        // Recherche plein texte PostgreSQL (index GIN), triée par pertinence si pas de tri explicite
+        String tsQuery = resolveTsQuery(search);
+        boolean orderByRank = tsQuery != null && PropertySortHelper.isDefaultSort(sortBy);
+        boolean orderByDistance = !orderByRank && area != null && area.isCircle()
+                && PropertySortHelper.isDefaultSort(sortBy);
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, tsQuery, orderByRank, transactionType, createdAfter,
+                area, orderByDistance);
+
+        // Déterminer le tri selon le paramètre sortBy
+        Sort sort = PropertySortHelper.fromParameter(sortBy);
+        
+        // Pagination optimisée avec tri (le tri par pertinence ou distance est porté par la specification)
+        Pageable pageable = orderByRank || orderByDistance ? PageRequest.of(page, size) : PageRequest.of(page, size, sort);
+        
+        Page<Property> propertyPage = propertyRepository.findAll(spec, pageable);
+        
+        // Convertir Page<Property> en List<PropertyDTO>
+        List<PropertyDTO> content = propertyMapper.toDTOs(propertyPage.getContent());
+        
+        // Créer la réponse paginée sérialisable
+        return new PagedPropertyResponse(
+                content,
+                propertyPage.getNumber(),
+                propertyPage.getTotalPages(),
+                propertyPage.getTotalElements(),
+                propertyPage.getSize(),
+                propertyPage.isFirst(),
+                propertyPage.isLast()
+        );
+    }
+
+    /**
+     * Récupère les propriétés publiées en pagination par curseur (keyset)
+     * 
+     * Pas d'OFFSET : la page suivante est lue via le prédicat "(clé de tri, id) après le curseur"
+     * sur les index (clé, id), coût constant quelle que soit la profondeur.
+     * Le COUNT n'est exécuté que si includeTotal (totalElements/totalPages à -1 sinon).
+     * Toujours servi par PostgreSQL ; la recherche textuelle filtre mais ne trie pas par pertinence
+     * (le rang n'est pas une clé de curseur stable), de même la zone géographique ne trie pas par distance.
+     */
+    @Cacheable(value = "publicProperties", keyGenerator = "publicListingKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public PagedPropertyResponse getPublishedPropertiesAfter(
+            Long organizationId,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String sortBy,
+            String transactionType,
+            String createdAfter,
+            String bbox,
+            String near,
+            Double radiusKm,
+            String after,
+            int size,
+            boolean includeTotal) {
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, resolveTsQuery(search), false, transactionType, createdAfter,
+                GeoArea.fromParameters(bbox, near, radiusKm), false);
+
+        Sort.Order order = PropertySortHelper.fromParameter(sortBy).iterator().next();
+        CursorPage<Property> cursorPage = propertyRepository.findAllAfter(spec, order, after, size, includeTotal);
+
+        List<PropertyDTO> content = propertyMapper.toDTOs(cursorPage.getContent());
+
+        long totalElements = cursorPage.getTotalElements() != null ? cursorPage.getTotalElements() : -1;
+        int totalPages = cursorPage.getTotalElements() != null
+                ? (int) Math.ceil((double) totalElements / size)
+                : -1;
+
+        PagedPropertyResponse response = new PagedPropertyResponse(
+                content,
+                0,
+                totalPages,
+                totalElements,
+                size,
+                after == null || after.isEmpty(),
+                !cursorPage.isHasNext()
+        );
+        response.setNextCursor(cursorPage.getNextCursor());
+        return response;
+    }
+
+    /**
+     * Récupère les propriétés publiées en cartes compactes (view=card)
+     * 
+     * Mêmes filtres, tri et stratégie (Elasticsearch / PostgreSQL) que getPublishedProperties, mais
+     * projection sur les seules colonnes d'affichage : ni entité Property (colonnes TEXT/JSON, contexte
+     * de persistance) ni PropertyMapper (caractéristiques, noms d'organisation et d'agent).
+     * Cache publicPropertyCards : clés canoniques et tags des listings.
+     */
+    @Cacheable(value = "publicPropertyCards", keyGenerator = "publicListingKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public PagedPropertyCardResponse getPublishedPropertyCards(
+            Long organizationId,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String sortBy,
+            String transactionType,
+            String createdAfter,
+            String bbox,
+            String near,
+            Double radiusKm,
+            int page,
+            int size) {
+
+        GeoArea area = GeoArea.fromParameters(bbox, near, radiusKm);
+
+        if (search != null && !search.trim().isEmpty() && propertySearchService != null && area == null) {
+            try {
+                Pageable pageable = PageRequest.of(page, size, PropertySortHelper.fromParameter(sortBy));
+                Page<PropertyDocument> documentPage = propertySearchService.searchPublishedProperties(
+                        organizationId, type, normalizeTransactionType(transactionType), city, country,
+                        minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search,
+                        parseCreatedAfter(createdAfter), pageable);
+
+                List<Long> ids = documentPage.getContent().stream()
+                        .map(PropertyDocument::getId)
+                        .collect(java.util.stream.Collectors.toList());
+
+                // Conserver l'ordre (pertinence / tri) retourné par Elasticsearch
+                Map<Long, PropertyCardDTO> cardsById = new HashMap<>();
+                if (!ids.isEmpty()) {
+                    for (PropertyCardDTO card : propertyRepository.findCardsByIdIn(ids)) {
+                        cardsById.put(card.getId(), card);
+                    }
+                }
+                List<PropertyCardDTO> content = ids.stream()
+                        .map(cardsById::get)
+                        .filter(java.util.Objects::nonNull)
+                        .collect(java.util.stream.Collectors.toList());
+
+                return new PagedPropertyCardResponse(
+                        content,
+                        documentPage.getNumber(),
+                        documentPage.getTotalPages(),
+                        documentPage.getTotalElements(),
+                        documentPage.getSize(),
+                        documentPage.isFirst(),
+                        documentPage.isLast()
+                );
+            } catch (Exception e) {
+                logger.warn("Elasticsearch search failed, falling back to PostgreSQL: {}", e.getMessage());
+            }
+        }
+
+        String tsQuery = resolveTsQuery(search);
+        boolean orderByRank = tsQuery != null && PropertySortHelper.isDefaultSort(sortBy);
+        boolean orderByDistance = !orderByRank && area != null && area.isCircle()
+                && PropertySortHelper.isDefaultSort(sortBy);
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, tsQuery, orderByRank, transactionType, createdAfter,
+                area, orderByDistance);
+
+        // Le tri par pertinence ou distance est porté par la specification
+        Pageable pageable = orderByRank || orderByDistance
+                ? PageRequest.of(page, size)
+                : PageRequest.of(page, size, PropertySortHelper.fromParameter(sortBy));
+
+        List<PropertyCardDTO> content = new ArrayList<>();
+        for (Object[] row : findCardRows(spec, pageable.getSort(), null, pageable.getOffset(), size)) {
+            content.add(toCard(row));
+        }
+        // COUNT évité si la page est incomplète (même règle que findAll(spec, pageable))
+        Page<PropertyCardDTO> cardPage = PageableExecutionUtils.getPage(content, pageable, () -> propertyRepository.count(spec));
+
+        return new PagedPropertyCardResponse(
+                cardPage.getContent(),
+                cardPage.getNumber(),
+                cardPage.getTotalPages(),
+                cardPage.getTotalElements(),
+                cardPage.getSize(),
+                cardPage.isFirst(),
+                cardPage.isLast()
+        );
+    }
+
+    /**
+     * Cartes compactes en pagination par curseur (keyset), mêmes règles que getPublishedPropertiesAfter
+     * La clé de tri est lue avec les colonnes de la carte pour construire le curseur suivant.
+     */
+    @Cacheable(value = "publicPropertyCards", keyGenerator = "publicListingKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public PagedPropertyCardResponse getPublishedPropertyCardsAfter(
+            Long organizationId,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String sortBy,
+            String transactionType,
+            String createdAfter,
+            String bbox,
+            String near,
+            Double radiusKm,
+            String after,
+            int size,
+            boolean includeTotal) {
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, resolveTsQuery(search), false, transactionType, createdAfter,
+                GeoArea.fromParameters(bbox, near, radiusKm), false);
+
+        int pageSize = Math.max(size, 1);
+        Sort.Order order = PropertySortHelper.fromParameter(sortBy).iterator().next();
+        KeysetCursor cursor = after != null && !after.isEmpty() ? KeysetCursor.decode(after, order) : null;
+        Sort sort = Sort.by(order).and(Sort.by(order.getDirection(), "id"));
+
+        List<Object[]> rows = findCardRows(
+                Specification.where(spec).and(PropertySpecification.keysetAfter(cursor)),
+                sort, order.getProperty(), 0, pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<PropertyCardDTO> content = new ArrayList<>();
+        for (Object[] row : hasNext ? rows.subList(0, pageSize) : rows) {
+            content.add(toCard(row));
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = new KeysetCursor(order.getProperty(), order.getDirection(),
+                    (Comparable<?>) last[CARD_COLUMNS.size()], (Long) last[0]).encode();
+        }
+
+        long totalElements = includeTotal ? propertyRepository.count(spec) : -1;
+        int totalPages = includeTotal ? (int) Math.ceil((double) totalElements / size) : -1;
+
+        PagedPropertyCardResponse response = new PagedPropertyCardResponse(
+                content,
+                0,
+                totalPages,
+                totalElements,
+                size,
+                after == null || after.isEmpty(),
+                !hasNext
+        );
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
+    /**
+     * Projection carte : SELECT des colonnes CARD_COLUMNS (+ la clé de tri du curseur si keysetField)
+     * Le tri de la specification (pertinence, distance) s'applique si sort est vide.
+     */
+    private List<Object[]> findCardRows(
+            Specification<Property> spec, Sort sort, String keysetField, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String column : CARD_COLUMNS) {
+            selections.add(root.get(column));
+        }
+        if (keysetField != null) {
+            selections.add(root.get(keysetField));
+        }
+        query.multiselect(selections).where(spec.toPredicate(root, query, cb));
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private PropertyCardDTO toCard(Object[] row) {
+        return new PropertyCardDTO(
+                (Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (BigDecimal) row[5], (String) row[6], (BigDecimal) row[7], (Integer) row[8], (String) row[9],
+                (String) row[10], (BigDecimal) row[11], (BigDecimal) row[12]);
+    }
+
+    /**
+     * Agrégation de carte : propriétés publiées de la zone regroupées par cellule geohash
+     * 
+     * Mêmes filtres que getPublishedProperties, évalués par PostgreSQL (index geohash) en une requête
+     * GROUP BY sur le préfixe geohash de la précision du zoom : nombre, centroïde, prix minimum et médian
+     * (agrégat property_median, scripts/migration-add-property-cluster-aggregates.sql).
+     * Les cellules d'une seule propriété portent sa carte compacte (projection, sans entité).
+     * bbox doit être aligné sur la grille de la précision (GeoArea.snapToGrid) pour partager le cache.
+     */
+    @Cacheable(value = "propertyClusters", keyGenerator = "publicListingKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public PropertyClusterResponse getPropertyClusters(
+            Long organizationId,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String transactionType,
+            String createdAfter,
+            String bbox,
+            int zoom) {
+
+        long startTime = System.currentTimeMillis();
+        GeoArea area = GeoArea.fromParameters(bbox, null, null);
+        if (area == null) {
+            throw new BadRequestException("bbox is required");
+        }
+        int precision = Math.min(GeoHash.precisionForZoom(zoom), GeoHash.coverPrecision(
+                area.getMinLat(), area.getMinLon(), area.getMaxLat(), area.getMaxLon(), MAX_CLUSTER_CELLS));
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, resolveTsQuery(search), false, transactionType, createdAfter,
+                area, false);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+        Path<String> geohash = root.get("geohash");
+        Path<BigDecimal> price = root.get("price");
+        // Seuls des agrégats sont sélectionnés : la cellule est déduite de min(geohash)
+        query.multiselect(
+                        cb.count(root),
+                        cb.avg(root.get("latitude")),
+                        cb.avg(root.get("longitude")),
+                        cb.min(price),
+                        cb.function("property_median", BigDecimal.class, price),
+                        cb.min(root.get("id")),
+                        cb.least(geohash))
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(cb.substring(geohash, 1, precision));
+
+        List<PropertyClusterDTO> clusters = new ArrayList<>();
+        Map<Long, PropertyClusterDTO> singles = new HashMap<>();
+        long total = 0;
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            long count = ((Number) row[0]).longValue();
+            PropertyClusterDTO cluster = new PropertyClusterDTO(
+                    ((String) row[6]).substring(0, precision),
+                    count,
+                    row[1] != null ? ((Number) row[1]).doubleValue() : null,
+                    row[2] != null ? ((Number) row[2]).doubleValue() : null,
+                    toBigDecimal(row[3]),
+                    toBigDecimal(row[4]));
+            if (count == 1) {
+                singles.put(((Number) row[5]).longValue(), cluster);
+            }
+            clusters.add(cluster);
+            total += count;
+        }
+        if (!singles.isEmpty()) {
+            for (PropertyCardDTO card : propertyRepository.findCardsByIdIn(singles.keySet())) {
+                singles.get(card.getId()).setProperty(card);
+            }
+        }
+        clusters.sort(java.util.Comparator.comparing(PropertyClusterDTO::getGeohash));
+
+        logger.debug("Property clusters (zoom {}, precision {}): {} cells in {}ms",
+                zoom, precision, clusters.size(), System.currentTimeMillis() - startTime);
+        return new PropertyClusterResponse(zoom, precision, total, clusters);
+    }
+
+    /**
+     * Compteurs de facettes (type, type de transaction, villes, tranches de prix) pour les filtres courants
+     * 
+     * - Elasticsearch si disponible (agrégations terms / filters, une requête), sauf filtre géographique
+     * - Sinon PostgreSQL : une requête GROUP BY GROUPING SETS ((type), (transaction_type), (city), (tranche))
+     *   sur la même specification que la liste (scripts/migration-add-property-facet-functions.sql)
+     * Mise en cache avec le générateur de clés canonique et les tags des listings (cache propertyFacets) :
+     * pagination et tri n'en font pas partie, toutes les pages d'une recherche partagent l'entrée.
+     */
+    @Cacheable(value = "propertyFacets", keyGenerator = "publicListingKeyGenerator", sync = true)
+    @Transactional(readOnly = true)
+    public PropertyFacetsDTO getPropertyFacets(
+            Long organizationId,
+            String type,
+            String city,
+            String country,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            BigDecimal minSurface,
+            BigDecimal maxSurface,
+            Integer bedrooms,
+            Integer bathrooms,
+            String search,
+            String transactionType,
+            String createdAfter,
+            String bbox,
+            String near,
+            Double radiusKm) {
+
+        GeoArea area = GeoArea.fromParameters(bbox, near, radiusKm);
+        String normalizedTransactionType = normalizeTransactionType(transactionType);
+        List<BigDecimal> priceBands = PriceBands.forTransactionType(normalizedTransactionType);
+
+        if (propertySearchService != null && area == null) {
+            try {
+                return propertySearchService.aggregatePublishedFacets(
+                        organizationId, type, normalizedTransactionType, city, country,
+                        minPrice, maxPrice, minSurface, maxSurface, bedrooms, bathrooms, search,
+                        parseCreatedAfter(createdAfter), priceBands, MAX_FACET_CITIES);
+            } catch (Exception e) {
+                logger.warn("Elasticsearch facets failed, falling back to PostgreSQL: {}", e.getMessage());
+            }
+        }
+
+        Specification<Property> spec = buildPublishedSpecification(
+                organizationId, type, city, country, minPrice, maxPrice, minSurface, maxSurface,
+                bedrooms, bathrooms, search, resolveTsQuery(search), false, transactionType, createdAfter,
+                area, false);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Property> root = query.from(Property.class);
+        Expression<String> typeColumn = root.get("type");
+        Expression<String> transactionTypeColumn = root.get("transactionType");
+        Expression<String> cityColumn = root.get("city");
+        // Tranche calculée par une fonction SQL sans paramètre : SELECT et GROUP BY restent identiques
+        Expression<Integer> priceBand = cb.function(PriceBands.sqlFunction(priceBands), Integer.class, root.get("price"));
+        // GROUPING SETS n'existe pas en Criteria : rendu tel quel par Hibernate comme un appel de fonction
+        query.multiselect(
+                        typeColumn,
+                        transactionTypeColumn,
+                        cityColumn,
+                        priceBand,
+                        cb.function("grouping", Integer.class, typeColumn, transactionTypeColumn, cityColumn, priceBand),
+                        cb.count(root))
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(cb.function("grouping sets", Object.class, typeColumn, transactionTypeColumn, cityColumn, priceBand));
+
+        List<FacetBucketDTO> types = new ArrayList<>();
+        List<FacetBucketDTO> transactionTypes = new ArrayList<>();
+        List<FacetBucketDTO> cities = new ArrayList<>();
+        Map<Integer, Long> bandCounts = new java.util.TreeMap<>();
+        long total = 0;
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            int grouping = ((Number) row[4]).intValue();
+            long count = ((Number) row[5]).longValue();
+            switch (grouping) {
+                case GROUPED_BY_TYPE -> {
+                    // Le grouping set (type) couvre toutes les lignes : sa somme est le total
+                    total += count;
+                    if (row[0] != null) {
+                        types.add(new FacetBucketDTO((String) row[0], count));
+                    }
+                }
+                case GROUPED_BY_TRANSACTION_TYPE -> {
+                    if (row[1] != null) {
+                        transactionTypes.add(new FacetBucketDTO((String) row[1], count));
+                    }
+                }
+                case GROUPED_BY_CITY -> {
+                    if (row[2] != null && !((String) row[2]).isBlank()) {
+                        cities.add(new FacetBucketDTO((String) row[2], count));
+                    }
+                }
+                case GROUPED_BY_PRICE_BAND -> {
+                    if (row[3] != null) {
+                        bandCounts.put(((Number) row[3]).intValue(), count);
+                    }
+                }
+                default -> { }
+            }
+        }
+
+        java.util.Comparator<FacetBucketDTO> byCountDesc = java.util.Comparator
+                .comparingLong(FacetBucketDTO::getCount).reversed()
+                .thenComparing(FacetBucketDTO::getValue);
+        types.sort(byCountDesc);
+        transactionTypes.sort(byCountDesc);
+        cities.sort(byCountDesc);
+        List<FacetBucketDTO> bands = new ArrayList<>();
+        bandCounts.forEach((band, count) -> bands.add(PriceBands.bucket(priceBands, band, count)));
+
+        return new PropertyFacetsDTO(
+                total,
+                types,
+                transactionTypes,
+                cities.size() > MAX_FACET_CITIES ? new ArrayList<>(cities.subList(0, MAX_FACET_CITIES)) : cities,
+                bands);
+    }
+
+    /**
+     * Construit la specification des propriétés publiées/disponibles avec tous les filtres publics
+     * tsQuery : requête to_tsquery si la recherche plein texte est active, sinon recherche LIKE
+     * area : zone géographique (null si aucune)
+     */
+    private Specification<Property> buildPublishedSpecification(
+            Long organizationId,
+            String type, String city, String country,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            BigDecimal minSurface, BigDecimal maxSurface,
+            Integer bedrooms, Integer bathrooms,
+            String search, String tsQuery, boolean orderByRank,
+            String transactionType, String createdAfter,
+            GeoArea area, boolean orderByDistance) {
         
         // Construire la spécification avec tous les filtres
         Specification<Property> spec = Specification.where(
@@ -148,22 +777,16 @@ public class PublicPropertyService {
         
         // Filtre par type de transaction (RENT, SALE)
         if (transactionType != null && !transactionType.isEmpty()) {
-            // Convertir Location/Vente en RENT/SALE
-            String transactionTypeValue = transactionType.toUpperCase();
-            if ("LOCATION".equals(transactionTypeValue)) {
-                transactionTypeValue = "RENT";
-            } else if ("VENTE".equals(transactionTypeValue)) {
-                transactionTypeValue = "SALE";
-            }
-            spec = spec.and(PropertySpecification.hasTransactionType(transactionTypeValue));
+            spec = spec.and(PropertySpecification.hasTransactionType(normalizeTransactionType(transactionType)));
         }
         
+        // Ville et pays insensibles à la casse : cohérent avec la clé canonique du cache publicProperties
         if (city != null && !city.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCity(city));
+            spec = spec.and(PropertySpecification.hasCityIgnoreCase(city));
         }
         
         if (country != null && !country.isEmpty()) {
-            spec = spec.and(PropertySpecification.hasCountry(country));
+            spec = spec.and(PropertySpecification.hasCountryIgnoreCase(country));
         }
         
         if (minPrice != null) {
@@ -191,103 +814,86 @@ public class PublicPropertyService {
         }
         
         if (search != null && !search.trim().isEmpty()) {
-            // Utiliser le parseur de requête style Google
-            com.realestate.property.util.SearchQueryParser.ParsedQuery parsedQuery = 
-                    com.realestate.property.util.SearchQueryParser.parse(search);
-            
-            if (!parsedQuery.isEmpty()) {
-                // Utiliser la recherche avancée
-                spec = spec.and(PropertySpecification.advancedTextSearch(
-                        parsedQuery.getIncludeTerms(),
-                        parsedQuery.getExactPhrases(),
-                        parsedQuery.getExcludeTerms()
-                ));
+            if (tsQuery != null) {
+                // Recherche plein texte PostgreSQL (index GIN)
+                spec = spec.and(PropertySpecification.fullTextSearch(tsQuery, orderByRank));
             } else {
-                // Si le parseur ne trouve rien (tous les mots sont ignorés), 
-                // utiliser une recherche simple sur la requête complète
-                spec = spec.and(PropertySpecification.searchByText(search));
+                // Utiliser le parseur de requête style Google
+                SearchQueryParser.ParsedQuery parsedQuery = SearchQueryParser.parse(search);
+                if (!parsedQuery.isEmpty()) {
+                    // Utiliser la recherche avancée
+                    spec = spec.and(PropertySpecification.advancedTextSearch(
+                            parsedQuery.getIncludeTerms(),
+                            parsedQuery.getExactPhrases(),
+                            parsedQuery.getExcludeTerms()
+                    ));
+                } else {
+                    // Si le parseur ne trouve rien (tous les mots sont ignorés), 
+                    // utiliser une recherche simple sur la requête complète
+                    spec = spec.and(PropertySpecification.searchByText(search));
+                }
             }
         }
 
         // Filtre par date de création
-        if (createdAfter != null && !createdAfter.trim().isEmpty()) {
-            try {
-                java.time.LocalDateTime date = java.time.LocalDateTime.parse(createdAfter);
-                spec = spec.and(PropertySpecification.createdAfter(date));
-            } catch (Exception e) {
-                logger.warn("Invalid createdAfter date format: {}", createdAfter, e);
-            }
+        java.time.LocalDateTime createdAfterDate = parseCreatedAfter(createdAfter);
+        if (createdAfterDate != null) {
+            spec = spec.and(PropertySpecification.createdAfter(createdAfterDate));
         }
 
-        // Déterminer le tri selon le paramètre sortBy
-        Sort sort = getSortFromParameter(sortBy);
-        
-        // Pagination optimisée avec tri
-        Pageable pageable = PageRequest.of(page, size, sort);
-        
-        Page<Property> propertyPage = propertyRepository.findAll(spec, pageable);
-        
-        // Convertir Page<Property> en List<PropertyDTO>
-        List<PropertyDTO> content = propertyPage.getContent().stream()
-                .map(propertyMapper::toDTO)
-                .collect(java.util.stream.Collectors.toList());
-        
-        // Créer la réponse paginée sérialisable
-        return new PagedPropertyResponse(
-                content,
-                propertyPage.getNumber(),
-                propertyPage.getTotalPages(),
-                propertyPage.getTotalElements(),
-                propertyPage.getSize(),
-                propertyPage.isFirst(),
-                propertyPage.isLast()
-        );
+        // Zone géographique (carte) : intervalles geohash indexés puis bornes exactes
+        if (area != null) {
+            spec = spec.and(PropertySpecification.withinArea(area, orderByDistance));
+        }
+
+        return spec;
+    }
+
+    /**
+     * Requête to_tsquery pour la recherche plein texte, null si désactivée ou inutilisable
+     */
+    private String resolveTsQuery(String search) {
+        if (!fullTextSearchEnabled || search == null || search.trim().isEmpty()) {
+            return null;
+        }
+        return SearchQueryParser.toTsQuery(SearchQueryParser.parse(search));
     }
     
     /**
-     * Convertit le paramètre sortBy en Sort Spring Data
-     * Format attendu: "field-direction" (ex: "price-asc", "surface-desc")
+     * Convertit Location/Vente en RENT/SALE
      */
-    private Sort getSortFromParameter(String sortBy) {
-        if (sortBy == null || sortBy.isEmpty() || "default".equals(sortBy)) {
-            // Par défaut: tri par date de création (plus récentes en premier)
-            return Sort.by(Sort.Direction.DESC, "createdAt");
+    private String normalizeTransactionType(String transactionType) {
+        if (transactionType == null || transactionType.trim().isEmpty()) {
+            return null;
         }
-        
-        String[] parts = sortBy.split("-");
-        if (parts.length != 2) {
-            return Sort.by(Sort.Direction.DESC, "createdAt");
+        String transactionTypeValue = transactionType.trim().toUpperCase();
+        if ("LOCATION".equals(transactionTypeValue)) {
+            return "RENT";
+        } else if ("VENTE".equals(transactionTypeValue)) {
+            return "SALE";
         }
-        
-        String field = parts[0];
-        String direction = parts[1].toLowerCase();
-        
-        // Mapper les champs frontend vers les champs entity
-        String entityField = mapFieldToEntity(field);
-        Sort.Direction sortDirection = "asc".equals(direction) 
-                ? Sort.Direction.ASC 
-                : Sort.Direction.DESC;
-        
-        return Sort.by(sortDirection, entityField);
+        return transactionTypeValue;
     }
-    
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
     /**
-     * Mappe les champs du frontend vers les champs de l'entité Property
+     * Parse le paramètre createdAfter (ISO-8601), null si absent ou invalide
      */
-    private String mapFieldToEntity(String field) {
-        switch (field.toLowerCase()) {
-            case "price":
-                return "price";
-            case "surface":
-                return "surface";
-            case "created":
-            case "createdat":
-                return "createdAt";
-            case "updated":
-            case "updatedat":
-                return "updatedAt";
-            default:
-                return "createdAt"; // Par défaut
+    private java.time.LocalDateTime parseCreatedAfter(String createdAfter) {
+        if (createdAfter == null || createdAfter.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return java.time.LocalDateTime.parse(createdAfter);
+        } catch (Exception e) {
+            logger.warn("Invalid createdAfter date format: {}", createdAfter, e);
+            return null;
         }
     }
 
@@ -314,7 +920,8 @@ public class PublicPropertyService {
      * Amélioré avec support de limit, includePopular, includeTrending
      */
     @Cacheable(value = "searchSuggestions", 
-               key = "#search != null ? #search : 'empty' + '-' + (#limit != null ? #limit : 10) + '-' + (#includePopular != null ? #includePopular : true) + '-' + (#includeTrending != null ? #includeTrending : true)")
+               key = "(#search != null ? #search.trim().toLowerCase() : 'empty') + '-' + (#limit != null ? #limit : 10) + '-' + (#includePopular != null ? #includePopular : true) + '-' + (#includeTrending != null ? #includeTrending : true)",
+               sync = true)
     @Transactional(readOnly = true)
     public SearchSuggestionsDTO getSearchSuggestions(
             String search, 
@@ -0,0 +1,225 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.SavedSearch;
+import com.realestate.property.util.IntervalTree;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Index en mémoire des recherches sauvegardées actives (percolation : on indexe les requêtes, pas les annonces)
+ *
+ * Index inversé par (ville, type) — "*" quand la recherche ne filtre pas le critère — puis, dans chaque
+ * bucket, un arbre d'intervalles sur la fourchette de prix. Une annonce consulte au plus 4 buckets
+ * ((ville, type), (ville, *), (*, type), (*, *)), ne parcourt que les recherches dont la fourchette contient son prix,
+ * et vérifie surface, type de transaction et mots-clés sur ces seuls candidats.
+ * Les lectures sont sans verrou : chaque bucket publie une version immuable de son arbre, remplacée à chaque
+ * écriture par insertion / suppression incrémentale (O(log n), IntervalTree persistant). Les écritures sont
+ * sérialisées par l'index : le bucket courant d'une recherche et le contenu des buckets changent ensemble.
+ */
+@Component
+public class SavedSearchIndex {
+
+    static final String ANY = "*";
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    // Bucket courant de chaque recherche (une modification de ville ou de type la déplace), modifié sous verrou
+    private final Map<Long, String> bucketBySearch = new ConcurrentHashMap<>();
+
+    /**
+     * Ajoute ou remplace des recherches ; les inactives sont retirées
+     */
+    public synchronized void putAll(Collection<SavedSearch> searches) {
+        for (SavedSearch search : searches) {
+            removeFromBucket(search.getId());
+            if (Boolean.TRUE.equals(search.getActive())) {
+                String key = bucketKey(search.getCity(), search.getType());
+                buckets.computeIfAbsent(key, k -> new Bucket()).add(new IndexedSearch(search));
+                bucketBySearch.put(search.getId(), key);
+            }
+        }
+    }
+
+    public void put(SavedSearch search) {
+        putAll(List.of(search));
+    }
+
+    public synchronized void remove(Long searchId) {
+        removeFromBucket(searchId);
+    }
+
+    private void removeFromBucket(Long searchId) {
+        String key = bucketBySearch.remove(searchId);
+        Bucket bucket = key != null ? buckets.get(key) : null;
+        if (bucket != null && bucket.remove(searchId)) {
+            buckets.remove(key);
+        }
+    }
+
+    public int size() {
+        return bucketBySearch.size();
+    }
+
+    /**
+     * Recherches auxquelles correspond une annonce (prix obligatoire : une annonce sans prix ne correspond à rien)
+     */
+    public List<IndexedSearch> match(String city, String type, String transactionType,
+                                     BigDecimal price, BigDecimal surface, String title) {
+        List<IndexedSearch> matches = new ArrayList<>();
+        if (price == null) {
+            return matches;
+        }
+        String cityKey = normalize(city);
+        String typeKey = type != null && !type.isBlank() ? type.trim().toUpperCase(Locale.ROOT) : null;
+        Set<String> titleTokens = tokens(title);
+        double surfaceValue = surface != null ? surface.doubleValue() : Double.NaN;
+
+        for (String key : candidateKeys(cityKey, typeKey)) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            bucket.tree.stab(price.doubleValue(), search -> {
+                if (search.matches(transactionType, surfaceValue, titleTokens)) {
+                    matches.add(search);
+                }
+            });
+        }
+        return matches;
+    }
+
+    private static List<String> candidateKeys(String city, String type) {
+        List<String> keys = new ArrayList<>(4);
+        if (city != null && type != null) {
+            keys.add(city + "|" + type);
+        }
+        if (city != null) {
+            keys.add(city + "|" + ANY);
+        }
+        if (type != null) {
+            keys.add(ANY + "|" + type);
+        }
+        keys.add(ANY + "|" + ANY);
+        return keys;
+    }
+
+    static String bucketKey(String city, String type) {
+        String cityKey = normalize(city);
+        String typeKey = type != null && !type.isBlank() ? type.trim().toUpperCase(Locale.ROOT) : null;
+        return (cityKey != null ? cityKey : ANY) + "|" + (typeKey != null ? typeKey : ANY);
+    }
+
+    /**
+     * Minuscules sans accents ni ponctuation ("Saint-Étienne" → "saint etienne"), null si vide
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        normalized = NON_ALPHANUMERIC.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    static Set<String> tokens(String text) {
+        String normalized = normalize(text);
+        return normalized != null ? new HashSet<>(Arrays.asList(normalized.split(" "))) : Set.of();
+    }
+
+    private static double bound(BigDecimal value, double absent) {
+        return value != null ? value.doubleValue() : absent;
+    }
+
+    /**
+     * Recherches d'un bucket : la map n'est modifiée que sous le verrou de l'index, l'arbre publié est immuable
+     */
+    private static final class Bucket {
+        private final Map<Long, IndexedSearch> searches = new HashMap<>();
+        private volatile IntervalTree<IndexedSearch> tree = IntervalTree.empty();
+
+        private void add(IndexedSearch search) {
+            searches.put(search.id, search);
+            tree = tree.insert(search.id, new IntervalTree.Interval<>(search.minPrice, search.maxPrice, search));
+        }
+
+        /**
+         * @return true si le bucket est vide
+         */
+        private boolean remove(Long searchId) {
+            IndexedSearch removed = searches.remove(searchId);
+            if (removed != null) {
+                tree = tree.remove(removed.id, removed.minPrice);
+            }
+            return searches.isEmpty();
+        }
+    }
+
+    /**
+     * Copie compacte et immuable d'une recherche sauvegardée
+     */
+    public static final class IndexedSearch {
+        private final Long id;
+        private final Long userId;
+        private final String name;
+        private final String transactionType;
+        private final double minPrice;
+        private final double maxPrice;
+        private final double minSurface;
+        private final double maxSurface;
+        private final Set<String> keywords;
+
+        IndexedSearch(SavedSearch search) {
+            this.id = search.getId();
+            this.userId = search.getUserId();
+            this.name = search.getName();
+            this.transactionType = search.getTransactionType() != null && !search.getTransactionType().isBlank()
+                    ? search.getTransactionType().trim().toUpperCase(Locale.ROOT)
+                    : null;
+            this.minPrice = bound(search.getMinPrice(), Double.NEGATIVE_INFINITY);
+            this.maxPrice = bound(search.getMaxPrice(), Double.POSITIVE_INFINITY);
+            this.minSurface = bound(search.getMinSurface(), Double.NEGATIVE_INFINITY);
+            this.maxSurface = bound(search.getMaxSurface(), Double.POSITIVE_INFINITY);
+            this.keywords = tokens(search.getKeywords());
+        }
+
+        private boolean matches(String listingTransactionType, double surface, Set<String> titleTokens) {
+            if (transactionType != null && !transactionType.equalsIgnoreCase(listingTransactionType)) {
+                return false;
+            }
+            if (minSurface > Double.NEGATIVE_INFINITY || maxSurface < Double.POSITIVE_INFINITY) {
+                // Surface inconnue : ne correspond pas à une recherche qui la filtre
+                if (Double.isNaN(surface) || surface < minSurface || surface > maxSurface) {
+                    return false;
+                }
+            }
+            return titleTokens.containsAll(keywords);
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.realestate.property.service;
+
+import com.realestate.common.event.PropertyCreatedEvent;
+import com.realestate.common.event.PropertyUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Percolation des annonces créées / modifiées contre les recherches sauvegardées
+ *
+ * Traité après commit et hors du thread de la requête. Les correspondances sont enregistrées
+ * en une requête par annonce (ON CONFLICT : une annonce déjà signalée pour une recherche ne l'est plus,
+ * même après modification), seules les nouvelles donnent lieu à une notification.
+ */
+@Service
+public class SavedSearchMatchingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchMatchingService.class);
+
+    // Statuts visibles publiquement (cf. PropertyRepository)
+    private static final Set<String> MATCHABLE_STATUSES = Set.of("PUBLISHED", "AVAILABLE");
+
+    private static final String INSERT_MATCHES_SQL =
+            "INSERT INTO saved_search_matches (saved_search_id, property_id, user_id, matched_at) " +
+            "SELECT m.saved_search_id, ?, m.user_id, ? FROM unnest(?::bigint[], ?::bigint[]) AS m(saved_search_id, user_id) " +
+            "ON CONFLICT (saved_search_id, property_id) DO NOTHING " +
+            "RETURNING saved_search_id, user_id";
+    // Pas via JPA : last_matched_at ne doit pas modifier updated_at (synchronisation de l'index)
+    private static final String UPDATE_LAST_MATCHED_SQL =
+            "UPDATE saved_searches SET last_matched_at = ? WHERE id = ANY(?::bigint[])";
+
+    private final SavedSearchIndex savedSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final RestTemplate restTemplate;
+
+    @Value("${services.notification.url:http://localhost:8085}")
+    private String notificationServiceUrl;
+
+    @Value("${saved-search.notifications.enabled:true}")
+    private boolean notificationsEnabled;
+
+    public SavedSearchMatchingService(
+            SavedSearchIndex savedSearchIndex,
+            JdbcTemplate jdbcTemplate,
+            @Autowired(required = false) RestTemplate restTemplate) {
+        this.savedSearchIndex = savedSearchIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.restTemplate = restTemplate != null ? restTemplate : new RestTemplate();
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyCreated(PropertyCreatedEvent event) {
+        percolate(event);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPropertyUpdated(PropertyUpdatedEvent event) {
+        percolate(event.getPropertyId(), event.getOrganizationId(), event.getStatus(), event.getCity(),
+                event.getPropertyType(), event.getTransactionType(), event.getPrice(), event.getSurface(),
+                event.getPropertyTitle());
+    }
+
+    /**
+     * Import en masse : les événements locaux y sont regroupés par (org, ville, type), chaque annonce est percolée ici
+     */
+    @Async
+    public void onPropertiesCreated(List<PropertyCreatedEvent> events) {
+        long startTime = System.currentTimeMillis();
+        int matched = 0;
+        for (PropertyCreatedEvent event : events) {
+            matched += percolate(event);
+        }
+        logger.info("Saved search percolation for {} imported properties: {} new matches in {}ms",
+                events.size(), matched, System.currentTimeMillis() - startTime);
+    }
+
+    private int percolate(PropertyCreatedEvent event) {
+        return percolate(event.getPropertyId(), event.getOrganizationId(), event.getStatus(), event.getCity(),
+                event.getPropertyType(), event.getTransactionType(), event.getPrice(), event.getSurface(),
+                event.getPropertyTitle());
+    }
+
+    private int percolate(Long propertyId, Long organizationId, String status, String city, String type,
+                          String transactionType, BigDecimal price, BigDecimal surface, String title) {
+        if (propertyId == null || status == null || !MATCHABLE_STATUSES.contains(status.toUpperCase())) {
+            return 0;
+        }
+        try {
+            List<SavedSearchIndex.IndexedSearch> candidates =
+                    savedSearchIndex.match(city, type, transactionType, price, surface, title);
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+
+            Long[] searchIds = new Long[candidates.size()];
+            Long[] userIds = new Long[candidates.size()];
+            Map<Long, SavedSearchIndex.IndexedSearch> byId = new HashMap<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                SavedSearchIndex.IndexedSearch candidate = candidates.get(i);
+                searchIds[i] = candidate.getId();
+                userIds[i] = candidate.getUserId();
+                byId.put(candidate.getId(), candidate);
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Long> newSearchIds = jdbcTemplate.query(INSERT_MATCHES_SQL,
+                    (rs, rowNum) -> rs.getLong("saved_search_id"),
+                    propertyId, now, searchIds, userIds);
+            if (newSearchIds.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.update(UPDATE_LAST_MATCHED_SQL, now, newSearchIds.toArray(new Long[0]));
+
+            // Une notification par utilisateur même si plusieurs de ses recherches correspondent
+            Map<Long, SavedSearchIndex.IndexedSearch> byUser = new HashMap<>();
+            for (Long searchId : newSearchIds) {
+                SavedSearchIndex.IndexedSearch search = byId.get(searchId);
+                byUser.putIfAbsent(search.getUserId(), search);
+            }
+            if (notificationsEnabled) {
+                byUser.values().forEach(search -> sendMatchNotification(search, propertyId, organizationId, title));
+            }
+            logger.debug("Property {} matched {} saved searches ({} new)", propertyId, candidates.size(), newSearchIds.size());
+            return newSearchIds.size();
+        } catch (Exception e) {
+            // Ne pas propager : la percolation ne doit pas affecter l'écriture de l'annonce
+            logger.error("Error matching property {} against saved searches: {}", propertyId, e.getMessage());
+            return 0;
+        }
+    }
+
+    private void sendMatchNotification(SavedSearchIndex.IndexedSearch search, Long propertyId,
+                                       Long organizationId, String title) {
+        try {
+            String url = notificationServiceUrl + "/api/notifications/send";
+
+            Map<String, Object> notificationRequest = new HashMap<>();
+            notificationRequest.put("type", "SAVED_SEARCH_MATCH");
+            notificationRequest.put("title", "Nouvelle annonce pour votre recherche");
+            notificationRequest.put("message",
+                String.format("L'annonce \"%s\" correspond à votre recherche \"%s\"", title, search.getName()));
+            notificationRequest.put("recipientId", search.getUserId());
+            notificationRequest.put("organizationId", organizationId);
+            notificationRequest.put("channel", "IN_APP");
+            notificationRequest.put("targetType", "PROPERTY");
+            notificationRequest.put("targetId", propertyId);
+            notificationRequest.put("actionUrl", "/properties/" + propertyId);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            restTemplate.postForEntity(url, new HttpEntity<>(notificationRequest, headers), String.class);
+        } catch (Exception e) {
+            logger.error("Error sending saved search notification to user {} for property {}: {}",
+                search.getUserId(), propertyId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.realestate.property.service;
+
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.common.exception.ResourceNotFoundException;
+import com.realestate.property.dto.SavedSearchCreateDTO;
+import com.realestate.property.dto.SavedSearchDTO;
+import com.realestate.property.dto.SavedSearchMatchDTO;
+import com.realestate.property.entity.SavedSearch;
+import com.realestate.property.mapper.SavedSearchMapper;
+import com.realestate.property.repository.SavedSearchMatchRepository;
+import com.realestate.property.repository.SavedSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recherches sauvegardées des utilisateurs et synchronisation de SavedSearchIndex
+ *
+ * L'index est chargé au démarrage puis tenu à jour localement après le commit de chaque écriture ; les écritures
+ * des autres instances sont reprises périodiquement (updatedAt, suppression logique via active = false).
+ */
+@Service
+public class SavedSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    private static final int LOAD_PAGE_SIZE = 5000;
+    // Recouvrement de la synchronisation : écarts d'horloge entre instances (réindexer est idempotent)
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final SavedSearchMapper savedSearchMapper;
+    private final SavedSearchIndex savedSearchIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${saved-search.max-per-user:50}")
+    private int maxPerUser;
+
+    private volatile LocalDateTime lastRefresh;
+
+    public SavedSearchService(
+            SavedSearchRepository savedSearchRepository,
+            SavedSearchMatchRepository savedSearchMatchRepository,
+            SavedSearchMapper savedSearchMapper,
+            SavedSearchIndex savedSearchIndex,
+            ApplicationEventPublisher applicationEventPublisher) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.savedSearchMatchRepository = savedSearchMatchRepository;
+        this.savedSearchMapper = savedSearchMapper;
+        this.savedSearchIndex = savedSearchIndex;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Transactional
+    public SavedSearchDTO createSavedSearch(SavedSearchCreateDTO createDTO, Long userId) {
+        validateRanges(createDTO);
+        if (savedSearchRepository.countByUserIdAndActiveTrue(userId) >= maxPerUser) {
+            throw new BadRequestException("Maximum number of saved searches reached (" + maxPerUser + ")");
+        }
+
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setUserId(userId);
+        savedSearchMapper.updateEntity(savedSearch, createDTO);
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        applicationEventPublisher.publishEvent(new SavedSearchChangedEvent(saved));
+        logger.info("Saved search created with ID: {} for user ID: {}", saved.getId(), userId);
+
+        return savedSearchMapper.toDTO(saved);
+    }
+
+    @Transactional
+    public SavedSearchDTO updateSavedSearch(Long id, SavedSearchCreateDTO updateDTO, Long userId) {
+        validateRanges(updateDTO);
+        SavedSearch savedSearch = getOwnedSearch(id, userId);
+        savedSearchMapper.updateEntity(savedSearch, updateDTO);
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        applicationEventPublisher.publishEvent(new SavedSearchChangedEvent(saved));
+
+        return savedSearchMapper.toDTO(saved);
+    }
+
+    /**
+     * Suppression logique : la désactivation est propagée aux index des autres instances
+     */
+    @Transactional
+    public void deleteSavedSearch(Long id, Long userId) {
+        SavedSearch savedSearch = getOwnedSearch(id, userId);
+        savedSearch.setActive(false);
+        applicationEventPublisher.publishEvent(new SavedSearchChangedEvent(savedSearchRepository.save(savedSearch)));
+        logger.info("Saved search deactivated: ID {}", id);
+    }
+
+    /**
+     * Mise à jour de l'index après commit : un rollback ne laisse pas de recherche fantôme percolée
+     * (une recherche désactivée est retirée par put)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSavedSearchChanged(SavedSearchChangedEvent event) {
+        savedSearchIndex.put(event.savedSearch());
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearchDTO> getSavedSearchesByUserId(Long userId) {
+        return savedSearchRepository.findByUserIdAndActiveTrueOrderByCreatedAtDesc(userId).stream()
+                .map(savedSearchMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SavedSearchMatchDTO> getMatches(Long id, Long userId, Pageable pageable) {
+        getOwnedSearch(id, userId);
+        return savedSearchMatchRepository.findBySavedSearchIdOrderByMatchedAtDesc(id, pageable)
+                .map(savedSearchMapper::toDTO);
+    }
+
+    /**
+     * Chargement complet de l'index au démarrage (pages par clé pour ne pas tout matérialiser)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long startTime = System.currentTimeMillis();
+        lastRefresh = LocalDateTime.now();
+        long afterId = 0;
+        List<SavedSearch> page;
+        do {
+            page = savedSearchRepository.findActiveAfter(afterId, PageRequest.of(0, LOAD_PAGE_SIZE));
+            savedSearchIndex.putAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        logger.info("Saved search index loaded: {} searches in {}ms",
+                savedSearchIndex.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Reprend les recherches modifiées depuis la dernière synchronisation (autres instances)
+     */
+    @Scheduled(fixedDelayString = "${saved-search.index.refresh-interval-ms:30000}",
+            initialDelayString = "${saved-search.index.refresh-interval-ms:30000}")
+    public void refreshIndex() {
+        if (lastRefresh == null) {
+            return;
+        }
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        lastRefresh = LocalDateTime.now();
+        try {
+            List<SavedSearch> changed = savedSearchRepository.findByUpdatedAtAfter(since);
+            if (!changed.isEmpty()) {
+                savedSearchIndex.putAll(changed);
+                logger.debug("Saved search index refreshed: {} changed searches", changed.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to refresh saved search index: {}", e.getMessage());
+        }
+    }
+
+    private SavedSearch getOwnedSearch(Long id, Long userId) {
+        return savedSearchRepository.findByIdAndUserIdAndActiveTrue(id, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("SavedSearch", id));
+    }
+
+    private void validateRanges(SavedSearchCreateDTO dto) {
+        if (isInverted(dto.getMinPrice(), dto.getMaxPrice())) {
+            throw new BadRequestException("minPrice must be lower than or equal to maxPrice");
+        }
+        if (isInverted(dto.getMinSurface(), dto.getMaxSurface())) {
+            throw new BadRequestException("minSurface must be lower than or equal to maxSurface");
+        }
+    }
+
+    private boolean isInverted(BigDecimal min, BigDecimal max) {
+        return min != null && max != null && min.compareTo(max) > 0;
+    }
+
+    /**
+     * Recherche créée, modifiée ou désactivée
+     */
+    public record SavedSearchChangedEvent(SavedSearch savedSearch) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PropertyEvent;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Visiteurs uniques par (propriété, jour) dans des HyperLogLog Redis (PFADD / PFCOUNT / PFMERGE)
+ *
+ * Une clé property:uv:{propertyId}:{yyyyMMdd} par propriété et par jour : 12 Ko au plus quel que soit le trafic,
+ * erreur standard 0,81 %, expirée après retentionDays. Un visiteur est l'utilisateur connecté (u:{userId})
+ * ou l'identifiant anonyme envoyé par le front (v:{visitorId}) ; les vues sans l'un ni l'autre ne sont pas comptées.
+ * Un compte sur une période ou une organisation fusionne les clés des jours et propriétés concernés
+ * (commandes multi-clés : Redis non shardé, comme le reste des caches).
+ */
+public class UniqueVisitorCounter {
+
+    static final String KEY_PREFIX = "property:uv:";
+    static final int MAX_VISITOR_ID_LENGTH = 64;
+
+    // Au-delà, les clés sont fusionnées par paquets dans une clé temporaire (PFCOUNT multi-clés non borné)
+    private static final int MERGE_CHUNK_SIZE = 500;
+    private static final Duration MERGE_KEY_TTL = Duration.ofMinutes(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long retentionSeconds;
+
+    public UniqueVisitorCounter(StringRedisTemplate redisTemplate, int retentionDays) {
+        this.redisTemplate = redisTemplate;
+        this.retentionSeconds = Duration.ofDays(retentionDays).toSeconds();
+    }
+
+    /**
+     * Ajoute les visiteurs des vues du lot (un seul aller-retour Redis, pipeline PFADD + EXPIRE par clé)
+     */
+    public void record(List<PropertyEvent> events) {
+        Map<String, Set<String>> visitorsByKey = new HashMap<>();
+        for (PropertyEvent event : events) {
+            if (!PropertyEvent.EVENT_TYPE_VIEW.equals(event.getEventType())) {
+                continue;
+            }
+            String visitor = visitorKey(event);
+            if (visitor != null) {
+                visitorsByKey.computeIfAbsent(key(event.getPropertyId(), event.getCreatedAt().toLocalDate()),
+                        k -> new LinkedHashSet<>()).add(visitor);
+            }
+        }
+        if (visitorsByKey.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            visitorsByKey.forEach((key, visitors) -> add(connection, key, visitors));
+            return null;
+        });
+    }
+
+    /**
+     * Nombre estimé de visiteurs distincts des propriétés sur [from, to]
+     */
+    public long count(Collection<Long> propertyIds, LocalDate from, LocalDate to) {
+        List<String> keys = keys(propertyIds, from, to);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        if (keys.size() <= MERGE_CHUNK_SIZE) {
+            return toCount(redisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0])));
+        }
+        String mergeKey = KEY_PREFIX + "merge:" + UUID.randomUUID();
+        try {
+            for (int i = 0; i < keys.size(); i += MERGE_CHUNK_SIZE) {
+                List<String> chunk = keys.subList(i, Math.min(i + MERGE_CHUNK_SIZE, keys.size()));
+                // PFMERGE fusionne aussi la valeur déjà présente dans la clé de destination
+                redisTemplate.opsForHyperLogLog().union(mergeKey, chunk.toArray(new String[0]));
+                if (i == 0) {
+                    redisTemplate.expire(mergeKey, MERGE_KEY_TTL);
+                }
+            }
+            return toCount(redisTemplate.opsForHyperLogLog().size(mergeKey));
+        } finally {
+            redisTemplate.delete(mergeKey);
+        }
+    }
+
+    /**
+     * Élément HyperLogLog d'un événement, null si le visiteur n'est pas identifiable
+     */
+    static String visitorKey(PropertyEvent event) {
+        if (event.getUserId() != null) {
+            return "u:" + event.getUserId();
+        }
+        String visitorId = event.getVisitorId();
+        if (visitorId == null || visitorId.isBlank() || visitorId.length() > MAX_VISITOR_ID_LENGTH) {
+            return null;
+        }
+        return "v:" + visitorId;
+    }
+
+    static String key(Long propertyId, LocalDate day) {
+        return KEY_PREFIX + propertyId + ":" + day.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    static List<String> keys(Collection<Long> propertyIds, LocalDate from, LocalDate to) {
+        List<String> keys = new ArrayList<>();
+        for (Long propertyId : propertyIds) {
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                keys.add(key(propertyId, day));
+            }
+        }
+        return keys;
+    }
+
+    private void add(RedisConnection connection, String key, Set<String> visitors) {
+        byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        byte[][] values = visitors.stream()
+                .map(visitor -> visitor.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        connection.hyperLogLogCommands().pfAdd(rawKey, values);
+        connection.keyCommands().expire(rawKey, retentionSeconds);
+    }
+
+    private static long toCount(Long count) {
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,71 @@
+package com.realestate.property.specification;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Fonctions de recherche plein texte sur la colonne properties.search_vector, non mappée sur l'entité
+ * (un tsvector lu à chaque chargement de Property, exports compris, pour n'être utile qu'au filtre)
+ *
+ * property_fts_matches(p.id, tsquery) et property_fts_rank(p.id, tsquery) : le premier argument ne sert
+ * qu'à désigner l'alias de table de la propriété, rendu en property_fts_xxx(alias.search_vector, tsquery)
+ * (fonctions SQL de scripts/migration-add-property-full-text-search.sql).
+ * Enregistrées par META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class FullTextSearchFunctions implements FunctionContributor {
+
+    public static final String MATCHES = "property_fts_matches";
+    public static final String RANK = "property_fts_rank";
+
+    static final String SEARCH_VECTOR_COLUMN = "search_vector";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Float> floatType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.FLOAT);
+        functionContributions.getFunctionRegistry().register(MATCHES, new SearchVectorFunction(MATCHES, booleanType));
+        functionContributions.getFunctionRegistry().register(RANK, new SearchVectorFunction(RANK, floatType));
+    }
+
+    static class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        SearchVectorFunction(String name, BasicType<?> returnType) {
+            super(name, StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType), null);
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> sqlAstArguments,
+                           ReturnableType<?> returnType, SqlAstTranslator<?> walker) {
+            ColumnReference rowColumn = sqlAstArguments.get(0) instanceof Expression
+                    ? ((Expression) sqlAstArguments.get(0)).getColumnReference()
+                    : null;
+            if (rowColumn == null || rowColumn.getQualifier() == null) {
+                throw new IllegalArgumentException(getName() + " expects a column of the properties table as first argument");
+            }
+            sqlAppender.appendSql(getName());
+            sqlAppender.appendSql('(');
+            sqlAppender.appendSql(rowColumn.getQualifier());
+            sqlAppender.appendSql('.');
+            sqlAppender.appendSql(SEARCH_VECTOR_COLUMN);
+            sqlAppender.appendSql(',');
+            sqlAstArguments.get(1).accept(walker);
+            sqlAppender.appendSql(')');
+        }
+    }
+}
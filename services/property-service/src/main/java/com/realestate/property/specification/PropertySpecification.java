@@ -1,7 +1,15 @@
 package com.realestate.property.specification;
 
 import com.realestate.property.entity.Property;
+import com.realestate.property.util.GeoArea;
+import com.realestate.property.util.GeoHash;
+import com.realestate.property.util.KeysetCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -13,6 +21,11 @@ import java.util.List;
  */
 public class PropertySpecification {
 
+    /**
+     * Nombre maximal de cellules geohash (donc d'intervalles d'index) par zone géographique
+     */
+    static final int GEO_MAX_CELLS = 32;
+
     /**
      * Filtre par organisation
      */
@@ -147,6 +160,19 @@ public class PropertySpecification {
         };
     }
 
+    /**
+     * Filtre par ville, insensible à la casse et aux espaces de début/fin (recherche publique)
+     * Index fonctionnel : scripts/migration-add-property-city-country-lower-index.sql
+     */
+    public static Specification<Property> hasCityIgnoreCase(String city) {
+        return (root, query, cb) -> {
+            if (city == null || city.trim().isEmpty()) {
+                return cb.conjunction();
+            }
+            return cb.equal(cb.lower(root.get("city")), city.trim().toLowerCase());
+        };
+    }
+
     /**
      * Filtre par pays
      */
@@ -159,6 +185,18 @@ public class PropertySpecification {
         };
     }
 
+    /**
+     * Filtre par pays, insensible à la casse et aux espaces de début/fin (recherche publique)
+     */
+    public static Specification<Property> hasCountryIgnoreCase(String country) {
+        return (root, query, cb) -> {
+            if (country == null || country.trim().isEmpty()) {
+                return cb.conjunction();
+            }
+            return cb.equal(cb.lower(root.get("country")), country.trim().toLowerCase());
+        };
+    }
+
     /**
      * Filtre par plage de prix
      */
@@ -441,6 +479,154 @@ public class PropertySpecification {
         };
     }
 
+    /**
+     * Recherche plein texte PostgreSQL (alternative indexée à advancedTextSearch)
+     * Utilise la colonne search_vector (index GIN, non mappée : cf. FullTextSearchFunctions) et une tsquery
+     * construite par SearchQueryParser.toTsQuery. Si orderByRank, les résultats sont triés par ts_rank
+     * (le tri du Pageable doit alors être vide).
+     * Nécessite scripts/migration-add-property-full-text-search.sql
+     */
+    public static Specification<Property> fullTextSearch(String tsQuery, boolean orderByRank) {
+        return (root, query, cb) -> {
+            if (tsQuery == null || tsQuery.isEmpty()) {
+                return cb.conjunction();
+            }
+            // Pas de tri dans la requête de comptage
+            if (orderByRank && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        cb.desc(cb.function(FullTextSearchFunctions.RANK, Float.class,
+                                root.get("id"), cb.literal(tsQuery))),
+                        cb.desc(root.get("createdAt"))
+                );
+            }
+            return cb.isTrue(cb.function(FullTextSearchFunctions.MATCHES, Boolean.class,
+                    root.get("id"), cb.literal(tsQuery)));
+        };
+    }
+
+    /**
+     * Filtre géographique indexé (rectangle ou cercle)
+     * 1. Intervalles de préfixes geohash couvrant le rectangle englobant (index B-tree idx_property_geohash)
+     * 2. Bornes exactes latitude/longitude sur les seules lignes candidates
+     * 3. Pour un cercle : distance (loi des cosinus sphérique) sur ces mêmes candidates,
+     *    triée par distance croissante si orderByDistance (le tri du Pageable doit alors être vide)
+     */
+    public static Specification<Property> withinArea(GeoArea area, boolean orderByDistance) {
+        return (root, query, cb) -> {
+            if (area == null) {
+                return cb.conjunction();
+            }
+            Path<String> geohash = root.get("geohash");
+            Path<BigDecimal> latitude = root.get("latitude");
+            Path<BigDecimal> longitude = root.get("longitude");
+            BigDecimal minLat = BigDecimal.valueOf(area.getMinLat());
+            BigDecimal maxLat = BigDecimal.valueOf(area.getMaxLat());
+            BigDecimal minLon = BigDecimal.valueOf(area.getMinLon());
+            BigDecimal maxLon = BigDecimal.valueOf(area.getMaxLon());
+
+            List<Predicate> predicates = new ArrayList<>();
+            Predicate inLongitude;
+            if (area.crossesAntimeridian()) {
+                // Deux rectangles : [minLon, 180] et [-180, maxLon]
+                List<String> cells = new ArrayList<>(GeoHash.cover(
+                        area.getMinLat(), area.getMinLon(), area.getMaxLat(), 180, GEO_MAX_CELLS / 2));
+                cells.addAll(GeoHash.cover(
+                        area.getMinLat(), -180, area.getMaxLat(), area.getMaxLon(), GEO_MAX_CELLS / 2));
+                predicates.add(geohashRanges(cb, geohash, cells));
+                inLongitude = cb.or(cb.greaterThanOrEqualTo(longitude, minLon), cb.lessThanOrEqualTo(longitude, maxLon));
+            } else {
+                predicates.add(geohashRanges(cb, geohash, GeoHash.cover(
+                        area.getMinLat(), area.getMinLon(), area.getMaxLat(), area.getMaxLon(), GEO_MAX_CELLS)));
+                inLongitude = cb.between(longitude, minLon, maxLon);
+            }
+            predicates.add(cb.between(latitude, minLat, maxLat));
+            predicates.add(inLongitude);
+
+            if (area.isCircle()) {
+                Expression<Double> distance = distanceKm(cb, root, area.getCenterLat(), area.getCenterLon());
+                predicates.add(cb.le(distance, area.getRadiusKm()));
+                // Pas de tri dans la requête de comptage
+                if (orderByDistance && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                    query.orderBy(cb.asc(distance), cb.asc(root.get("id")));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * OR d'intervalles [cellule, cellule suivante) ; les cellules contiguës sont fusionnées
+     */
+    private static Predicate geohashRanges(CriteriaBuilder cb, Path<String> geohash, List<String> cells) {
+        List<String> sorted = new ArrayList<>(new java.util.TreeSet<>(cells));
+        List<Predicate> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < sorted.size()) {
+            String start = sorted.get(i);
+            String end = GeoHash.upperBound(start);
+            // Une cellule contenue dans la précédente (précisions différentes) ou contiguë prolonge l'intervalle
+            while (i + 1 < sorted.size() && end != null && sorted.get(i + 1).compareTo(end) <= 0) {
+                String next = GeoHash.upperBound(sorted.get(++i));
+                if (next == null || next.compareTo(end) > 0) {
+                    end = next;
+                }
+            }
+            i++;
+            ranges.add(end != null
+                    ? cb.and(cb.greaterThanOrEqualTo(geohash, start), cb.lessThan(geohash, end))
+                    : cb.greaterThanOrEqualTo(geohash, start));
+        }
+        return cb.or(ranges.toArray(new Predicate[0]));
+    }
+
+    /**
+     * Distance orthodromique en km depuis (latitude, longitude)
+     * least(1, ...) protège acos des arrondis au-delà de 1
+     */
+    private static Expression<Double> distanceKm(CriteriaBuilder cb, Root<Property> root, double latitude, double longitude) {
+        Expression<Double> lat = cb.function("radians", Double.class, root.get("latitude"));
+        Expression<Double> lon = cb.function("radians", Double.class, root.get("longitude"));
+        double centerLat = Math.toRadians(latitude);
+        double centerLon = Math.toRadians(longitude);
+        Expression<Double> cosine = cb.sum(
+                cb.prod(cb.prod(cb.function("cos", Double.class, lat), Math.cos(centerLat)),
+                        cb.function("cos", Double.class, cb.diff(lon, centerLon))),
+                cb.prod(cb.function("sin", Double.class, lat), Math.sin(centerLat)));
+        Expression<Double> clamped = cb.function("least", Double.class, cb.literal(1.0), cosine);
+        return cb.prod(cb.function("acos", Double.class, clamped), GeoArea.EARTH_RADIUS_KM);
+    }
+
+    /**
+     * Pagination par clé (keyset) : lignes strictement après le curseur pour le tri
+     * (clé, id) dans la direction du curseur.
+     * Respecte l'ordre natif PostgreSQL des NULL (en dernier en ASC, en premier en DESC),
+     * les clés price et surface pouvant être nulles.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Property> keysetAfter(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            Path key = root.get(cursor.getField());
+            Path<Long> id = root.get("id");
+            Comparable value = cursor.getValue();
+            boolean asc = cursor.getDirection() == Sort.Direction.ASC;
+            Predicate idAfter = asc ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+
+            if (value == null) {
+                Predicate sameNullKey = cb.and(cb.isNull(key), idAfter);
+                return asc ? sameNullKey : cb.or(sameNullKey, cb.isNotNull(key));
+            }
+
+            Predicate keyAfter = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate sameKey = cb.and(cb.equal(key, value), idAfter);
+            return asc
+                    ? cb.or(keyAfter, sameKey, cb.isNull(key))
+                    : cb.or(keyAfter, sameKey);
+        };
+    }
+
     /**
      * Combine plusieurs specifications avec AND
      */
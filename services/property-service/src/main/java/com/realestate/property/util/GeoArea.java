@@ -0,0 +1,191 @@
+package com.realestate.property.util;
+
+import com.realestate.common.exception.BadRequestException;
+
+/**
+ * Zone de recherche géographique : rectangle (bbox) ou cercle (near + radiusKm)
+ *
+ * - bbox=minLon,minLat,maxLon,maxLat (ordre "sud-ouest, nord-est" des bibliothèques cartographiques) ;
+ *   minLon > maxLon signifie que la zone traverse l'antiméridien
+ * - near=lat,lon&radiusKm=r : cercle, réduit à son rectangle englobant pour le filtre indexé
+ */
+public final class GeoArea {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double MAX_RADIUS_KM = 500.0;
+    public static final double DEFAULT_RADIUS_KM = 5.0;
+
+    private final double minLat;
+    private final double minLon;
+    private final double maxLat;
+    private final double maxLon;
+    private final Double centerLat;
+    private final Double centerLon;
+    private final Double radiusKm;
+
+    private GeoArea(double minLat, double minLon, double maxLat, double maxLon,
+                    Double centerLat, Double centerLon, Double radiusKm) {
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+        this.centerLat = centerLat;
+        this.centerLon = centerLon;
+        this.radiusKm = radiusKm;
+    }
+
+    /**
+     * Construit la zone à partir des paramètres de requête, null si aucun n'est fourni
+     */
+    public static GeoArea fromParameters(String bbox, String near, Double radiusKm) {
+        boolean hasBbox = bbox != null && !bbox.isBlank();
+        boolean hasNear = near != null && !near.isBlank();
+        if (hasBbox && hasNear) {
+            throw new BadRequestException("Use either bbox or near, not both");
+        }
+        if (hasBbox) {
+            double[] values = parse(bbox, 4, "bbox must be minLon,minLat,maxLon,maxLat");
+            return boundingBox(values[1], values[0], values[3], values[2]);
+        }
+        if (hasNear) {
+            double[] values = parse(near, 2, "near must be lat,lon");
+            return circle(values[0], values[1], radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM);
+        }
+        return null;
+    }
+
+    public static GeoArea boundingBox(double minLat, double minLon, double maxLat, double maxLon) {
+        checkLatitude(minLat);
+        checkLatitude(maxLat);
+        checkLongitude(minLon);
+        checkLongitude(maxLon);
+        if (minLat > maxLat) {
+            throw new BadRequestException("bbox minLat must not exceed maxLat");
+        }
+        return new GeoArea(minLat, minLon, maxLat, maxLon, null, null, null);
+    }
+
+    public static GeoArea circle(double latitude, double longitude, double radiusKm) {
+        checkLatitude(latitude);
+        checkLongitude(longitude);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BadRequestException("radiusKm must be between 0 and " + MAX_RADIUS_KM);
+        }
+        double deltaLat = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = Math.max(-90, latitude - deltaLat);
+        double maxLat = Math.min(90, latitude + deltaLat);
+        // Près des pôles le rectangle englobant couvre toutes les longitudes
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double deltaLon = cosLat > 1e-9 ? Math.toDegrees(radiusKm / (EARTH_RADIUS_KM * cosLat)) : 180;
+        double minLon;
+        double maxLon;
+        if (deltaLon >= 180) {
+            minLon = -180;
+            maxLon = 180;
+        } else {
+            minLon = wrapLongitude(longitude - deltaLon);
+            maxLon = wrapLongitude(longitude + deltaLon);
+        }
+        return new GeoArea(minLat, minLon, maxLat, maxLon, latitude, longitude, radiusKm);
+    }
+
+    /**
+     * Rectangle élargi aux bords des cellules geohash de la précision donnée : deux fenêtres de carte
+     * proches produisent la même zone (et donc la même clé de cache). Une zone traversant
+     * l'antiméridien est retournée telle quelle.
+     */
+    public GeoArea snapToGrid(int precision) {
+        if (crossesAntimeridian()) {
+            return this;
+        }
+        double height = GeoHash.cellHeight(precision);
+        double width = GeoHash.cellWidth(precision);
+        return new GeoArea(
+                Math.max(-90, Math.floor((minLat + 90) / height) * height - 90),
+                Math.max(-180, Math.floor((minLon + 180) / width) * width - 180),
+                Math.min(90, Math.ceil((maxLat + 90) / height) * height - 90),
+                Math.min(180, Math.ceil((maxLon + 180) / width) * width - 180),
+                null, null, null);
+    }
+
+    /**
+     * Paramètre bbox équivalent (minLon,minLat,maxLon,maxLat)
+     */
+    public String toBboxParameter() {
+        return minLon + "," + minLat + "," + maxLon + "," + maxLat;
+    }
+
+    public boolean isCircle() {
+        return radiusKm != null;
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLon > maxLon;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMinLon() {
+        return minLon;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMaxLon() {
+        return maxLon;
+    }
+
+    public Double getCenterLat() {
+        return centerLat;
+    }
+
+    public Double getCenterLon() {
+        return centerLon;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    private static double[] parse(String value, int expected, String message) {
+        String[] parts = value.split(",");
+        if (parts.length != expected) {
+            throw new BadRequestException(message);
+        }
+        double[] values = new double[expected];
+        try {
+            for (int i = 0; i < expected; i++) {
+                values[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(message);
+        }
+        return values;
+    }
+
+    private static void checkLatitude(double latitude) {
+        if (Double.isNaN(latitude) || latitude < -90 || latitude > 90) {
+            throw new BadRequestException("Latitude must be between -90 and 90");
+        }
+    }
+
+    private static void checkLongitude(double longitude) {
+        if (Double.isNaN(longitude) || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
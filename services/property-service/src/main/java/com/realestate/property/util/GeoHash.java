@@ -0,0 +1,143 @@
+package com.realestate.property.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Encodage geohash (base32 standard) et couverture d'une zone par des cellules
+ *
+ * Un geohash est un préfixe de tous les geohash plus précis contenus dans sa cellule :
+ * une cellule correspond donc à un intervalle [cellule, cellule suivante) sur la colonne
+ * properties.geohash, lu par un simple parcours d'index B-tree.
+ * Doit rester identique à la fonction SQL property_geohash (scripts/migration-add-property-geohash.sql).
+ */
+public final class GeoHash {
+
+    public static final int STORED_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    index = index * 2 + 1;
+                    minLon = mid;
+                } else {
+                    index = index * 2;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = index * 2 + 1;
+                    minLat = mid;
+                } else {
+                    index = index * 2;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Hauteur (degrés de latitude) d'une cellule de la précision donnée
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Largeur (degrés de longitude) d'une cellule de la précision donnée
+     */
+    public static double cellWidth(int precision) {
+        int lonBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Cellules couvrant la zone [minLat, maxLat] × [minLon, maxLon] (minLon ≤ maxLon),
+     * à la précision la plus fine qui reste sous maxCells cellules
+     */
+    public static List<String> cover(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        int precision = coverPrecision(minLat, minLon, maxLat, maxLon, maxCells);
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        TreeSet<String> cells = new TreeSet<>();
+        for (double lat = minLat; ; lat += height) {
+            double rowLat = Math.min(lat, maxLat);
+            for (double lon = minLon; ; lon += width) {
+                cells.add(encode(rowLat, Math.min(lon, maxLon), precision));
+                if (lon >= maxLon) {
+                    break;
+                }
+            }
+            if (lat >= maxLat) {
+                break;
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Précision la plus fine (≤ STORED_PRECISION, ≥ 1) pour laquelle la zone tient en maxCells cellules
+     */
+    public static int coverPrecision(double minLat, double minLon, double maxLat, double maxLon, int maxCells) {
+        for (int candidate = STORED_PRECISION; candidate > 1; candidate--) {
+            long rows = (long) Math.ceil((maxLat - minLat) / cellHeight(candidate)) + 1;
+            long columns = (long) Math.ceil((maxLon - minLon) / cellWidth(candidate)) + 1;
+            if (rows * columns <= maxCells) {
+                return candidate;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Précision des agrégats de carte pour un niveau de zoom (tuiles 256 px, 360 / 2^zoom degrés) :
+     * la plus fine dont une cellule couvre au moins un quart de tuile en largeur
+     */
+    public static int precisionForZoom(int zoom) {
+        int precision = 1;
+        while (precision < STORED_PRECISION && (5 * (precision + 1) + 1) / 2 <= zoom + 2) {
+            precision++;
+        }
+        return precision;
+    }
+
+    /**
+     * Borne haute exclusive de l'intervalle d'une cellule : plus petit geohash qui ne commence pas
+     * par prefix (null si aucun, ex. "zz")
+     */
+    public static String upperBound(String prefix) {
+        StringBuilder bound = new StringBuilder(prefix);
+        for (int i = bound.length() - 1; i >= 0; i--) {
+            int position = BASE32.indexOf(bound.charAt(i));
+            if (position < BASE32.length() - 1) {
+                bound.setCharAt(i, BASE32.charAt(position + 1));
+                bound.setLength(i + 1);
+                return bound.toString();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,226 @@
+package com.realestate.property.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Arbre d'intervalles persistant : intervalles fermés [low, high] contenant un point en O(min(n, k log n))
+ *
+ * Treap trié par (borne basse, clé), chaque nœud portant la borne haute maximale de son sous-arbre.
+ * Une version n'est jamais modifiée : insert / remove renvoient une nouvelle version en O(log n) (copie du chemin),
+ * les lecteurs d'une version publiée n'ont besoin d'aucun verrou.
+ * La clé (identifiant de la valeur) départage les bornes basses égales et fixe la priorité du nœud : la forme de
+ * l'arbre ne dépend pas de l'ordre des insertions.
+ * Les bornes absentes sont représentées par Double.NEGATIVE_INFINITY / Double.POSITIVE_INFINITY.
+ */
+public final class IntervalTree<T> {
+
+    private static final IntervalTree<?> EMPTY = new IntervalTree<>(null, 0);
+
+    private final Node<T> root;
+    private final int size;
+
+    private IntervalTree(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> IntervalTree<T> empty() {
+        return (IntervalTree<T>) EMPTY;
+    }
+
+    /**
+     * Arbre des intervalles fournis, clés = positions dans la collection
+     */
+    public static <T> IntervalTree<T> build(Collection<Interval<T>> intervals) {
+        IntervalTree<T> tree = empty();
+        long key = 0;
+        for (Interval<T> interval : intervals) {
+            tree = tree.insert(key++, interval);
+        }
+        return tree;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Nouvelle version avec l'intervalle ; la clé ne doit pas déjà être présente (remove d'abord pour remplacer)
+     */
+    public IntervalTree<T> insert(long key, Interval<T> interval) {
+        return new IntervalTree<>(insert(root, new Node<>(key, interval, null, null)), size + 1);
+    }
+
+    /**
+     * Nouvelle version sans l'intervalle de cette clé et de cette borne basse (inchangée s'il est absent)
+     */
+    public IntervalTree<T> remove(long key, double low) {
+        Node<T> removed = remove(root, low, key);
+        return removed == root ? this : new IntervalTree<>(removed, size - 1);
+    }
+
+    /**
+     * Passe à consumer la valeur de chaque intervalle contenant point
+     */
+    public void stab(double point, Consumer<T> consumer) {
+        stab(root, point, consumer);
+    }
+
+    public List<T> stab(double point) {
+        List<T> values = new ArrayList<>();
+        stab(point, values::add);
+        return values;
+    }
+
+    private static <T> void stab(Node<T> node, double point, Consumer<T> consumer) {
+        // Sous-arbre entièrement à gauche du point
+        if (node == null || node.maxHigh < point) {
+            return;
+        }
+        stab(node.left, point, consumer);
+        // Sous-arbre droit : bornes basses >= celle du nœud, rien à y chercher si elle dépasse le point
+        if (node.interval.low <= point) {
+            if (node.interval.high >= point) {
+                consumer.accept(node.interval.value);
+            }
+            stab(node.right, point, consumer);
+        }
+    }
+
+    private static <T> Node<T> insert(Node<T> node, Node<T> leaf) {
+        if (node == null) {
+            return leaf;
+        }
+        if (leaf.priority > node.priority) {
+            List<Node<T>> split = split(node, leaf.interval.low, leaf.key);
+            return leaf.with(split.get(0), split.get(1));
+        }
+        if (compare(leaf.interval.low, leaf.key, node) < 0) {
+            return node.with(insert(node.left, leaf), node.right);
+        }
+        return node.with(node.left, insert(node.right, leaf));
+    }
+
+    /**
+     * Nœuds strictement avant / après (low, key), qui n'est pas dans l'arbre
+     */
+    private static <T> List<Node<T>> split(Node<T> node, double low, long key) {
+        if (node == null) {
+            return Arrays.asList(null, null);
+        }
+        if (compare(low, key, node) < 0) {
+            List<Node<T>> split = split(node.left, low, key);
+            return Arrays.asList(split.get(0), node.with(split.get(1), node.right));
+        }
+        List<Node<T>> split = split(node.right, low, key);
+        return Arrays.asList(node.with(node.left, split.get(0)), split.get(1));
+    }
+
+    private static <T> Node<T> remove(Node<T> node, double low, long key) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(low, key, node);
+        if (comparison < 0) {
+            Node<T> left = remove(node.left, low, key);
+            return left == node.left ? node : node.with(left, node.right);
+        }
+        if (comparison > 0) {
+            Node<T> right = remove(node.right, low, key);
+            return right == node.right ? node : node.with(node.left, right);
+        }
+        return merge(node.left, node.right);
+    }
+
+    /**
+     * Concatène deux sous-arbres dont toutes les clés de first précèdent celles de second
+     */
+    private static <T> Node<T> merge(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            return first.with(first.left, merge(first.right, second));
+        }
+        return second.with(merge(first, second.left), second.right);
+    }
+
+    private static int compare(double low, long key, Node<?> node) {
+        int comparison = Double.compare(low, node.interval.low);
+        return comparison != 0 ? comparison : Long.compare(key, node.key);
+    }
+
+    /**
+     * Priorité pseudo-aléatoire dérivée de la clé (mélange de SplitMix64)
+     */
+    private static int priority(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    public static final class Interval<T> {
+        private final double low;
+        private final double high;
+        private final T value;
+
+        public Interval(double low, double high, T value) {
+            if (low > high) {
+                throw new IllegalArgumentException("Interval low bound " + low + " is greater than high bound " + high);
+            }
+            this.low = low;
+            this.high = high;
+            this.value = value;
+        }
+
+        public double getLow() {
+            return low;
+        }
+
+        public double getHigh() {
+            return high;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final class Node<T> {
+        private final long key;
+        private final Interval<T> interval;
+        private final int priority;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final double maxHigh;
+
+        private Node(long key, Interval<T> interval, Node<T> left, Node<T> right) {
+            this.key = key;
+            this.interval = interval;
+            this.priority = priority(key);
+            this.left = left;
+            this.right = right;
+            double max = interval.high;
+            if (left != null) {
+                max = Math.max(max, left.maxHigh);
+            }
+            if (right != null) {
+                max = Math.max(max, right.maxHigh);
+            }
+            this.maxHigh = max;
+        }
+
+        private Node<T> with(Node<T> newLeft, Node<T> newRight) {
+            return new Node<>(key, interval, newLeft, newRight);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.realestate.property.util;
+
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.entity.Property;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Curseur opaque pour la pagination par clé (keyset / seek)
+ * 
+ * Encode la dernière position vue (valeur de la clé de tri, id) ainsi que le tri
+ * utilisé, en Base64 URL-safe. Permet de remplacer OFFSET (+ COUNT) par un prédicat
+ * "(sortKey, id) après le curseur" qui exploite les index (sortKey, id).
+ * 
+ * Champs de tri supportés : price, surface, createdAt, updatedAt (cf. PropertySortHelper)
+ */
+public class KeysetCursor {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public KeysetCursor(String field, Sort.Direction direction, Comparable<?> value, Long id) {
+        this.field = field;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Construit le curseur pointant après la propriété donnée pour le tri donné
+     */
+    public static KeysetCursor after(Property property, Sort.Order order) {
+        return new KeysetCursor(order.getProperty(), order.getDirection(),
+                extractValue(property, order.getProperty()), property.getId());
+    }
+
+    /**
+     * Décode un curseur et vérifie qu'il correspond au tri demandé
+     */
+    public static KeysetCursor decode(String token, Sort.Order expectedOrder) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+
+        String[] parts = decoded.split("\\|", -1);
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+
+        String field = parts[1];
+        Sort.Direction direction;
+        try {
+            direction = Sort.Direction.fromString(parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+        if (!field.equals(expectedOrder.getProperty()) || direction != expectedOrder.getDirection()) {
+            throw new BadRequestException("Pagination cursor does not match the requested sort order");
+        }
+
+        try {
+            Comparable<?> value = parts[3].isEmpty() ? null : parseValue(field, parts[3]);
+            return new KeysetCursor(field, direction, value, Long.valueOf(parts[4]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Encode le curseur en jeton opaque
+     */
+    public String encode() {
+        String raw = VERSION + SEPARATOR + field + SEPARATOR + direction.name() + SEPARATOR
+                + formatValue(value) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Comparable<?> extractValue(Property property, String field) {
+        switch (field) {
+            case "price":
+                return property.getPrice();
+            case "surface":
+                return property.getSurface();
+            case "updatedAt":
+                return property.getUpdatedAt();
+            case "createdAt":
+                return property.getCreatedAt();
+            default:
+                throw new IllegalArgumentException("Unsupported keyset sort field: " + field);
+        }
+    }
+
+    private static Comparable<?> parseValue(String field, String raw) {
+        switch (field) {
+            case "price":
+            case "surface":
+                return new BigDecimal(raw);
+            case "createdAt":
+            case "updatedAt":
+                return LocalDateTime.parse(raw);
+            default:
+                throw new IllegalArgumentException("Unsupported keyset sort field: " + field);
+        }
+    }
+
+    private static String formatValue(Comparable<?> value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        return value.toString();
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Comparable<?> getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
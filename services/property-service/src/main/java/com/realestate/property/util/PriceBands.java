@@ -0,0 +1,74 @@
+package com.realestate.property.util;
+
+import com.realestate.property.dto.FacetBucketDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Tranches de prix des facettes de recherche publique
+ *
+ * Tranche i = [bornes[i-1], bornes[i]) ; la tranche 0 n'a pas de borne basse, la dernière pas de borne haute
+ * (même convention que width_bucket de PostgreSQL). Les loyers (RENT) ont leurs propres bornes.
+ * Doit rester identique aux fonctions SQL property_sale_price_band / property_rent_price_band
+ * (scripts/migration-add-property-facet-functions.sql).
+ */
+public final class PriceBands {
+
+    public static final List<BigDecimal> SALE = List.of(
+            new BigDecimal("100000"), new BigDecimal("200000"), new BigDecimal("300000"),
+            new BigDecimal("500000"), new BigDecimal("1000000"));
+
+    public static final List<BigDecimal> RENT = List.of(
+            new BigDecimal("500"), new BigDecimal("1000"), new BigDecimal("1500"), new BigDecimal("2500"));
+
+    private PriceBands() {
+    }
+
+    /**
+     * Bornes à utiliser pour le type de transaction filtré (RENT → loyers, sinon prix de vente)
+     */
+    public static List<BigDecimal> forTransactionType(String transactionType) {
+        return "RENT".equals(transactionType) ? RENT : SALE;
+    }
+
+    /**
+     * Fonction SQL calculant l'indice de tranche pour ces bornes
+     */
+    public static String sqlFunction(List<BigDecimal> bounds) {
+        return bounds == RENT ? "property_rent_price_band" : "property_sale_price_band";
+    }
+
+    /**
+     * Borne basse de la tranche (null pour la première)
+     */
+    public static BigDecimal from(List<BigDecimal> bounds, int band) {
+        return band > 0 ? bounds.get(band - 1) : null;
+    }
+
+    /**
+     * Borne haute exclusive de la tranche (null pour la dernière)
+     */
+    public static BigDecimal to(List<BigDecimal> bounds, int band) {
+        return band < bounds.size() ? bounds.get(band) : null;
+    }
+
+    /**
+     * Libellé de la tranche : "100000-200000", "-100000", "1000000-"
+     */
+    public static String label(List<BigDecimal> bounds, int band) {
+        BigDecimal from = from(bounds, band);
+        BigDecimal to = to(bounds, band);
+        return (from != null ? from.toPlainString() : "") + "-" + (to != null ? to.toPlainString() : "");
+    }
+
+    /**
+     * Bucket de facette de la tranche (libellé et bornes)
+     */
+    public static FacetBucketDTO bucket(List<BigDecimal> bounds, int band, long count) {
+        FacetBucketDTO bucket = new FacetBucketDTO(label(bounds, band), count);
+        bucket.setFrom(from(bounds, band));
+        bucket.setTo(to(bounds, band));
+        return bucket;
+    }
+}
@@ -0,0 +1,67 @@
+package com.realestate.property.util;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Utilitaire pour convertir le paramètre de tri des listes de propriétés
+ * Format attendu: "field-direction" (ex: "price-asc", "surface-desc")
+ * Partagé par les listes publiques et back-office (pagination offset et curseur)
+ */
+public class PropertySortHelper {
+
+    private PropertySortHelper() {
+    }
+
+    /**
+     * Indique si le paramètre correspond au tri par défaut (plus récentes en premier)
+     */
+    public static boolean isDefaultSort(String sortBy) {
+        return sortBy == null || sortBy.isEmpty() || "default".equals(sortBy);
+    }
+
+    /**
+     * Convertit le paramètre sortBy en Sort Spring Data
+     */
+    public static Sort fromParameter(String sortBy) {
+        if (isDefaultSort(sortBy)) {
+            // Par défaut: tri par date de création (plus récentes en premier)
+            return Sort.by(Sort.Direction.DESC, "createdAt");
+        }
+        
+        String[] parts = sortBy.split("-");
+        if (parts.length != 2) {
+            return Sort.by(Sort.Direction.DESC, "createdAt");
+        }
+        
+        String field = parts[0];
+        String direction = parts[1].toLowerCase();
+        
+        // Mapper les champs frontend vers les champs entity
+        String entityField = mapFieldToEntity(field);
+        Sort.Direction sortDirection = "asc".equals(direction) 
+                ? Sort.Direction.ASC 
+                : Sort.Direction.DESC;
+        
+        return Sort.by(sortDirection, entityField);
+    }
+
+    /**
+     * Mappe les champs du frontend vers les champs de l'entité Property
+     */
+    public static String mapFieldToEntity(String field) {
+        switch (field.toLowerCase()) {
+            case "price":
+                return "price";
+            case "surface":
+                return "surface";
+            case "created":
+            case "createdat":
+                return "createdAt";
+            case "updated":
+            case "updatedat":
+                return "updatedAt";
+            default:
+                return "createdAt"; // Par défaut
+        }
+    }
+}
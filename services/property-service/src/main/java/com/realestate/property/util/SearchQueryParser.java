@@ -109,6 +109,70 @@ public class SearchQueryParser {
         return parsed;
     }
 
+    /**
+     * Convertit une requête parsée en expression to_tsquery PostgreSQL
+     * Conserve la sémantique de PropertySpecification.advancedTextSearch :
+     * - phrases exactes : toutes obligatoires (opérateur <->)
+     * - termes inclus : au moins un (OR)
+     * - termes exclus : aucun (!)
+     * Les caractères spéciaux tsquery sont supprimés. Retourne null si rien d'exploitable.
+     */
+    public static String toTsQuery(ParsedQuery parsed) {
+        if (parsed == null || parsed.isEmpty()) {
+            return null;
+        }
+
+        List<String> clauses = new ArrayList<>();
+
+        for (String phrase : parsed.getExactPhrases()) {
+            String lexemes = toTsLexemes(phrase);
+            if (lexemes != null) {
+                clauses.add(lexemes);
+            }
+        }
+
+        List<String> includes = new ArrayList<>();
+        for (String term : parsed.getIncludeTerms()) {
+            String lexemes = toTsLexemes(term);
+            if (lexemes != null) {
+                includes.add(lexemes);
+            }
+        }
+        if (!includes.isEmpty()) {
+            clauses.add(includes.size() == 1 ? includes.get(0) : "(" + String.join(" | ", includes) + ")");
+        }
+
+        if (clauses.isEmpty()) {
+            // Une requête uniquement négative ne peut pas utiliser l'index
+            return null;
+        }
+
+        for (String term : parsed.getExcludeTerms()) {
+            String lexemes = toTsLexemes(term);
+            if (lexemes != null) {
+                clauses.add("!" + lexemes);
+            }
+        }
+
+        return String.join(" & ", clauses);
+    }
+
+    /**
+     * Découpe un terme en lexèmes alphanumériques reliés par l'opérateur de proximité
+     */
+    private static String toTsLexemes(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+        return words.size() == 1 ? words.get(0) : "(" + String.join(" <-> ", words) + ")";
+    }
+
     /**
      * Vérifie si un mot de 2 lettres est important (ex: "T3", "T4", "T5")
      */
@@ -0,0 +1,61 @@
+package com.realestate.property.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CacheTagRegistryTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SetOperations<String, String> setOperations;
+    private CacheTagRegistry registry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        registry = new CacheTagRegistry(redisTemplate);
+    }
+
+    @Test
+    void testRegister_AddsKeyToEachTagSetWithCacheTtl() {
+        registry.register("publicProperties", "page-0", List.of("city:lyon", "all"), Duration.ofMinutes(15));
+
+        verify(setOperations).add("property-cache-tags:publicProperties:city:lyon", "page-0");
+        verify(setOperations).add("property-cache-tags:publicProperties:all", "page-0");
+        verify(redisTemplate).expire("property-cache-tags:publicProperties:city:lyon", Duration.ofMinutes(15));
+        verify(redisTemplate).expire("property-cache-tags:publicProperties:all", Duration.ofMinutes(15));
+    }
+
+    @Test
+    void testRegister_RedisErrorDoesNotPreventCaching() {
+        when(setOperations.add(anyString(), any())).thenThrow(new IllegalStateException("redis down"));
+
+        assertDoesNotThrow(() -> registry.register("publicProperties", "page-0", List.of("all"), Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void testRemoveKeys_RemovesOnlyTheMembersRead() {
+        when(setOperations.members("property-cache-tags:publicProperties:city:lyon")).thenReturn(Set.of("page-0"));
+        when(setOperations.members("property-cache-tags:publicProperties:all")).thenReturn(Set.of());
+
+        Set<String> keys = registry.removeKeys("publicProperties", List.of("city:lyon", "all"));
+
+        assertEquals(Set.of("page-0"), keys);
+        verify(setOperations).remove("property-cache-tags:publicProperties:city:lyon", "page-0");
+        verify(setOperations, never()).remove(eq("property-cache-tags:publicProperties:all"), any());
+    }
+}
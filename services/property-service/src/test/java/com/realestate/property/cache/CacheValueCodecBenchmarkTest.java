@@ -0,0 +1,157 @@
+package com.realestate.property.cache;
+
+import com.realestate.common.cache.CacheValueCodecs;
+import com.realestate.property.dto.PagedPropertyResponse;
+import com.realestate.property.dto.PropertyDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Codec des valeurs de cache : aller-retour Smile / LZ4 et comparaison avec le JSON historique
+ *
+ * Le benchmark (octets par entrée, ns/op en écriture et lecture) ne s'exécute qu'avec
+ * -Dbenchmark=true : mvn -pl services/property-service test -Dtest=CacheValueCodecBenchmarkTest -Dbenchmark=true
+ */
+class CacheValueCodecBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private PropertyDTO createProperty(long id) {
+        PropertyDTO dto = new PropertyDTO(id, "PROP-" + id, "Appartement lumineux " + id, "APARTMENT");
+        dto.setDescription("Bel appartement traversant au calme, proche des commerces et des transports. "
+                + "Cuisine équipée, double vitrage, cave et parking en sous-sol.");
+        dto.setStatus("PUBLISHED");
+        dto.setTransactionType("SALE");
+        dto.setSlug("appartement-3-pieces-paris-" + id);
+        dto.setPrice(new BigDecimal("385000.00"));
+        dto.setSurface(new BigDecimal("72.50"));
+        dto.setRooms(3);
+        dto.setBedrooms(2);
+        dto.setBathrooms(1);
+        dto.setAppliancesIncluded("[\"Dishwasher\",\"Oven\",\"Washer\"]");
+        dto.setParkingFeatures("[\"Underground\"]");
+        dto.setHasGarage(true);
+        dto.setYearBuilt(1998);
+        dto.setDateOnMarket(LocalDate.of(2026, 3, 1));
+        dto.setAddress(id + " rue de la République");
+        dto.setCity("Paris");
+        dto.setPostalCode("75011");
+        dto.setCountry("France");
+        dto.setLatitude(new BigDecimal("48.8634"));
+        dto.setLongitude(new BigDecimal("2.3725"));
+        dto.setOrganizationId(100L + (id % 3));
+        dto.setOrganizationName("Agence " + (id % 3));
+        dto.setAssignedUserId(200L + (id % 5));
+        dto.setAssignedUserName("Agent " + (id % 5));
+        dto.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 30));
+        dto.setUpdatedAt(LocalDateTime.of(2026, 3, 2, 9, 15));
+        return dto;
+    }
+
+    private PagedPropertyResponse createPage(int size) {
+        List<PropertyDTO> content = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            content.add(createProperty(id));
+        }
+        return new PagedPropertyResponse(content, 0, 10, 10L * size, size, true, false);
+    }
+
+    private byte[] write(RedisSerializationContext.SerializationPair<Object> pair, Object value) {
+        ByteBuffer buffer = pair.write(value);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private Object read(RedisSerializationContext.SerializationPair<Object> pair, byte[] bytes) {
+        return pair.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Test
+    void testSmileRoundTrip_CompressedPage() {
+        CacheValueCodecs codecs = new CacheValueCodecs(CacheValueCodecs.FORMAT_SMILE, 2048);
+        RedisSerializationContext.SerializationPair<Object> pair = codecs.forType(PagedPropertyResponse.class);
+        PagedPropertyResponse page = createPage(20);
+
+        byte[] bytes = write(pair, page);
+        PagedPropertyResponse decoded = (PagedPropertyResponse) read(pair, bytes);
+
+        assertEquals(20, decoded.getContent().size());
+        assertEquals(page.getTotalElements(), decoded.getTotalElements());
+        PropertyDTO first = decoded.getContent().get(0);
+        assertEquals("PROP-1", first.getReference());
+        assertEquals(0, new BigDecimal("385000.00").compareTo(first.getPrice()));
+        assertEquals(LocalDate.of(2026, 3, 1), first.getDateOnMarket());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 30), first.getCreatedAt());
+        assertFalse(new String(bytes).contains(PropertyDTO.class.getName()));
+    }
+
+    @Test
+    void testSmileRoundTrip_SmallValueUncompressed() {
+        CacheValueCodecs codecs = new CacheValueCodecs(CacheValueCodecs.FORMAT_SMILE, 1_000_000);
+        RedisSerializationContext.SerializationPair<Object> pair = codecs.forListOf(String.class);
+
+        Object decoded = read(pair, write(pair, List.of("Paris", "Lyon", "Bordeaux")));
+
+        assertEquals(List.of("Paris", "Lyon", "Bordeaux"), decoded);
+    }
+
+    @Test
+    void testLegacyJsonEntry_TreatedAsMiss() {
+        CacheValueCodecs codecs = new CacheValueCodecs(CacheValueCodecs.FORMAT_SMILE, 2048);
+        byte[] legacy = write(codecs.json(), createProperty(1));
+
+        assertNull(read(codecs.forType(PropertyDTO.class), legacy));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkCodecs() {
+        PagedPropertyResponse page = createPage(20);
+        PropertyDTO property = createProperty(1);
+        CacheValueCodecs smile = new CacheValueCodecs(CacheValueCodecs.FORMAT_SMILE, 0);
+        CacheValueCodecs smileLz4 = new CacheValueCodecs(CacheValueCodecs.FORMAT_SMILE, 2048);
+
+        System.out.printf("%-28s %10s %12s %12s%n", "codec / value", "bytes", "write ns/op", "read ns/op");
+        run("json / PropertyDTO", smile.json(), property);
+        run("smile / PropertyDTO", smile.forType(PropertyDTO.class), property);
+        run("smile+lz4 / PropertyDTO", smileLz4.forType(PropertyDTO.class), property);
+        run("json / page of 20", smile.json(), page);
+        run("smile / page of 20", smile.forType(PagedPropertyResponse.class), page);
+        run("smile+lz4 / page of 20", smileLz4.forType(PagedPropertyResponse.class), page);
+    }
+
+    private void run(String label, RedisSerializationContext.SerializationPair<Object> pair, Object value) {
+        byte[] bytes = write(pair, value);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            read(pair, write(pair, value));
+        }
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += write(pair, value).length;
+        }
+        long writeNs = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += read(pair, bytes) != null ? 1 : 0;
+        }
+        long readNs = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        assertTrue(sink > 0);
+        System.out.printf("%-28s %10d %12d %12d%n", label, bytes.length, writeNs, readNs);
+    }
+}
@@ -0,0 +1,50 @@
+package com.realestate.property.cache;
+
+import com.realestate.property.service.PublicPropertyService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicListingKeyGeneratorTest {
+
+    private final PublicListingKeyGenerator keyGenerator = new PublicListingKeyGenerator();
+
+    private Method getPublishedProperties() {
+        return Arrays.stream(PublicPropertyService.class.getMethods())
+                .filter(method -> method.getName().equals("getPublishedProperties"))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private TaggedCacheKey generate(String type, String city, String country, BigDecimal minPrice,
+                                    Integer bedrooms, String search, int page) {
+        return (TaggedCacheKey) keyGenerator.generate(null, getPublishedProperties(),
+                null, type, city, country, minPrice, null, null, null, bedrooms, null,
+                search, null, null, null, null, null, null, page, 20);
+    }
+
+    @Test
+    void testGenerate_EquivalentSearchesShareKey() {
+        TaggedCacheKey first = generate("APARTMENT", "Paris", "France", new BigDecimal("250000"), 2, "Balcon  Terrasse", 0);
+        TaggedCacheKey second = generate("APARTMENT", " paris ", "FRANCE", new BigDecimal("250000.00"), 2, "balcon terrasse", 0);
+
+        assertEquals(first, second);
+        assertEquals(first.getKey(), second.getKey());
+        assertEquals(Set.of("city:paris"), first.getTags());
+    }
+
+    @Test
+    void testGenerate_AllFiltersAreInTheKey() {
+        TaggedCacheKey base = generate("APARTMENT", "Paris", null, null, null, null, 0);
+
+        assertNotEquals(base, generate("APARTMENT", "Paris", "France", null, null, null, 0));
+        assertNotEquals(base, generate("APARTMENT", "Paris", null, null, 3, null, 0));
+        assertNotEquals(base, generate("HOUSE", "Paris", null, null, null, null, 0));
+        assertNotEquals(base, generate("APARTMENT", "Paris", null, null, null, null, 1));
+    }
+}
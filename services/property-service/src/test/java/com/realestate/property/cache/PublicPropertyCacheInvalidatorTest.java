@@ -0,0 +1,227 @@
+package com.realestate.property.cache;
+
+import com.realestate.common.event.PropertyUpdatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicPropertyCacheInvalidatorTest {
+
+    private static final String LISTINGS = "publicProperties";
+    private static final String LYON_PAGE = "listing:city=lyon:page=0";
+
+    private AnnotationConfigApplicationContext context;
+    private Cache listings;
+    private InMemoryTagRegistry tagRegistry;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        listings = context.getBean(CacheManager.class).getCache(LISTINGS);
+        tagRegistry = context.getBean(InMemoryTagRegistry.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    private TaggedCacheKey lyonPageKey() {
+        return new TaggedCacheKey(LYON_PAGE, Set.of(PublicListingKeyGenerator.cityTag("Lyon")));
+    }
+
+    private PropertyUpdatedEvent lyonPropertyUpdated() {
+        return new PropertyUpdatedEvent(100L, 7L, 1L, "REF-1", "Appartement", "APARTMENT",
+                new BigDecimal("250000"), "AVAILABLE", "Lyon", "France");
+    }
+
+    private void updateProperty(boolean rollback) {
+        transactionTemplate.executeWithoutResult(status -> {
+            context.publishEvent(lyonPropertyUpdated());
+            // Avant commit : l'entrée est encore servie
+            assertEquals("page-v1", listings.get(LYON_PAGE).get());
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    @Test
+    void testOnPropertyUpdated_TaggedEntryEvictedAfterCommit() {
+        listings.get(lyonPageKey(), () -> "page-v1");
+        assertTrue(tagRegistry.keys(LISTINGS, PublicListingKeyGenerator.cityTag("Lyon")).contains(LYON_PAGE));
+
+        updateProperty(false);
+
+        assertNull(listings.get(LYON_PAGE));
+        assertTrue(tagRegistry.keys(LISTINGS, PublicListingKeyGenerator.cityTag("Lyon")).isEmpty());
+    }
+
+    @Test
+    void testOnPropertyUpdated_TaggedEntryKeptAfterRollback() {
+        listings.get(lyonPageKey(), () -> "page-v1");
+
+        updateProperty(true);
+
+        assertEquals("page-v1", listings.get(LYON_PAGE).get());
+        assertTrue(tagRegistry.keys(LISTINGS, PublicListingKeyGenerator.cityTag("Lyon")).contains(LYON_PAGE));
+    }
+
+    @Test
+    void testOnPropertyUpdated_ReloadedEntryIsTaggedAgain() {
+        listings.get(lyonPageKey(), () -> "page-v1");
+        updateProperty(false);
+
+        // Rechargée après l'éviction : de nouveau indexée, donc évincée par la modification suivante
+        assertEquals("page-v2", listings.get(lyonPageKey(), () -> "page-v2"));
+        assertTrue(tagRegistry.keys(LISTINGS, PublicListingKeyGenerator.cityTag("Lyon")).contains(LYON_PAGE));
+
+        transactionTemplate.executeWithoutResult(status -> context.publishEvent(lyonPropertyUpdated()));
+        assertNull(listings.get(LYON_PAGE));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TestConfig {
+
+        @Bean
+        InMemoryTagRegistry cacheTagRegistry() {
+            return new InMemoryTagRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager(InMemoryTagRegistry cacheTagRegistry) {
+            return new TaggingCacheManager(new StringKeyCacheManager(LISTINGS),
+                    Map.of(LISTINGS, Duration.ofMinutes(15)), cacheTagRegistry);
+        }
+
+        @Bean
+        PublicPropertyCacheInvalidator publicPropertyCacheInvalidator(CacheManager cacheManager,
+                                                                      InMemoryTagRegistry cacheTagRegistry) {
+            return new PublicPropertyCacheInvalidator(cacheManager, cacheTagRegistry);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+    }
+
+    /**
+     * Caches en mémoire dont les clés sont comparées sous forme String, comme dans RedisCache
+     */
+    static class StringKeyCacheManager extends ConcurrentMapCacheManager {
+
+        StringKeyCacheManager(String... cacheNames) {
+            super(cacheNames);
+        }
+
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name) {
+                @Override
+                protected Object lookup(Object key) {
+                    return super.lookup(key.toString());
+                }
+
+                @Override
+                public <T> T get(Object key, Callable<T> valueLoader) {
+                    return super.get(key.toString(), valueLoader);
+                }
+
+                @Override
+                public void put(Object key, Object value) {
+                    super.put(key.toString(), value);
+                }
+
+                @Override
+                public void evict(Object key) {
+                    super.evict(key.toString());
+                }
+            };
+        }
+    }
+
+    /**
+     * Index de tags en mémoire à la place des SET Redis
+     */
+    static class InMemoryTagRegistry extends CacheTagRegistry {
+        private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+
+        InMemoryTagRegistry() {
+            super(null);
+        }
+
+        @Override
+        public void register(String cacheName, String key, Collection<String> tags, Duration ttl) {
+            for (String tag : tags) {
+                sets.computeIfAbsent(cacheName + ":" + tag, k -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+
+        @Override
+        public Set<String> removeKeys(String cacheName, Collection<String> tags) {
+            Set<String> keys = new LinkedHashSet<>();
+            for (String tag : tags) {
+                Set<String> members = sets.remove(cacheName + ":" + tag);
+                if (members != null) {
+                    keys.addAll(members);
+                }
+            }
+            return keys;
+        }
+
+        Set<String> keys(String cacheName, String tag) {
+            return sets.getOrDefault(cacheName + ":" + tag, Set.of());
+        }
+    }
+
+    /**
+     * Gestionnaire de transactions sans ressource : seules les synchronisations (AFTER_COMMIT) comptent ici
+     */
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
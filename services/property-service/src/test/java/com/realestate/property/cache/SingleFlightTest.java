@@ -0,0 +1,68 @@
+package com.realestate.property.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    void testExecute_ConcurrentCallsShareOneLoad() throws Exception {
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger coalesced = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> singleFlight.execute("page-0", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await(5, TimeUnit.SECONDS);
+                return "result";
+            }, coalesced::incrementAndGet)));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("page-0", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }, coalesced::incrementAndGet)));
+            }
+            // Laisser les appelants suivants rejoindre le chargement en cours
+            while (coalesced.get() < callers - 1) {
+                Thread.sleep(5);
+            }
+            releaseLoader.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("result", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(0, singleFlight.inFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_FailureIsReleased() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("page-0", () -> {
+            throw new IllegalStateException("database down");
+        }, null));
+
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}
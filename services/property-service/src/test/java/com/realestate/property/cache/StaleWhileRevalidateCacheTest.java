@@ -0,0 +1,128 @@
+package com.realestate.property.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleWhileRevalidateCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final CacheRefresher refresher = new CacheRefresher(1, 10);
+    private final StaleWhileRevalidateCache cache = new StaleWhileRevalidateCache(
+            new ConcurrentMapCache("publicProperties"),
+            new StaleWhileRevalidateCache.Spec(Duration.ofMinutes(5), 3),
+            refresher,
+            new CacheTierMetrics(null),
+            clock);
+
+    @AfterEach
+    void tearDown() {
+        refresher.destroy();
+    }
+
+    @Test
+    void testGet_MissLoadsSynchronously() {
+        assertEquals("v1", cache.get("page-0", () -> "v1"));
+        assertEquals("v1", cache.get("page-0", () -> "v2"));
+    }
+
+    @Test
+    void testGet_StaleValueServedAndRefreshedInBackground() throws Exception {
+        cache.get("page-0", () -> "v1");
+        clock.advance(Duration.ofMinutes(6));
+        CountDownLatch refreshed = new CountDownLatch(1);
+
+        String served = cache.get("page-0", () -> {
+            refreshed.countDown();
+            return "v2";
+        });
+
+        assertEquals("v1", served);
+        assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+        awaitValue("v2");
+    }
+
+    @Test
+    void testGet_HotKeyRefreshedAhead() throws Exception {
+        cache.get("page-0", () -> "v1");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Lectures fréquentes, entrée encore fraîche : pas de rafraîchissement
+        cache.get("page-0", () -> "v" + loads.incrementAndGet());
+        cache.get("page-0", () -> "v" + loads.incrementAndGet());
+        assertEquals(0, loads.get());
+
+        // Au-delà de 80 % du TTL souple, la clé chaude est rafraîchie avant expiration
+        clock.advance(Duration.ofMinutes(4).plusSeconds(30));
+        assertEquals("v1", cache.get("page-0", () -> "v" + (loads.incrementAndGet() + 1)));
+        awaitValue("v2");
+    }
+
+    @Test
+    void testGet_RefreshEvictedWhileLoadingDoesNotWriteBack() throws Exception {
+        cache.get("page-0", () -> "v1");
+        clock.advance(Duration.ofMinutes(6));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        // Le rafraîchissement lit l'ancienne valeur, la modification est commitée et évincée avant qu'il termine
+        cache.get("page-0", () -> {
+            loading.countDown();
+            assertTrue(committed.await(5, TimeUnit.SECONDS));
+            return "v1-before-update";
+        });
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.evict("page-0");
+        committed.countDown();
+
+        // Un seul thread de rafraîchissement : cette tâche s'exécute après la fin du rafraîchissement
+        CountDownLatch refreshDone = new CountDownLatch(1);
+        assertTrue(refresher.schedule("marker", "done", refreshDone::countDown));
+        assertTrue(refreshDone.await(5, TimeUnit.SECONDS));
+
+        assertNull(cache.get("page-0", String.class));
+        assertEquals("v2", cache.get("page-0", () -> "v2"));
+    }
+
+    private void awaitValue(String expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!expected.equals(cache.get("page-0", String.class)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, cache.get("page-0", String.class));
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2026-10-18T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
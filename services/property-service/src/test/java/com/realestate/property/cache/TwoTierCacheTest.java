@@ -0,0 +1,117 @@
+package com.realestate.property.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TwoTierCacheTest {
+
+    private static final String CHANNEL = CacheInvalidationBus.DEFAULT_CHANNEL;
+
+    private StringRedisTemplate redisTemplate;
+    private CacheInvalidationBus invalidationBus;
+    private Cache l2;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        invalidationBus = new CacheInvalidationBus(redisTemplate, CHANNEL);
+        // L2 : cache en mémoire à la place de Redis
+        ConcurrentMapCacheManager redis = new ConcurrentMapCacheManager("publicProperty");
+        l2 = redis.getCache("publicProperty");
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redis,
+                Map.of("publicProperty", new TwoTierCacheManager.L1Spec(100, Duration.ofMinutes(1))),
+                invalidationBus, new CacheTierMetrics(null));
+        cache = cacheManager.getCache("publicProperty");
+    }
+
+    private String lastPublished() {
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), message.capture());
+        return message.getValue();
+    }
+
+    private void receive(String body) {
+        invalidationBus.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Test
+    void testGet_L1HitThenL2FallbackPopulatesL1() {
+        Cache l2Spy = spy(l2);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> l1 = Caffeine.newBuilder().build();
+        TwoTierCache twoTier = new TwoTierCache("publicProperty", l1, l2Spy, invalidationBus, new CacheTierMetrics(null));
+
+        // Absente de L1 : lue dans L2 puis recopiée dans L1
+        l2.put(42L, "from-redis");
+        assertEquals("from-redis", twoTier.get(42L).get());
+        assertEquals("from-redis", l1.getIfPresent("42"));
+        verify(l2Spy, times(1)).get(42L);
+
+        // Présente dans L1 : L2 n'est plus lu
+        assertEquals("from-redis", twoTier.get(42L).get());
+        verify(l2Spy, times(1)).get(42L);
+
+        // Chargement : écrit dans les deux niveaux
+        assertEquals("loaded", twoTier.get(7L, () -> "loaded"));
+        assertEquals("loaded", l1.getIfPresent("7"));
+        assertEquals("loaded", l2.get(7L).get());
+    }
+
+    @Test
+    void testEvictAndClear_RemoveBothTiersAndPublishInvalidation() {
+        cache.put(1L, "v1");
+        assertTrue(lastPublished().endsWith("\tpublicProperty\t1"));
+
+        cache.evict(1L);
+        assertNull(l2.get(1L));
+        assertNull(cache.get(1L));
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), endsWith("\tpublicProperty\t1"));
+
+        cache.put(2L, "v2");
+        cache.clear();
+        assertNull(cache.get(2L));
+        assertTrue(lastPublished().endsWith("\tpublicProperty\t"));
+    }
+
+    @Test
+    void testOnMessage_IgnoresOwnMessagesAndEvictsL1OnOtherNodeMessages() {
+        cache.put(1L, "v1");
+        String ownMessage = lastPublished();
+        String nodeId = ownMessage.substring(0, ownMessage.indexOf('\t'));
+        // Valeur modifiée dans Redis par une autre instance ; la copie L1 locale reste servie
+        l2.put(1L, "v2");
+
+        receive(ownMessage);
+        assertEquals("v1", cache.get(1L).get());
+
+        receive("other-node\tpublicProperty\t1");
+        assertEquals("v2", cache.get(1L).get());
+
+        l2.put(1L, "v3");
+        receive(nodeId + "\tpublicProperty\t");
+        assertEquals("v2", cache.get(1L).get());
+        receive("other-node\tpublicProperty\t");
+        assertEquals("v3", cache.get(1L).get());
+
+        // Message mal formé ou cache inconnu : ignoré
+        receive("garbage");
+        receive("other-node\tunknownCache\t1");
+        assertEquals("v3", cache.get(1L).get());
+    }
+}
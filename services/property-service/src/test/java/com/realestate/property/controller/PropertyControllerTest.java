@@ -1,8 +1,11 @@
 package com.realestate.property.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.common.client.PermissionContextResolver;
 import com.realestate.property.entity.Property;
 import com.realestate.property.entity.PropertyFeature;
+import com.realestate.property.service.PropertyBulkImportService;
+import com.realestate.property.service.PropertyExportService;
 import com.realestate.property.service.PropertyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,6 +38,15 @@ class PropertyControllerTest {
     @MockBean
     private PropertyService propertyService;
 
+    @MockBean
+    private PropertyExportService propertyExportService;
+
+    @MockBean
+    private PropertyBulkImportService propertyBulkImportService;
+
+    @MockBean
+    private PermissionContextResolver permissionContextResolver;
+
     @Autowired
     private ObjectMapper objectMapper;
 
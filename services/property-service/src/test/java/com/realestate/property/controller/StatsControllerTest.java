@@ -0,0 +1,71 @@
+package com.realestate.property.controller;
+
+import com.realestate.common.client.PermissionContextResolver;
+import com.realestate.common.client.dto.PermissionContextDTO;
+import com.realestate.common.exception.ResourceNotFoundException;
+import com.realestate.property.dto.UniqueVisitorsPointDTO;
+import com.realestate.property.service.PropertyEventService;
+import com.realestate.property.service.StatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class StatsControllerTest {
+
+    private static final String AUTHORIZATION = "Bearer token";
+
+    private PropertyEventService propertyEventService;
+    private PermissionContextResolver permissionContextResolver;
+    private StatsController controller;
+
+    @BeforeEach
+    void setUp() {
+        propertyEventService = mock(PropertyEventService.class);
+        permissionContextResolver = mock(PermissionContextResolver.class);
+        controller = new StatsController(mock(StatsService.class), propertyEventService, permissionContextResolver);
+        when(propertyEventService.getPropertyOrganizationId(1L)).thenReturn(Optional.of(100L));
+    }
+
+    private void member(Long... organizationIds) {
+        PermissionContextDTO context = new PermissionContextDTO();
+        context.setUserId(7L);
+        context.setAccessibleOrganizationIds(Set.of(organizationIds));
+        when(permissionContextResolver.resolve(AUTHORIZATION)).thenReturn(Optional.of(context));
+    }
+
+    private ResponseEntity<List<UniqueVisitorsPointDTO>> propertyVisitors(Long propertyId, String authorization) {
+        return controller.getUniqueVisitors(propertyId, null, null, null, PropertyEventService.GRANULARITY_DAY, authorization);
+    }
+
+    @Test
+    void testPropertyUniqueVisitors_RequiresOwningOrganization() {
+        when(permissionContextResolver.resolve(null)).thenReturn(Optional.empty());
+        assertEquals(HttpStatus.UNAUTHORIZED, propertyVisitors(1L, null).getStatusCode());
+
+        member(200L);
+        assertEquals(HttpStatus.FORBIDDEN, propertyVisitors(1L, AUTHORIZATION).getStatusCode());
+        verify(propertyEventService, never()).getPropertyUniqueVisitors(anyLong(), any(), any(), any());
+
+        member(100L);
+        assertEquals(HttpStatus.OK, propertyVisitors(1L, AUTHORIZATION).getStatusCode());
+        verify(propertyEventService).getPropertyUniqueVisitors(1L, null, null, PropertyEventService.GRANULARITY_DAY);
+    }
+
+    @Test
+    void testPropertyUniqueVisitors_UnknownPropertyIsNotFound() {
+        member(100L);
+        when(propertyEventService.getPropertyOrganizationId(404L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> propertyVisitors(404L, AUTHORIZATION));
+    }
+}
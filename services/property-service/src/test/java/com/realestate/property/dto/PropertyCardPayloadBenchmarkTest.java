@@ -0,0 +1,152 @@
+package com.realestate.property.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Page de listing en cartes compactes (view=card) vs PropertyDTO complets : contenu et taille JSON
+ *
+ * Le benchmark (octets JSON, octets alloués par page construite puis sérialisée) ne s'exécute qu'avec
+ * -Dbenchmark=true : mvn -pl services/property-service test -Dtest=PropertyCardPayloadBenchmarkTest -Dbenchmark=true
+ * Les octets lus par PostgreSQL sont mesurés par scripts/benchmark-property-card-projection.sql.
+ */
+class PropertyCardPayloadBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PropertyDTO createProperty(long id) {
+        PropertyDTO dto = new PropertyDTO(id, "PROP-" + id, "Appartement lumineux " + id, "APARTMENT");
+        dto.setDescription("Bel appartement traversant au calme, proche des commerces et des transports. "
+                + "Cuisine équipée, double vitrage, cave et parking en sous-sol.");
+        dto.setStatus("PUBLISHED");
+        dto.setTransactionType("SALE");
+        dto.setSlug("appartement-3-pieces-paris-" + id);
+        dto.setMetaDescription("Appartement 3 pièces de 72 m² à vendre à Paris 11e");
+        dto.setOgImage("https://cdn.example.com/properties/" + id + "/main.jpg");
+        dto.setPrice(new BigDecimal("385000.00"));
+        dto.setSurface(new BigDecimal("72.50"));
+        dto.setRooms(3);
+        dto.setBedrooms(2);
+        dto.setBathrooms(1);
+        dto.setAppliancesIncluded("[\"Dishwasher\",\"Oven\",\"Washer\"]");
+        dto.setParkingFeatures("[\"Underground\"]");
+        dto.setHasGarage(true);
+        dto.setYearBuilt(1998);
+        dto.setDateOnMarket(LocalDate.of(2026, 3, 1));
+        dto.setAddress(id + " rue de la République");
+        dto.setCity("Paris");
+        dto.setPostalCode("75011");
+        dto.setCountry("France");
+        dto.setLatitude(new BigDecimal("48.8634"));
+        dto.setLongitude(new BigDecimal("2.3725"));
+        dto.setOrganizationId(100L + (id % 3));
+        dto.setOrganizationName("Agence " + (id % 3));
+        dto.setAssignedUserId(200L + (id % 5));
+        dto.setAssignedUserName("Agent " + (id % 5));
+        dto.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 30));
+        dto.setUpdatedAt(LocalDateTime.of(2026, 3, 2, 9, 15));
+        return dto;
+    }
+
+    private PropertyCardDTO createCard(long id) {
+        return new PropertyCardDTO(id, "appartement-3-pieces-paris-" + id, "Appartement lumineux " + id,
+                "APARTMENT", "SALE", new BigDecimal("385000.00"), "EUR", new BigDecimal("72.50"), 2, "Paris",
+                "https://cdn.example.com/properties/" + id + "/main.jpg",
+                new BigDecimal("48.8634"), new BigDecimal("2.3725"));
+    }
+
+    private PagedPropertyResponse createFullPage(int size) {
+        List<PropertyDTO> content = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            content.add(createProperty(id));
+        }
+        return new PagedPropertyResponse(content, 0, 10, 10L * size, size, true, false);
+    }
+
+    private PagedPropertyCardResponse createCardPage(int size) {
+        List<PropertyCardDTO> content = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            content.add(createCard(id));
+        }
+        return new PagedPropertyCardResponse(content, 0, 10, 10L * size, size, true, false);
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testCardPage_KeepsDisplayFieldsOnly() throws Exception {
+        JsonNode card = objectMapper.readTree(toJson(createCardPage(1))).get("content").get(0);
+
+        assertEquals("appartement-3-pieces-paris-1", card.get("slug").asText());
+        assertEquals("Paris", card.get("city").asText());
+        assertEquals("https://cdn.example.com/properties/1/main.jpg", card.get("mainImage").asText());
+        assertEquals(0, new BigDecimal("385000.00").compareTo(card.get("price").decimalValue()));
+        assertFalse(card.has("description"));
+        assertFalse(card.has("organizationName"));
+    }
+
+    @Test
+    void testCardPage_SmallerThanFullPage() {
+        byte[] full = toJson(createFullPage(PAGE_SIZE));
+        byte[] cards = toJson(createCardPage(PAGE_SIZE));
+
+        // Fiche complète : une trentaine de champs renseignés (et des dizaines à null) contre 13 pour la carte
+        assertTrue(cards.length * 3 < full.length,
+                "card page " + cards.length + " bytes, full page " + full.length + " bytes");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkPayloads() {
+        System.out.printf("%-20s %12s %16s %12s%n", "view / page of 20", "json bytes", "alloc bytes/op", "ns/op");
+        run("full", this::createFullPage);
+        run("card", this::createCardPage);
+    }
+
+    private void run(String label, IntFunction<Object> pageFactory) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        int bytes = toJson(pageFactory.apply(PAGE_SIZE)).length;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            toJson(pageFactory.apply(PAGE_SIZE));
+        }
+
+        // Construction de la page puis sérialisation : ce que le service et le contrôleur allouent par requête
+        long sink = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            sink += toJson(pageFactory.apply(PAGE_SIZE)).length;
+        }
+        long ns = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / MEASURED_ITERATIONS;
+
+        assertTrue(sink > 0);
+        System.out.printf("%-20s %12d %16d %12d%n", label, bytes, allocated, ns);
+    }
+}
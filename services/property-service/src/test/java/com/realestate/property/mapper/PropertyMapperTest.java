@@ -0,0 +1,97 @@
+package com.realestate.property.mapper;
+
+import com.realestate.property.dto.PropertyDTO;
+import com.realestate.property.entity.Property;
+import com.realestate.property.entity.PropertyFeature;
+import com.realestate.property.repository.PropertyFeatureRepository;
+import com.realestate.property.service.IdentityLookupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyMapperTest {
+
+    @Mock
+    private PropertyFeatureRepository propertyFeatureRepository;
+
+    @Mock
+    private IdentityLookupService identityLookupService;
+
+    @InjectMocks
+    private PropertyMapper propertyMapper;
+
+    private Property createProperty(long id) {
+        Property property = new Property();
+        property.setId(id);
+        property.setReference("PROP-" + id);
+        property.setTitle("Property " + id);
+        property.setType("APARTMENT");
+        property.setStatus("PUBLISHED");
+        property.setPrice(new BigDecimal("250000.00"));
+        property.setOrganizationId(100L + (id % 3));
+        property.setAssignedUserId(200L + (id % 5));
+        return property;
+    }
+
+    @Test
+    void testToDTOs_PageOf50_ConstantNumberOfQueries() {
+        // Given
+        List<Property> page = new ArrayList<>();
+        List<PropertyFeature> features = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            Property property = createProperty(id);
+            page.add(property);
+            features.add(new PropertyFeature(property, "appliance", "Dishwasher " + id));
+        }
+        when(propertyFeatureRepository.findActiveByPropertyIdIn(anyCollection())).thenReturn(features);
+        when(identityLookupService.getOrganizationNames(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, String> names = new HashMap<>();
+            for (Object id : (Collection<?>) invocation.getArgument(0)) {
+                names.put((Long) id, "Agency " + id);
+            }
+            return names;
+        });
+        when(identityLookupService.getUserNames(anyCollection())).thenReturn(Map.of(201L, "Jane Doe"));
+
+        // When
+        List<PropertyDTO> result = propertyMapper.toDTOs(page);
+
+        // Then : une seule requête de caractéristiques et une résolution par type pour toute la page
+        assertEquals(50, result.size());
+        verify(propertyFeatureRepository, times(1)).findActiveByPropertyIdIn(anyCollection());
+        verify(propertyFeatureRepository, never()).findActiveByPropertyId(anyLong());
+        verify(identityLookupService, times(1)).getOrganizationNames(anyCollection());
+        verify(identityLookupService, times(1)).getUserNames(anyCollection());
+
+        PropertyDTO first = result.get(0);
+        assertEquals(1L, first.getId());
+        assertEquals("[\"Dishwasher 1\"]", first.getAppliancesIncluded());
+        assertEquals("Agency 101", first.getOrganizationName());
+        assertEquals("Jane Doe", first.getAssignedUserName());
+    }
+
+    @Test
+    void testToDTOs_EmptyPage_NoQueries() {
+        // When
+        List<PropertyDTO> result = propertyMapper.toDTOs(new ArrayList<>());
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(propertyFeatureRepository, identityLookupService);
+    }
+}
@@ -0,0 +1,125 @@
+package com.realestate.property.service;
+
+import com.realestate.property.dto.AdvertisementDTO;
+import com.realestate.property.entity.Advertisement;
+import com.realestate.property.mapper.AdvertisementMapper;
+import com.realestate.property.repository.AdvertisementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdServingServiceTest {
+
+    private AdvertisementRepository advertisementRepository;
+    private AdvertisementEventBuffer advertisementEventBuffer;
+    private StringRedisTemplate redisTemplate;
+    private AdServingService service;
+    private final List<Advertisement> advertisements = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        advertisementRepository = mock(AdvertisementRepository.class);
+        when(advertisementRepository.findServable(any())).thenReturn(advertisements);
+        AdvertisementMapper mapper = mock(AdvertisementMapper.class);
+        when(mapper.toDTO(any())).thenAnswer(invocation -> {
+            AdvertisementDTO dto = new AdvertisementDTO();
+            dto.setId(((Advertisement) invocation.getArgument(0)).getId());
+            return dto;
+        });
+        advertisementEventBuffer = mock(AdvertisementEventBuffer.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        service = new AdServingService(advertisementRepository, mapper, advertisementEventBuffer, redisTemplate);
+    }
+
+    private Advertisement ad(long id, int priority, String targetLocations, String targetPropertyTypes) {
+        Advertisement advertisement = new Advertisement();
+        advertisement.setId(id);
+        advertisement.setAdType("BANNER");
+        advertisement.setPosition("TOP");
+        advertisement.setPriority(priority);
+        advertisement.setStartDate(LocalDateTime.now().minusDays(1));
+        advertisement.setTargetLocations(targetLocations);
+        advertisement.setTargetPropertyTypes(targetPropertyTypes);
+        advertisements.add(advertisement);
+        return advertisement;
+    }
+
+    private List<Long> select(String adType, String position, String city, String postalCode, String propertyType) {
+        return service.selectAdvertisements(adType, position, city, postalCode, propertyType).stream()
+                .map(AdvertisementDTO::getId)
+                .toList();
+    }
+
+    @Test
+    void testParseTargets_JsonObjectArrayAndPlainList() {
+        assertEquals(Set.of("paris", "75001", "île-de-france"),
+                AdServingIndex.parseTargets("{\"cities\": [\"Paris\"], \"postalCodes\": [\"75001\"], \"regions\": [\"Île-de-France\"]}"));
+        assertEquals(Set.of("apartment", "house"), AdServingIndex.parseTargets("[\"APARTMENT\", \"HOUSE\"]"));
+        assertEquals(Set.of("lyon", "69001"), AdServingIndex.parseTargets("Lyon; 69001"));
+        assertEquals(Set.of(), AdServingIndex.parseTargets(" "));
+    }
+
+    @Test
+    void testSelect_UsesTargetingIndexesByPriority() {
+        ad(1, 1, null, null);
+        ad(2, 5, "{\"cities\": [\"Paris\"]}", "[\"HOUSE\"]");
+        ad(3, 3, "{\"cities\": [\"Lyon\"], \"postalCodes\": [\"69001\"]}", "[\"APARTMENT\"]");
+        ad(4, 9, null, null).setPosition("BOTTOM");
+        ad(5, 7, null, null).setStartDate(LocalDateTime.now().plusDays(1));
+
+        assertEquals(List.of(2L, 3L, 1L), select("BANNER", "TOP", null, null, null));
+        assertEquals(List.of(4L, 2L, 1L), select(null, null, "paris", null, null));
+        assertEquals(List.of(4L, 3L, 1L), select(null, null, null, "69001", null));
+        assertEquals(List.of(4L, 3L, 1L), select(null, null, null, null, "APARTMENT"));
+        assertEquals(List.of(4L, 2L, 3L, 1L), select(null, null, null, null, null));
+    }
+
+    @Test
+    void testSelect_SkipsExhaustedBudget() {
+        Advertisement advertisement = ad(1, 1, null, null);
+        advertisement.setBudget(new BigDecimal("10.00"));
+        advertisement.setTotalSpent(new BigDecimal("9.99"));
+        advertisement.setCostPerImpression(new BigDecimal("5.00"));
+
+        when(advertisementEventBuffer.getPendingImpressions(1L)).thenReturn(1L);
+        assertEquals(List.of(1L), select(null, null, null, null, null));
+        when(advertisementEventBuffer.getPendingImpressions(1L)).thenReturn(2L);
+        assertEquals(List.of(), select(null, null, null, null, null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDailyCap_CountsLocalImpressionsAndSyncedTotals() {
+        ad(1, 1, null, null).setMaxImpressionsPerDay(3);
+        service.loadIndex();
+
+        service.recordImpression(1L);
+        service.recordImpression(1L);
+        assertEquals(List.of(1L), select(null, null, null, null, null));
+        service.recordImpression(1L);
+        assertEquals(List.of(), select(null, null, null, null, null));
+
+        // Les autres instances n'ont rien servi : 3 impressions au total
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(3L, true, "1"));
+        service.syncDailyCounts();
+        assertEquals(List.of(), select(null, null, null, null, null));
+
+        // Nouvelle version partagée : reconstruction ; limite relevée ailleurs, total inchangé
+        advertisements.get(0).setMaxImpressionsPerDay(10);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(3L, true, "2"));
+        service.syncDailyCounts();
+        assertEquals(List.of(1L), select(null, null, null, null, null));
+        verify(advertisementRepository, times(3)).findServable(any());
+    }
+}
@@ -0,0 +1,198 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.AdvertisementClick;
+import com.realestate.property.entity.AdvertisementImpression;
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementCounterDelta;
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementHourlyDelta;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AdvertisementEventBufferTest {
+
+    private AdvertisementImpression impression(long advertisementId) {
+        AdvertisementImpression impression = new AdvertisementImpression();
+        impression.setAdvertisementId(advertisementId);
+        impression.setImpressedAt(LocalDateTime.now());
+        return impression;
+    }
+
+    private AdvertisementClick click(long advertisementId) {
+        AdvertisementClick click = new AdvertisementClick();
+        click.setAdvertisementId(advertisementId);
+        click.setClickedAt(LocalDateTime.now());
+        return click;
+    }
+
+    @Test
+    void testFlushAll_AppliesAggregatedDeltasInIdOrder() {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        List<AdvertisementCounterDelta> applied = new ArrayList<>();
+        when(writer.applyCounters(anyList(), anyList())).thenAnswer(invocation -> {
+            List<AdvertisementCounterDelta> deltas = invocation.getArgument(0);
+            applied.addAll(deltas);
+            return new int[]{1, 1};
+        });
+        List<Integer> rowBatches = new ArrayList<>();
+        when(writer.writeImpressions(anyList())).thenAnswer(invocation -> {
+            rowBatches.add(((List<?>) invocation.getArgument(0)).size());
+            return rowBatches.get(rowBatches.size() - 1);
+        });
+        when(writer.writeClicks(anyList())).thenAnswer(invocation -> {
+            rowBatches.add(((List<?>) invocation.getArgument(0)).size());
+            return rowBatches.get(rowBatches.size() - 1);
+        });
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 100, 10, 1000, null);
+        buffer.recordImpression(impression(7));
+        buffer.recordImpression(impression(7));
+        buffer.recordClick(click(7));
+        buffer.recordImpression(impression(3));
+
+        buffer.flushAll();
+
+        assertEquals(List.of(
+                new AdvertisementCounterDelta(3L, 1, 0),
+                new AdvertisementCounterDelta(7L, 2, 1)), applied);
+        assertEquals(0, buffer.getPendingImpressions(7L));
+        assertEquals(0, buffer.size());
+        assertEquals(List.of(3, 1), rowBatches);
+
+        // Rien de nouveau : pas d'UPDATE
+        buffer.flushAll();
+        verify(writer, times(1)).applyCounters(anyList(), anyList());
+    }
+
+    @Test
+    void testFlushAll_AppliesHourlyDeltasByCityAndPageType() {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        List<AdvertisementHourlyDelta> applied = new ArrayList<>();
+        when(writer.applyCounters(anyList(), anyList())).thenAnswer(invocation -> {
+            applied.addAll(invocation.getArgument(1));
+            return new int[]{1};
+        });
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 100, 10, 1000, null);
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        AdvertisementImpression paris = impression(1);
+        paris.setCity(" Paris ");
+        paris.setPageType("PROPERTY_DETAIL");
+        AdvertisementImpression parisAgain = impression(1);
+        parisAgain.setCity("Paris");
+        parisAgain.setPageType("PROPERTY_DETAIL");
+        AdvertisementClick click = click(1);
+        click.setCity("Paris");
+        buffer.recordImpression(paris);
+        buffer.recordImpression(parisAgain);
+        buffer.recordImpression(impression(1));
+        buffer.recordClick(click);
+
+        buffer.flushAll();
+        buffer.flushAll();
+
+        assertEquals(List.of(
+                new AdvertisementHourlyDelta(1L, hour, "", "", 1, 0),
+                new AdvertisementHourlyDelta(1L, hour, "Paris", "", 0, 1),
+                new AdvertisementHourlyDelta(1L, hour, "Paris", "PROPERTY_DETAIL", 2, 0)), applied);
+    }
+
+    @Test
+    void testFlushAll_FailedUpdateIsRetriedWithoutLoss() {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        List<AdvertisementCounterDelta> applied = new ArrayList<>();
+        when(writer.applyCounters(anyList(), anyList()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenAnswer(invocation -> {
+                    applied.addAll(invocation.getArgument(0));
+                    return new int[]{1};
+                });
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 100, 10, 1000, null);
+        buffer.recordImpression(impression(1));
+
+        buffer.flushAll();
+        assertEquals(1, buffer.getPendingImpressions(1L));
+        buffer.recordImpression(impression(1));
+        buffer.flushAll();
+
+        assertEquals(List.of(new AdvertisementCounterDelta(1L, 2, 0)), applied);
+        assertEquals(0, buffer.getPendingImpressions(1L));
+    }
+
+    @Test
+    void testFlushAll_DropsCountersOfUnknownAdvertisements() {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        when(writer.applyCounters(anyList(), anyList())).thenReturn(new int[]{0});
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 100, 10, 1000, null);
+        buffer.recordClick(click(404));
+
+        buffer.flushAll();
+        buffer.flushAll();
+
+        assertEquals(0, buffer.getPendingClicks(404L));
+        verify(writer, times(1)).applyCounters(anyList(), anyList());
+    }
+
+    @Test
+    void testRecord_DropsRawRowsWhenFullButKeepsCounting() {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 2, 10, 1000, null);
+        for (int i = 0; i < 5; i++) {
+            buffer.recordImpression(impression(1));
+        }
+
+        assertEquals(2, buffer.size());
+        assertEquals(5, buffer.getPendingImpressions(1L));
+    }
+
+    @Test
+    void testConcurrentRecordsAndFlushes_CountEveryEventExactlyOnce() throws Exception {
+        AdvertisementEventWriter writer = mock(AdvertisementEventWriter.class);
+        Map<Long, Long> totals = new ConcurrentHashMap<>();
+        when(writer.applyCounters(anyList(), anyList())).thenAnswer(invocation -> {
+            List<AdvertisementCounterDelta> deltas = invocation.getArgument(0);
+            deltas.forEach(delta -> totals.merge(delta.advertisementId(), delta.impressions(), Long::sum));
+            int[] updated = new int[deltas.size()];
+            Arrays.fill(updated, 1);
+            return updated;
+        });
+        AdvertisementEventBuffer buffer = new AdvertisementEventBuffer(writer, 1_000_000, 1000, 1000, null);
+        int threads = 8;
+        int perThread = 20_000;
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (producing.get()) {
+                buffer.flushAll();
+            }
+        });
+        flusher.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    buffer.recordImpression(impression(i % 4));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        producing.set(false);
+        flusher.join();
+        buffer.flushAll();
+
+        assertEquals((long) threads * perThread, totals.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals((long) threads * perThread / 4, totals.get(0L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.realestate.property.service;
+
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementCounterDelta;
+import com.realestate.property.service.AdvertisementEventWriter.AdvertisementHourlyDelta;
+import com.realestate.property.service.AdvertisementEventWriter.BilledIncrement;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AdvertisementEventWriterTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> expected + " != " + actual);
+    }
+
+    @Test
+    void testAllocateSpent_CapsRowsAtBilledAmountPerAdvertisement() {
+        List<AdvertisementHourlyDelta> hourlyDeltas = List.of(
+                new AdvertisementHourlyDelta(1L, HOUR.minusHours(1), "Paris", "", 2000, 1),
+                new AdvertisementHourlyDelta(1L, HOUR, "Lyon", "", 1000, 0),
+                new AdvertisementHourlyDelta(1L, HOUR, "Paris", "", 1000, 0),
+                new AdvertisementHourlyDelta(2L, HOUR, "", "", 500, 2));
+        // Annonce 1 : 6,50 de coût, budget atteint après 4,00 ; annonce 2 : sans budget
+        Map<Long, BilledIncrement> billed = Map.of(
+                1L, new BilledIncrement(new BigDecimal("4.00"), new BigDecimal("1.00"), new BigDecimal("2.50")),
+                2L, new BilledIncrement(new BigDecimal("1.01"), new BigDecimal("2.00"), new BigDecimal("0.005")));
+
+        List<BigDecimal> spent = AdvertisementEventWriter.allocateSpent(hourlyDeltas, billed);
+
+        assertAmount("4.00", spent.get(0));
+        assertAmount("0", spent.get(1));
+        assertAmount("0", spent.get(2));
+        assertAmount("1.01", spent.get(3));
+    }
+
+    @Test
+    void testAllocateSpent_LastRowAbsorbsRoundingOfTotalSpent() {
+        List<AdvertisementHourlyDelta> hourlyDeltas = List.of(
+                new AdvertisementHourlyDelta(1L, HOUR, "Lyon", "", 1, 0),
+                new AdvertisementHourlyDelta(1L, HOUR, "Paris", "", 1, 0));
+        // 2 impressions à 3,00 le mille : 0,006 arrondi à 0,01 par total_spent (scale 2)
+        Map<Long, BilledIncrement> billed = Map.of(
+                1L, new BilledIncrement(new BigDecimal("0.01"), new BigDecimal("3.00"), null));
+
+        List<BigDecimal> spent = AdvertisementEventWriter.allocateSpent(hourlyDeltas, billed);
+
+        assertAmount("0.003", spent.get(0));
+        assertAmount("0.007", spent.get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApplyCounters_WritesBilledSpendAndSkipsUnknownAdvertisements() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        // Annonce 1 : 3,00 de coût, plafonné à 2,50 par le budget ; annonce 404 : aucune ligne
+        when(jdbcTemplate.query(eq(AdvertisementEventWriter.APPLY_COUNTERS_SQL), any(RowMapper.class),
+                any(), any(), any(), any(), any(), any(), eq(1L)))
+                .thenReturn(List.of(new BilledIncrement(new BigDecimal("2.50"), new BigDecimal("1.00"), null)));
+        AdvertisementEventWriter writer = new AdvertisementEventWriter(jdbcTemplate, mock(PlatformTransactionManager.class));
+
+        int[] updated = writer.applyCounters(
+                List.of(new AdvertisementCounterDelta(1L, 3000, 0), new AdvertisementCounterDelta(404L, 1, 0)),
+                List.of(new AdvertisementHourlyDelta(1L, HOUR, "Lyon", "", 2000, 0),
+                        new AdvertisementHourlyDelta(1L, HOUR, "Paris", "", 1000, 0),
+                        new AdvertisementHourlyDelta(404L, HOUR, "", "", 1, 0)));
+
+        assertArrayEquals(new int[]{1, 0}, updated);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(AdvertisementEventWriter.UPSERT_HOURLY_SQL), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertAmount("2.00", (BigDecimal) rows.getValue().get(0)[6]);
+        assertAmount("0.50", (BigDecimal) rows.getValue().get(1)[6]);
+    }
+}
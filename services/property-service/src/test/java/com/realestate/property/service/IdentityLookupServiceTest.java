@@ -0,0 +1,105 @@
+package com.realestate.property.service;
+
+import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.dto.OrganizationInfoDTO;
+import com.realestate.common.client.dto.UserInfoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IdentityLookupServiceTest {
+
+    private IdentityServiceClient identityServiceClient;
+    private IdentityLookupService identityLookupService;
+
+    @BeforeEach
+    void setUp() {
+        identityServiceClient = mock(IdentityServiceClient.class);
+        identityLookupService = new IdentityLookupService();
+        ReflectionTestUtils.setField(identityLookupService, "identityServiceClient", identityServiceClient);
+        ReflectionTestUtils.setField(identityLookupService, "serviceAuthToken", "service-token");
+        ReflectionTestUtils.setField(identityLookupService, "cacheTtlSeconds", 60L);
+        ReflectionTestUtils.setField(identityLookupService, "cacheMaxEntries", 100);
+    }
+
+    private static OrganizationInfoDTO organization(Long id, String name) {
+        OrganizationInfoDTO organization = new OrganizationInfoDTO();
+        organization.setId(id);
+        organization.setName(name);
+        return organization;
+    }
+
+    private static UserInfoDTO user(Long id, String firstName, String lastName, String email) {
+        UserInfoDTO user = new UserInfoDTO();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        return user;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetOrganizationNames_DistinctIdsInOneCall() {
+        when(identityServiceClient.getOrganizationsByIds(anyCollection(), eq("service-token")))
+                .thenReturn(Mono.just(List.of(organization(1L, "Agence Nord"), organization(2L, "Agence Sud"))));
+
+        Map<Long, String> names = identityLookupService.getOrganizationNames(Arrays.asList(1L, 2L, 1L, null, 2L));
+
+        assertEquals(Map.of(1L, "Agence Nord", 2L, "Agence Sud"), names);
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(identityServiceClient, times(1)).getOrganizationsByIds(ids.capture(), eq("service-token"));
+        assertEquals(List.of(1L, 2L), List.copyOf(ids.getValue()));
+    }
+
+    @Test
+    void testGetUserNames_IdsMissingFromResponseAreOmittedAndRetried() {
+        when(identityServiceClient.getUsersByIds(Set.of(10L, 11L), "service-token"))
+                .thenReturn(Mono.just(List.of(user(10L, "Marie", "Curie", "marie@example.com"))));
+        when(identityServiceClient.getUsersByIds(Set.of(11L), "service-token"))
+                .thenReturn(Mono.just(List.of(user(11L, null, null, "pierre@example.com"))));
+
+        assertEquals(Map.of(10L, "Marie Curie"), identityLookupService.getUserNames(List.of(10L, 11L)));
+
+        // 10 servi par le cache local, seul l'ID absent de la première réponse est redemandé
+        assertEquals(Map.of(10L, "Marie Curie", 11L, "pierre@example.com"),
+                identityLookupService.getUserNames(List.of(10L, 11L)));
+        verify(identityServiceClient).getUsersByIds(Set.of(11L), "service-token");
+    }
+
+    @Test
+    void testGetUserNames_ClientErrorLeavesNamesEmptyLikeSingleLookups() {
+        // Comme getUserById : une erreur donne un nom absent, sans faire échouer le mapping
+        when(identityServiceClient.getUsersByIds(Set.of(10L), "service-token"))
+                .thenReturn(Mono.error(new IllegalStateException("identity-service down")))
+                .thenReturn(Mono.just(List.of()))
+                .thenReturn(Mono.just(List.of(user(10L, "Marie", "Curie", null))));
+
+        assertTrue(identityLookupService.getUserNames(List.of(10L)).isEmpty());
+        assertTrue(identityLookupService.getUserNames(List.of(10L)).isEmpty());
+
+        // Rien n'a été mis en cache pendant la panne : l'appel suivant résout le nom
+        assertEquals(Map.of(10L, "Marie Curie"), identityLookupService.getUserNames(List.of(10L)));
+        verify(identityServiceClient, times(3)).getUsersByIds(Set.of(10L), "service-token");
+    }
+
+    @Test
+    void testGetOrganizationNames_WithoutClientReturnsEmpty() {
+        ReflectionTestUtils.setField(identityLookupService, "identityServiceClient", null);
+
+        assertTrue(identityLookupService.getOrganizationNames(List.of(1L)).isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package com.realestate.property.service;
+
+import com.realestate.common.event.PropertyUpdatedEvent;
+import com.realestate.property.entity.PriceAlert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceAlertEvaluatorTest {
+
+    @Mock
+    private PriceAlertService priceAlertService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private PriceAlertEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        evaluator = new PriceAlertEvaluator(priceAlertService, restTemplate);
+        ReflectionTestUtils.setField(evaluator, "notificationServiceUrl", "http://notification");
+        ReflectionTestUtils.setField(evaluator, "batchSize", 2);
+        ReflectionTestUtils.setField(evaluator, "notificationsEnabled", true);
+    }
+
+    @Test
+    void testOnPropertyUpdated_IgnoresEventsWithoutPriceChange() {
+        evaluator.onPropertyUpdated(event(1L, null, "200000"));
+        evaluator.flush();
+
+        verifyNoInteractions(priceAlertService, restTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_MergesChangesPerPropertyAndProcessesInBatches() {
+        when(priceAlertService.checkAndTriggerAlerts(anyMap())).thenReturn(List.of());
+
+        evaluator.onPropertyUpdated(event(1L, "300000", "280000"));
+        evaluator.onPropertyUpdated(event(1L, "280000", "250000"));
+        evaluator.onPropertyUpdated(event(2L, "100000", "90000"));
+        evaluator.onPropertyUpdated(event(3L, "500000", "450000"));
+        evaluator.flush();
+
+        ArgumentCaptor<Map<Long, PriceAlertService.PriceChange>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(priceAlertService, times(2)).checkAndTriggerAlerts(batches.capture());
+        assertEquals(3, batches.getAllValues().stream().mapToInt(Map::size).sum());
+
+        PriceAlertService.PriceChange merged = batches.getAllValues().stream()
+                .filter(batch -> batch.containsKey(1L))
+                .findFirst().orElseThrow()
+                .get(1L);
+        assertEquals(new BigDecimal("300000"), merged.getOldPrice());
+        assertEquals(new BigDecimal("250000"), merged.getNewPrice());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_SendsInAppNotificationsInOneRequest() {
+        PriceAlert emailOnly = alert(12L);
+        emailOnly.setInAppNotification(false);
+        when(priceAlertService.checkAndTriggerAlerts(anyMap())).thenReturn(List.of(alert(10L), alert(11L), emailOnly));
+
+        evaluator.onPropertyUpdated(event(1L, "300000", "250000"));
+        evaluator.flush();
+
+        ArgumentCaptor<HttpEntity<List<Map<String, Object>>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(eq("http://notification/api/notifications/send-batch"), request.capture(), eq(String.class));
+        List<Map<String, Object>> notifications = request.getValue().getBody();
+        assertEquals(2, notifications.size());
+        assertEquals("PRICE_ALERT", notifications.get(0).get("type"));
+        assertEquals(100L, notifications.get(0).get("organizationId"));
+        assertEquals("/properties/1", notifications.get(0).get("actionUrl"));
+    }
+
+    @Test
+    void testFlush_EvaluationFailureDoesNotPropagate() {
+        when(priceAlertService.checkAndTriggerAlerts(anyMap())).thenThrow(new RuntimeException("db down"));
+
+        evaluator.onPropertyUpdated(event(1L, "300000", "250000"));
+
+        assertDoesNotThrow(evaluator::flush);
+        verify(restTemplate, never()).postForEntity(any(String.class), any(), eq(String.class));
+    }
+
+    private PropertyUpdatedEvent event(Long propertyId, String previousPrice, String price) {
+        PropertyUpdatedEvent event = new PropertyUpdatedEvent(100L, 5L, propertyId, "REF-" + propertyId,
+                "Appartement " + propertyId, "APARTMENT", new BigDecimal(price), "PUBLISHED", "Paris", "France");
+        event.setPreviousPrice(previousPrice != null ? new BigDecimal(previousPrice) : null);
+        return event;
+    }
+
+    private PriceAlert alert(Long userId) {
+        PriceAlert alert = new PriceAlert(1L, userId, "PRICE_DROP");
+        alert.setId(userId);
+        return alert;
+    }
+}
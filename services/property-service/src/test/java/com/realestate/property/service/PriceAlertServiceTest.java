@@ -0,0 +1,47 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PriceAlert;
+import com.realestate.property.mapper.PriceAlertMapper;
+import com.realestate.property.repository.PriceAlertRepository;
+import com.realestate.property.repository.PropertyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PriceAlertServiceTest {
+
+    private PriceAlert priceDrop(Long id, Long propertyId) {
+        PriceAlert alert = new PriceAlert();
+        alert.setId(id);
+        alert.setPropertyId(propertyId);
+        alert.setAlertType("PRICE_DROP");
+        alert.setTargetPrice(new BigDecimal("250000"));
+        return alert;
+    }
+
+    @Test
+    void testCheckAndTriggerAlerts_ReturnsOnlyAlertsClaimedByThisCall() {
+        PriceAlertRepository priceAlertRepository = mock(PriceAlertRepository.class);
+        when(priceAlertRepository.findActiveUnnotifiedAlertsByPropertyIds(Set.of(1L)))
+                .thenReturn(List.of(priceDrop(10L, 1L), priceDrop(11L, 1L)));
+        // Alerte 11 déjà marquée par une autre instance
+        when(priceAlertRepository.markNotified(anyCollection(), any())).thenReturn(List.of(10L));
+        PriceAlertService service = new PriceAlertService(priceAlertRepository, mock(PropertyRepository.class),
+                mock(PriceAlertMapper.class));
+
+        List<PriceAlert> triggered = service.checkAndTriggerAlerts(Map.of(1L, new PriceAlertService.PriceChange(
+                1L, 100L, "Appartement", new BigDecimal("300000"), new BigDecimal("240000"))));
+
+        assertEquals(List.of(10L), triggered.stream().map(PriceAlert::getId).toList());
+        verify(priceAlertRepository).markNotified(eq(List.of(10L, 11L)), any());
+    }
+}
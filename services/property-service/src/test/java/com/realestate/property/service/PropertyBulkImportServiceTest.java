@@ -0,0 +1,79 @@
+package com.realestate.property.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.common.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyBulkImportServiceTest {
+
+    private final PropertyBulkImportService service = new PropertyBulkImportService(
+            null, null, null, null, null, null, null, new ObjectMapper().findAndRegisterModules());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxRows", 100);
+    }
+
+    @Test
+    void testParseCsv_QuotedFieldsAndLineEndings() {
+        List<List<String>> records = PropertyBulkImportService.parseCsv(
+                "title,address\r\n\"T3, balcon\",\"12 rue \"\"Haute\"\"\nBât. B\"\nStudio,\n");
+
+        assertEquals(List.of(
+                List.of("title", "address"),
+                List.of("T3, balcon", "12 rue \"Haute\"\nBât. B"),
+                List.of("Studio", "")), records);
+        assertThrows(BadRequestException.class, () -> PropertyBulkImportService.parseCsv("title\n\"non fermé"));
+    }
+
+    @Test
+    void testParseRows_CsvRowErrorsDoNotFailFile() {
+        String csv = "\uFEFFtitle,type,price,bedrooms\n"
+                + "Maison familiale,HOUSE,420000.50,4\n"
+                + "Loft,APARTMENT,pas un prix,1\n"
+                + "\n"
+                + "Studio,APARTMENT\n";
+
+        List<PropertyBulkImportService.ImportRow> rows =
+                service.parseRows(csv.getBytes(StandardCharsets.UTF_8), PropertyBulkImportService.FORMAT_CSV);
+
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0).getError());
+        assertEquals("Maison familiale", rows.get(0).getProperty().getTitle());
+        assertEquals(new BigDecimal("420000.50"), rows.get(0).getProperty().getPrice());
+        assertEquals(4, rows.get(0).getProperty().getBedrooms());
+        assertEquals("DRAFT", rows.get(0).getProperty().getStatus());
+        assertNotNull(rows.get(1).getError());
+        assertEquals(3, rows.get(2).getRow());
+        assertEquals("Expected 4 columns, found 2", rows.get(2).getError());
+    }
+
+    @Test
+    void testParseRows_JsonArrayOnly() {
+        String json = "[{\"title\": \"Villa\", \"type\": \"HOUSE\", \"price\": 950000}, {\"price\": {}}]";
+
+        List<PropertyBulkImportService.ImportRow> rows =
+                service.parseRows(json.getBytes(StandardCharsets.UTF_8), PropertyBulkImportService.FORMAT_JSON);
+
+        assertEquals("Villa", rows.get(0).getProperty().getTitle());
+        assertNotNull(rows.get(1).getError());
+        assertThrows(BadRequestException.class, () -> service.parseRows(
+                "{\"title\": \"Villa\"}".getBytes(StandardCharsets.UTF_8), PropertyBulkImportService.FORMAT_JSON));
+        assertThrows(BadRequestException.class, () -> service.parseRows(
+                "[]".getBytes(StandardCharsets.UTF_8), PropertyBulkImportService.FORMAT_JSON));
+    }
+
+    @Test
+    void testGenerateReference_UniquePerReservedId() {
+        assertEquals("APA-1760745600000-41", PropertyBulkImportService.generateReference("APARTMENT", 1760745600000L, 41L));
+        assertEquals("PROP-1760745600000-42", PropertyBulkImportService.generateReference(null, 1760745600000L, 42L));
+    }
+}
@@ -0,0 +1,98 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PropertyEvent;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de la file d'ingestion (événements/s par requête synchrone vs file + lots, base H2 en mémoire)
+ *
+ * Ne s'exécute qu'avec -Dbenchmark=true : mvn -pl services/property-service test -Dtest=PropertyEventBufferBenchmarkTest -Dbenchmark=true
+ */
+class PropertyEventBufferBenchmarkTest {
+
+    private static final int PRODUCER_THREADS = 8;
+    private static final int EVENTS_PER_THREAD = 25_000;
+
+    private PropertyEvent createEvent(long propertyId) {
+        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_VIEW, null, null);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkIngestion() throws Exception {
+        JdbcConnectionPool dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:property_events;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        dataSource.setMaxConnections(PRODUCER_THREADS + 2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE property_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, property_id BIGINT NOT NULL, "
+                + "event_type VARCHAR(50) NOT NULL, created_at TIMESTAMP NOT NULL, user_id BIGINT, metadata VARCHAR(1000))");
+        // Sans cumuls journaliers : H2 ne connaît pas ON CONFLICT ... DO UPDATE
+        PropertyEventWriter writer = new PropertyEventWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), false);
+        int total = PRODUCER_THREADS * EVENTS_PER_THREAD;
+
+        // Avant : une transaction et un INSERT par événement, dans le thread de la requête
+        double syncSeconds = produce(event -> writer.write(Collections.singletonList(event)));
+        jdbcTemplate.execute("TRUNCATE TABLE property_events");
+
+        // Après : mise en file dans le thread de la requête, écriture par lots de 1000
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, null, total, 1000, 50, null);
+        buffer.start();
+        long start = System.nanoTime();
+        double acceptSeconds = produce(buffer::offer);
+        while (buffer.getWrittenCount() + buffer.getFailedCount() < total) {
+            Thread.sleep(5);
+        }
+        double persistSeconds = (System.nanoTime() - start) / 1e9;
+        buffer.destroy();
+
+        assertEquals(total, buffer.getWrittenCount());
+        assertEquals(total, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM property_events", Long.class));
+        System.out.printf("%-36s %14s%n", "path (" + PRODUCER_THREADS + " threads, " + total + " events)", "events/s");
+        System.out.printf("%-36s %14.0f%n", "synchronous insert per event", total / syncSeconds);
+        System.out.printf("%-36s %14.0f%n", "buffered: accepted (request path)", total / acceptSeconds);
+        System.out.printf("%-36s %14.0f%n", "buffered: persisted", total / persistSeconds);
+        dataSource.dispose();
+    }
+
+    private double produce(Consumer<PropertyEvent> sink) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCER_THREADS);
+        CountDownLatch ready = new CountDownLatch(PRODUCER_THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        for (int t = 0; t < PRODUCER_THREADS; t++) {
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+                    sink.accept(createEvent(i % 500));
+                }
+            });
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,164 @@
+package com.realestate.property.service;
+
+import com.realestate.property.controller.PropertyEventController;
+import com.realestate.property.entity.PropertyEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PropertyEventBufferTest {
+
+    private PropertyEvent createEvent(long propertyId) {
+        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_VIEW, null, null);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    void testOffer_RejectsAndCountsWhenFull() {
+        PropertyEventWriter writer = mock(PropertyEventWriter.class);
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, null, 3, 10, 1000, null);
+
+        assertTrue(buffer.offer(createEvent(1)));
+        assertTrue(buffer.offer(createEvent(2)));
+        assertTrue(buffer.offer(createEvent(3)));
+        assertFalse(buffer.offer(createEvent(4)));
+
+        assertEquals(3, buffer.size());
+        assertEquals(3, buffer.getAcceptedCount());
+        assertEquals(1, buffer.getDroppedCount());
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void testTrackEndpoint_Returns429WhenBufferIsFull() {
+        PropertyEventBuffer buffer = new PropertyEventBuffer(mock(PropertyEventWriter.class), null, 1, 10, 1000, null);
+        PropertyEventService service = new PropertyEventService(null, null, null, null, buffer, null);
+        PropertyEventController controller = new PropertyEventController(service);
+
+        assertEquals(HttpStatus.ACCEPTED, controller.trackFavorite(1L, null, null).getStatusCode());
+        ResponseEntity<Void> rejected = controller.trackFavorite(1L, null, null);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, buffer.getDroppedCount());
+    }
+
+    @Test
+    void testFlushAll_WritesInBatchesAndFreesCapacity() {
+        PropertyEventWriter writer = mock(PropertyEventWriter.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<?> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch.size();
+        });
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, null, 100, 4, 1000, null);
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(createEvent(i));
+        }
+
+        buffer.flushAll();
+
+        assertEquals(List.of(4, 4, 2), batchSizes);
+        assertEquals(0, buffer.size());
+        assertEquals(10, buffer.getWrittenCount());
+        assertTrue(buffer.offer(createEvent(11)));
+    }
+
+    @Test
+    void testFlushAll_CountsFailedEventsAndStillRecordsVisitors() {
+        PropertyEventWriter writer = mock(PropertyEventWriter.class);
+        when(writer.write(anyList())).thenReturn(1).thenThrow(new RuntimeException("db down"));
+        UniqueVisitorCounter uniqueVisitorCounter = mock(UniqueVisitorCounter.class);
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, uniqueVisitorCounter, 100, 2, 1000, null);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(createEvent(i));
+        }
+
+        buffer.flushAll();
+
+        assertEquals(1, buffer.getWrittenCount());
+        assertEquals(3, buffer.getFailedCount());
+        verify(uniqueVisitorCounter, times(2)).record(anyList());
+    }
+
+    @Test
+    void testDestroy_WritesPendingEvents() {
+        PropertyEventWriter writer = mock(PropertyEventWriter.class);
+        when(writer.write(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, null, 100, 50, 60_000, null);
+        buffer.start();
+        for (int i = 0; i < 7; i++) {
+            buffer.offer(createEvent(i));
+        }
+
+        buffer.destroy();
+
+        assertEquals(7, buffer.getWrittenCount());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void testConcurrentOffersAndFlushes_WriteEveryAcceptedEventExactlyOnce() throws Exception {
+        PropertyEventWriter writer = mock(PropertyEventWriter.class);
+        Set<PropertyEvent> writtenEvents = ConcurrentHashMap.newKeySet();
+        LongAdder duplicates = new LongAdder();
+        when(writer.write(anyList())).thenAnswer(invocation -> {
+            List<PropertyEvent> batch = invocation.getArgument(0);
+            for (PropertyEvent event : batch) {
+                if (!writtenEvents.add(event)) {
+                    duplicates.increment();
+                }
+            }
+            return batch.size();
+        });
+        // Capacité inférieure au total : une partie des événements est rejetée pendant la production
+        PropertyEventBuffer buffer = new PropertyEventBuffer(writer, null, 5_000, 500, 1000, null);
+        int threads = 8;
+        int perThread = 20_000;
+
+        AtomicBoolean producing = new AtomicBoolean(true);
+        Thread flusher = new Thread(() -> {
+            while (producing.get()) {
+                buffer.flushAll();
+            }
+        });
+        flusher.start();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    buffer.offer(createEvent(i % 100));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        producing.set(false);
+        flusher.join();
+        buffer.flushAll();
+
+        assertEquals((long) threads * perThread, buffer.getAcceptedCount() + buffer.getDroppedCount());
+        assertEquals(buffer.getAcceptedCount(), buffer.getWrittenCount());
+        assertEquals(buffer.getAcceptedCount(), writtenEvents.size());
+        assertEquals(0, duplicates.sum());
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,165 @@
+package com.realestate.property.service;
+
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.dto.StatsHistoryPointDTO;
+import com.realestate.property.dto.UniqueVisitorsPointDTO;
+import com.realestate.property.entity.PropertyEvent;
+import com.realestate.property.repository.PropertyEventDailyRepository;
+import com.realestate.property.repository.PropertyEventDailyTotalRepository;
+import com.realestate.property.repository.PropertyEventRepository;
+import com.realestate.property.repository.PropertyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyEventServiceTest {
+
+    @Mock
+    private PropertyEventRepository propertyEventRepository;
+
+    @Mock
+    private PropertyEventDailyRepository propertyEventDailyRepository;
+
+    @Mock
+    private PropertyEventDailyTotalRepository propertyEventDailyTotalRepository;
+
+    @Mock
+    private PropertyRepository propertyRepository;
+
+    @Mock
+    private PropertyEventBuffer propertyEventBuffer;
+
+    @Mock
+    private UniqueVisitorCounter uniqueVisitorCounter;
+
+    @InjectMocks
+    private PropertyEventService propertyEventService;
+
+    @Test
+    void testGetPropertyStatsHistory_FillsEveryDayFromRollups() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{today, PropertyEvent.EVENT_TYPE_VIEW, 12L});
+        counts.add(new Object[]{today, PropertyEvent.EVENT_TYPE_CONTACT, 2L});
+        counts.add(new Object[]{today.minusDays(2), PropertyEvent.EVENT_TYPE_SHARE, 1L});
+        when(propertyEventDailyRepository.findCountsByPropertyIdAndDateRange(eq(1L), any(), any())).thenReturn(counts);
+
+        List<StatsHistoryPointDTO> history = propertyEventService.getPropertyStatsHistory(1L, 3);
+
+        assertEquals(3, history.size());
+        assertEquals(today.minusDays(2), history.get(0).getDate());
+        assertEquals(1L, history.get(0).getShares());
+        assertEquals(0L, history.get(1).getViews());
+        assertEquals(12L, history.get(2).getViews());
+        assertEquals(2L, history.get(2).getContacts());
+        assertEquals(0L, history.get(2).getFavorites());
+        verify(propertyEventDailyRepository).findCountsByPropertyIdAndDateRange(1L, today.minusDays(2), today);
+        verifyNoInteractions(propertyEventRepository);
+    }
+
+    @Test
+    void testGetGlobalStatsHistory_DefaultsToSevenDays() {
+        when(propertyEventDailyTotalRepository.findCountsByDateRange(any(), any())).thenReturn(List.of());
+
+        List<StatsHistoryPointDTO> history = propertyEventService.getGlobalStatsHistory(365);
+
+        assertEquals(7, history.size());
+        assertEquals(LocalDate.now(), history.get(6).getDate());
+        verifyNoInteractions(propertyEventRepository);
+    }
+
+    @Test
+    void testAggregateByDay_OneCountPerPropertyDayAndType() {
+        LocalDateTime morning = LocalDate.of(2026, 10, 17).atTime(9, 0);
+        List<PropertyEvent> events = List.of(
+                event(1L, PropertyEvent.EVENT_TYPE_VIEW, morning),
+                event(1L, PropertyEvent.EVENT_TYPE_VIEW, morning.plusHours(10)),
+                event(1L, PropertyEvent.EVENT_TYPE_VIEW, morning.plusDays(1)),
+                event(2L, PropertyEvent.EVENT_TYPE_VIEW, morning),
+                event(1L, PropertyEvent.EVENT_TYPE_CONTACT, morning));
+
+        Map<PropertyEventWriter.DailyKey, Long> counts = PropertyEventWriter.aggregateByDay(events);
+
+        assertEquals(4, counts.size());
+        assertEquals(2L, counts.get(new PropertyEventWriter.DailyKey(1L, morning.toLocalDate(), PropertyEvent.EVENT_TYPE_VIEW)));
+        assertEquals(1L, counts.get(new PropertyEventWriter.DailyKey(1L, morning.toLocalDate().plusDays(1), PropertyEvent.EVENT_TYPE_VIEW)));
+        assertEquals(1L, counts.get(new PropertyEventWriter.DailyKey(2L, morning.toLocalDate(), PropertyEvent.EVENT_TYPE_VIEW)));
+    }
+
+    @Test
+    void testGetPropertyUniqueVisitors_WeeklyPeriodsFromStartDate() {
+        LocalDate start = LocalDate.of(2026, 10, 1);
+        when(uniqueVisitorCounter.count(eq(List.of(5L)), any(), any())).thenReturn(40L, 15L);
+
+        List<UniqueVisitorsPointDTO> points = propertyEventService.getPropertyUniqueVisitors(
+                5L, start, start.plusDays(9), PropertyEventService.GRANULARITY_WEEK);
+
+        assertEquals(2, points.size());
+        assertEquals(start.plusDays(6), points.get(0).getEndDate());
+        assertEquals(40L, points.get(0).getUniqueVisitors());
+        assertEquals(start.plusDays(7), points.get(1).getStartDate());
+        assertEquals(start.plusDays(9), points.get(1).getEndDate());
+        verify(uniqueVisitorCounter).count(List.of(5L), start.plusDays(7), start.plusDays(9));
+    }
+
+    @Test
+    void testGetOrganizationUniqueVisitors_MergesAllOrganizationProperties() {
+        LocalDate start = LocalDate.of(2026, 10, 1);
+        when(propertyRepository.findIdsByOrganizationId(100L)).thenReturn(List.of(1L, 2L, 3L));
+        when(uniqueVisitorCounter.count(List.of(1L, 2L, 3L), start, start.plusDays(29))).thenReturn(512L);
+
+        List<UniqueVisitorsPointDTO> points = propertyEventService.getOrganizationUniqueVisitors(
+                100L, start, start.plusDays(29), PropertyEventService.GRANULARITY_TOTAL);
+
+        assertEquals(1, points.size());
+        assertEquals(512L, points.get(0).getUniqueVisitors());
+    }
+
+    @Test
+    void testGetPropertyUniqueVisitors_RejectsInvalidRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(BadRequestException.class, () ->
+                propertyEventService.getPropertyUniqueVisitors(1L, today, today.minusDays(1), null));
+        assertThrows(BadRequestException.class, () ->
+                propertyEventService.getPropertyUniqueVisitors(1L, today.minusDays(400), today, null));
+        assertThrows(BadRequestException.class, () ->
+                propertyEventService.getPropertyUniqueVisitors(1L, today, today, "month"));
+        verifyNoInteractions(uniqueVisitorCounter);
+    }
+
+    @Test
+    void testVisitorKey_PrefersUserIdAndIgnoresInvalidVisitorIds() {
+        PropertyEvent event = event(1L, PropertyEvent.EVENT_TYPE_VIEW, LocalDateTime.now());
+        assertNull(UniqueVisitorCounter.visitorKey(event));
+
+        event.setVisitorId("a1b2c3");
+        assertEquals("v:a1b2c3", UniqueVisitorCounter.visitorKey(event));
+
+        event.setUserId(42L);
+        assertEquals("u:42", UniqueVisitorCounter.visitorKey(event));
+
+        event.setUserId(null);
+        event.setVisitorId("x".repeat(UniqueVisitorCounter.MAX_VISITOR_ID_LENGTH + 1));
+        assertNull(UniqueVisitorCounter.visitorKey(event));
+    }
+
+    private PropertyEvent event(Long propertyId, String eventType, LocalDateTime createdAt) {
+        PropertyEvent event = new PropertyEvent(propertyId, eventType, null, null);
+        event.setCreatedAt(createdAt);
+        return event;
+    }
+}
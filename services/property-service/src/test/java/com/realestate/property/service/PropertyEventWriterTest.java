@@ -0,0 +1,71 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.PropertyEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PropertyEventWriterTest {
+
+    private PropertyEvent createEvent(long propertyId) {
+        PropertyEvent event = new PropertyEvent(propertyId, PropertyEvent.EVENT_TYPE_VIEW, null, null);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testWrite_FailedBatchIsRetriedRowByRow() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(PropertyEventWriter.INSERT_EVENT_SQL), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("property 2 deleted"));
+        // Deuxième ligne rejetée (clé étrangère) : les deux autres sont écrites
+        when(jdbcTemplate.update(eq(PropertyEventWriter.INSERT_EVENT_SQL), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("property 2 deleted"))
+                .thenReturn(1);
+        PropertyEventWriter writer = new PropertyEventWriter(jdbcTemplate, mock(PlatformTransactionManager.class));
+
+        int written = writer.write(List.of(createEvent(1), createEvent(2), createEvent(3)));
+
+        assertEquals(2, written);
+        verify(jdbcTemplate, times(3)).update(eq(PropertyEventWriter.INSERT_EVENT_SQL), any(PreparedStatementSetter.class));
+        // Cumuls journaliers des seules lignes écrites
+        ArgumentCaptor<List<Object[]>> daily = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PropertyEventWriter.UPSERT_DAILY_SQL), daily.capture());
+        assertEquals(List.of(1L, 3L), daily.getValue().stream().map(args -> args[0]).toList());
+        ArgumentCaptor<List<Object[]>> totals = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(PropertyEventWriter.UPSERT_DAILY_TOTAL_SQL), totals.capture());
+        assertEquals(2L, totals.getValue().get(0)[2]);
+    }
+
+    @Test
+    void testWrite_RollupFailureAfterFallbackKeepsWrittenCount() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(eq(PropertyEventWriter.INSERT_EVENT_SQL), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("batch rejected"));
+        when(jdbcTemplate.update(eq(PropertyEventWriter.INSERT_EVENT_SQL), any(PreparedStatementSetter.class)))
+                .thenReturn(1);
+        when(jdbcTemplate.batchUpdate(eq(PropertyEventWriter.UPSERT_DAILY_SQL), anyList()))
+                .thenThrow(new DataIntegrityViolationException("rollup rejected"));
+        PropertyEventWriter writer = new PropertyEventWriter(jdbcTemplate, mock(PlatformTransactionManager.class));
+
+        assertEquals(2, writer.write(List.of(createEvent(1), createEvent(2))));
+    }
+}
@@ -0,0 +1,39 @@
+package com.realestate.property.service;
+
+import com.realestate.common.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyExportServiceTest {
+
+    @Test
+    void testEscapeCsv_QuotesOnlyWhenNeeded() {
+        assertEquals("", PropertyExportService.escapeCsv(null));
+        assertEquals("Paris", PropertyExportService.escapeCsv("Paris"));
+        assertEquals("1000000", PropertyExportService.escapeCsv(new BigDecimal("1E+6")));
+        assertEquals("\"12, rue de la Paix\"", PropertyExportService.escapeCsv("12, rue de la Paix"));
+        assertEquals("\"Loft \"\"atelier\"\"\"", PropertyExportService.escapeCsv("Loft \"atelier\""));
+        assertEquals("\"ligne 1\nligne 2\"", PropertyExportService.escapeCsv("ligne 1\nligne 2"));
+    }
+
+    @Test
+    void testWriteCsvRow_Rfc4180LineEnding() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        PropertyExportService.writeCsvRow(writer, Arrays.asList(1L, "T3, balcon", null, new BigDecimal("250000.00")));
+
+        assertEquals("1,\"T3, balcon\",,250000.00\r\n", writer.toString());
+    }
+
+    @Test
+    void testNormalizeFormat() {
+        assertEquals(PropertyExportService.FORMAT_CSV, PropertyExportService.normalizeFormat(null));
+        assertEquals(PropertyExportService.FORMAT_NDJSON, PropertyExportService.normalizeFormat(" NDJSON "));
+        assertThrows(BadRequestException.class, () -> PropertyExportService.normalizeFormat("xlsx"));
+    }
+}
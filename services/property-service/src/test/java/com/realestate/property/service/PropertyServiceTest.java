@@ -1,5 +1,6 @@
 package com.realestate.property.service;
 
+import com.realestate.common.event.PropertyUpdatedEvent;
 import com.realestate.property.entity.Property;
 import com.realestate.property.entity.PropertyAccess;
 import com.realestate.property.entity.PropertyFeature;
@@ -9,9 +10,12 @@ import com.realestate.property.repository.PropertyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -160,14 +164,14 @@ class PropertyServiceTest {
     void testDeleteProperty_Success() {
         // Given
         Long id = 1L;
-        when(propertyRepository.existsById(id)).thenReturn(true);
+        when(propertyRepository.findById(id)).thenReturn(Optional.of(testProperty));
         doNothing().when(propertyRepository).deleteById(id);
 
         // When
         assertDoesNotThrow(() -> propertyService.deleteProperty(id));
 
         // Then
-        verify(propertyRepository).existsById(id);
+        verify(propertyRepository).findById(id);
         verify(propertyRepository).deleteById(id);
     }
 
@@ -220,5 +224,26 @@ class PropertyServiceTest {
         verify(propertyRepository).findById(propertyId);
         verify(propertyFeatureRepository).save(any(PropertyFeature.class));
     }
-}
 
+    @Test
+    void testRemoveFeatureFromProperty_PublishesInvalidationEvent() {
+        // Given
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        ReflectionTestUtils.setField(propertyService, "applicationEventPublisher", publisher);
+        testProperty.setSlug("beautiful-apartment-paris");
+        PropertyFeature feature = new PropertyFeature(testProperty, "has_parking", "true");
+        when(propertyFeatureRepository.findByPropertyIdAndKey(1L, "has_parking")).thenReturn(Optional.of(feature));
+
+        // When
+        propertyService.removeFeatureFromProperty(1L, "has_parking");
+
+        // Then
+        verify(propertyFeatureRepository).delete(feature);
+        ArgumentCaptor<PropertyUpdatedEvent> event = ArgumentCaptor.forClass(PropertyUpdatedEvent.class);
+        verify(publisher).publishEvent(event.capture());
+        assertEquals(1L, event.getValue().getPropertyId());
+        assertEquals("PROP-001", event.getValue().getPropertyReference());
+        assertEquals("beautiful-apartment-paris", event.getValue().getSlug());
+        assertEquals(100L, event.getValue().getOrganizationId());
+    }
+}
@@ -0,0 +1,132 @@
+package com.realestate.property.service;
+
+import com.realestate.property.entity.SavedSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedSearchIndexTest {
+
+    private SavedSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SavedSearchIndex();
+    }
+
+    @Test
+    void testMatch_CityTypeAndWildcardBuckets() {
+        index.putAll(List.of(
+                search(1L, "Paris", "APARTMENT", null, null),
+                search(2L, "Paris", null, null, null),
+                search(3L, null, "APARTMENT", null, null),
+                search(4L, null, null, null, null),
+                search(5L, "Lyon", "APARTMENT", null, null)));
+
+        assertEquals(Set.of(1L, 2L, 3L, 4L), matchIds("paris", "apartment", "300000", null, "Appartement"));
+        assertEquals(Set.of(2L, 4L), matchIds("Paris", "HOUSE", "300000", null, "Maison"));
+        assertEquals(Set.of(4L), matchIds(null, null, "300000", null, "Terrain"));
+    }
+
+    @Test
+    void testMatch_PriceAndSurfaceRanges() {
+        SavedSearch withSurface = search(2L, "Paris", null, "200000", "400000");
+        withSurface.setMinSurface(new BigDecimal("50"));
+        withSurface.setMaxSurface(new BigDecimal("80"));
+        index.putAll(List.of(search(1L, "Paris", null, "200000", "400000"), withSurface));
+
+        assertEquals(Set.of(1L, 2L), matchIds("Paris", "APARTMENT", "400000", "65", "T3"));
+        assertEquals(Set.of(1L), matchIds("Paris", "APARTMENT", "300000", "90", "T4"));
+        // Surface inconnue : seule la recherche sans critère de surface correspond
+        assertEquals(Set.of(1L), matchIds("Paris", "APARTMENT", "300000", null, "T3"));
+        assertTrue(matchIds("Paris", "APARTMENT", "450000", "65", "T3").isEmpty());
+        assertTrue(matchIds("Paris", "APARTMENT", null, "65", "T3").isEmpty());
+    }
+
+    @Test
+    void testMatch_KeywordsAndAccentInsensitiveCity() {
+        SavedSearch withKeywords = search(1L, "Saint-Étienne", null, null, null);
+        withKeywords.setKeywords("Terrasse, parking");
+        index.put(withKeywords);
+
+        assertEquals(Set.of(1L), matchIds("saint etienne", "APARTMENT", "150000", null,
+                "Appartement avec terrasse et parking"));
+        assertTrue(matchIds("Saint-Étienne", "APARTMENT", "150000", null, "Appartement avec terrasse").isEmpty());
+    }
+
+    @Test
+    void testPutAll_MovesUpdatedSearchesAndDropsInactive() {
+        index.put(search(1L, "Paris", null, null, null));
+        index.put(search(2L, "Paris", null, null, null));
+
+        SavedSearch moved = search(1L, "Lyon", null, null, null);
+        SavedSearch deactivated = search(2L, "Paris", null, null, null);
+        deactivated.setActive(false);
+        index.putAll(List.of(moved, deactivated));
+
+        assertTrue(matchIds("Paris", null, "100000", null, "").isEmpty());
+        assertEquals(Set.of(1L), matchIds("Lyon", null, "100000", null, ""));
+        assertEquals(1, index.size());
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertTrue(matchIds("Lyon", null, "100000", null, "").isEmpty());
+    }
+
+    @Test
+    void testConcurrentMoves_KeepEachSearchInOneBucket() throws Exception {
+        int searches = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    long id = (i + offset) % searches + 1;
+                    index.put(search(id, (i + offset) % 3 == 0 ? "Lyon" : "Paris", null, null, null));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        List<Long> matched = new ArrayList<>();
+        for (String city : List.of("Paris", "Lyon")) {
+            index.match(city, null, null, new BigDecimal("100000"), null, "")
+                    .forEach(search -> matched.add(search.getId()));
+        }
+        assertEquals(searches, index.size());
+        assertEquals(searches, matched.size());
+        assertEquals(searches, Set.copyOf(matched).size());
+    }
+
+    private Set<Long> matchIds(String city, String type, String price, String surface, String title) {
+        return index.match(city, type, null,
+                        price != null ? new BigDecimal(price) : null,
+                        surface != null ? new BigDecimal(surface) : null,
+                        title).stream()
+                .map(SavedSearchIndex.IndexedSearch::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private SavedSearch search(Long id, String city, String type, String minPrice, String maxPrice) {
+        SavedSearch search = new SavedSearch();
+        search.setId(id);
+        search.setUserId(100L + id);
+        search.setName("Recherche " + id);
+        search.setCity(city);
+        search.setType(type);
+        search.setMinPrice(minPrice != null ? new BigDecimal(minPrice) : null);
+        search.setMaxPrice(maxPrice != null ? new BigDecimal(maxPrice) : null);
+        return search;
+    }
+}
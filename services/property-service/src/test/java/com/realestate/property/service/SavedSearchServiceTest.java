@@ -0,0 +1,170 @@
+package com.realestate.property.service;
+
+import com.realestate.property.dto.SavedSearchCreateDTO;
+import com.realestate.property.entity.SavedSearch;
+import com.realestate.property.mapper.SavedSearchMapper;
+import com.realestate.property.repository.SavedSearchMatchRepository;
+import com.realestate.property.repository.SavedSearchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Synchronisation de SavedSearchIndex après commit uniquement
+ */
+class SavedSearchServiceTest {
+
+    private AnnotationConfigApplicationContext context;
+    private SavedSearchService savedSearchService;
+    private SavedSearchIndex savedSearchIndex;
+    private SavedSearchRepository savedSearchRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        savedSearchService = context.getBean(SavedSearchService.class);
+        savedSearchIndex = context.getBean(SavedSearchIndex.class);
+        savedSearchRepository = context.getBean(SavedSearchRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        when(savedSearchRepository.save(any(SavedSearch.class))).thenAnswer(invocation -> {
+            SavedSearch search = invocation.getArgument(0);
+            if (search.getId() == null) {
+                search.setId(1L);
+            }
+            return search;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    private static SavedSearchCreateDTO lyonSearch() {
+        SavedSearchCreateDTO dto = new SavedSearchCreateDTO();
+        dto.setName("T3 Lyon");
+        dto.setCity("Lyon");
+        dto.setMaxPrice(new BigDecimal("300000"));
+        return dto;
+    }
+
+    private int lyonMatches() {
+        return savedSearchIndex.match("Lyon", "APARTMENT", null, new BigDecimal("250000"), null, "").size();
+    }
+
+    @Test
+    void testCreateSavedSearch_IndexedAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            savedSearchService.createSavedSearch(lyonSearch(), 42L);
+            // Avant commit : une annonce publiée en parallèle ne doit pas encore y correspondre
+            assertEquals(0, lyonMatches());
+        });
+
+        assertEquals(1, lyonMatches());
+    }
+
+    @Test
+    void testCreateSavedSearch_NotIndexedAfterRollback() {
+        transactionTemplate.executeWithoutResult(status -> {
+            savedSearchService.createSavedSearch(lyonSearch(), 42L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, savedSearchIndex.size());
+    }
+
+    @Test
+    void testDeleteSavedSearch_RemovedFromIndexAfterCommit() {
+        SavedSearch existing = new SavedSearch();
+        existing.setId(1L);
+        existing.setUserId(42L);
+        existing.setCity("Lyon");
+        savedSearchIndex.put(existing);
+        when(savedSearchRepository.findByIdAndUserIdAndActiveTrue(1L, 42L)).thenReturn(Optional.of(existing));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            savedSearchService.deleteSavedSearch(1L, 42L);
+            status.setRollbackOnly();
+        });
+        assertEquals(1, savedSearchIndex.size());
+
+        existing.setActive(true);
+        savedSearchService.deleteSavedSearch(1L, 42L);
+        assertEquals(0, savedSearchIndex.size());
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TestConfig {
+
+        @Bean
+        SavedSearchRepository savedSearchRepository() {
+            return mock(SavedSearchRepository.class);
+        }
+
+        @Bean
+        SavedSearchIndex savedSearchIndex() {
+            return new SavedSearchIndex();
+        }
+
+        @Bean
+        SavedSearchService savedSearchService(SavedSearchRepository savedSearchRepository,
+                                              SavedSearchIndex savedSearchIndex,
+                                              ApplicationEventPublisher applicationEventPublisher) {
+            return new SavedSearchService(savedSearchRepository, mock(SavedSearchMatchRepository.class),
+                    new SavedSearchMapper(), savedSearchIndex, applicationEventPublisher);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoOpTransactionManager();
+        }
+    }
+
+    /**
+     * Les méthodes @Transactional du service participent à la transaction ouverte par le test
+     */
+    static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
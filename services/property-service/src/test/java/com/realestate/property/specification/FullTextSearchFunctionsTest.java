@@ -0,0 +1,104 @@
+package com.realestate.property.specification;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rendu des fonctions plein texte par Hibernate sur H2 : la colonne search_vector n'est pas mappée,
+ * les fonctions PostgreSQL sont remplacées par des alias H2 (sous-chaîne / longueur)
+ */
+class FullTextSearchFunctionsTest {
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:fts;DB_CLOSE_DELAY=-1")
+                .applySetting("hibernate.hbm2ddl.auto", "create-drop")
+                .build();
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(Listing.class)
+                .buildMetadata().buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("ALTER TABLE fts_listings ADD COLUMN search_vector VARCHAR(255)").executeUpdate();
+            session.createNativeMutationQuery("CREATE ALIAS IF NOT EXISTS property_fts_matches FOR '"
+                    + H2Functions.class.getName() + ".matches'").executeUpdate();
+            session.createNativeMutationQuery("CREATE ALIAS IF NOT EXISTS property_fts_rank FOR '"
+                    + H2Functions.class.getName() + ".rank'").executeUpdate();
+            session.createNativeMutationQuery("INSERT INTO fts_listings (id, search_vector) VALUES "
+                    + "(1, 'appartement lyon'), (2, 'maison lyon lyon'), (3, 'maison paris')").executeUpdate();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<Long> search(String tsQuery, boolean orderByRank) {
+        Specification specification = PropertySpecification.fullTextSearch(tsQuery, orderByRank);
+        return sessionFactory.fromSession(session -> {
+            CriteriaBuilder cb = session.getCriteriaBuilder();
+            CriteriaQuery<Listing> query = cb.createQuery(Listing.class);
+            Root<Listing> root = query.from(Listing.class);
+            query.where(specification.toPredicate(root, query, cb));
+            if (!orderByRank) {
+                query.orderBy(cb.asc(root.get("id")));
+            }
+            return session.createQuery(query).getResultList().stream().map(Listing::getId).toList();
+        });
+    }
+
+    @Test
+    void testFullTextSearch_FiltersOnUnmappedSearchVectorColumn() {
+        assertEquals(List.of(1L, 2L), search("lyon", false));
+        assertEquals(List.of(2L, 3L), search("maison", false));
+    }
+
+    @Test
+    void testFullTextSearch_OrdersByRank() {
+        assertEquals(List.of(2L, 1L), search("lyon", true));
+    }
+
+    @Entity
+    @Table(name = "fts_listings")
+    static class Listing {
+        @Id
+        private Long id;
+
+        private java.time.LocalDateTime createdAt;
+
+        Long getId() {
+            return id;
+        }
+    }
+
+    public static class H2Functions {
+        public static boolean matches(String searchVector, String query) {
+            return searchVector != null && searchVector.contains(query);
+        }
+
+        public static float rank(String searchVector, String query) {
+            return searchVector == null ? 0 : searchVector.split(query, -1).length - 1;
+        }
+    }
+}
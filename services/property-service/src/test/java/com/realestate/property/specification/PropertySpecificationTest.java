@@ -0,0 +1,126 @@
+package com.realestate.property.specification;
+
+import com.realestate.property.entity.Property;
+import com.realestate.property.util.KeysetCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Prédicats keyset : NULLS LAST en ASC, NULLS FIRST en DESC (ordre par défaut de PostgreSQL)
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+class PropertySpecificationTest {
+
+    private Root<Property> root;
+    private CriteriaQuery<?> query;
+    private CriteriaBuilder cb;
+    private Path price;
+    private Path id;
+
+    @BeforeEach
+    void setUp() {
+        root = mock(Root.class);
+        query = mock(CriteriaQuery.class);
+        cb = mock(CriteriaBuilder.class);
+        price = mock(Path.class);
+        id = mock(Path.class);
+        when(root.get("price")).thenReturn(price);
+        when(root.get("id")).thenReturn(id);
+    }
+
+    private Predicate predicate(KeysetCursor cursor) {
+        return PropertySpecification.keysetAfter(cursor).toPredicate(root, query, cb);
+    }
+
+    @Test
+    void testKeysetAfter_NullKeyAscendingStaysAmongNullsAfterId() {
+        Predicate isNull = mock(Predicate.class);
+        Predicate idAfter = mock(Predicate.class);
+        Predicate sameNullKey = mock(Predicate.class);
+        when(cb.isNull(price)).thenReturn(isNull);
+        when(cb.greaterThan(id, 3L)).thenReturn(idAfter);
+        when(cb.and(isNull, idAfter)).thenReturn(sameNullKey);
+
+        Predicate result = predicate(new KeysetCursor("price", Sort.Direction.ASC, null, 3L));
+
+        // Les NULL sont en dernier : rien après eux que les NULL d'id supérieur
+        assertSame(sameNullKey, result);
+        verify(cb, never()).isNotNull(any());
+    }
+
+    @Test
+    void testKeysetAfter_NullKeyDescendingContinuesWithNonNullKeys() {
+        Predicate isNull = mock(Predicate.class);
+        Predicate isNotNull = mock(Predicate.class);
+        Predicate idBefore = mock(Predicate.class);
+        Predicate sameNullKey = mock(Predicate.class);
+        Predicate after = mock(Predicate.class);
+        when(cb.isNull(price)).thenReturn(isNull);
+        when(cb.isNotNull(price)).thenReturn(isNotNull);
+        when(cb.lessThan(id, 3L)).thenReturn(idBefore);
+        when(cb.and(isNull, idBefore)).thenReturn(sameNullKey);
+        when(cb.or(sameNullKey, isNotNull)).thenReturn(after);
+
+        Predicate result = predicate(new KeysetCursor("price", Sort.Direction.DESC, null, 3L));
+
+        // Les NULL sont en premier : suivent les NULL d'id inférieur puis toutes les valeurs
+        assertSame(after, result);
+    }
+
+    @Test
+    void testKeysetAfter_AscendingKeyIncludesTrailingNulls() {
+        BigDecimal value = new BigDecimal("250000");
+        Predicate keyAfter = mock(Predicate.class);
+        Predicate sameKey = mock(Predicate.class);
+        Predicate isNull = mock(Predicate.class);
+        Predicate after = mock(Predicate.class);
+        Predicate equal = mock(Predicate.class);
+        Predicate idAfter = mock(Predicate.class);
+        when(cb.greaterThan(price, value)).thenReturn(keyAfter);
+        when(cb.equal(price, value)).thenReturn(equal);
+        when(cb.greaterThan(id, 3L)).thenReturn(idAfter);
+        when(cb.and(equal, idAfter)).thenReturn(sameKey);
+        when(cb.isNull(price)).thenReturn(isNull);
+        when(cb.or(keyAfter, sameKey, isNull)).thenReturn(after);
+
+        assertSame(after, predicate(new KeysetCursor("price", Sort.Direction.ASC, value, 3L)));
+    }
+
+    @Test
+    void testKeysetAfter_DescendingKeyExcludesNulls() {
+        BigDecimal value = new BigDecimal("250000");
+        Predicate keyAfter = mock(Predicate.class);
+        Predicate sameKey = mock(Predicate.class);
+        Predicate after = mock(Predicate.class);
+        Predicate equal = mock(Predicate.class);
+        Predicate idBefore = mock(Predicate.class);
+        when(cb.lessThan(price, value)).thenReturn(keyAfter);
+        when(cb.equal(price, value)).thenReturn(equal);
+        when(cb.lessThan(id, 3L)).thenReturn(idBefore);
+        when(cb.and(equal, idBefore)).thenReturn(sameKey);
+        when(cb.or(keyAfter, sameKey)).thenReturn(after);
+
+        assertSame(after, predicate(new KeysetCursor("price", Sort.Direction.DESC, value, 3L)));
+        verify(cb, never()).isNull(any());
+    }
+
+    @Test
+    void testKeysetAfter_NoCursorMatchesEverything() {
+        Predicate conjunction = mock(Predicate.class);
+        when(cb.conjunction()).thenReturn(conjunction);
+
+        assertSame(conjunction, predicate(null));
+    }
+}
@@ -0,0 +1,72 @@
+package com.realestate.property.util;
+
+import com.realestate.common.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHashTest {
+
+    @Test
+    void testEncode_KnownValue() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("u4pru", GeoHash.encode(57.64911, 10.40744, 5));
+    }
+
+    @Test
+    void testCover_ContainsEveryPointOfTheArea() {
+        double minLat = 48.80, minLon = 2.25, maxLat = 48.92, maxLon = 2.42;
+        List<String> cells = GeoHash.cover(minLat, minLon, maxLat, maxLon, 32);
+
+        assertTrue(cells.size() <= 32);
+        for (double lat = minLat; lat <= maxLat; lat += 0.01) {
+            for (double lon = minLon; lon <= maxLon; lon += 0.01) {
+                String hash = GeoHash.encode(lat, lon, GeoHash.STORED_PRECISION);
+                assertTrue(cells.stream().anyMatch(hash::startsWith), "Point not covered: " + lat + "," + lon);
+            }
+        }
+    }
+
+    @Test
+    void testUpperBound_IsTheNextPrefix() {
+        assertEquals("u09u", GeoHash.upperBound("u09tz"));
+        assertEquals("c", GeoHash.upperBound("bz"));
+        assertNull(GeoHash.upperBound("zz"));
+        assertTrue(GeoHash.encode(48.8566, 2.3522, 12).compareTo(GeoHash.upperBound("u09tv")) < 0);
+    }
+
+    @Test
+    void testPrecisionForZoom_CellsShrinkAsZoomIncreases() {
+        assertEquals(1, GeoHash.precisionForZoom(0));
+        assertEquals(3, GeoHash.precisionForZoom(6));
+        assertEquals(5, GeoHash.precisionForZoom(12));
+        assertEquals(8, GeoHash.precisionForZoom(20));
+    }
+
+    @Test
+    void testSnapToGrid_NearbyViewportsShareTheSameArea() {
+        GeoArea first = GeoArea.fromParameters("-5.2,41.3,9.6,51.1", null, null).snapToGrid(3);
+        GeoArea second = GeoArea.fromParameters("-5.0,41.5,9.5,51.0", null, null).snapToGrid(3);
+
+        assertEquals(first.toBboxParameter(), second.toBboxParameter());
+        assertTrue(first.getMinLat() <= 41.3 && first.getMaxLat() >= 51.1);
+    }
+
+    @Test
+    void testGeoArea_CircleBoundingBoxCrossesAntimeridian() {
+        GeoArea area = GeoArea.fromParameters(null, "-17.7,179.95", 20.0);
+
+        assertTrue(area.isCircle());
+        assertTrue(area.crossesAntimeridian());
+    }
+
+    @Test
+    void testGeoArea_InvalidParameters() {
+        assertThrows(BadRequestException.class, () -> GeoArea.fromParameters("2.25,48.80,2.42", null, null));
+        assertThrows(BadRequestException.class, () -> GeoArea.fromParameters(null, "95,2", 5.0));
+        assertThrows(BadRequestException.class, () -> GeoArea.fromParameters("2.25,48.80,2.42,48.92", "48.8,2.3", 5.0));
+        assertNull(GeoArea.fromParameters(null, " ", null));
+    }
+}
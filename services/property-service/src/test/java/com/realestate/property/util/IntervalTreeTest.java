@@ -0,0 +1,96 @@
+package com.realestate.property.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void testStab_ClosedBoundsAndOpenEnds() {
+        IntervalTree<String> tree = IntervalTree.build(List.of(
+                new IntervalTree.Interval<>(100, 200, "a"),
+                new IntervalTree.Interval<>(200, 300, "b"),
+                new IntervalTree.Interval<>(Double.NEGATIVE_INFINITY, 150, "c"),
+                new IntervalTree.Interval<>(250, Double.POSITIVE_INFINITY, "d")));
+
+        assertEquals(Set.of("c"), Set.copyOf(tree.stab(50)));
+        assertEquals(Set.of("a", "c"), Set.copyOf(tree.stab(100)));
+        assertEquals(Set.of("a", "b"), Set.copyOf(tree.stab(200)));
+        assertEquals(Set.of("b", "d"), Set.copyOf(tree.stab(300)));
+        assertEquals(Set.of("d"), Set.copyOf(tree.stab(1e9)));
+        assertEquals(4, tree.size());
+    }
+
+    @Test
+    void testStab_MatchesLinearScan() {
+        Random random = new Random(42);
+        List<IntervalTree.Interval<Integer>> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            double low = random.nextInt(1000);
+            intervals.add(new IntervalTree.Interval<>(low, low + random.nextInt(200), i));
+        }
+        IntervalTree<Integer> tree = IntervalTree.build(intervals);
+
+        for (int point = -10; point < 1250; point += 7) {
+            Set<Integer> expected = new TreeSet<>();
+            for (IntervalTree.Interval<Integer> interval : intervals) {
+                if (interval.getLow() <= point && point <= interval.getHigh()) {
+                    expected.add(interval.getValue());
+                }
+            }
+            assertEquals(expected, new TreeSet<>(tree.stab(point)), "point " + point);
+        }
+    }
+
+    @Test
+    void testInsertAndRemove_MatchLinearScanAndKeepPreviousVersions() {
+        Random random = new Random(7);
+        Map<Long, IntervalTree.Interval<Long>> all = new HashMap<>();
+        IntervalTree<Long> tree = IntervalTree.empty();
+        // Beaucoup de bornes basses ouvertes, comme les recherches sans prix minimum
+        for (long key = 0; key < 3000; key++) {
+            double low = random.nextInt(4) == 0 ? Double.NEGATIVE_INFINITY : random.nextInt(1000);
+            IntervalTree.Interval<Long> interval = new IntervalTree.Interval<>(low, low + random.nextInt(300), key);
+            tree = tree.insert(key, interval);
+            all.put(key, interval);
+        }
+        IntervalTree<Long> beforeRemovals = tree;
+        Map<Long, IntervalTree.Interval<Long>> live = new HashMap<>(all);
+        for (long key = 0; key < 3000; key += 3) {
+            tree = tree.remove(key, live.remove(key).getLow());
+        }
+
+        assertSame(tree, tree.remove(0, all.get(0L).getLow()));
+        assertEquals(2000, tree.size());
+        assertEquals(3000, beforeRemovals.size());
+        for (int point = -10; point < 1350; point += 11) {
+            assertEquals(linearStab(live, point), new TreeSet<>(tree.stab(point)), "point " + point);
+            assertEquals(linearStab(all, point), new TreeSet<>(beforeRemovals.stab(point)), "point " + point);
+        }
+    }
+
+    private static Set<Long> linearStab(Map<Long, IntervalTree.Interval<Long>> intervals, double point) {
+        Set<Long> expected = new TreeSet<>();
+        for (IntervalTree.Interval<Long> interval : intervals.values()) {
+            if (interval.getLow() <= point && point <= interval.getHigh()) {
+                expected.add(interval.getValue());
+            }
+        }
+        return expected;
+    }
+
+    @Test
+    void testEmptyTreeAndInvalidInterval() {
+        assertTrue(IntervalTree.<String>build(List.of()).stab(10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new IntervalTree.Interval<>(10, 5, "x"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.realestate.property.util;
+
+import com.realestate.common.exception.BadRequestException;
+import com.realestate.property.entity.Property;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    private static final Sort.Order PRICE_ASC = Sort.Order.asc("price");
+    private static final Sort.Order CREATED_DESC = Sort.Order.desc("createdAt");
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEncodeDecode_BigDecimalKeyRoundTrip() {
+        Property property = new Property();
+        property.setId(42L);
+        property.setPrice(new BigDecimal("1.5E+5"));
+
+        String token = KeysetCursor.after(property, PRICE_ASC).encode();
+        KeysetCursor cursor = KeysetCursor.decode(token, PRICE_ASC);
+
+        assertEquals("price", cursor.getField());
+        assertEquals(Sort.Direction.ASC, cursor.getDirection());
+        assertEquals(0, new BigDecimal("150000").compareTo((BigDecimal) cursor.getValue()));
+        assertEquals(42L, cursor.getId());
+        // Jeton URL-safe, sans remplissage
+        assertFalse(token.contains("=") || token.contains("+") || token.contains("/"));
+    }
+
+    @Test
+    void testEncodeDecode_LocalDateTimeKeyRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000);
+        String token = new KeysetCursor("createdAt", Sort.Direction.DESC, createdAt, 7L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token, CREATED_DESC);
+
+        assertEquals(createdAt, cursor.getValue());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void testEncodeDecode_NullKeyRoundTrip() {
+        String token = new KeysetCursor("price", Sort.Direction.ASC, null, 3L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token, PRICE_ASC);
+
+        assertNull(cursor.getValue());
+        assertEquals(3L, cursor.getId());
+    }
+
+    @Test
+    void testDecode_GarbageIsRejected() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%not-base64%%%", PRICE_ASC));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("hello"), PRICE_ASC));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|price|ASC|abc|1"), PRICE_ASC));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|price|ASC|100|x"), PRICE_ASC));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|price|ASC|100|1|extra"), PRICE_ASC));
+    }
+
+    @Test
+    void testDecode_WrongVersionIsRejected() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v2|price|ASC|100|1"), PRICE_ASC));
+    }
+
+    @Test
+    void testDecode_SortMismatchIsRejected() {
+        String token = new KeysetCursor("price", Sort.Direction.ASC, new BigDecimal("100"), 1L).encode();
+
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token, Sort.Order.desc("price")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token, Sort.Order.asc("surface")));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("v1|price|SIDEWAYS|100|1"), PRICE_ASC));
+        // Champ non supporté même si annoncé dans le tri demandé
+        assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode(token("v1|title|ASC|abc|1"), Sort.Order.asc("title")));
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.property.util;
+
+import com.realestate.property.dto.FacetBucketDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceBandsTest {
+
+    @Test
+    void testForTransactionType_RentHasItsOwnBands() {
+        assertSame(PriceBands.RENT, PriceBands.forTransactionType("RENT"));
+        assertSame(PriceBands.SALE, PriceBands.forTransactionType("SALE"));
+        assertSame(PriceBands.SALE, PriceBands.forTransactionType(null));
+        assertEquals("property_rent_price_band", PriceBands.sqlFunction(PriceBands.RENT));
+    }
+
+    @Test
+    void testBucket_OpenEndedFirstAndLastBands() {
+        FacetBucketDTO first = PriceBands.bucket(PriceBands.SALE, 0, 3);
+        FacetBucketDTO middle = PriceBands.bucket(PriceBands.SALE, 1, 5);
+        FacetBucketDTO last = PriceBands.bucket(PriceBands.SALE, PriceBands.SALE.size(), 2);
+
+        assertEquals("-100000", first.getValue());
+        assertNull(first.getFrom());
+        assertEquals("100000-200000", middle.getValue());
+        assertEquals(new BigDecimal("200000"), middle.getTo());
+        assertEquals("1000000-", last.getValue());
+        assertNull(last.getTo());
+    }
+}
@@ -0,0 +1,46 @@
+package com.realestate.property.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchQueryParserTest {
+
+    private static String tsQuery(String query) {
+        return SearchQueryParser.toTsQuery(SearchQueryParser.parse(query));
+    }
+
+    @Test
+    void testToTsQuery_ExactPhrasesUseProximityOperator() {
+        assertEquals("(vue <-> mer) & (centre <-> ville) & appartement",
+                tsQuery("\"Vue mer\" appartement \"centre-ville\""));
+    }
+
+    @Test
+    void testToTsQuery_IncludeTermsAreOredAndExcludeTermsNegated() {
+        assertEquals("(maison | jardin) & !piscine", tsQuery("Maison jardin -piscine"));
+        assertEquals("t3 & !rdc", tsQuery("T3 -RDC"));
+    }
+
+    @Test
+    void testToTsQuery_OnlyNegativeTermsReturnsNull() {
+        // Sans terme positif, l'index GIN n'est pas exploitable
+        assertNull(tsQuery("-piscine -garage"));
+    }
+
+    @Test
+    void testToTsQuery_StripsTsQueryOperatorCharacters() {
+        assertEquals("(maison | (jardin <-> piscine) | loft)", tsQuery("maison& jardin|piscine (loft):*"));
+        assertEquals("(vue <-> mer) & !rdc", tsQuery("\"vue <-> !mer\" -'rdc'"));
+        assertNull(tsQuery("&|! ():* <-> '"));
+    }
+
+    @Test
+    void testToTsQuery_EmptyOrStopWordsOnlyReturnsNull() {
+        assertNull(tsQuery(null));
+        assertNull(tsQuery("   "));
+        // Mots d'une lettre ignorés par le parseur
+        assertNull(tsQuery("a à y"));
+        assertNull(SearchQueryParser.toTsQuery(null));
+    }
+}
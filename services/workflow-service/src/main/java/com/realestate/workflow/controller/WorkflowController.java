@@ -5,7 +5,7 @@ import com.realestate.workflow.entity.ApprovalWorkflow;
 import com.realestate.workflow.mapper.WorkflowMapper;
 import com.realestate.workflow.service.WorkflowService;
 import com.realestate.common.exception.ResourceNotFoundException;
-import com.realestate.common.client.IdentityServiceClient;
+import com.realestate.common.client.PermissionContextResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,15 +24,15 @@ public class WorkflowController {
 
     private final WorkflowService workflowService;
     private final WorkflowMapper workflowMapper;
-    private final IdentityServiceClient identityServiceClient;
+    private final PermissionContextResolver permissionContextResolver;
 
     public WorkflowController(
             WorkflowService workflowService, 
             WorkflowMapper workflowMapper,
-            IdentityServiceClient identityServiceClient) {
+            PermissionContextResolver permissionContextResolver) {
         this.workflowService = workflowService;
         this.workflowMapper = workflowMapper;
-        this.identityServiceClient = identityServiceClient;
+        this.permissionContextResolver = permissionContextResolver;
     }
 
     @PostMapping
@@ -66,12 +66,12 @@ public class WorkflowController {
             boolean isSuperAdmin = false;
             boolean isAdmin = false;
             
-            if (authorization != null && authorization.startsWith("Bearer ") && identityServiceClient != null) {
+            if (authorization != null && authorization.startsWith("Bearer ") && permissionContextResolver != null) {
                 String token = authorization.substring(7);
                 
                 try {
                     java.util.Optional<com.realestate.common.client.dto.PermissionContextDTO> permissionContextOpt = 
-                            identityServiceClient.getPermissionContext(token).block();
+                            permissionContextResolver.getPermissionContext(token);
                     
                     if (permissionContextOpt.isPresent()) {
                         com.realestate.common.client.dto.PermissionContextDTO permissionContext = permissionContextOpt.get();